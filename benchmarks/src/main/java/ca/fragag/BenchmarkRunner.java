@@ -0,0 +1,54 @@
+package ca.fragag;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The entry point of the benchmarks JAR. It accepts the same arguments as JMH's own {@link Main}, but always enables the
+ * {@linkplain GCProfiler GC profiler}, so that the results report the memory allocated by each operation.
+ *
+ * @author Francis Gagné
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args
+     *            the JMH command line arguments
+     * @throws IOException
+     *             if JMH fails to print the help or a listing
+     * @throws RunnerException
+     *             if a benchmark fails
+     */
+    public static void main(String[] args) throws IOException, RunnerException {
+        final CommandLineOptions commandLineOptions;
+        try {
+            commandLineOptions = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error parsing command line:");
+            System.err.println(" " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (commandLineOptions.shouldHelp() || commandLineOptions.shouldList() || commandLineOptions.shouldListWithParams()
+                || commandLineOptions.shouldListProfilers() || commandLineOptions.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        new Runner(new OptionsBuilder().parent(commandLineOptions).addProfiler(GCProfiler.class).build()).run();
+    }
+
+    private BenchmarkRunner() {
+    }
+
+}
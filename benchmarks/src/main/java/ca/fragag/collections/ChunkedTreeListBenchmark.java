@@ -0,0 +1,125 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares {@link ImmutableTreeList} (one element per node) with {@link ImmutableChunkedTreeList} (up to
+ * {@link ImmutableChunkedTreeList#CHUNK_SIZE} elements per node) on random access, iteration and single-element updates.
+ *
+ * @author Francis Gagné
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChunkedTreeListBenchmark {
+
+    private static final int INDEX_COUNT = 1024;
+    private static final ImmutableTreeListFactory<Integer> TREE_LIST_FACTORY = ImmutableTreeListFactory.getInstance();
+    private static final ImmutableChunkedTreeListFactory<Integer> CHUNKED_TREE_LIST_FACTORY = ImmutableChunkedTreeListFactory
+            .getInstance();
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    private ImmutableTreeList<Integer> treeList;
+    private ImmutableChunkedTreeList<Integer> chunkedTreeList;
+    private final int[] indexes = new int[INDEX_COUNT];
+    private int nextIndex;
+
+    @Benchmark
+    public ImmutableChunkedTreeList<Integer> chunkedTreeListAdd() {
+        return CHUNKED_TREE_LIST_FACTORY.add(this.chunkedTreeList, this.nextIndex(), -1);
+    }
+
+    @Benchmark
+    public Integer chunkedTreeListGet() {
+        return this.chunkedTreeList.get(this.nextIndex());
+    }
+
+    @Benchmark
+    public void chunkedTreeListIterate(Blackhole blackhole) {
+        for (Integer element : this.chunkedTreeList) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public ImmutableChunkedTreeList<Integer> chunkedTreeListRemove() {
+        return CHUNKED_TREE_LIST_FACTORY.remove(this.chunkedTreeList, this.nextIndex());
+    }
+
+    @Benchmark
+    public ImmutableChunkedTreeList<Integer> chunkedTreeListSet() {
+        return CHUNKED_TREE_LIST_FACTORY.set(this.chunkedTreeList, this.nextIndex(), -1);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Integer> elements = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            elements.add(i);
+        }
+
+        this.treeList = TREE_LIST_FACTORY.create(elements);
+        this.chunkedTreeList = CHUNKED_TREE_LIST_FACTORY.create(elements);
+
+        final Random random = new Random(42);
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            this.indexes[i] = random.nextInt(this.size);
+        }
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListAdd() {
+        return TREE_LIST_FACTORY.add(this.treeList, this.nextIndex(), -1);
+    }
+
+    @Benchmark
+    public Integer treeListGet() {
+        return this.treeList.get(this.nextIndex());
+    }
+
+    @Benchmark
+    public void treeListIterate(Blackhole blackhole) {
+        for (Integer element : this.treeList) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListRemove() {
+        return TREE_LIST_FACTORY.remove(this.treeList, this.nextIndex());
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListSet() {
+        return TREE_LIST_FACTORY.set(this.treeList, this.nextIndex(), -1);
+    }
+
+    private int nextIndex() {
+        final int index = this.indexes[this.nextIndex];
+        this.nextIndex = this.nextIndex + 1 & INDEX_COUNT - 1;
+        return index;
+    }
+
+}
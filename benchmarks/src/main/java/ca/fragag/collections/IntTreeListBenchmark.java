@@ -0,0 +1,101 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ImmutableTreeList ImmutableTreeList&lt;Integer&gt;} with {@link ImmutableIntTreeList} on random access and on
+ * summing all the values.
+ *
+ * @author Francis Gagné
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntTreeListBenchmark {
+
+    private static final int INDEX_COUNT = 1024;
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    private ImmutableTreeList<Integer> treeList;
+    private ImmutableIntTreeList intTreeList;
+    private final int[] indexes = new int[INDEX_COUNT];
+    private int nextIndex;
+
+    @Benchmark
+    public int intTreeListGet() {
+        return this.intTreeList.getInt(this.nextIndex());
+    }
+
+    @Benchmark
+    public long intTreeListSum() {
+        long sum = 0;
+        final PrimitiveIterator.OfInt iterator = this.intTreeList.iterator();
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+
+        return sum;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Integer> elements = new ArrayList<>(this.size);
+        final int[] values = new int[this.size];
+        for (int i = 0; i < this.size; i++) {
+            elements.add(i * 1000);
+            values[i] = i * 1000;
+        }
+
+        this.treeList = ImmutableTreeListFactory.<Integer> getInstance().create(elements);
+        this.intTreeList = ImmutableIntTreeListFactory.getInstance().create(values);
+
+        final Random random = new Random(42);
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            this.indexes[i] = random.nextInt(this.size);
+        }
+    }
+
+    @Benchmark
+    public int treeListGet() {
+        return this.treeList.get(this.nextIndex());
+    }
+
+    @Benchmark
+    public long treeListSum() {
+        long sum = 0;
+        for (Integer value : this.treeList) {
+            sum += value;
+        }
+
+        return sum;
+    }
+
+    private int nextIndex() {
+        final int index = this.indexes[this.nextIndex];
+        this.nextIndex = this.nextIndex + 1 & INDEX_COUNT - 1;
+        return index;
+    }
+
+}
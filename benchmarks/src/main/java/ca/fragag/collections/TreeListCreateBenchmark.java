@@ -0,0 +1,83 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares {@link ImmutableTreeListFactory#create(Collection)}, which builds a balanced tree directly, with
+ * {@link ImmutableTreeListFactory#create(Iterable)} on an {@link Iterable} that is not a {@link Collection}, which adds the
+ * elements one at a time, and with copying the elements to an {@link ArrayList}, with or without wrapping it with
+ * {@link Collections#unmodifiableList(List)}.
+ *
+ * @author Francis Gagné
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeListCreateBenchmark {
+
+    private static final ImmutableTreeListFactory<Integer> FACTORY = ImmutableTreeListFactory.getInstance();
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    private List<Integer> elements;
+    private Iterable<Integer> iterable;
+
+    @Benchmark
+    public ArrayList<Integer> arrayListCopy() {
+        return new ArrayList<>(this.elements);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Integer> elements = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            elements.add(i);
+        }
+
+        this.elements = elements;
+        this.iterable = new Iterable<Integer>() {
+            @Override
+            public Iterator<Integer> iterator() {
+                return elements.iterator();
+            }
+        };
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListCreateCollection() {
+        return FACTORY.create(this.elements);
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListCreateIterable() {
+        return FACTORY.create(this.iterable);
+    }
+
+    @Benchmark
+    public List<Integer> unmodifiableListCopy() {
+        return Collections.unmodifiableList(new ArrayList<>(this.elements));
+    }
+
+}
@@ -0,0 +1,139 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the read operations of {@link ImmutableTreeList} with those of an {@link ArrayList} and of an {@link ArrayList}
+ * wrapped with {@link Collections#unmodifiableList(List)}: random access, iteration, iteration over a sublist covering the middle
+ * half of the list, {@link List#indexOf(Object)} on an absent element and {@link List#toArray()}.
+ *
+ * @author Francis Gagné
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeListQueryBenchmark {
+
+    private static final int INDEX_COUNT = 1024;
+
+    private static void iterate(List<Integer> list, Blackhole blackhole) {
+        for (Integer element : list) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    private ImmutableTreeList<Integer> treeList;
+    private ArrayList<Integer> arrayList;
+    private List<Integer> unmodifiableList;
+    private final Integer absent = Integer.valueOf(-1);
+    private final int[] indexes = new int[INDEX_COUNT];
+    private int nextIndex;
+
+    @Benchmark
+    public Integer arrayListGet() {
+        return this.arrayList.get(this.nextIndex());
+    }
+
+    @Benchmark
+    public int arrayListIndexOf() {
+        return this.arrayList.indexOf(this.absent);
+    }
+
+    @Benchmark
+    public void arrayListIterate(Blackhole blackhole) {
+        iterate(this.arrayList, blackhole);
+    }
+
+    @Benchmark
+    public void arrayListSubListIterate(Blackhole blackhole) {
+        iterate(this.arrayList.subList(this.size / 4, this.size - this.size / 4), blackhole);
+    }
+
+    @Benchmark
+    public Object[] arrayListToArray() {
+        return this.arrayList.toArray();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Integer> elements = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            elements.add(i);
+        }
+
+        this.treeList = ImmutableTreeListFactory.<Integer> getInstance().create(elements);
+        this.arrayList = new ArrayList<>(elements);
+        this.unmodifiableList = Collections.unmodifiableList(new ArrayList<>(elements));
+
+        final Random random = new Random(42);
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            this.indexes[i] = random.nextInt(this.size);
+        }
+    }
+
+    @Benchmark
+    public Integer treeListGet() {
+        return this.treeList.get(this.nextIndex());
+    }
+
+    @Benchmark
+    public int treeListIndexOf() {
+        return this.treeList.indexOf(this.absent);
+    }
+
+    @Benchmark
+    public void treeListIterate(Blackhole blackhole) {
+        iterate(this.treeList, blackhole);
+    }
+
+    @Benchmark
+    public void treeListSubListIterate(Blackhole blackhole) {
+        iterate(this.treeList.subList(this.size / 4, this.size - this.size / 4), blackhole);
+    }
+
+    @Benchmark
+    public Object[] treeListToArray() {
+        return this.treeList.toArray();
+    }
+
+    @Benchmark
+    public Integer unmodifiableListGet() {
+        return this.unmodifiableList.get(this.nextIndex());
+    }
+
+    @Benchmark
+    public void unmodifiableListIterate(Blackhole blackhole) {
+        iterate(this.unmodifiableList, blackhole);
+    }
+
+    private int nextIndex() {
+        final int index = this.indexes[this.nextIndex];
+        this.nextIndex = this.nextIndex + 1 & INDEX_COUNT - 1;
+        return index;
+    }
+
+}
@@ -0,0 +1,150 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares single-element updates on {@link ImmutableTreeList} through {@link ImmutableTreeListFactory} with the same updates on
+ * an {@link ArrayList} and on a copy-on-write list (a copy of an {@link ArrayList} wrapped with
+ * {@link Collections#unmodifiableList(List)} after each update).
+ * <p>
+ * An {@link ArrayList} is modified in place, so <code>arrayListAddRemove</code> inserts an element and removes it right away to
+ * keep the size of the list stable; it does the work of two updates.
+ *
+ * @author Francis Gagné
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TreeListUpdateBenchmark {
+
+    private static final ImmutableTreeListFactory<Integer> FACTORY = ImmutableTreeListFactory.getInstance();
+    private static final int INDEX_COUNT = 1024;
+    private static final Integer ELEMENT = -1;
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    @Param({ "head", "middle", "tail", "random" })
+    String position;
+
+    private ImmutableTreeList<Integer> treeList;
+    private ArrayList<Integer> arrayList;
+    private List<Integer> copyOnWriteList;
+    private final int[] indexes = new int[INDEX_COUNT];
+    private int nextIndex;
+
+    @Benchmark
+    public ArrayList<Integer> arrayListAddRemove() {
+        final int index = this.nextIndex();
+        this.arrayList.add(index, ELEMENT);
+        this.arrayList.remove(index);
+        return this.arrayList;
+    }
+
+    @Benchmark
+    public Integer arrayListSet() {
+        return this.arrayList.set(this.nextIndex(), ELEMENT);
+    }
+
+    @Benchmark
+    public List<Integer> copyOnWriteListAdd() {
+        final ArrayList<Integer> copy = new ArrayList<>(this.size + 1);
+        copy.addAll(this.copyOnWriteList);
+        copy.add(this.nextIndex(), ELEMENT);
+        return Collections.unmodifiableList(copy);
+    }
+
+    @Benchmark
+    public List<Integer> copyOnWriteListRemove() {
+        final ArrayList<Integer> copy = new ArrayList<>(this.copyOnWriteList);
+        copy.remove(this.nextIndex());
+        return Collections.unmodifiableList(copy);
+    }
+
+    @Benchmark
+    public List<Integer> copyOnWriteListSet() {
+        final ArrayList<Integer> copy = new ArrayList<>(this.copyOnWriteList);
+        copy.set(this.nextIndex(), ELEMENT);
+        return Collections.unmodifiableList(copy);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final List<Integer> elements = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            elements.add(i);
+        }
+
+        this.treeList = FACTORY.create(elements);
+        this.arrayList = new ArrayList<>(elements);
+        this.copyOnWriteList = Collections.unmodifiableList(new ArrayList<>(elements));
+
+        // The same indexes are used for insertions, removals and replacements, so "tail" is the last element rather than the
+        // position after it.
+        final Random random = new Random(42);
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            switch (this.position) {
+            case "head":
+                this.indexes[i] = 0;
+                break;
+
+            case "middle":
+                this.indexes[i] = this.size / 2;
+                break;
+
+            case "tail":
+                this.indexes[i] = this.size - 1;
+                break;
+
+            case "random":
+                this.indexes[i] = random.nextInt(this.size);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown position: " + this.position);
+            }
+        }
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListAdd() {
+        return FACTORY.add(this.treeList, this.nextIndex(), ELEMENT);
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListRemove() {
+        return FACTORY.remove(this.treeList, this.nextIndex());
+    }
+
+    @Benchmark
+    public ImmutableTreeList<Integer> treeListSet() {
+        return FACTORY.set(this.treeList, this.nextIndex(), ELEMENT);
+    }
+
+    private int nextIndex() {
+        final int index = this.indexes[this.nextIndex];
+        this.nextIndex = this.nextIndex + 1 & INDEX_COUNT - 1;
+        return index;
+    }
+
+}
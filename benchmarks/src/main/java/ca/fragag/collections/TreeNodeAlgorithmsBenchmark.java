@@ -0,0 +1,96 @@
+package ca.fragag.collections;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the node algorithms of {@link AbstractImmutableTreeNode} that {@link ImmutableTreeList#get(int)},
+ * {@link ImmutableTreeList#indexOf(Object)}, {@link ImmutableTreeList#lastIndexOf(Object)} and
+ * {@link ImmutableTreeList#toArray()} use, on lists built by appending one element at a time.
+ * <p>
+ * The values are taken from a small pool of boxed integers, so that lists of 10<sup>7</sup> elements fit in a 2 GB heap.
+ * <code>indexOf</code> and <code>lastIndexOf</code> search for an object that is not in the list, so they visit all the nodes.
+ *
+ * @author Francis Gagné
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Thread)
+public class TreeNodeAlgorithmsBenchmark {
+
+    private static final int INDEX_COUNT = 1024;
+    private static final ImmutableTreeListFactory<Integer> FACTORY = ImmutableTreeListFactory.getInstance();
+    private static final Integer[] VALUES = new Integer[1024];
+
+    static {
+        for (int i = 0; i < VALUES.length; i++) {
+            VALUES[i] = 1000 + i;
+        }
+    }
+
+    @Param({ "1000", "10000", "100000", "1000000", "10000000" })
+    int size;
+
+    private ImmutableTreeList<Integer> list;
+    private final Integer absent = Integer.valueOf(-1);
+    private final int[] indexes = new int[INDEX_COUNT];
+    private int nextIndex;
+
+    @Benchmark
+    public Integer get() {
+        return this.list.get(this.nextIndex());
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return this.list.indexOf(this.absent);
+    }
+
+    @Benchmark
+    public int lastIndexOf() {
+        return this.list.lastIndexOf(this.absent);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ImmutableTreeList<Integer> list = FACTORY.create();
+        for (int i = 0; i < this.size; i++) {
+            list = FACTORY.add(list, VALUES[i & VALUES.length - 1]);
+        }
+
+        this.list = list;
+
+        final Random random = new Random(42);
+        for (int i = 0; i < INDEX_COUNT; i++) {
+            this.indexes[i] = random.nextInt(this.size);
+        }
+    }
+
+    @Benchmark
+    public Object[] toArray() {
+        return this.list.toArray();
+    }
+
+    private int nextIndex() {
+        final int index = this.indexes[this.nextIndex];
+        this.nextIndex = this.nextIndex + 1 & INDEX_COUNT - 1;
+        return index;
+    }
+
+}
@@ -1,23 +1,29 @@
 package ca.fragag;
 
-import javax.annotation.Nonnull;
+import javax.annotation.CheckForNull;
 
 /**
  * Represents an operation that accepts a single input argument and returns no result.
+ * <p>
+ * This interface extends {@link java.util.function.Consumer}, so a consumer can be passed to the methods of the standard library
+ * that accept one.
  *
  * @param <T>
  *            the type of object that this consumer expects
  *
  * @author Francis Gagné
  */
-public interface Consumer<T> {
+public interface Consumer<T> extends java.util.function.Consumer<T> {
 
     /**
      * Performs the operation of the specified object.
      *
      * @param object
-     *            the object to process
+     *            the object to process, which may be <code>null</code>: the methods that accept a
+     *            {@link java.util.function.Consumer}, such as {@link Iterable#forEach(java.util.function.Consumer)}, pass the
+     *            <code>null</code> elements of a collection to it
      */
-    void accept(@Nonnull T object);
+    @Override
+    void accept(@CheckForNull T object);
 
 }
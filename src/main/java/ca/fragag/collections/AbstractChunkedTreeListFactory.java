@@ -0,0 +1,193 @@
+package ca.fragag.collections;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Base class for the factories of the lists that store their elements in an {@link ArrayChunkList} (e.g.
+ * {@link ImmutableChunkedTreeListFactory} and {@link ImmutableIntTreeListFactory}). This class implements the operations that
+ * don't depend on the type of the elements.
+ *
+ * @param <A>
+ *            the type of the chunks
+ * @param <L>
+ *            the type of list that the factory returns
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+abstract class AbstractChunkedTreeListFactory<A, L> {
+
+    static void checkRange(@Nonnull ArrayChunkList<?> chunks, int fromIndex, int toIndex) {
+        final int size = chunks.elementCount();
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex + ", toIndex = " + toIndex + ", size = " + size);
+        }
+    }
+
+    @Nonnull
+    final ArrayChunkList.Factory<A> chunkFactory;
+
+    /**
+     * Initializes a new AbstractChunkedTreeListFactory.
+     *
+     * @param chunkFactory
+     *            the factory of the lists of chunks
+     */
+    AbstractChunkedTreeListFactory(@Nonnull ArrayChunkList.Factory<A> chunkFactory) {
+        this.chunkFactory = chunkFactory;
+    }
+
+    /**
+     * Creates a new list with the contents of the specified lists, one after the other.
+     * <p>
+     * This method runs in logarithmic time and shares all the chunks of the two lists, except the chunks where they are joined,
+     * which are merged if they fit in one chunk.
+     *
+     * @param left
+     *            the list whose elements come first
+     * @param right
+     *            the list whose elements come last
+     * @return the new list
+     */
+    @Nonnull
+    public L concat(@Nonnull L left, @Nonnull L right) {
+        final ArrayChunkList<A> rightChunks = this.getChunks(right);
+        if (rightChunks.isEmpty()) {
+            return left;
+        }
+
+        final ArrayChunkList<A> leftChunks = this.getChunks(left);
+        if (leftChunks.isEmpty()) {
+            return right;
+        }
+
+        return this.createList(this.chunkFactory.concatChunks(leftChunks, rightChunks));
+    }
+
+    /**
+     * Creates an empty list.
+     *
+     * @return an empty list.
+     */
+    @Nonnull
+    public L create() {
+        return this.createList(this.chunkFactory.create());
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the element at the specified position removed from it.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position of the element to remove
+     * @return the new list
+     */
+    @Nonnull
+    public L remove(@Nonnull L list, int index) {
+        return this.createList(this.chunkFactory.removeElement(this.getChunks(list), index));
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the elements between the specified indices removed from
+     * it.
+     * <p>
+     * This method runs in logarithmic time, regardless of the number of removed elements.
+     *
+     * @param list
+     *            the list
+     * @param fromIndex
+     *            the index of the first element to remove
+     * @param toIndex
+     *            the index following the last element to remove
+     * @return the new list
+     */
+    @Nonnull
+    public L removeRange(@Nonnull L list, int fromIndex, int toIndex) {
+        final ArrayChunkList<A> chunks = this.getChunks(list);
+        checkRange(chunks, fromIndex, toIndex);
+
+        final ArrayChunkList<A> left = this.chunkFactory.sliceElements(chunks, 0, fromIndex);
+        final ArrayChunkList<A> right = this.chunkFactory.sliceElements(chunks, toIndex, chunks.elementCount());
+        return this.createList(this.chunkFactory.concatChunks(left, right));
+    }
+
+    /**
+     * Creates a new list with the elements of the specified list between the specified indices.
+     * <p>
+     * This method runs in logarithmic time and shares all the chunks of the list that lie entirely within the range.
+     *
+     * @param list
+     *            the list
+     * @param fromIndex
+     *            the index of the first element to keep
+     * @param toIndex
+     *            the index following the last element to keep
+     * @return the new list
+     */
+    @Nonnull
+    public L slice(@Nonnull L list, int fromIndex, int toIndex) {
+        final ArrayChunkList<A> chunks = this.getChunks(list);
+        checkRange(chunks, fromIndex, toIndex);
+
+        if (fromIndex == 0 && toIndex == chunks.elementCount()) {
+            return list;
+        }
+
+        return this.createList(this.chunkFactory.sliceElements(chunks, fromIndex, toIndex));
+    }
+
+    /**
+     * Splits the specified list in two lists at the specified index.
+     * <p>
+     * This method runs in logarithmic time and shares all the chunks of the list that lie entirely on one side of the index.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the index of the first element of the right part
+     * @return the left part, with the elements before <code>index</code>, and the right part, with the elements from
+     *         <code>index</code>
+     */
+    @Nonnull
+    public AbstractImmutableTreeListFactory.Split<L> split(@Nonnull L list, int index) {
+        final ArrayChunkList<A> chunks = this.getChunks(list);
+        final int size = chunks.elementCount();
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + size);
+        }
+
+        if (index == 0) {
+            return new AbstractImmutableTreeListFactory.Split<>(this.create(), list);
+        }
+
+        if (index == size) {
+            return new AbstractImmutableTreeListFactory.Split<>(list, this.create());
+        }
+
+        return new AbstractImmutableTreeListFactory.Split<>(this.createList(this.chunkFactory.sliceElements(chunks, 0, index)),
+                this.createList(this.chunkFactory.sliceElements(chunks, index, size)));
+    }
+
+    /**
+     * Creates a list with the specified chunks. Implementations return their unique empty list if there are no chunks.
+     *
+     * @param chunks
+     *            the chunks
+     * @return a list with the specified chunks
+     */
+    @Nonnull
+    abstract L createList(@Nonnull ArrayChunkList<A> chunks);
+
+    /**
+     * Gets the chunks of the specified list.
+     *
+     * @param list
+     *            the list
+     * @return the chunks of the list
+     */
+    @Nonnull
+    abstract ArrayChunkList<A> getChunks(@Nonnull L list);
+
+}
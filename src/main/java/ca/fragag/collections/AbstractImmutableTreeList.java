@@ -2,11 +2,14 @@ package ca.fragag.collections;
 
 import java.lang.reflect.Array;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -25,6 +28,111 @@ import javax.annotation.concurrent.Immutable;
 @Immutable
 public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTreeNode<E, N>> extends UnmodifiableList<E> {
 
+    /**
+     * A cursor that remembers the path to the last element it accessed, so that accessing an element near that element doesn't
+     * descend the tree from the root.
+     * <p>
+     * {@link #get(int)} climbs from the last element accessed to the smallest subtree on its path that contains the requested
+     * element, then descends to the requested element. Accessing the elements of the list in sequence thus takes O(1) amortized
+     * time per element, whereas {@link AbstractImmutableTreeList#get(int)} always takes O(log n) time.
+     * <p>
+     * A cursor is not thread-safe: each thread that reads the list should use its own cursor. The list itself is not modified by
+     * its cursors, so any number of cursors may read the same list concurrently.
+     *
+     * @author Francis Gagné
+     */
+    public final class Cursor {
+
+        // The nodes on the path from the root to the last element accessed, and the index of the first element of their subtree.
+        @Nonnull
+        private N[] nodes;
+        @Nonnull
+        private int[] starts;
+        private int depth;
+
+        @SuppressWarnings("unchecked")
+        Cursor() {
+            this.nodes = (N[]) new AbstractImmutableTreeNode<?, ?>[32];
+            this.starts = new int[32];
+            this.depth = 0;
+        }
+
+        /**
+         * Gets the element at the specified position in the list.
+         *
+         * @param index
+         *            the position of the element
+         * @return the element
+         * @throws IndexOutOfBoundsException
+         *             <code>index</code> is negative or is greater than or equal to the size of the list
+         */
+        public E get(int index) {
+            AbstractImmutableTreeList.this.checkInterval(index, 0, AbstractImmutableTreeList.this.size() - 1);
+
+            // Climb to the smallest subtree on the path that contains the index. The root contains all the indices.
+            int depth = this.depth;
+            while (depth > 1) {
+                final int start = this.starts[depth - 1];
+                if (index >= start && index < start + this.nodes[depth - 1].getSize()) {
+                    break;
+                }
+
+                depth--;
+            }
+
+            if (depth == 0) {
+                final N root = AbstractImmutableTreeList.this.root;
+                assert root != null;
+                this.push(0, root, 0);
+                depth = 1;
+            }
+
+            // Descend to the element.
+            N node = this.nodes[depth - 1];
+            int start = this.starts[depth - 1];
+            for (;;) {
+                final N left = node.getLeft();
+                final int nodeIndex = start + (left == null ? 0 : left.getSize());
+                if (index == nodeIndex) {
+                    this.depth = depth;
+                    return node.getValue();
+                }
+
+                if (index < nodeIndex) {
+                    assert left != null;
+                    node = left;
+                } else {
+                    node = node.getRight();
+                    start = nodeIndex + 1;
+                    assert node != null;
+                }
+
+                this.push(depth++, node, start);
+            }
+        }
+
+        /**
+         * Gets the list that this cursor reads.
+         *
+         * @return the list
+         */
+        @Nonnull
+        public AbstractImmutableTreeList<E, N> getList() {
+            return AbstractImmutableTreeList.this;
+        }
+
+        private void push(int depth, @Nonnull N node, int start) {
+            if (depth == this.nodes.length) {
+                this.nodes = Arrays.copyOf(this.nodes, depth * 2);
+                this.starts = Arrays.copyOf(this.starts, depth * 2);
+            }
+
+            this.nodes[depth] = node;
+            this.starts[depth] = start;
+        }
+
+    }
+
     private class TreeListIterator implements ListIterator<E> {
 
         private long path;
@@ -231,6 +339,94 @@ public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTr
 
     }
 
+    /**
+     * A {@link Spliterator} over a range of the list.
+     * <p>
+     * Splitting only divides the range in two halves, in constant time; the tree is only traversed when elements are consumed.
+     * {@link #forEachRemaining(Consumer)} walks the tree in order directly rather than going through an iterator.
+     */
+    private final class TreeSpliterator implements Spliterator<E> {
+
+        private int index;
+        private final int toIndex;
+        @CheckForNull
+        private TreeListIterator iterator;
+
+        /**
+         * Initializes a new TreeSpliterator.
+         *
+         * @param fromIndex
+         *            the index of the first element to iterate through
+         * @param toIndex
+         *            the index following the last element to iterate through
+         */
+        TreeSpliterator(int fromIndex, int toIndex) {
+            this.index = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.toIndex - this.index;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException("action");
+            }
+
+            if (this.index < this.toIndex) {
+                final N root = AbstractImmutableTreeList.this.getRoot();
+                assert root != null;
+                root.forEach(action, 0, this.index, this.toIndex);
+                this.index = this.toIndex;
+                this.iterator = null;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException("action");
+            }
+
+            if (this.index >= this.toIndex) {
+                return false;
+            }
+
+            TreeListIterator iterator = this.iterator;
+            if (iterator == null) {
+                this.iterator = iterator = AbstractImmutableTreeList.this.new TreeListIterator(this.index, this.index, this.toIndex);
+            }
+
+            this.index++;
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @CheckForNull
+        @Override
+        public Spliterator<E> trySplit() {
+            final int fromIndex = this.index;
+            final int middleIndex = (fromIndex + this.toIndex) >>> 1;
+            if (middleIndex == fromIndex) {
+                return null;
+            }
+
+            // The iterator (if any) was positioned for the whole range; the prefix gets a fresh start.
+            this.index = middleIndex;
+            this.iterator = null;
+            return new TreeSpliterator(fromIndex, middleIndex);
+        }
+
+    }
+
     @Immutable
     private class TreeSubList extends UnmodifiableList<E> {
 
@@ -258,12 +454,44 @@ public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTr
             return true;
         }
 
+        @Override
+        public boolean equals(Object obj) {
+            if (obj instanceof AbstractImmutableTreeList) {
+                final AbstractImmutableTreeList<?, ?> other = (AbstractImmutableTreeList<?, ?>) obj;
+                return treeEquals(this.getRoot(), this.fromIndex, this.toIndex, other.root, 0, other.size());
+            }
+
+            if (obj instanceof AbstractImmutableTreeList.TreeSubList) {
+                final AbstractImmutableTreeList<?, ?>.TreeSubList other = (AbstractImmutableTreeList<?, ?>.TreeSubList) obj;
+                return treeEquals(this.getRoot(), this.fromIndex, this.toIndex, other.getRoot(), other.fromIndex, other.toIndex);
+            }
+
+            return super.equals(obj);
+        }
+
+        @Override
+        public void forEach(Consumer<? super E> action) {
+            if (action == null) {
+                throw new NullPointerException("action");
+            }
+
+            if (this.fromIndex != this.toIndex) {
+                this.getRoot().forEach(action, 0, this.fromIndex, this.toIndex);
+            }
+        }
+
         @Override
         public E get(int index) {
             this.checkInterval(index, 0, this.size() - 1);
             return AbstractImmutableTreeList.this.get(index + this.fromIndex);
         }
 
+        @Override
+        public int hashCode() {
+            return AbstractImmutableTreeNode.powerOf31(this.size())
+                    + this.getRoot().elementsHashCode(0, this.fromIndex, this.toIndex);
+        }
+
         @Override
         public int indexOf(Object object) {
             return this.getRoot().indexOf(object, 0, this.fromIndex, this.toIndex);
@@ -302,6 +530,12 @@ public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTr
             return this.toIndex - this.fromIndex;
         }
 
+        @Nonnull
+        @Override
+        public Spliterator<E> spliterator() {
+            return AbstractImmutableTreeList.this.new TreeSpliterator(this.fromIndex, this.toIndex);
+        }
+
         @Nonnull
         @Override
         public List<E> subList(int fromIndex, int toIndex) {
@@ -363,6 +597,16 @@ public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTr
         }
     }
 
+    private static boolean treeEquals(@CheckForNull AbstractImmutableTreeNode<?, ?> root, int fromIndex, int toIndex,
+            @CheckForNull AbstractImmutableTreeNode<?, ?> otherRoot, int otherFromIndex, int otherToIndex) {
+        final int length = toIndex - fromIndex;
+        if (length != otherToIndex - otherFromIndex) {
+            return false;
+        }
+
+        return AbstractImmutableTreeNode.rangeEquals(root, fromIndex, otherRoot, otherFromIndex, length);
+    }
+
     @CheckForNull
     private final N root;
 
@@ -392,6 +636,93 @@ public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTr
         return true;
     }
 
+    /**
+     * Creates a cursor that reads the elements of this list. Reading elements that are near each other with a cursor is faster
+     * than with {@link #get(int)}.
+     *
+     * @return a new cursor
+     */
+    @Nonnull
+    public final Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Compares the specified object with this list for equality, as specified by {@link List#equals(Object)}.
+     * <p>
+     * When the specified object is another tree list (or a sublist of one), subtrees that both lists share at the same position
+     * are not compared element by element. Therefore, comparing a list with a list that was derived from it by a few
+     * modifications takes time proportional to the number of modifications times the height of the tree, rather than to the size
+     * of the list.
+     *
+     * @param obj
+     *            the object to compare with this list
+     * @return <code>true</code> if the specified object is a list with the same elements in the same order as this list,
+     *         <code>false</code> otherwise
+     */
+    @Override
+    public final boolean equals(Object obj) {
+        if (obj instanceof AbstractImmutableTreeList) {
+            final AbstractImmutableTreeList<?, ?> other = (AbstractImmutableTreeList<?, ?>) obj;
+            return treeEquals(this.root, 0, this.size(), other.root, 0, other.size());
+        }
+
+        if (obj instanceof AbstractImmutableTreeList.TreeSubList) {
+            final AbstractImmutableTreeList<?, ?>.TreeSubList other = (AbstractImmutableTreeList<?, ?>.TreeSubList) obj;
+            return treeEquals(this.root, 0, this.size(), other.getRoot(), other.fromIndex, other.toIndex);
+        }
+
+        return super.equals(obj);
+    }
+
+    /**
+     * Performs an action on each element of this list, in order.
+     * <p>
+     * Unlike iterating with {@link #iterator()}, this method walks the tree directly and doesn't allocate any objects. Since
+     * {@link ca.fragag.Consumer} extends {@link Consumer}, either kind of consumer may be passed to this method.
+     *
+     * @param action
+     *            the action to perform
+     */
+    @Override
+    public final void forEach(@Nonnull Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("action");
+        }
+
+        if (this.root != null) {
+            this.root.forEach(action, 0, 0, this.root.getSize());
+        }
+    }
+
+    /**
+     * Performs an action on each element in the specified range of this list, in order.
+     * <p>
+     * This method walks the tree directly and doesn't allocate any objects.
+     *
+     * @param fromIndex
+     *            the index of the first element to process
+     * @param toIndex
+     *            the index following the last element to process
+     * @param action
+     *            the action to perform
+     * @throws IndexOutOfBoundsException
+     *             <code>fromIndex</code> or <code>toIndex</code> is negative or is greater than this list's size, or
+     *             <code>fromIndex</code> is greater than <code>toIndex</code>
+     */
+    public final void forEach(int fromIndex, int toIndex, @Nonnull Consumer<? super E> action) {
+        this.checkInterval(fromIndex, 0, this.size());
+        this.checkInterval(toIndex, fromIndex, this.size());
+        if (action == null) {
+            throw new NullPointerException("action");
+        }
+
+        if (fromIndex != toIndex) {
+            assert this.root != null;
+            this.root.forEach(action, 0, fromIndex, toIndex);
+        }
+    }
+
     @Override
     public final E get(int index) {
         this.checkInterval(index, 0, this.size() - 1);
@@ -399,6 +730,23 @@ public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTr
         return this.root.get(index);
     }
 
+    /**
+     * Computes the hash code of this list, as specified by {@link List#hashCode()}.
+     * <p>
+     * Each node caches the hash code of its subtree, so after the hash code of a list has been computed, the hash code of a list
+     * that was derived from it is computed by visiting only the nodes that are not shared with the original list.
+     *
+     * @return the hash code of this list
+     */
+    @Override
+    public final int hashCode() {
+        if (this.root == null) {
+            return 1;
+        }
+
+        return AbstractImmutableTreeNode.powerOf31(this.root.getSize()) + this.root.elementsHashCode();
+    }
+
     @Override
     public final int indexOf(Object object) {
         if (this.root == null) {
@@ -446,6 +794,20 @@ public abstract class AbstractImmutableTreeList<E, N extends AbstractImmutableTr
         return this.root == null ? 0 : this.root.getSize();
     }
 
+    /**
+     * Creates a {@link Spliterator} over the elements of this list.
+     * <p>
+     * The spliterator reports {@link Spliterator#SIZED} and {@link Spliterator#SUBSIZED} and splits its range in two halves in
+     * constant time, so that parallel streams over large lists divide the work evenly.
+     *
+     * @return a {@link Spliterator} over the elements of this list
+     */
+    @Nonnull
+    @Override
+    public final Spliterator<E> spliterator() {
+        return this.new TreeSpliterator(0, this.size());
+    }
+
     @Nonnull
     @Override
     public final List<E> subList(int fromIndex, int toIndex) {
@@ -1,11 +1,18 @@
 package ca.fragag.collections;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * A factory of {@link AbstractImmutableTreeList} objects.
@@ -22,6 +29,314 @@ import javax.annotation.concurrent.Immutable;
 @Immutable
 public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmutableTreeNode<E, N>, L extends AbstractImmutableTreeList<E, N>> {
 
+    /**
+     * Accumulates edits to a list and creates immutable lists from them with {@link #build()}.
+     * <p>
+     * Each edit made through the factory creates a new version of the tree, which is wasted when only the final version is
+     * needed. Instead, a builder modifies the nodes it owns in place. The nodes of the list that the builder was created from are
+     * only copied the first time an edit goes through them, and the subtrees that no edit goes through are shared with the lists
+     * created by {@link #build()}.
+     * <p>
+     * A builder may be used again after {@link #build()} has been called; the lists that it has already built are not affected.
+     * Builders are not thread-safe.
+     *
+     * @author Francis Gagné
+     */
+    @NotThreadSafe
+    public final class Builder {
+
+        @CheckForNull
+        private TransientTreeNode<E, N> root;
+
+        Builder(@CheckForNull N root) {
+            this.root = TransientTreeNode.wrap(root);
+        }
+
+        /**
+         * Appends the specified element to the list.
+         *
+         * @param element
+         *            the element to add
+         * @return this builder
+         */
+        @Nonnull
+        public Builder add(E element) {
+            this.root = TransientTreeNode.insert(this.root, this.size(), element);
+            return this;
+        }
+
+        /**
+         * Inserts the specified element at the specified position in the list.
+         *
+         * @param index
+         *            the position at which the element is to be inserted
+         * @param element
+         *            the element to add
+         * @return this builder
+         */
+        @Nonnull
+        public Builder add(int index, E element) {
+            if (index < 0 || index > this.size()) {
+                throw new IndexOutOfBoundsException("index = " + index + ", size = " + this.size());
+            }
+
+            this.root = TransientTreeNode.insert(this.root, index, element);
+            return this;
+        }
+
+        /**
+         * Appends the elements of the specified {@link Iterable} to the list.
+         *
+         * @param iterable
+         *            the elements to add
+         * @return this builder
+         */
+        @Nonnull
+        public Builder addAll(@Nonnull Iterable<? extends E> iterable) {
+            for (E e : iterable) {
+                this.add(e);
+            }
+
+            return this;
+        }
+
+        /**
+         * Creates an immutable list with the elements currently in this builder.
+         *
+         * @return the new list
+         */
+        @Nonnull
+        public L build() {
+            final N root = this.freeze(this.root);
+
+            // The nodes that this builder owned are now part of an immutable list: stand for that list's nodes from now on,
+            // so that the next edits copy them instead of modifying them and the next call to build() shares them.
+            this.root = TransientTreeNode.wrap(root);
+            return AbstractImmutableTreeListFactory.this.createList(root);
+        }
+
+        /**
+         * Gets the element at the specified position in the list.
+         *
+         * @param index
+         *            the position of the element
+         * @return the element
+         */
+        public E get(int index) {
+            this.checkIndex(index);
+            assert this.root != null;
+            return TransientTreeNode.get(this.root, index);
+        }
+
+        /**
+         * Removes the element at the specified position in the list.
+         *
+         * @param index
+         *            the position of the element to remove
+         * @return this builder
+         */
+        @Nonnull
+        public Builder remove(int index) {
+            this.checkIndex(index);
+            assert this.root != null;
+            this.root = TransientTreeNode.remove(this.root, index);
+            return this;
+        }
+
+        /**
+         * Replaces the element at the specified position in the list with the specified element.
+         *
+         * @param index
+         *            the position of the element to change
+         * @param element
+         *            the new element
+         * @return this builder
+         */
+        @Nonnull
+        public Builder set(int index, E element) {
+            this.checkIndex(index);
+            assert this.root != null;
+            TransientTreeNode.set(this.root, index, element);
+            return this;
+        }
+
+        /**
+         * Gets the number of elements currently in this builder.
+         *
+         * @return the number of elements
+         */
+        public int size() {
+            return TransientTreeNode.size(this.root);
+        }
+
+        private void checkIndex(int index) {
+            if (index < 0 || index >= this.size()) {
+                throw new IndexOutOfBoundsException("index = " + index + ", size = " + this.size());
+            }
+        }
+
+        @CheckForNull
+        private N freeze(@CheckForNull TransientTreeNode<E, N> node) {
+            if (node == null) {
+                return null;
+            }
+
+            if (node.source != null) {
+                return node.source;
+            }
+
+            return AbstractImmutableTreeListFactory.this.nodeFactory.createNode(this.freeze(node.left), node.value,
+                    this.freeze(node.right));
+        }
+
+    }
+
+    /**
+     * A range of elements that differs between two versions of a list, produced by
+     * {@link AbstractImmutableTreeListFactory#diff(AbstractImmutableTreeList, AbstractImmutableTreeList)}. The elements in the
+     * range of the old list were replaced with the elements in the range of the new list.
+     *
+     * @author Francis Gagné
+     */
+    @Immutable
+    public static final class Change {
+
+        /**
+         * The kinds of {@link Change}.
+         */
+        public enum Kind {
+            /** Elements were inserted: the range of the old list is empty. */
+            INSERT,
+            /** Elements were deleted: the range of the new list is empty. */
+            DELETE,
+            /** Elements were replaced: neither range is empty. */
+            REPLACE
+        }
+
+        private final int oldFromIndex;
+        private final int oldToIndex;
+        private final int newFromIndex;
+        private final int newToIndex;
+
+        Change(int oldFromIndex, int oldToIndex, int newFromIndex, int newToIndex) {
+            this.oldFromIndex = oldFromIndex;
+            this.oldToIndex = oldToIndex;
+            this.newFromIndex = newFromIndex;
+            this.newToIndex = newToIndex;
+        }
+
+        /**
+         * Gets the kind of this change.
+         *
+         * @return {@link Kind#INSERT}, {@link Kind#DELETE} or {@link Kind#REPLACE}
+         */
+        @Nonnull
+        public Kind getKind() {
+            if (this.oldFromIndex == this.oldToIndex) {
+                return Kind.INSERT;
+            }
+
+            if (this.newFromIndex == this.newToIndex) {
+                return Kind.DELETE;
+            }
+
+            return Kind.REPLACE;
+        }
+
+        /**
+         * Gets the index of the first element of the range in the new list.
+         *
+         * @return the start of the range in the new list
+         */
+        public int getNewFromIndex() {
+            return this.newFromIndex;
+        }
+
+        /**
+         * Gets the index following the last element of the range in the new list.
+         *
+         * @return the end of the range in the new list
+         */
+        public int getNewToIndex() {
+            return this.newToIndex;
+        }
+
+        /**
+         * Gets the index of the first element of the range in the old list.
+         *
+         * @return the start of the range in the old list
+         */
+        public int getOldFromIndex() {
+            return this.oldFromIndex;
+        }
+
+        /**
+         * Gets the index following the last element of the range in the old list.
+         *
+         * @return the end of the range in the old list
+         */
+        public int getOldToIndex() {
+            return this.oldToIndex;
+        }
+
+        @Override
+        public String toString() {
+            return this.getKind() + " [" + this.oldFromIndex + ", " + this.oldToIndex + ") -> [" + this.newFromIndex + ", "
+                    + this.newToIndex + ")";
+        }
+
+    }
+
+    /**
+     * The two lists produced by {@link AbstractImmutableTreeListFactory#split(AbstractImmutableTreeList, int)}.
+     *
+     * @param <L>
+     *            the type of the lists
+     *
+     * @author Francis Gagné
+     */
+    @Immutable
+    public static final class Split<L> {
+
+        @Nonnull
+        private final L left;
+        @Nonnull
+        private final L right;
+
+        Split(@Nonnull L left, @Nonnull L right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        /**
+         * Gets the list of the elements that precede the index at which the list was split.
+         *
+         * @return the left part of the list
+         */
+        @Nonnull
+        public L getLeft() {
+            return this.left;
+        }
+
+        /**
+         * Gets the list of the elements that start at the index at which the list was split.
+         *
+         * @return the right part of the list
+         */
+        @Nonnull
+        public L getRight() {
+            return this.right;
+        }
+
+    }
+
+    private static void checkRange(@Nonnull AbstractImmutableTreeList<?, ?> list, int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > list.size() || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex = " + fromIndex + ", toIndex = " + toIndex + ", size = "
+                    + list.size());
+        }
+    }
+
     @Nonnull
     private final AbstractImmutableTreeNodeFactory<E, N> nodeFactory;
 
@@ -79,6 +394,53 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
         return this.createList(this.add(root, index, element));
     }
 
+    /**
+     * Creates a builder with no elements.
+     *
+     * @return a new builder
+     */
+    @Nonnull
+    public Builder builder() {
+        return this.new Builder(null);
+    }
+
+    /**
+     * Creates a builder with the elements of the specified list.
+     *
+     * @param list
+     *            the list
+     * @return a new builder
+     */
+    @Nonnull
+    public Builder builder(@Nonnull L list) {
+        return this.new Builder(list.getRoot());
+    }
+
+    /**
+     * Creates a new list with the contents of the specified lists, one after the other.
+     * <p>
+     * This method runs in logarithmic time and shares all the nodes of the two lists, except those along the path where they are
+     * joined.
+     *
+     * @param left
+     *            the list whose elements come first
+     * @param right
+     *            the list whose elements come last
+     * @return the new list
+     */
+    @Nonnull
+    public L concat(@Nonnull L left, @Nonnull L right) {
+        if (right.isEmpty()) {
+            return left;
+        }
+
+        if (left.isEmpty()) {
+            return right;
+        }
+
+        return this.createList(this.nodeFactory.concat(left.getRoot(), right.getRoot()));
+    }
+
     /**
      * Creates an empty list.
      *
@@ -129,6 +491,201 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
         return result;
     }
 
+    /**
+     * Computes the ranges of elements that differ between two versions of a list.
+     * <p>
+     * Both trees are walked at once, and subtrees that are the same object in both lists are skipped without looking at their
+     * elements. When the new list was derived from the old list (or vice versa) with the methods of this factory, the running time
+     * depends on the number of modified nodes rather than on the size of the lists. Elements that are equal in both lists at the
+     * boundaries of a changed range are not reported, so setting an element to an equal value yields no change.
+     * <p>
+     * The changes are returned in increasing order of position and don't overlap. Replacing the range of the old list of each
+     * change with the range of the new list produces a list equal to the new list.
+     *
+     * @param oldList
+     *            the old version of the list
+     * @param newList
+     *            the new version of the list
+     * @return the changes, in order
+     */
+    @Nonnull
+    public List<Change> diff(@Nonnull L oldList, @Nonnull L newList) {
+        if (oldList == null) {
+            throw new NullPointerException("oldList");
+        }
+
+        if (newList == null) {
+            throw new NullPointerException("newList");
+        }
+
+        return TreeDiff.diff(oldList, newList);
+    }
+
+    /**
+     * Creates a new list with the elements of the specified list that match the specified predicate, in the same order.
+     * <p>
+     * Subtrees are filtered in parallel on a {@link java.util.concurrent.ForkJoinPool} (the pool that runs the current task, or
+     * the common pool), so the predicate must be safe to call from several threads. Subtrees in which every element is kept are
+     * shared with the original list, and the remaining pieces are reassembled with joins, which keep the tree balanced.
+     *
+     * @param list
+     *            the list
+     * @param predicate
+     *            the predicate that the kept elements match
+     * @return the new list
+     */
+    @Nonnull
+    public L filter(@Nonnull L list, @Nonnull Predicate<? super E> predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("predicate");
+        }
+
+        final N root = list.getRoot();
+        final N newRoot = new ParallelTreeTasks.Filter<>(this.nodeFactory, root, predicate).invoke();
+        if (newRoot == root) {
+            return list;
+        }
+
+        return this.createList(newRoot);
+    }
+
+    /**
+     * Performs an action on each element of the specified list.
+     * <p>
+     * Subtrees are processed in parallel on a {@link java.util.concurrent.ForkJoinPool} (the pool that runs the current task, or
+     * the common pool), so the action must be safe to call from several threads, and the elements are not processed in order.
+     * This method returns when the action has been performed on all the elements.
+     *
+     * @param list
+     *            the list
+     * @param action
+     *            the action to perform
+     */
+    public void forEach(@Nonnull L list, @Nonnull Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException("action");
+        }
+
+        new ParallelTreeTasks.ForEach<>(list.getRoot(), action).invoke();
+    }
+
+    /**
+     * Gets the statistics of the intern table of this factory, if this factory creates its nodes with an
+     * {@link InterningTreeNodeFactory}.
+     *
+     * @return the statistics, or <code>null</code> if this factory doesn't intern its nodes
+     */
+    @CheckForNull
+    public InterningStatistics getInterningStatistics() {
+        if (this.nodeFactory instanceof InterningTreeNodeFactory) {
+            return ((InterningTreeNodeFactory<E, N>) this.nodeFactory).getStatistics();
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the elements of the specified collection inserted at the
+     * specified position.
+     * <p>
+     * The inserted elements are assembled in a balanced tree which is then joined with the list, so this method runs in
+     * O(k + log n) time, where k is the number of inserted elements.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position at which the first element of the collection is to be inserted
+     * @param collection
+     *            the elements to add
+     * @return the new list
+     */
+    @Nonnull
+    public L insertAll(@Nonnull L list, int index, @Nonnull Collection<? extends E> collection) {
+        if (index < 0 || index > list.size()) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + list.size());
+        }
+
+        return this.splice(list, index, index, collection);
+    }
+
+    /**
+     * Creates a new list with the results of applying the specified function to the elements of the specified list.
+     * <p>
+     * The new list has the same shape as the original list, so it is built without any rebalancing. Subtrees are mapped in
+     * parallel on a {@link java.util.concurrent.ForkJoinPool} (the pool that runs the current task, or the common pool), so the
+     * function must be safe to call from several threads.
+     *
+     * @param list
+     *            the list
+     * @param function
+     *            the function to apply to each element
+     * @return the new list
+     */
+    @Nonnull
+    public L map(@Nonnull L list, @Nonnull Function<? super E, ? extends E> function) {
+        return this.map(list, function, this);
+    }
+
+    /**
+     * Creates a new list, with the specified factory, with the results of applying the specified function to the elements of the
+     * specified list.
+     * <p>
+     * The new list has the same shape as the original list, so it is built without any rebalancing. Subtrees are mapped in
+     * parallel on a {@link java.util.concurrent.ForkJoinPool} (the pool that runs the current task, or the common pool), so the
+     * function must be safe to call from several threads.
+     *
+     * @param <F>
+     *            the type of the elements in the new list
+     * @param <M>
+     *            the type of node used in the new list
+     * @param <K>
+     *            the type of the new list
+     * @param list
+     *            the list
+     * @param function
+     *            the function to apply to each element
+     * @param factory
+     *            the factory of the new list
+     * @return the new list
+     */
+    @Nonnull
+    public <F, M extends AbstractImmutableTreeNode<F, M>, K extends AbstractImmutableTreeList<F, M>> K map(@Nonnull L list,
+            @Nonnull Function<? super E, ? extends F> function, @Nonnull AbstractImmutableTreeListFactory<F, M, K> factory) {
+        if (function == null) {
+            throw new NullPointerException("function");
+        }
+
+        if (factory == null) {
+            throw new NullPointerException("factory");
+        }
+
+        return factory.createList(new ParallelTreeTasks.Map<>(factory.nodeFactory, list.getRoot(), function).invoke());
+    }
+
+    /**
+     * Combines the elements of the specified list with an associative operator.
+     * <p>
+     * The result is <code>identity</code> for an empty list; otherwise, it is equivalent to applying the operator to the elements
+     * from left to right, starting with <code>identity</code>. Subtrees are reduced in parallel on a
+     * {@link java.util.concurrent.ForkJoinPool} (the pool that runs the current task, or the common pool), so the operator must be
+     * associative, <code>identity</code> must be an identity value for it, and it must be safe to call from several threads.
+     *
+     * @param list
+     *            the list
+     * @param identity
+     *            the identity value of the operator
+     * @param operator
+     *            the operator that combines two values
+     * @return the result of the reduction
+     */
+    public E reduce(@Nonnull L list, E identity, @Nonnull BinaryOperator<E> operator) {
+        if (operator == null) {
+            throw new NullPointerException("operator");
+        }
+
+        return new ParallelTreeTasks.Reduce<>(list.getRoot(), identity, operator).invoke();
+    }
+
     /**
      * Creates a new list with the contents of the specified list and the element at the specified position removed from it.
      *
@@ -149,6 +706,51 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
         return this.createList(this.remove(root, index));
     }
 
+    /**
+     * Creates a new list with the contents of the specified list and the elements between the specified indices removed from
+     * it.
+     * <p>
+     * This method runs in logarithmic time, regardless of the number of removed elements.
+     *
+     * @param list
+     *            the list
+     * @param fromIndex
+     *            the index of the first element to remove
+     * @param toIndex
+     *            the index following the last element to remove
+     * @return the new list
+     */
+    @Nonnull
+    public L removeRange(@Nonnull L list, int fromIndex, int toIndex) {
+        checkRange(list, fromIndex, toIndex);
+
+        return this.splice(list, fromIndex, toIndex, Collections.<E> emptyList());
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the elements between the specified indices replaced with
+     * the elements of the specified collection.
+     * <p>
+     * The inserted elements are assembled in a balanced tree which is then joined with the rest of the list, so this method runs
+     * in O(k + log n) time, where k is the number of inserted elements, regardless of the number of removed elements.
+     *
+     * @param list
+     *            the list
+     * @param fromIndex
+     *            the index of the first element to replace
+     * @param toIndex
+     *            the index following the last element to replace
+     * @param collection
+     *            the elements to insert in place of the removed elements
+     * @return the new list
+     */
+    @Nonnull
+    public L replaceRange(@Nonnull L list, int fromIndex, int toIndex, @Nonnull Collection<? extends E> collection) {
+        checkRange(list, fromIndex, toIndex);
+
+        return this.splice(list, fromIndex, toIndex, collection);
+    }
+
     /**
      * Creates a new list with the contents of the specified list and the element at the specified position replaced with the
      * specified element.
@@ -172,6 +774,60 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
         return this.createList(this.set(root, index, element));
     }
 
+    /**
+     * Creates a new list with the elements of the specified list between the specified indices.
+     * <p>
+     * This method runs in logarithmic time and shares all the nodes of the list that lie entirely within the range.
+     *
+     * @param list
+     *            the list
+     * @param fromIndex
+     *            the index of the first element to keep
+     * @param toIndex
+     *            the index following the last element to keep
+     * @return the new list
+     */
+    @Nonnull
+    public L slice(@Nonnull L list, int fromIndex, int toIndex) {
+        checkRange(list, fromIndex, toIndex);
+
+        if (fromIndex == 0 && toIndex == list.size()) {
+            return list;
+        }
+
+        return this.createList(this.take(this.drop(list.getRoot(), fromIndex), toIndex - fromIndex));
+    }
+
+    /**
+     * Splits the specified list in two lists at the specified index.
+     * <p>
+     * This method runs in logarithmic time and shares all the nodes of the list that lie entirely on one side of the index.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the index of the first element of the right part
+     * @return the left part, with the elements before <code>index</code>, and the right part, with the elements from
+     *         <code>index</code>
+     */
+    @Nonnull
+    public Split<L> split(@Nonnull L list, int index) {
+        if (index < 0 || index > list.size()) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + list.size());
+        }
+
+        if (index == 0) {
+            return new Split<>(this.create(), list);
+        }
+
+        if (index == list.size()) {
+            return new Split<>(list, this.create());
+        }
+
+        final N root = list.getRoot();
+        return new Split<>(this.createList(this.take(root, index)), this.createList(this.drop(root, index)));
+    }
+
     /**
      * Creates a list (of type {@code L}) with the specified root node.
      *
@@ -182,6 +838,11 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
     @Nonnull
     protected abstract L createList(@CheckForNull N root);
 
+    @Nonnull
+    final AbstractImmutableTreeNodeFactory<E, N> getNodeFactory() {
+        return this.nodeFactory;
+    }
+
     @Nonnull
     private final N add(@Nonnull N node, int index, E element) {
         if (node == null) {
@@ -190,15 +851,14 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
 
         final N left = node.getLeft();
         final N right = node.getRight();
-        final E value = node.getValue();
 
         final int leftSize = left == null ? 0 : left.getSize();
 
         if (index <= leftSize) {
-            return this.nodeFactory.balanceLeft(this.add(left, index, element), value, right);
+            return this.nodeFactory.balanceLeft(this.add(left, index, element), node, right);
         }
 
-        return this.nodeFactory.balanceRight(left, value, this.add(right, index - leftSize - 1, element));
+        return this.nodeFactory.balanceRight(left, node, this.add(right, index - leftSize - 1, element));
     }
 
     @CheckForNull
@@ -224,11 +884,30 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
         return this.nodeFactory.createNode(null, value, null);
     }
 
+    @CheckForNull
+    private final N drop(@CheckForNull N node, int count) {
+        if (node == null || count == 0) {
+            return node;
+        }
+
+        if (count >= node.getSize()) {
+            return null;
+        }
+
+        final N left = node.getLeft();
+        final int leftSize = left == null ? 0 : left.getSize();
+
+        if (count <= leftSize) {
+            return this.nodeFactory.join(this.drop(left, count), node, node.getRight());
+        }
+
+        return this.drop(node.getRight(), count - leftSize - 1);
+    }
+
     @Nonnull
     private final N remove(@Nonnull N node, int index) {
         final N left = node.getLeft();
         final N right = node.getRight();
-        final E value = node.getValue();
 
         final int leftSize = left == null ? 0 : left.getSize();
 
@@ -237,16 +916,15 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
         }
 
         if (index < leftSize) {
-            return this.nodeFactory.balanceRight(this.remove(left, index), value, right);
+            return this.nodeFactory.balanceRight(this.remove(left, index), node, right);
         }
 
-        return this.nodeFactory.balanceLeft(left, value, this.remove(right, index - leftSize - 1));
+        return this.nodeFactory.balanceLeft(left, node, this.remove(right, index - leftSize - 1));
     }
 
     @Nonnull
     private final N set(@Nonnull N node, int index, E element) {
         final N left = node.getLeft();
-        final E value = node.getValue();
         final N right = node.getRight();
 
         final int leftSize = left == null ? 0 : left.getSize();
@@ -256,10 +934,68 @@ public abstract class AbstractImmutableTreeListFactory<E, N extends AbstractImmu
         }
 
         if (index < leftSize) {
-            return this.nodeFactory.createNode(this.set(left, index, element), value, right);
+            return this.nodeFactory.copyNode(this.set(left, index, element), node, right);
+        }
+
+        return this.nodeFactory.copyNode(left, node, this.set(right, index - leftSize - 1, element));
+    }
+
+    @Nonnull
+    private final L splice(@Nonnull L list, int fromIndex, int toIndex, @Nonnull Collection<? extends E> collection) {
+        final int size = collection.size();
+        if (fromIndex == toIndex && size == 0) {
+            return list;
+        }
+
+        final N inserted = this.createBalanced(collection.iterator(), size);
+        return this.createList(this.splice(list.getRoot(), fromIndex, toIndex, inserted));
+    }
+
+    @CheckForNull
+    private final N splice(@CheckForNull N node, int fromIndex, int toIndex, @CheckForNull N inserted) {
+        if (node == null) {
+            return inserted;
+        }
+
+        final N left = node.getLeft();
+        final N right = node.getRight();
+
+        final int leftSize = left == null ? 0 : left.getSize();
+
+        // If the range lies entirely on one side of this node, splice the subtree on that side and join it back.
+        if (toIndex <= leftSize) {
+            return this.nodeFactory.join(this.splice(left, fromIndex, toIndex, inserted), node, right);
+        }
+
+        if (fromIndex > leftSize) {
+            return this.nodeFactory.join(left, node,
+                    this.splice(right, fromIndex - leftSize - 1, toIndex - leftSize - 1, inserted));
+        }
+
+        // Otherwise, this node's element is removed: keep what precedes the range on the left
+        // and what follows the range on the right, and put the inserted elements between them.
+        return this.nodeFactory.concat(this.nodeFactory.concat(this.take(left, fromIndex), inserted),
+                this.drop(right, toIndex - leftSize - 1));
+    }
+
+    @CheckForNull
+    private final N take(@CheckForNull N node, int count) {
+        if (node == null || count == 0) {
+            return null;
+        }
+
+        if (count >= node.getSize()) {
+            return node;
+        }
+
+        final N left = node.getLeft();
+        final int leftSize = left == null ? 0 : left.getSize();
+
+        if (count <= leftSize) {
+            return this.take(left, count);
         }
 
-        return this.nodeFactory.createNode(left, value, this.set(right, index - leftSize - 1, element));
+        return this.nodeFactory.join(left, node, this.take(node.getRight(), count - leftSize - 1));
     }
 
 }
@@ -1,6 +1,9 @@
 package ca.fragag.collections;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -18,6 +21,213 @@ import javax.annotation.concurrent.Immutable;
 @Immutable
 public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTreeNode<E, N>> {
 
+    /**
+     * The initial capacity of the explicit stacks used by the iterative traversals. The stacks grow if a tree is deeper than this.
+     */
+    private static final int INITIAL_STACK_CAPACITY = 32;
+
+    /**
+     * A position in an in-order walk of a range of a tree. The elements that follow the position are the elements of
+     * {@link #subtree}, if it is not <code>null</code>, then the value and the elements of the right subtree of each node on the
+     * stack, from the top of the stack.
+     */
+    private static final class RangeCursor {
+
+        @Nonnull
+        private AbstractImmutableTreeNode<?, ?>[] stack = new AbstractImmutableTreeNode<?, ?>[INITIAL_STACK_CAPACITY];
+        private int depth;
+        @CheckForNull
+        AbstractImmutableTreeNode<?, ?> subtree;
+
+        RangeCursor(@Nonnull AbstractImmutableTreeNode<?, ?> node, int index) {
+            for (;;) {
+                final int leftSize = getSize(node.left);
+                if (index > leftSize) {
+                    index -= leftSize + 1;
+                    node = node.right;
+                } else {
+                    this.push(node);
+                    if (index == leftSize) {
+                        return;
+                    }
+
+                    node = node.left;
+                }
+
+                assert node != null;
+            }
+        }
+
+        /**
+         * Replaces the subtree with its left subtree and pushes its root on the stack.
+         */
+        void descend() {
+            final AbstractImmutableTreeNode<?, ?> subtree = this.subtree;
+            assert subtree != null;
+            this.push(subtree);
+            this.subtree = subtree.left;
+        }
+
+        /**
+         * Pops the node at the top of the stack, returns its value and makes its right subtree the subtree. The subtree must be
+         * <code>null</code>.
+         */
+        @CheckForNull
+        Object next() {
+            assert this.subtree == null;
+            final AbstractImmutableTreeNode<?, ?> node = this.stack[--this.depth];
+            this.subtree = node.right;
+            return node.value;
+        }
+
+        private void push(@Nonnull AbstractImmutableTreeNode<?, ?> node) {
+            if (this.depth == this.stack.length) {
+                this.stack = Arrays.copyOf(this.stack, this.depth * 2);
+            }
+
+            this.stack[this.depth++] = node;
+        }
+
+    }
+
+    /**
+     * Computes 31 raised to the specified power, with the overflow semantics of {@link List#hashCode()}.
+     *
+     * @param exponent
+     *            the exponent
+     * @return 31<sup>exponent</sup>, modulo 2<sup>32</sup>
+     */
+    static int powerOf31(int exponent) {
+        int result = 1;
+        int base = 31;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) {
+                result *= base;
+            }
+
+            base *= base;
+            exponent >>>= 1;
+        }
+
+        return result;
+    }
+
+    /**
+     * Determines whether a range of the elements of a subtree is equal to a range of the elements of another subtree.
+     * <p>
+     * Subtrees that are shared by both trees at the same position in the range are not traversed, so comparing a tree with a
+     * version of itself that was derived from it by a few modifications only visits the modified paths. The other elements are
+     * compared by walking both ranges in order, so comparing unrelated trees takes linear time.
+     *
+     * @param node
+     *            the first subtree
+     * @param index
+     *            the index of the first element of the range in the first subtree
+     * @param otherNode
+     *            the second subtree
+     * @param otherIndex
+     *            the index of the first element of the range in the second subtree
+     * @param length
+     *            the number of elements in the ranges
+     * @return <code>true</code> if the ranges contain equal elements in the same order, <code>false</code> otherwise
+     */
+    static boolean rangeEquals(@CheckForNull AbstractImmutableTreeNode<?, ?> node, int index,
+            @CheckForNull AbstractImmutableTreeNode<?, ?> otherNode, int otherIndex, int length) {
+        if (length == 0) {
+            return true;
+        }
+
+        assert node != null && otherNode != null;
+
+        // Narrow each range down to the smallest subtree that contains it.
+        for (;;) {
+            final int leftSize = getSize(node.left);
+            if (index + length <= leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                break;
+            }
+
+            assert node != null;
+        }
+
+        for (;;) {
+            final int leftSize = getSize(otherNode.left);
+            if (otherIndex + length <= leftSize) {
+                otherNode = otherNode.left;
+            } else if (otherIndex > leftSize) {
+                otherIndex -= leftSize + 1;
+                otherNode = otherNode.right;
+            } else {
+                break;
+            }
+
+            assert otherNode != null;
+        }
+
+        if (node == otherNode && index == otherIndex) {
+            return true;
+        }
+
+        // If both ranges cover whole subtrees whose hash codes have already been computed, use them to reject unequal subtrees.
+        if (length == node.size && length == otherNode.size && node.elementsHashCode != 0 && otherNode.elementsHashCode != 0
+                && node.elementsHashCode != otherNode.elementsHashCode) {
+            return false;
+        }
+
+        // Walk both ranges in order. Descend into the larger of the current subtrees until both cursors reach subtrees of the
+        // same size, which are skipped if they are shared and rejected if their hash codes differ.
+        final RangeCursor cursor = new RangeCursor(node, index);
+        final RangeCursor otherCursor = new RangeCursor(otherNode, otherIndex);
+        while (length != 0) {
+            final AbstractImmutableTreeNode<?, ?> subtree = cursor.subtree;
+            final AbstractImmutableTreeNode<?, ?> otherSubtree = otherCursor.subtree;
+            if (subtree == null) {
+                if (otherSubtree == null) {
+                    if (!Objects.equals(cursor.next(), otherCursor.next())) {
+                        return false;
+                    }
+
+                    length--;
+                } else {
+                    otherCursor.descend();
+                }
+            } else if (otherSubtree == null) {
+                cursor.descend();
+            } else if (subtree == otherSubtree) {
+                if (subtree.size >= length) {
+                    return true;
+                }
+
+                length -= subtree.size;
+                cursor.subtree = null;
+                otherCursor.subtree = null;
+            } else {
+                if (subtree.size == otherSubtree.size && subtree.size <= length && subtree.elementsHashCode != 0
+                        && otherSubtree.elementsHashCode != 0 && subtree.elementsHashCode != otherSubtree.elementsHashCode) {
+                    return false;
+                }
+
+                if (subtree.size >= otherSubtree.size) {
+                    cursor.descend();
+                }
+
+                if (otherSubtree.size >= subtree.size) {
+                    otherCursor.descend();
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static int getSize(@CheckForNull AbstractImmutableTreeNode<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
     /** The left subtree. */
     @CheckForNull
     private final N left;
@@ -29,6 +239,11 @@ public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTr
 
     /** How many nodes are in this subtree. */
     private final transient int size;
+    /**
+     * The sum of the hash codes of the elements in this subtree, each multiplied by 31 raised to the number of elements that
+     * follow it in the subtree, or 0 if it hasn't been computed yet.
+     */
+    private transient int elementsHashCode;
 
     /**
      * Initializes a new AbstractImmutableTreeNode.
@@ -87,6 +302,105 @@ public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTr
         return this.size;
     }
 
+    /**
+     * Computes the hash code of the elements in this subtree. The hash code of a list is 31<sup>n</sup> plus this value, where n
+     * is the number of elements in the list.
+     * <p>
+     * The result is cached in this node. Since nodes are immutable, concurrent threads may compute it at the same time, but they
+     * will all compute the same value.
+     *
+     * @return the hash code of the elements in this subtree
+     */
+    final int elementsHashCode() {
+        int hashCode = this.elementsHashCode;
+        if (hashCode == 0) {
+            hashCode = this.left == null ? 0 : this.left.elementsHashCode();
+            hashCode = 31 * hashCode + Objects.hashCode(this.value);
+            if (this.right != null) {
+                hashCode = hashCode * powerOf31(this.right.getSize()) + this.right.elementsHashCode();
+            }
+
+            this.elementsHashCode = hashCode;
+        }
+
+        return hashCode;
+    }
+
+    /**
+     * Computes the hash code of the elements in a range of the list, in the same way as {@link #elementsHashCode()}. The hash
+     * codes of the subtrees that are entirely in the range are reused.
+     *
+     * @param index
+     *            the index of the leftmost node in this subtree
+     * @param fromIndex
+     *            the index of the first element in the range
+     * @param toIndex
+     *            the index following the last element in the range
+     * @return the hash code of the elements in the range
+     */
+    final int elementsHashCode(int index, int fromIndex, int toIndex) {
+        if (fromIndex <= index && index + this.size <= toIndex) {
+            return this.elementsHashCode();
+        }
+
+        int hashCode = 0;
+        if (this.left != null) {
+            if (fromIndex < index + this.left.getSize()) {
+                hashCode = this.left.elementsHashCode(index, fromIndex, toIndex);
+            }
+
+            index += this.left.getSize();
+        }
+
+        if (index < toIndex) {
+            if (fromIndex <= index) {
+                hashCode = 31 * hashCode + Objects.hashCode(this.value);
+            }
+
+            index += 1;
+            if (index < toIndex && this.right != null) {
+                final int rightLength = Math.min(toIndex, index + this.right.getSize()) - Math.max(fromIndex, index);
+                hashCode = hashCode * powerOf31(rightLength) + this.right.elementsHashCode(index, fromIndex, toIndex);
+            }
+        }
+
+        return hashCode;
+    }
+
+    /**
+     * Performs an action on each element of a range of the list, in order.
+     *
+     * @param action
+     *            the action to perform
+     * @param index
+     *            the index of the leftmost node in this subtree
+     * @param fromIndex
+     *            the index of the first element to process
+     * @param toIndex
+     *            the index following the last element to process
+     */
+    final void forEach(@Nonnull Consumer<? super E> action, int index, int fromIndex, int toIndex) {
+        if (this.left != null) {
+            if (fromIndex < index + this.left.getSize()) {
+                this.left.forEach(action, index, fromIndex, toIndex);
+            }
+
+            index += this.left.getSize();
+        }
+
+        if (index < toIndex) {
+            if (fromIndex <= index) {
+                action.accept(this.value);
+            }
+
+            // If there is no right subtree, the rest of the range is in an ancestor.
+            index += 1;
+            if (index < toIndex && this.right != null) {
+                this.right.forEach(action, index, fromIndex, toIndex);
+            }
+        }
+    }
+
     /**
      * Gets the element at the specified index.
      *
@@ -96,22 +410,26 @@ public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTr
      */
     @CheckForNull
     final E get(int index) {
-        int leftSize = 0;
-        if (this.left != null) {
-            leftSize = this.left.getSize();
-            if (index < leftSize) {
-                return this.left.get(index);
+        AbstractImmutableTreeNode<E, N> node = this;
+        for (;;) {
+            final AbstractImmutableTreeNode<E, N> left = node.left;
+            if (left != null) {
+                if (index < left.size) {
+                    node = left;
+                    continue;
+                }
+
+                index -= left.size;
             }
 
-            index -= leftSize;
-        }
+            if (index == 0) {
+                return node.value;
+            }
 
-        if (index == 0) {
-            return this.value;
+            index -= 1;
+            node = node.right;
+            assert node != null;
         }
-
-        assert this.right != null;
-        return this.right.get(index - 1);
     }
 
     /**
@@ -124,24 +442,40 @@ public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTr
      * @return the index of the first location where the object is located, or -1 if the object is not stored in the list.
      */
     final int indexOf(@CheckForNull Object object, int index) {
-        if (this.left != null) {
-            int result = this.left.indexOf(object, index);
-            if (result != -1) {
-                return result;
+        // Walk the subtree in order with an explicit stack of the nodes whose left subtree is being visited.
+        AbstractImmutableTreeNode<?, ?>[] stack = new AbstractImmutableTreeNode<?, ?>[INITIAL_STACK_CAPACITY];
+        int depth = 0;
+        AbstractImmutableTreeNode<?, ?> node = this;
+        for (;;) {
+            while (node.left != null) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+
+                stack[depth++] = node;
+                node = node.left;
             }
 
-            index += this.left.getSize();
-        }
+            if (Objects.equals(node.value, object)) {
+                return index;
+            }
 
-        if (Objects.equals(this.value, object)) {
-            return index;
-        }
+            index += 1;
+            while (node.right == null) {
+                if (depth == 0) {
+                    return -1;
+                }
 
-        if (this.right != null) {
-            return this.right.indexOf(object, index + 1);
-        }
+                node = stack[--depth];
+                if (Objects.equals(node.value, object)) {
+                    return index;
+                }
 
-        return -1;
+                index += 1;
+            }
+
+            node = node.right;
+        }
     }
 
     /**
@@ -197,25 +531,39 @@ public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTr
      * @return the index of the last location where the object is located, or -1 if the object is not stored in the list.
      */
     final int lastIndexOf(@CheckForNull Object object, int index) {
-        if (this.right != null) {
-            int result = this.right.lastIndexOf(object, index);
-            if (result != -1) {
-                return result;
+        // Walk the subtree in reverse order with an explicit stack of the nodes whose right subtree is being visited.
+        AbstractImmutableTreeNode<?, ?>[] stack = new AbstractImmutableTreeNode<?, ?>[INITIAL_STACK_CAPACITY];
+        int depth = 0;
+        AbstractImmutableTreeNode<?, ?> node = this;
+        for (;;) {
+            while (node.right != null) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+
+                stack[depth++] = node;
+                node = node.right;
             }
 
-            index -= this.right.getSize();
-        }
+            index -= 1;
+            if (Objects.equals(node.value, object)) {
+                return index;
+            }
 
-        index -= 1;
-        if (Objects.equals(this.value, object)) {
-            return index;
-        }
+            while (node.left == null) {
+                if (depth == 0) {
+                    return -1;
+                }
 
-        if (this.left != null) {
-            return this.left.lastIndexOf(object, index);
-        }
+                node = stack[--depth];
+                index -= 1;
+                if (Objects.equals(node.value, object)) {
+                    return index;
+                }
+            }
 
-        return -1;
+            node = node.left;
+        }
     }
 
     /**
@@ -270,15 +618,31 @@ public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTr
      *            the index of the leftmost node in this subtree
      */
     final void toArray(@Nonnull Object[] array, int index) {
-        if (this.left != null) {
-            this.left.toArray(array, index);
-            index += this.left.getSize();
-        }
+        // Walk the subtree in order with an explicit stack of the nodes whose left subtree is being visited.
+        AbstractImmutableTreeNode<?, ?>[] stack = new AbstractImmutableTreeNode<?, ?>[INITIAL_STACK_CAPACITY];
+        int depth = 0;
+        AbstractImmutableTreeNode<?, ?> node = this;
+        for (;;) {
+            while (node.left != null) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
 
-        array[index] = this.value;
+                stack[depth++] = node;
+                node = node.left;
+            }
 
-        if (this.right != null) {
-            this.right.toArray(array, index + 1);
+            array[index++] = node.value;
+            while (node.right == null) {
+                if (depth == 0) {
+                    return;
+                }
+
+                node = stack[--depth];
+                array[index++] = node.value;
+            }
+
+            node = node.right;
         }
     }
 
@@ -308,9 +672,9 @@ public abstract class AbstractImmutableTreeNode<E, N extends AbstractImmutableTr
                 array[index - fromIndex] = this.value;
             }
 
+            // If there is no right subtree, the rest of the range is in an ancestor.
             index += 1;
-            if (index < toIndex) {
-                assert this.right != null;
+            if (index < toIndex && this.right != null) {
                 this.right.toArray(array, index, fromIndex, toIndex);
             }
         }
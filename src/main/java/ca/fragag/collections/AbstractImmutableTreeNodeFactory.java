@@ -20,19 +20,20 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
     @Immutable
     private static class Removal<E, N extends AbstractImmutableTreeNode<E, N>> {
 
-        final E element;
+        @Nonnull
+        final N element;
         @CheckForNull
         final N node;
 
-        Removal(E element, @CheckForNull N node) {
+        Removal(@Nonnull N element, @CheckForNull N node) {
             this.element = element;
             this.node = node;
         }
 
     }
 
-    private static final int DELTA = 3;
-    private static final int RATIO = 2;
+    static final int DELTA = 3;
+    static final int RATIO = 2;
 
     /**
      * Creates a node (of type {@code N}) with the specified left node, right node and element value.
@@ -48,8 +49,29 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
     @Nonnull
     protected abstract N createNode(@CheckForNull N left, E value, @CheckForNull N right);
 
+    /**
+     * Creates a node (of type {@code N}) with the specified left node, right node and the element value of an existing node.
+     * <p>
+     * The tree algorithms call this method rather than
+     * {@link #createNode(AbstractImmutableTreeNode, Object, AbstractImmutableTreeNode) createNode} when they move an element that
+     * is already in a tree, so that a factory can reuse what the existing node derived from its element value instead of deriving
+     * it again. The default implementation calls <code>createNode</code> with the value of the existing node.
+     *
+     * @param left
+     *            the left node
+     * @param node
+     *            the node whose element value the new node holds
+     * @param right
+     *            the right node
+     * @return a node with the specified left node, right node and the element value of <code>node</code>.
+     */
     @Nonnull
-    final N balanceLeft(@CheckForNull N left, E element, @CheckForNull N right) {
+    protected N copyNode(@CheckForNull N left, @Nonnull N node, @CheckForNull N right) {
+        return this.createNode(left, node.getValue(), right);
+    }
+
+    @Nonnull
+    final N balanceLeft(@CheckForNull N left, @Nonnull N element, @CheckForNull N right) {
         N balanced;
 
         if (right == null) {
@@ -61,27 +83,26 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
 
                 if (leftLeft == null) {
                     if (leftRight == null) {
-                        balanced = this.createNode(left, element, null);
+                        balanced = this.withChildren(left, element, null);
                     } else {
-                        balanced = this.createNode(this.createLeafNode(left.getValue()), leftRight.getValue(),
-                                this.createLeafNode(element));
+                        balanced = this.withChildren(this.createLeafNode(left), leftRight, this.createLeafNode(element));
                     }
                 } else {
                     if (leftRight == null) {
-                        balanced = this.createNode(leftLeft, left.getValue(), this.createLeafNode(element));
+                        balanced = this.withChildren(leftLeft, left, this.createLeafNode(element));
                     } else {
                         if (leftRight.getSize() < RATIO * leftLeft.getSize()) {
-                            balanced = this.createNode(leftLeft, left.getValue(), this.createNode(leftRight, element, null));
+                            balanced = this.withChildren(leftLeft, left, this.withChildren(leftRight, element, null));
                         } else {
-                            balanced = this.createNode(this.createNode(leftLeft, left.getValue(), leftRight.getLeft()),
-                                    leftRight.getValue(), this.createNode(leftRight.getRight(), element, null));
+                            balanced = this.withChildren(this.withChildren(leftLeft, left, leftRight.getLeft()),
+                                    leftRight, this.withChildren(leftRight.getRight(), element, null));
                         }
                     }
                 }
             }
         } else {
             if (left == null) {
-                balanced = this.createNode(null, element, right);
+                balanced = this.withChildren(null, element, right);
             } else {
                 if (left.getSize() > DELTA * right.getSize()) {
                     final N leftLeft = left.getLeft();
@@ -93,13 +114,13 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
                     assert leftRight != null;
 
                     if (leftRight.getSize() < RATIO * leftLeft.getSize()) {
-                        balanced = this.createNode(leftLeft, left.getValue(), this.createNode(leftRight, element, right));
+                        balanced = this.withChildren(leftLeft, left, this.withChildren(leftRight, element, right));
                     } else {
-                        balanced = this.createNode(this.createNode(leftLeft, left.getValue(), leftRight.getLeft()),
-                                leftRight.getValue(), this.createNode(leftRight.getRight(), element, right));
+                        balanced = this.withChildren(this.withChildren(leftLeft, left, leftRight.getLeft()),
+                                leftRight, this.withChildren(leftRight.getRight(), element, right));
                     }
                 } else {
-                    balanced = this.createNode(left, element, right);
+                    balanced = this.withChildren(left, element, right);
                 }
             }
         }
@@ -107,7 +128,7 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
         return balanced;
     }
 
-    final N balanceRight(@CheckForNull N left, E element, @CheckForNull N right) {
+    final N balanceRight(@CheckForNull N left, @Nonnull N element, @CheckForNull N right) {
         N balanced;
 
         if (left == null) {
@@ -119,27 +140,26 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
 
                 if (rightLeft == null) {
                     if (rightRight == null) {
-                        balanced = this.createNode(null, element, right);
+                        balanced = this.withChildren(null, element, right);
                     } else {
-                        balanced = this.createNode(this.createLeafNode(element), right.getValue(), rightRight);
+                        balanced = this.withChildren(this.createLeafNode(element), right, rightRight);
                     }
                 } else {
                     if (rightRight == null) {
-                        balanced = this.createNode(this.createLeafNode(element), rightLeft.getValue(),
-                                this.createLeafNode(right.getValue()));
+                        balanced = this.withChildren(this.createLeafNode(element), rightLeft, this.createLeafNode(right));
                     } else {
                         if (rightLeft.getSize() < RATIO * rightRight.getSize()) {
-                            balanced = this.createNode(this.createNode(null, element, rightLeft), right.getValue(), rightRight);
+                            balanced = this.withChildren(this.withChildren(null, element, rightLeft), right, rightRight);
                         } else {
-                            balanced = this.createNode(this.createNode(null, element, rightLeft.getLeft()), rightLeft.getValue(),
-                                    this.createNode(rightLeft.getRight(), right.getValue(), rightRight));
+                            balanced = this.withChildren(this.withChildren(null, element, rightLeft.getLeft()), rightLeft,
+                                    this.withChildren(rightLeft.getRight(), right, rightRight));
                         }
                     }
                 }
             }
         } else {
             if (right == null) {
-                balanced = this.createNode(left, element, null);
+                balanced = this.withChildren(left, element, null);
             } else {
                 if (right.getSize() > DELTA * left.getSize()) {
                     final N rightLeft = right.getLeft();
@@ -151,13 +171,13 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
                     assert rightRight != null;
 
                     if (rightLeft.getSize() < RATIO * rightRight.getSize()) {
-                        balanced = this.createNode(this.createNode(left, element, rightLeft), right.getValue(), rightRight);
+                        balanced = this.withChildren(this.withChildren(left, element, rightLeft), right, rightRight);
                     } else {
-                        balanced = this.createNode(this.createNode(left, element, rightLeft.getLeft()), rightLeft.getValue(),
-                                this.createNode(rightLeft.getRight(), right.getValue(), rightRight));
+                        balanced = this.withChildren(this.withChildren(left, element, rightLeft.getLeft()), rightLeft,
+                                this.withChildren(rightLeft.getRight(), right, rightRight));
                     }
                 } else {
-                    balanced = this.createNode(left, element, right);
+                    balanced = this.withChildren(left, element, right);
                 }
             }
         }
@@ -165,6 +185,29 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
         return balanced;
     }
 
+    @CheckForNull
+    final N concat(@CheckForNull N left, @CheckForNull N right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        // If one tree is much larger than the other, descend along the larger tree's inner spine
+        // until the subtree there has a size comparable to the smaller tree, then rebalance on the way up.
+        if (DELTA * left.getSize() < right.getSize()) {
+            return this.balanceLeft(this.concat(left, right.getLeft()), right, right.getRight());
+        }
+
+        if (DELTA * right.getSize() < left.getSize()) {
+            return this.balanceRight(left.getLeft(), left, this.concat(left.getRight(), right));
+        }
+
+        return this.glue(left, right);
+    }
+
     final N glue(@CheckForNull N left, @CheckForNull N right) {
         if (left == null) {
             if (right == null) {
@@ -188,30 +231,87 @@ public abstract class AbstractImmutableTreeNodeFactory<E, N extends AbstractImmu
     }
 
     @Nonnull
-    private final N createLeafNode(E value) {
-        return this.createNode(null, value, null);
+    final N join(@CheckForNull N left, @Nonnull N element, @CheckForNull N right) {
+        if (left == null) {
+            return this.insertFirst(element, right);
+        }
+
+        if (right == null) {
+            return this.insertLast(left, element);
+        }
+
+        // If one tree is much larger than the other, descend along the larger tree's inner spine
+        // until the subtree there has a size comparable to the smaller tree, then rebalance on the way up.
+        if (DELTA * left.getSize() < right.getSize()) {
+            return this.balanceLeft(this.join(left, element, right.getLeft()), right, right.getRight());
+        }
+
+        if (DELTA * right.getSize() < left.getSize()) {
+            return this.balanceRight(left.getLeft(), left, this.join(left.getRight(), element, right));
+        }
+
+        return this.withChildren(left, element, right);
+    }
+
+    /**
+     * Creates a leaf node with the element value of an existing node, or returns that node if it is a leaf.
+     */
+    @Nonnull
+    private final N createLeafNode(@Nonnull N node) {
+        return this.withChildren(null, node, null);
+    }
+
+    /**
+     * Creates a node with the specified children and the element value of an existing node, or returns that node if it already
+     * has these children.
+     */
+    @Nonnull
+    private final N withChildren(@CheckForNull N left, @Nonnull N node, @CheckForNull N right) {
+        if (node.getLeft() == left && node.getRight() == right) {
+            return node;
+        }
+
+        return this.copyNode(left, node, right);
+    }
+
+    @Nonnull
+    private final N insertFirst(@Nonnull N element, @CheckForNull N node) {
+        if (node == null) {
+            return this.createLeafNode(element);
+        }
+
+        return this.balanceLeft(this.insertFirst(element, node.getLeft()), node, node.getRight());
+    }
+
+    @Nonnull
+    private final N insertLast(@CheckForNull N node, @Nonnull N element) {
+        if (node == null) {
+            return this.createLeafNode(element);
+        }
+
+        return this.balanceRight(node.getLeft(), node, this.insertLast(node.getRight(), element));
     }
 
     @Nonnull
     private final Removal<E, N> removeFirst(@Nonnull N node) {
         final N left = node.getLeft();
         if (left == null) {
-            return new Removal<>(node.getValue(), node.getRight());
+            return new Removal<>(node, node.getRight());
         }
 
         Removal<E, N> removal = this.removeFirst(left);
-        return new Removal<>(removal.element, this.createNode(removal.node, node.getValue(), node.getRight()));
+        return new Removal<>(removal.element, this.balanceRight(removal.node, node, node.getRight()));
     }
 
     @Nonnull
     private final Removal<E, N> removeLast(@Nonnull N node) {
         final N right = node.getRight();
         if (right == null) {
-            return new Removal<>(node.getValue(), node.getLeft());
+            return new Removal<>(node, node.getLeft());
         }
 
         Removal<E, N> removal = this.removeLast(right);
-        return new Removal<>(removal.element, this.createNode(node.getLeft(), node.getValue(), removal.node));
+        return new Removal<>(removal.element, this.balanceLeft(node.getLeft(), node, removal.node));
     }
 
 }
@@ -0,0 +1,186 @@
+package ca.fragag.collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable list that is structured as a binary tree whose nodes cache the {@linkplain Measure measure} of their subtree.
+ * <p>
+ * Besides the operations of {@link AbstractImmutableTreeList}, this list computes the measure of any range of elements and finds
+ * an element by cumulative measure in O(log n) time. For example, with a measure that sums the lengths of strings, a list of
+ * strings can find the string that contains a given character offset of their concatenation.
+ *
+ * @param <E>
+ *            the type of the elements in the list
+ * @param <N>
+ *            the type of node in the list
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public abstract class AbstractMeasuredTreeList<E, N extends AbstractMeasuredTreeNode<E, N>> extends AbstractImmutableTreeList<E, N> {
+
+    /**
+     * The element found by {@link AbstractMeasuredTreeList#findByMeasure(long)}.
+     *
+     * @param <E>
+     *            the type of the element
+     *
+     * @author Francis Gagné
+     */
+    @Immutable
+    public static final class Position<E> {
+
+        private final int index;
+        private final long measureBefore;
+        private final E element;
+
+        Position(int index, long measureBefore, E element) {
+            this.index = index;
+            this.measureBefore = measureBefore;
+            this.element = element;
+        }
+
+        /**
+         * Gets the element that was found.
+         *
+         * @return the element
+         */
+        public E getElement() {
+            return this.element;
+        }
+
+        /**
+         * Gets the index of the element that was found.
+         *
+         * @return the index of the element
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Gets the measure of the elements that precede the element that was found.
+         *
+         * @return the measure of the elements before the element
+         */
+        public long getMeasureBefore() {
+            return this.measureBefore;
+        }
+
+    }
+
+    @Nonnull
+    private final Measure<? super E> measure;
+
+    /**
+     * Initializes a new AbstractMeasuredTreeList.
+     *
+     * @param root
+     *            the list's root node
+     * @param measure
+     *            the measure that the nodes of the list cache
+     */
+    protected AbstractMeasuredTreeList(@CheckForNull N root, @Nonnull Measure<? super E> measure) {
+        super(root);
+        if (measure == null) {
+            throw new NullPointerException("measure");
+        }
+
+        this.measure = measure;
+    }
+
+    /**
+     * Finds the first element at which the measure of the elements from the start of the list up to and including that element
+     * is greater than the specified value.
+     * <p>
+     * This method descends the tree once, guided by the cached measures of the subtrees, so it runs in O(log n) time. It assumes
+     * that combining measures never decreases them (see {@link Measure}).
+     *
+     * @param target
+     *            the value that the cumulative measure must exceed
+     * @return the position of the element, or <code>null</code> if the measure of the whole list doesn't exceed
+     *         <code>target</code>
+     */
+    @CheckForNull
+    public final Position<E> findByMeasure(long target) {
+        N node = this.getRoot();
+        if (node == null || node.getMeasure() <= target) {
+            return null;
+        }
+
+        final Measure<? super E> measure = this.measure;
+        long accumulated = measure.identity();
+        int index = 0;
+        for (;;) {
+            final N left = node.getLeft();
+            if (left != null) {
+                final long withLeft = measure.combine(accumulated, left.getMeasure());
+                if (withLeft > target) {
+                    node = left;
+                    continue;
+                }
+
+                accumulated = withLeft;
+                index += left.getSize();
+            }
+
+            final E value = node.getValue();
+            final long withValue = measure.combine(accumulated, measure.measure(value));
+            if (withValue > target) {
+                return new Position<>(index, accumulated, value);
+            }
+
+            accumulated = withValue;
+            index++;
+            node = node.getRight();
+            assert node != null;
+        }
+    }
+
+    /**
+     * Gets the measure that the nodes of this list cache.
+     *
+     * @return the measure
+     */
+    @Nonnull
+    public final Measure<? super E> getMeasure() {
+        return this.measure;
+    }
+
+    /**
+     * Gets the measure of all the elements of this list.
+     *
+     * @return the measure of this list
+     */
+    public final long measure() {
+        final N root = this.getRoot();
+        return root == null ? this.measure.identity() : root.getMeasure();
+    }
+
+    /**
+     * Computes the measure of the elements in the specified range of this list in O(log n) time.
+     *
+     * @param fromIndex
+     *            the index of the first element in the range
+     * @param toIndex
+     *            the index following the last element in the range
+     * @return the measure of the elements in the range
+     * @throws IndexOutOfBoundsException
+     *             <code>fromIndex</code> or <code>toIndex</code> is negative or is greater than this list's size, or
+     *             <code>fromIndex</code> is greater than <code>toIndex</code>
+     */
+    public final long measure(int fromIndex, int toIndex) {
+        checkInterval(fromIndex, 0, this.size(), this.size());
+        checkInterval(toIndex, fromIndex, this.size(), this.size());
+        if (fromIndex == toIndex) {
+            return this.measure.identity();
+        }
+
+        final N root = this.getRoot();
+        assert root != null;
+        return root.measure(this.measure, 0, fromIndex, toIndex);
+    }
+
+}
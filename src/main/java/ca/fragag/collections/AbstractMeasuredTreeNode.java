@@ -0,0 +1,103 @@
+package ca.fragag.collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable node in a binary tree that caches the {@linkplain Measure measure} of its subtree, in addition to its size.
+ *
+ * @param <E>
+ *            the type of the value in the node and its child nodes
+ * @param <N>
+ *            the type of the child nodes (usually the type itself)
+ * @author Francis Gagné
+ */
+@Immutable
+public abstract class AbstractMeasuredTreeNode<E, N extends AbstractMeasuredTreeNode<E, N>> extends AbstractImmutableTreeNode<E, N> {
+
+    /** The measure of this subtree. */
+    private final transient long measure;
+
+    /**
+     * Initializes a new AbstractMeasuredTreeNode.
+     *
+     * @param left
+     *            the left subtree
+     * @param value
+     *            the element value
+     * @param right
+     *            the right subtree
+     * @param measure
+     *            the measure of the elements; it must be the same for all the nodes of a tree
+     */
+    protected AbstractMeasuredTreeNode(@CheckForNull N left, E value, @CheckForNull N right, @Nonnull Measure<? super E> measure) {
+        super(left, value, right);
+
+        long subtreeMeasure = measure.measure(value);
+        if (left != null) {
+            subtreeMeasure = measure.combine(left.getMeasure(), subtreeMeasure);
+        }
+
+        if (right != null) {
+            subtreeMeasure = measure.combine(subtreeMeasure, right.getMeasure());
+        }
+
+        this.measure = subtreeMeasure;
+    }
+
+    /**
+     * Gets the measure of this subtree.
+     *
+     * @return the measure of the elements in this subtree
+     */
+    public final long getMeasure() {
+        return this.measure;
+    }
+
+    /**
+     * Computes the measure of the elements in a range of the list. The cached measures of the subtrees that are entirely in the
+     * range are reused.
+     *
+     * @param measure
+     *            the measure of the elements
+     * @param index
+     *            the index of the leftmost node in this subtree
+     * @param fromIndex
+     *            the index of the first element in the range
+     * @param toIndex
+     *            the index following the last element in the range
+     * @return the measure of the elements in the range
+     */
+    final long measure(@Nonnull Measure<? super E> measure, int index, int fromIndex, int toIndex) {
+        if (fromIndex <= index && index + this.getSize() <= toIndex) {
+            return this.measure;
+        }
+
+        long result = measure.identity();
+        final N left = this.getLeft();
+        if (left != null) {
+            if (fromIndex < index + left.getSize()) {
+                result = left.measure(measure, index, fromIndex, toIndex);
+            }
+
+            index += left.getSize();
+        }
+
+        if (index < toIndex) {
+            if (fromIndex <= index) {
+                result = measure.combine(result, measure.measure(this.getValue()));
+            }
+
+            // If there is no right subtree, the rest of the range is in an ancestor.
+            index += 1;
+            final N right = this.getRight();
+            if (index < toIndex && right != null) {
+                result = measure.combine(result, right.measure(measure, index, fromIndex, toIndex));
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,140 @@
+package ca.fragag.collections;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Base class for the immutable lists of primitive values ({@link ImmutableIntTreeList}, {@link ImmutableLongTreeList} and
+ * {@link ImmutableDoubleTreeList}), which store their values in an {@link ArrayChunkList} of primitive arrays. This class
+ * implements the operations that don't depend on the type of the values.
+ *
+ * @param <A>
+ *            the type of the chunks
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+abstract class AbstractPrimitiveTreeList<A> {
+
+    /**
+     * Iterates through the positions of the values of a list, one chunk at a time. Subclasses read the value at the position
+     * returned by {@link #nextPosition()} in {@link #chunk}.
+     */
+    abstract class ChunkIterator {
+
+        @Nonnull
+        private final Iterator<A> chunkIterator;
+        @CheckForNull
+        A chunk;
+        private int positionInChunk;
+        private int chunkLength;
+        private int remaining;
+
+        ChunkIterator(int index) {
+            final ArrayChunkList<A> chunks = AbstractPrimitiveTreeList.this.chunks;
+            this.remaining = chunks.elementCount() - index;
+            if (this.remaining == 0) {
+                this.chunkIterator = chunks.listIterator(chunks.size());
+            } else {
+                final ArrayChunkList.ChunkPosition<A> position = chunks.findChunk(index);
+                this.chunkIterator = chunks.listIterator(position.chunkIndex + 1);
+                this.chunk = position.chunk;
+                this.positionInChunk = index - position.chunkStartIndex;
+                this.chunkLength = AbstractPrimitiveTreeList.this.getChunkType().length(position.chunk);
+            }
+        }
+
+        public final boolean hasNext() {
+            return this.remaining > 0;
+        }
+
+        /**
+         * Moves to the next value.
+         *
+         * @return the position of the next value in {@link #chunk}
+         * @throws NoSuchElementException
+         *             the iteration has no more values
+         */
+        final int nextPosition() {
+            if (this.remaining == 0) {
+                throw new NoSuchElementException();
+            }
+
+            if (this.positionInChunk == this.chunkLength) {
+                final A chunk = this.chunkIterator.next();
+                this.chunk = chunk;
+                this.positionInChunk = 0;
+                this.chunkLength = AbstractPrimitiveTreeList.this.getChunkType().length(chunk);
+            }
+
+            this.remaining--;
+            return this.positionInChunk++;
+        }
+
+    }
+
+    @Nonnull
+    private final ArrayChunkList<A> chunks;
+
+    AbstractPrimitiveTreeList(@Nonnull ArrayChunkList<A> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * Determines whether this list is empty.
+     *
+     * @return <code>true</code> if this list contains no values, <code>false</code> otherwise
+     */
+    public final boolean isEmpty() {
+        return this.chunks.isEmpty();
+    }
+
+    /**
+     * Gets the number of values in this list.
+     *
+     * @return the number of values in this list
+     */
+    public final int size() {
+        return this.chunks.elementCount();
+    }
+
+    /**
+     * Returns an array that contains the values in the specified range of this list.
+     *
+     * @param fromIndex
+     *            the position of the first value to copy
+     * @param toIndex
+     *            the position following the last value to copy
+     * @return a new array that contains the values in the specified range of this list
+     * @throws IndexOutOfBoundsException
+     *             <code>fromIndex</code> or <code>toIndex</code> is negative or is greater than this list's size, or
+     *             <code>fromIndex</code> is greater than <code>toIndex</code>
+     */
+    @Nonnull
+    final A copyRange(int fromIndex, int toIndex) {
+        AbstractImmutableTreeList.checkInterval(fromIndex, 0, this.size(), this.size());
+        AbstractImmutableTreeList.checkInterval(toIndex, fromIndex, this.size(), this.size());
+
+        final A array = this.getChunkType().newChunk(toIndex - fromIndex);
+        this.chunks.copyTo(array, fromIndex, toIndex);
+        return array;
+    }
+
+    @Nonnull
+    final ArrayChunkList<A> getChunks() {
+        return this.chunks;
+    }
+
+    /**
+     * Gets the type of the chunks of this list.
+     *
+     * @return the type of the chunks
+     */
+    @Nonnull
+    abstract ArrayChunkList.ChunkType<A> getChunkType();
+
+}
@@ -0,0 +1,602 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable list of arrays, called chunks, that is used as the backing store of the chunked tree lists (e.g.
+ * {@link ImmutableChunkedTreeList} and {@link ImmutableIntTreeList}). The chunks are either arrays of objects or arrays of a
+ * primitive type; the chunk management code is shared by all element types and accesses the chunks through a {@link ChunkType}.
+ * <p>
+ * Chunks are never empty and never contain more than {@value #CHUNK_SIZE} elements.
+ *
+ * @param <A>
+ *            the type of the chunks
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+final class ArrayChunkList<A> extends AbstractImmutableTreeList<A, ArrayChunkNode<A>> {
+
+    @Immutable
+    static final class ChunkPosition<A> {
+
+        final int chunkIndex;
+        final int chunkStartIndex;
+        @Nonnull
+        final A chunk;
+
+        ChunkPosition(int chunkIndex, int chunkStartIndex, @Nonnull A chunk) {
+            this.chunkIndex = chunkIndex;
+            this.chunkStartIndex = chunkStartIndex;
+            this.chunk = chunk;
+        }
+
+    }
+
+    /**
+     * Gets the length of chunks and copies them, without going through reflection.
+     *
+     * @param <A>
+     *            the type of the chunks
+     */
+    interface ChunkType<A> {
+
+        /** The type of <code>Object[]</code> chunks. */
+        ChunkType<Object[]> OBJECTS = new ChunkType<Object[]>() {
+            @Override
+            public Object[] copyOf(Object[] chunk, int length) {
+                return Arrays.copyOf(chunk, length, Object[].class);
+            }
+
+            @Override
+            public Object[] copyOfRange(Object[] chunk, int from, int to) {
+                return Arrays.copyOfRange(chunk, from, to, Object[].class);
+            }
+
+            @Override
+            public int length(Object[] chunk) {
+                return chunk.length;
+            }
+
+            @Override
+            public Object[] newChunk(int length) {
+                return new Object[length];
+            }
+        };
+
+        /** The type of <code>int[]</code> chunks. */
+        ChunkType<int[]> INTS = new ChunkType<int[]>() {
+            @Override
+            public int[] copyOf(int[] chunk, int length) {
+                return Arrays.copyOf(chunk, length);
+            }
+
+            @Override
+            public int[] copyOfRange(int[] chunk, int from, int to) {
+                return Arrays.copyOfRange(chunk, from, to);
+            }
+
+            @Override
+            public int length(int[] chunk) {
+                return chunk.length;
+            }
+
+            @Override
+            public int[] newChunk(int length) {
+                return new int[length];
+            }
+        };
+
+        /** The type of <code>long[]</code> chunks. */
+        ChunkType<long[]> LONGS = new ChunkType<long[]>() {
+            @Override
+            public long[] copyOf(long[] chunk, int length) {
+                return Arrays.copyOf(chunk, length);
+            }
+
+            @Override
+            public long[] copyOfRange(long[] chunk, int from, int to) {
+                return Arrays.copyOfRange(chunk, from, to);
+            }
+
+            @Override
+            public int length(long[] chunk) {
+                return chunk.length;
+            }
+
+            @Override
+            public long[] newChunk(int length) {
+                return new long[length];
+            }
+        };
+
+        /** The type of <code>double[]</code> chunks. */
+        ChunkType<double[]> DOUBLES = new ChunkType<double[]>() {
+            @Override
+            public double[] copyOf(double[] chunk, int length) {
+                return Arrays.copyOf(chunk, length);
+            }
+
+            @Override
+            public double[] copyOfRange(double[] chunk, int from, int to) {
+                return Arrays.copyOfRange(chunk, from, to);
+            }
+
+            @Override
+            public int length(double[] chunk) {
+                return chunk.length;
+            }
+
+            @Override
+            public double[] newChunk(int length) {
+                return new double[length];
+            }
+        };
+
+        /**
+         * Copies a chunk, truncating it or padding it with default values to the specified length.
+         *
+         * @param chunk
+         *            the chunk to copy
+         * @param length
+         *            the length of the new chunk
+         * @return the new chunk
+         */
+        @Nonnull
+        A copyOf(@Nonnull A chunk, int length);
+
+        /**
+         * Copies the specified range of a chunk.
+         *
+         * @param chunk
+         *            the chunk to copy
+         * @param from
+         *            the position of the first element to copy
+         * @param to
+         *            the position following the last element to copy
+         * @return the new chunk
+         */
+        @Nonnull
+        A copyOfRange(@Nonnull A chunk, int from, int to);
+
+        /**
+         * Gets the number of elements in a chunk.
+         *
+         * @param chunk
+         *            the chunk
+         * @return the number of elements in the chunk
+         */
+        int length(@Nonnull A chunk);
+
+        /**
+         * Creates a chunk of the specified length, filled with default values.
+         *
+         * @param length
+         *            the length of the new chunk
+         * @return the new chunk
+         */
+        @Nonnull
+        A newChunk(int length);
+
+    }
+
+    @Immutable
+    static final class Factory<A> extends AbstractImmutableTreeListFactory<A, ArrayChunkNode<A>, ArrayChunkList<A>> {
+
+        /** The factory of lists of <code>Object[]</code> chunks. */
+        static final Factory<Object[]> OBJECTS = new Factory<>(ChunkType.OBJECTS);
+
+        /** The factory of lists of <code>int[]</code> chunks. */
+        static final Factory<int[]> INTS = new Factory<>(ChunkType.INTS);
+
+        /** The factory of lists of <code>long[]</code> chunks. */
+        static final Factory<long[]> LONGS = new Factory<>(ChunkType.LONGS);
+
+        /** The factory of lists of <code>double[]</code> chunks. */
+        static final Factory<double[]> DOUBLES = new Factory<>(ChunkType.DOUBLES);
+
+        @Nonnull
+        private final ChunkType<A> chunkType;
+        @Nonnull
+        private final A emptyChunk;
+
+        private Factory(@Nonnull ChunkType<A> chunkType) {
+            super(new ArrayChunkNode.Factory<>(chunkType));
+            this.chunkType = chunkType;
+            this.emptyChunk = chunkType.newChunk(0);
+        }
+
+        @Nonnull
+        @Override
+        public ArrayChunkList<A> create() {
+            return ArrayChunkList.getEmpty();
+        }
+
+        @Nonnull
+        @Override
+        protected ArrayChunkList<A> createList(@CheckForNull ArrayChunkNode<A> root) {
+            if (root == null) {
+                return ArrayChunkList.getEmpty();
+            }
+
+            return new ArrayChunkList<>(root);
+        }
+
+        /**
+         * Creates a new list of chunks with the elements of both lists of chunks, one after the other.
+         * <p>
+         * The last chunk of the left list and the first chunk of the right list are merged if they fit in one chunk, so that
+         * repeated concatenations and slices don't degenerate into many tiny chunks. This method runs in logarithmic time.
+         *
+         * @param left
+         *            the list of chunks whose elements come first
+         * @param right
+         *            the list of chunks whose elements come last
+         * @return the new list of chunks
+         */
+        @Nonnull
+        ArrayChunkList<A> concatChunks(@Nonnull ArrayChunkList<A> left, @Nonnull ArrayChunkList<A> right) {
+            if (right.isEmpty()) {
+                return left;
+            }
+
+            if (left.isEmpty()) {
+                return right;
+            }
+
+            final int lastChunkIndex = left.size() - 1;
+            final A lastChunk = left.get(lastChunkIndex);
+            final A firstChunk = right.get(0);
+            final int lastChunkLength = this.chunkType.length(lastChunk);
+            final int firstChunkLength = this.chunkType.length(firstChunk);
+            if (lastChunkLength + firstChunkLength <= CHUNK_SIZE) {
+                final A mergedChunk = this.chunkType.copyOf(lastChunk, lastChunkLength + firstChunkLength);
+                System.arraycopy(firstChunk, 0, mergedChunk, lastChunkLength, firstChunkLength);
+                return this.concat(this.set(left, lastChunkIndex, mergedChunk), this.remove(right, 0));
+            }
+
+            return this.concat(left, right);
+        }
+
+        /**
+         * Copies a chunk and leaves room for one more element at the specified position. The caller stores the new element in the
+         * returned chunk, then passes it to {@link #insertChunk(ArrayChunkList, ChunkPosition, int, Object)}.
+         *
+         * @param chunk
+         *            the chunk to copy
+         * @param positionInChunk
+         *            the position of the new element in the chunk
+         * @return a new chunk that is one element longer than <code>chunk</code>
+         */
+        @Nonnull
+        A copyWithGap(@Nonnull A chunk, int positionInChunk) {
+            final int chunkLength = this.chunkType.length(chunk);
+            final A newChunk = this.chunkType.copyOf(chunk, chunkLength + 1);
+            System.arraycopy(chunk, positionInChunk, newChunk, positionInChunk + 1, chunkLength - positionInChunk);
+            return newChunk;
+        }
+
+        /**
+         * Creates a list of full chunks (except for the last one) that contain the elements of the specified array.
+         *
+         * @param elements
+         *            an array of elements
+         * @return the new list
+         */
+        @Nonnull
+        ArrayChunkList<A> createChunks(@Nonnull A elements) {
+            final int length = this.chunkType.length(elements);
+            final ArrayList<A> chunks = new ArrayList<>((length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            for (int i = 0; i < length; i += CHUNK_SIZE) {
+                chunks.add(this.chunkType.copyOfRange(elements, i, Math.min(length, i + CHUNK_SIZE)));
+            }
+
+            return this.create(chunks);
+        }
+
+        /**
+         * Finds the chunk that is to receive an element inserted at the specified position: the chunk that contains the element
+         * at that position or, when appending, the last chunk. If the list is empty, the position of an empty chunk is returned.
+         *
+         * @param chunks
+         *            the list of chunks
+         * @param index
+         *            the position, in elements, at which an element is to be inserted
+         * @return a {@link ChunkPosition} that describes the chunk
+         * @throws IndexOutOfBoundsException
+         *             <code>index</code> is negative or is greater than the number of elements
+         */
+        @Nonnull
+        ChunkPosition<A> findInsertionChunk(@Nonnull ArrayChunkList<A> chunks, int index) {
+            final int elementCount = chunks.elementCount();
+            if (index != elementCount) {
+                return chunks.findChunk(index);
+            }
+
+            ArrayChunkNode<A> node = chunks.getRoot();
+            if (node == null) {
+                return new ChunkPosition<>(0, 0, this.emptyChunk);
+            }
+
+            for (ArrayChunkNode<A> right = node.getRight(); right != null; right = node.getRight()) {
+                node = right;
+            }
+
+            final A chunk = node.getValue();
+            assert chunk != null;
+            return new ChunkPosition<>(chunks.size() - 1, elementCount - node.chunkLength(), chunk);
+        }
+
+        /**
+         * Creates a new list of chunks in which the chunk at the specified position is replaced with a copy of it that has one
+         * more element, made by {@link #copyWithGap(Object, int)} from a chunk found by
+         * {@link #findInsertionChunk(ArrayChunkList, int)}.
+         * <p>
+         * The new chunk replaces the old chunk if it fits. Otherwise, if the new element is at either end of the chunk, it is put
+         * in a new chunk, so that adding elements in sequence fills chunks completely; if the new element is in the middle of the
+         * chunk, the new chunk is split in two.
+         *
+         * @param chunks
+         *            the list of chunks
+         * @param position
+         *            the position of the chunk that received the element
+         * @param positionInChunk
+         *            the position of the new element in the chunk
+         * @param newChunk
+         *            the chunk with the new element
+         * @return the new list of chunks
+         */
+        @Nonnull
+        ArrayChunkList<A> insertChunk(@Nonnull ArrayChunkList<A> chunks, @Nonnull ChunkPosition<A> position, int positionInChunk,
+                @Nonnull A newChunk) {
+            if (chunks.isEmpty()) {
+                return this.add(chunks, newChunk);
+            }
+
+            final int newChunkLength = this.chunkType.length(newChunk);
+            if (newChunkLength <= CHUNK_SIZE) {
+                return this.set(chunks, position.chunkIndex, newChunk);
+            }
+
+            final int chunkLength = newChunkLength - 1;
+            if (positionInChunk == 0) {
+                return this.add(chunks, position.chunkIndex, this.chunkType.copyOfRange(newChunk, 0, 1));
+            }
+
+            if (positionInChunk == chunkLength) {
+                final A lastElement = this.chunkType.copyOfRange(newChunk, chunkLength, newChunkLength);
+                return this.add(chunks, position.chunkIndex + 1, lastElement);
+            }
+
+            // The half that receives the new element gets one more element.
+            final int half = positionInChunk <= chunkLength / 2 ? chunkLength / 2 + 1 : chunkLength / 2;
+            final ArrayList<A> newChunks = new ArrayList<>(2);
+            newChunks.add(this.chunkType.copyOfRange(newChunk, 0, half));
+            newChunks.add(this.chunkType.copyOfRange(newChunk, half, newChunkLength));
+            return this.replaceRange(chunks, position.chunkIndex, position.chunkIndex + 1, newChunks);
+        }
+
+        /**
+         * Creates a new list of chunks with the element at the specified position removed.
+         * <p>
+         * When the chunk that contained the element becomes small, it is merged with a neighbor if they fit in one chunk, so that the
+         * list doesn't degenerate into many tiny chunks.
+         *
+         * @param chunks
+         *            the list of chunks
+         * @param index
+         *            the position, in elements, of the element to remove
+         * @return the new list of chunks
+         */
+        @Nonnull
+        ArrayChunkList<A> removeElement(@Nonnull ArrayChunkList<A> chunks, int index) {
+            final ChunkPosition<A> position = chunks.findChunk(index);
+            final A chunk = position.chunk;
+            final int chunkLength = this.chunkType.length(chunk);
+            final int positionInChunk = index - position.chunkStartIndex;
+            if (chunkLength == 1) {
+                return this.remove(chunks, position.chunkIndex);
+            }
+
+            final A newChunk = this.chunkType.copyOf(chunk, chunkLength - 1);
+            System.arraycopy(chunk, positionInChunk + 1, newChunk, positionInChunk, chunkLength - 1 - positionInChunk);
+
+            // Merge small chunks with their next neighbor (or their previous neighbor, for the last chunk).
+            if (chunkLength - 1 <= MERGE_THRESHOLD && chunks.size() > 1) {
+                final int firstChunkIndex = position.chunkIndex + 1 < chunks.size() ? position.chunkIndex : position.chunkIndex - 1;
+                final A firstChunk = firstChunkIndex == position.chunkIndex ? newChunk : chunks.get(firstChunkIndex);
+                final A secondChunk = firstChunkIndex == position.chunkIndex ? chunks.get(firstChunkIndex + 1) : newChunk;
+                final int firstChunkLength = this.chunkType.length(firstChunk);
+                final int secondChunkLength = this.chunkType.length(secondChunk);
+                if (firstChunkLength + secondChunkLength <= CHUNK_SIZE) {
+                    final A mergedChunk = this.chunkType.copyOf(firstChunk, firstChunkLength + secondChunkLength);
+                    System.arraycopy(secondChunk, 0, mergedChunk, firstChunkLength, secondChunkLength);
+                    return this.replaceRange(chunks, firstChunkIndex, firstChunkIndex + 2, Collections.singletonList(mergedChunk));
+                }
+            }
+
+            return this.set(chunks, position.chunkIndex, newChunk);
+        }
+
+        /**
+         * Creates a new list of chunks with the elements between the specified positions replaced with the elements of the
+         * specified array.
+         *
+         * @param chunks
+         *            the list of chunks
+         * @param fromIndex
+         *            the position, in elements, of the first element to replace
+         * @param toIndex
+         *            the position, in elements, following the last element to replace
+         * @param elements
+         *            an array that contains the elements to insert in place of the removed elements
+         * @return the new list of chunks
+         */
+        @Nonnull
+        ArrayChunkList<A> replaceElements(@Nonnull ArrayChunkList<A> chunks, int fromIndex, int toIndex, @Nonnull A elements) {
+            final ArrayChunkList<A> left = this.sliceElements(chunks, 0, fromIndex);
+            final ArrayChunkList<A> right = this.sliceElements(chunks, toIndex, chunks.elementCount());
+            return this.concatChunks(this.concatChunks(left, this.createChunks(elements)), right);
+        }
+
+        /**
+         * Creates a new list of chunks with the elements between the specified positions.
+         * <p>
+         * The chunks that lie entirely within the range are shared with the original list; only the chunks at either end of the
+         * range are trimmed, so this method runs in logarithmic time.
+         *
+         * @param chunks
+         *            the list of chunks
+         * @param fromIndex
+         *            the position, in elements, of the first element to keep
+         * @param toIndex
+         *            the position, in elements, following the last element to keep
+         * @return the new list of chunks
+         */
+        @Nonnull
+        ArrayChunkList<A> sliceElements(@Nonnull ArrayChunkList<A> chunks, int fromIndex, int toIndex) {
+            if (fromIndex == toIndex) {
+                return this.create();
+            }
+
+            if (fromIndex == 0 && toIndex == chunks.elementCount()) {
+                return chunks;
+            }
+
+            final ChunkPosition<A> first = chunks.findChunk(fromIndex);
+            final ChunkPosition<A> last = chunks.findChunk(toIndex - 1);
+            final int start = fromIndex - first.chunkStartIndex;
+            final int end = toIndex - last.chunkStartIndex;
+            if (first.chunkIndex == last.chunkIndex) {
+                return this.add(this.create(), this.chunkType.copyOfRange(first.chunk, start, end));
+            }
+
+            final int firstChunkLength = this.chunkType.length(first.chunk);
+            final int lastChunkLength = this.chunkType.length(last.chunk);
+            final A firstChunk = start == 0 ? first.chunk : this.chunkType.copyOfRange(first.chunk, start, firstChunkLength);
+            final A lastChunk = end == lastChunkLength ? last.chunk : this.chunkType.copyOfRange(last.chunk, 0, end);
+            final ArrayChunkList<A> middle = this.slice(chunks, first.chunkIndex + 1, last.chunkIndex);
+            return this.add(this.add(middle, 0, firstChunk), lastChunk);
+        }
+
+    }
+
+    /** The maximum number of elements in a chunk. */
+    static final int CHUNK_SIZE = 32;
+
+    /** The number of elements under which a chunk is merged with a neighbor after a removal, if they fit in one chunk. */
+    static final int MERGE_THRESHOLD = CHUNK_SIZE / 4;
+
+    private static final ArrayChunkList<?> EMPTY = new ArrayChunkList<>(null);
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    static <A> ArrayChunkList<A> getEmpty() {
+        return (ArrayChunkList<A>) EMPTY;
+    }
+
+    private static <A> void copyTo(@Nonnull ArrayChunkNode<A> node, int nodeStartIndex, @Nonnull Object array, int fromIndex,
+            int toIndex) {
+        final ArrayChunkNode<A> left = node.getLeft();
+        if (left != null && fromIndex < nodeStartIndex + left.elementCount) {
+            copyTo(left, nodeStartIndex, array, fromIndex, toIndex);
+        }
+
+        final int chunkStartIndex = nodeStartIndex + ArrayChunkNode.elementCount(left);
+        final int chunkEndIndex = chunkStartIndex + node.chunkLength();
+        final int start = Math.max(fromIndex, chunkStartIndex);
+        final int end = Math.min(toIndex, chunkEndIndex);
+        if (start < end) {
+            System.arraycopy(node.getValue(), start - chunkStartIndex, array, start - fromIndex, end - start);
+        }
+
+        final ArrayChunkNode<A> right = node.getRight();
+        if (right != null && toIndex > chunkEndIndex) {
+            copyTo(right, chunkEndIndex, array, fromIndex, toIndex);
+        }
+    }
+
+    private ArrayChunkList(@CheckForNull ArrayChunkNode<A> root) {
+        super(root);
+    }
+
+    /**
+     * Copies the elements in the specified range to the beginning of the specified array.
+     *
+     * @param array
+     *            the destination array
+     * @param fromIndex
+     *            the index of the first element to copy
+     * @param toIndex
+     *            the index following the last element to copy
+     */
+    final void copyTo(@Nonnull Object array, int fromIndex, int toIndex) {
+        final ArrayChunkNode<A> root = this.getRoot();
+        if (root != null && fromIndex < toIndex) {
+            // Copy whole runs of each chunk at once.
+            copyTo(root, 0, array, fromIndex, toIndex);
+        }
+    }
+
+    /**
+     * Gets the total number of elements in the chunks.
+     *
+     * @return the number of elements
+     */
+    final int elementCount() {
+        return ArrayChunkNode.elementCount(this.getRoot());
+    }
+
+    /**
+     * Finds the chunk that contains the element at the specified position.
+     *
+     * @param index
+     *            the position of an element
+     * @return a {@link ChunkPosition} that describes the chunk
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than or equal to the number of elements
+     */
+    @Nonnull
+    final ChunkPosition<A> findChunk(int index) {
+        ArrayChunkNode<A> node = this.getRoot();
+        if (node == null || index < 0 || index >= node.elementCount) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index + ", size=" + ArrayChunkNode.elementCount(node));
+        }
+
+        int chunkIndex = 0;
+        int chunkStartIndex = 0;
+        for (;;) {
+            final ArrayChunkNode<A> left = node.getLeft();
+            if (left != null) {
+                if (index < left.elementCount) {
+                    node = left;
+                    continue;
+                }
+
+                chunkIndex += left.getSize();
+                chunkStartIndex += left.elementCount;
+                index -= left.elementCount;
+            }
+
+            final int length = node.chunkLength();
+            if (index < length) {
+                final A value = node.getValue();
+                assert value != null;
+                return new ChunkPosition<>(chunkIndex, chunkStartIndex, value);
+            }
+
+            chunkIndex++;
+            chunkStartIndex += length;
+            index -= length;
+            node = node.getRight();
+            assert node != null;
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package ca.fragag.collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A node in an {@link ArrayChunkList}. The node's value is an array (of objects or of a primitive type) and the node keeps track of
+ * the total number of array elements in its subtree.
+ *
+ * @param <A>
+ *            the type of the arrays in the tree
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+final class ArrayChunkNode<A> extends AbstractImmutableTreeNode<A, ArrayChunkNode<A>> {
+
+    @Immutable
+    static final class Factory<A> extends AbstractImmutableTreeNodeFactory<A, ArrayChunkNode<A>> {
+
+        @Nonnull
+        private final ArrayChunkList.ChunkType<A> chunkType;
+
+        Factory(@Nonnull ArrayChunkList.ChunkType<A> chunkType) {
+            this.chunkType = chunkType;
+        }
+
+        @Nonnull
+        @Override
+        protected ArrayChunkNode<A> copyNode(@CheckForNull ArrayChunkNode<A> left, @Nonnull ArrayChunkNode<A> node,
+                @CheckForNull ArrayChunkNode<A> right) {
+            return new ArrayChunkNode<>(left, node.getValue(), node.chunkLength(), right);
+        }
+
+        @Nonnull
+        @Override
+        protected ArrayChunkNode<A> createNode(@CheckForNull ArrayChunkNode<A> left, @Nonnull A value,
+                @CheckForNull ArrayChunkNode<A> right) {
+            return new ArrayChunkNode<>(left, value, this.chunkType.length(value), right);
+        }
+
+    }
+
+    static int elementCount(@CheckForNull ArrayChunkNode<?> node) {
+        return node == null ? 0 : node.elementCount;
+    }
+
+    final transient int elementCount;
+
+    /**
+     * Initializes a new ArrayChunkNode.
+     *
+     * @param left
+     *            the left subtree
+     * @param value
+     *            the chunk
+     * @param chunkLength
+     *            the number of elements in the chunk
+     * @param right
+     *            the right subtree
+     */
+    ArrayChunkNode(@CheckForNull ArrayChunkNode<A> left, @Nonnull A value, int chunkLength,
+            @CheckForNull ArrayChunkNode<A> right) {
+        super(left, value, right);
+        this.elementCount = elementCount(left) + chunkLength + elementCount(right);
+    }
+
+    /**
+     * Gets the number of elements in this node's chunk.
+     *
+     * @return the number of elements in the chunk
+     */
+    final int chunkLength() {
+        return this.elementCount - elementCount(this.getLeft()) - elementCount(this.getRight());
+    }
+
+}
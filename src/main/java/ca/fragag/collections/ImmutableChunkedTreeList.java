@@ -0,0 +1,433 @@
+package ca.fragag.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable list that is structured as a binary tree of chunks of up to {@value #CHUNK_SIZE} elements.
+ * <p>
+ * Compared to {@link ImmutableTreeList}, which stores one element per node, this list has far fewer nodes: lookups go through
+ * fewer levels of the tree before ending with an array lookup, iteration mostly walks through arrays and the memory overhead per
+ * element is much lower. On the other hand, every modification copies a whole chunk.
+ * <p>
+ * Use {@link ImmutableChunkedTreeListFactory} to create and modify lists.
+ *
+ * @param <E>
+ *            the type of the elements in the list
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class ImmutableChunkedTreeList<E> extends UnmodifiableList<E> {
+
+    private final class ChunkedListIterator implements ListIterator<E> {
+
+        private int index;
+        private final int fromIndex;
+        private final int toIndex;
+        private int chunkIndex;
+        @Nonnull
+        private Object[] chunk;
+        private int positionInChunk;
+
+        /**
+         * Initializes a new ChunkedListIterator.
+         *
+         * @param index
+         *            the index at which iteration starts
+         * @param fromIndex
+         *            the index of the first element to iterate through
+         * @param toIndex
+         *            the index following the last element to iterate through
+         */
+        ChunkedListIterator(int index, int fromIndex, int toIndex) {
+            this.index = index;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+
+            final ArrayChunkList<Object[]> chunks = ImmutableChunkedTreeList.this.chunks;
+            final int size = chunks.elementCount();
+            if (size == 0) {
+                this.chunk = EMPTY_CHUNK;
+            } else if (index == size) {
+                // Position the iterator at the end of the last chunk.
+                this.chunkIndex = chunks.size() - 1;
+                this.chunk = chunks.get(this.chunkIndex);
+                this.positionInChunk = this.chunk.length;
+            } else {
+                final ArrayChunkList.ChunkPosition<Object[]> position = chunks.findChunk(index);
+                this.chunkIndex = position.chunkIndex;
+                this.chunk = position.chunk;
+                this.positionInChunk = index - position.chunkStartIndex;
+            }
+        }
+
+        @Override
+        public void add(E e) {
+            throw this.modificationUnsupported();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < this.toIndex;
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return this.index > this.fromIndex;
+        }
+
+        @Override
+        public E next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException("No element at index " + this.nextIndex() + ".");
+            }
+
+            if (this.positionInChunk == this.chunk.length) {
+                this.chunkIndex++;
+                this.chunk = ImmutableChunkedTreeList.this.chunks.get(this.chunkIndex);
+                this.positionInChunk = 0;
+            }
+
+            this.index++;
+            @SuppressWarnings("unchecked")
+            final E element = (E) this.chunk[this.positionInChunk++];
+            return element;
+        }
+
+        @Override
+        public int nextIndex() {
+            return this.index - this.fromIndex;
+        }
+
+        @Override
+        public E previous() {
+            if (!this.hasPrevious()) {
+                throw new NoSuchElementException("No element at index " + this.previousIndex() + ".");
+            }
+
+            if (this.positionInChunk == 0) {
+                this.chunkIndex--;
+                this.chunk = ImmutableChunkedTreeList.this.chunks.get(this.chunkIndex);
+                this.positionInChunk = this.chunk.length;
+            }
+
+            this.index--;
+            @SuppressWarnings("unchecked")
+            final E element = (E) this.chunk[--this.positionInChunk];
+            return element;
+        }
+
+        @Override
+        public int previousIndex() {
+            return this.index - this.fromIndex - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw this.modificationUnsupported();
+        }
+
+        @Override
+        public void set(E e) {
+            throw this.modificationUnsupported();
+        }
+
+        private UnsupportedOperationException modificationUnsupported() {
+            return new UnsupportedOperationException("this iterator does not support modification operations");
+        }
+
+    }
+
+    @Immutable
+    private final class ChunkedSubList extends UnmodifiableList<E> {
+
+        private final int fromIndex;
+        private final int toIndex;
+
+        ChunkedSubList(int fromIndex, int toIndex) {
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return this.indexOf(o) >= 0;
+        }
+
+        @Override
+        public boolean containsAll(@Nonnull Collection<?> c) {
+            for (Object e : c) {
+                if (!this.contains(e)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public E get(int index) {
+            AbstractImmutableTreeList.checkInterval(index, 0, this.size() - 1, this.size());
+            return ImmutableChunkedTreeList.this.get(this.fromIndex + index);
+        }
+
+        @Override
+        public int indexOf(Object object) {
+            return ImmutableChunkedTreeList.this.indexOf(object, this.fromIndex, this.toIndex);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.fromIndex == this.toIndex;
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<E> iterator() {
+            return ImmutableChunkedTreeList.this.new ChunkedListIterator(this.fromIndex, this.fromIndex, this.toIndex);
+        }
+
+        @Override
+        public int lastIndexOf(Object object) {
+            return ImmutableChunkedTreeList.this.lastIndexOf(object, this.fromIndex, this.toIndex);
+        }
+
+        @Nonnull
+        @Override
+        public ListIterator<E> listIterator() {
+            return ImmutableChunkedTreeList.this.new ChunkedListIterator(this.fromIndex, this.fromIndex, this.toIndex);
+        }
+
+        @Nonnull
+        @Override
+        public ListIterator<E> listIterator(int index) {
+            AbstractImmutableTreeList.checkInterval(index, 0, this.size(), this.size());
+            return ImmutableChunkedTreeList.this.new ChunkedListIterator(this.fromIndex + index, this.fromIndex, this.toIndex);
+        }
+
+        @Override
+        public int size() {
+            return this.toIndex - this.fromIndex;
+        }
+
+        @Nonnull
+        @Override
+        public List<E> subList(int fromIndex, int toIndex) {
+            AbstractImmutableTreeList.checkInterval(fromIndex, 0, this.size(), this.size());
+            AbstractImmutableTreeList.checkInterval(toIndex, 0, this.size(), this.size());
+
+            if (fromIndex == 0 && toIndex == this.size()) {
+                return this;
+            }
+
+            return ImmutableChunkedTreeList.this.new ChunkedSubList(this.fromIndex + fromIndex, this.fromIndex + toIndex);
+        }
+
+        @Nonnull
+        @Override
+        public Object[] toArray() {
+            final Object[] array = new Object[this.size()];
+            ImmutableChunkedTreeList.this.chunks.copyTo(array, this.fromIndex, this.toIndex);
+            return array;
+        }
+
+        @Nonnull
+        @Override
+        public <T> T[] toArray(@Nonnull T[] array) {
+            return ImmutableChunkedTreeList.this.toArray(array, this.fromIndex, this.toIndex);
+        }
+
+    }
+
+    /** The maximum number of elements in a chunk. */
+    public static final int CHUNK_SIZE = ArrayChunkList.CHUNK_SIZE;
+
+    private static final Object[] EMPTY_CHUNK = new Object[0];
+
+    private static final ImmutableChunkedTreeList<Object> EMPTY = new ImmutableChunkedTreeList<>(
+            ArrayChunkList.<Object[]> getEmpty());
+
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    static <E> ImmutableChunkedTreeList<E> getEmpty() {
+        return (ImmutableChunkedTreeList<E>) EMPTY;
+    }
+
+    @Nonnull
+    private final ArrayChunkList<Object[]> chunks;
+
+    ImmutableChunkedTreeList(@Nonnull ArrayChunkList<Object[]> chunks) {
+        this.chunks = chunks;
+    }
+
+    @Override
+    public final boolean contains(Object o) {
+        return this.indexOf(o) >= 0;
+    }
+
+    @Override
+    public final boolean containsAll(@Nonnull Collection<?> c) {
+        for (Object e : c) {
+            if (!this.contains(e)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public final E get(int index) {
+        AbstractImmutableTreeList.checkInterval(index, 0, this.size() - 1, this.size());
+
+        @SuppressWarnings("unchecked")
+        final E element = (E) this.getElement(index);
+        return element;
+    }
+
+    @Override
+    public final int indexOf(Object object) {
+        return this.indexOf(object, 0, this.size());
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return this.chunks.isEmpty();
+    }
+
+    @Nonnull
+    @Override
+    public final Iterator<E> iterator() {
+        return this.new ChunkedListIterator(0, 0, this.size());
+    }
+
+    @Override
+    public final int lastIndexOf(Object object) {
+        return this.lastIndexOf(object, 0, this.size());
+    }
+
+    @Nonnull
+    @Override
+    public final ListIterator<E> listIterator() {
+        return this.new ChunkedListIterator(0, 0, this.size());
+    }
+
+    @Nonnull
+    @Override
+    public final ListIterator<E> listIterator(int index) {
+        AbstractImmutableTreeList.checkInterval(index, 0, this.size(), this.size());
+        return this.new ChunkedListIterator(index, 0, this.size());
+    }
+
+    @Override
+    public final int size() {
+        return this.chunks.elementCount();
+    }
+
+    @Nonnull
+    @Override
+    public final List<E> subList(int fromIndex, int toIndex) {
+        AbstractImmutableTreeList.checkInterval(fromIndex, 0, this.size(), this.size());
+        AbstractImmutableTreeList.checkInterval(toIndex, 0, this.size(), this.size());
+
+        if (fromIndex == 0 && toIndex == this.size()) {
+            return this;
+        }
+
+        return new ChunkedSubList(fromIndex, toIndex);
+    }
+
+    @Nonnull
+    @Override
+    public final Object[] toArray() {
+        final Object[] array = new Object[this.size()];
+        this.chunks.copyTo(array, 0, array.length);
+        return array;
+    }
+
+    @Nonnull
+    @Override
+    public final <T> T[] toArray(@Nonnull T[] array) {
+        return this.toArray(array, 0, this.size());
+    }
+
+    @Nonnull
+    final ArrayChunkList<Object[]> getChunks() {
+        return this.chunks;
+    }
+
+    private final Object getElement(int index) {
+        // This is the same search as ArrayChunkList.findChunk(), but it doesn't allocate a ChunkPosition.
+        ArrayChunkNode<Object[]> node = this.chunks.getRoot();
+        assert node != null;
+        for (;;) {
+            final ArrayChunkNode<Object[]> left = node.getLeft();
+            if (left != null) {
+                if (index < left.elementCount) {
+                    node = left;
+                    continue;
+                }
+
+                index -= left.elementCount;
+            }
+
+            final Object[] value = node.getValue();
+            if (index < value.length) {
+                return value[index];
+            }
+
+            index -= value.length;
+            node = node.getRight();
+            assert node != null;
+        }
+    }
+
+    private final int indexOf(@CheckForNull Object object, int fromIndex, int toIndex) {
+        final ChunkedListIterator iterator = this.new ChunkedListIterator(fromIndex, fromIndex, toIndex);
+        while (iterator.hasNext()) {
+            if (Objects.equals(iterator.next(), object)) {
+                return iterator.previousIndex();
+            }
+        }
+
+        return -1;
+    }
+
+    private final int lastIndexOf(@CheckForNull Object object, int fromIndex, int toIndex) {
+        final ChunkedListIterator iterator = this.new ChunkedListIterator(toIndex, fromIndex, toIndex);
+        while (iterator.hasPrevious()) {
+            if (Objects.equals(iterator.previous(), object)) {
+                return iterator.nextIndex();
+            }
+        }
+
+        return -1;
+    }
+
+    @Nonnull
+    private final <T> T[] toArray(@Nonnull T[] array, int fromIndex, int toIndex) {
+        final int size = toIndex - fromIndex;
+        if (array.length < size) {
+            array = Arrays.copyOf(array, size);
+        }
+
+        this.chunks.copyTo(array, fromIndex, toIndex);
+
+        if (array.length > size) {
+            array[size] = null;
+        }
+
+        return array;
+    }
+
+}
@@ -0,0 +1,203 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A factory of {@link ImmutableChunkedTreeList} objects.
+ *
+ * @param <E>
+ *            the type of the elements in the list
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public class ImmutableChunkedTreeListFactory<E> extends AbstractChunkedTreeListFactory<Object[], ImmutableChunkedTreeList<E>> {
+
+    /**
+     * The unique instance of the {@link ImmutableChunkedTreeListFactory} class.
+     */
+    private static final ImmutableChunkedTreeListFactory<?> INSTANCE = new ImmutableChunkedTreeListFactory<>();
+
+    /**
+     * Gets the unique instance of the {@link ImmutableChunkedTreeListFactory} class.
+     *
+     * @return the unique instance of the {@link ImmutableChunkedTreeListFactory} class
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <E> ImmutableChunkedTreeListFactory<E> getInstance() {
+        return (ImmutableChunkedTreeListFactory<E>) INSTANCE;
+    }
+
+    /**
+     * Initializes a new ImmutableChunkedTreeListFactory.
+     */
+    private ImmutableChunkedTreeListFactory() {
+        super(ArrayChunkList.Factory.OBJECTS);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified element appended to it.
+     *
+     * @param list
+     *            the list
+     * @param element
+     *            the element to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableChunkedTreeList<E> add(@Nonnull ImmutableChunkedTreeList<E> list, E element) {
+        return this.add(list, list.size(), element);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified element added to it at the specified position.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position at which the element is to be inserted
+     * @param element
+     *            the element to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableChunkedTreeList<E> add(@Nonnull ImmutableChunkedTreeList<E> list, int index, E element) {
+        final ArrayChunkList<Object[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<Object[]> position = this.chunkFactory.findInsertionChunk(chunks, index);
+        final int positionInChunk = index - position.chunkStartIndex;
+        final Object[] newChunk = this.chunkFactory.copyWithGap(position.chunk, positionInChunk);
+        newChunk[positionInChunk] = element;
+        return this.createList(this.chunkFactory.insertChunk(chunks, position, positionInChunk, newChunk));
+    }
+
+    /**
+     * Creates a list with the elements of a {@link Collection}.
+     * <p>
+     * This method creates a well-balanced tree of full chunks from the collection's {@linkplain Collection#toArray() array}.
+     *
+     * @param collection
+     *            the collection
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableChunkedTreeList<E> create(@Nonnull Collection<? extends E> collection) {
+        return this.createList(this.chunkFactory.createChunks(collection.toArray()));
+    }
+
+    /**
+     * Creates a list with the elements of an {@link Iterable}.
+     * <p>
+     * This method calls {@link ImmutableChunkedTreeListFactory#create(Collection)} if <code>iterable</code> is a
+     * {@link Collection}.
+     *
+     * @param iterable
+     *            the iterable
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableChunkedTreeList<E> create(@Nonnull Iterable<? extends E> iterable) {
+        if (iterable instanceof Collection<?>) {
+            return this.create((Collection<? extends E>) iterable);
+        }
+
+        final ArrayList<E> elements = new ArrayList<>();
+        for (E e : iterable) {
+            elements.add(e);
+        }
+
+        return this.create(elements);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the elements of the specified collection inserted at the
+     * specified position.
+     * <p>
+     * The inserted elements are stored in new full chunks which are then joined with the list, so this method runs in
+     * O(k + log n) time, where k is the number of inserted elements.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position at which the first element of the collection is to be inserted
+     * @param collection
+     *            the elements to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableChunkedTreeList<E> insertAll(@Nonnull ImmutableChunkedTreeList<E> list, int index,
+            @Nonnull Collection<? extends E> collection) {
+        if (index < 0 || index > list.size()) {
+            throw new IndexOutOfBoundsException("index = " + index + ", size = " + list.size());
+        }
+
+        return this.createList(this.chunkFactory.replaceElements(list.getChunks(), index, index, collection.toArray()));
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the elements between the specified indices replaced with
+     * the elements of the specified collection.
+     * <p>
+     * The inserted elements are stored in new full chunks which are then joined with the rest of the list, so this method runs in
+     * O(k + log n) time, where k is the number of inserted elements, regardless of the number of removed elements.
+     *
+     * @param list
+     *            the list
+     * @param fromIndex
+     *            the index of the first element to replace
+     * @param toIndex
+     *            the index following the last element to replace
+     * @param collection
+     *            the elements to insert in place of the removed elements
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableChunkedTreeList<E> replaceRange(@Nonnull ImmutableChunkedTreeList<E> list, int fromIndex, int toIndex,
+            @Nonnull Collection<? extends E> collection) {
+        checkRange(list.getChunks(), fromIndex, toIndex);
+
+        return this.createList(this.chunkFactory.replaceElements(list.getChunks(), fromIndex, toIndex, collection.toArray()));
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the element at the specified position replaced with the
+     * specified element.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position of the element to change
+     * @param element
+     *            the new element
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableChunkedTreeList<E> set(@Nonnull ImmutableChunkedTreeList<E> list, int index, E element) {
+        final ArrayChunkList<Object[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<Object[]> position = chunks.findChunk(index);
+        final Object[] newChunk = position.chunk.clone();
+        newChunk[index - position.chunkStartIndex] = element;
+        return this.createList(this.chunkFactory.set(chunks, position.chunkIndex, newChunk));
+    }
+
+    @Nonnull
+    @Override
+    final ImmutableChunkedTreeList<E> createList(@Nonnull ArrayChunkList<Object[]> chunks) {
+        if (chunks.isEmpty()) {
+            return ImmutableChunkedTreeList.<E> getEmpty();
+        }
+
+        return new ImmutableChunkedTreeList<>(chunks);
+    }
+
+    @Nonnull
+    @Override
+    final ArrayChunkList<Object[]> getChunks(@Nonnull ImmutableChunkedTreeList<E> list) {
+        return list.getChunks();
+    }
+
+}
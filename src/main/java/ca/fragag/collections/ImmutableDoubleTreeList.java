@@ -0,0 +1,206 @@
+package ca.fragag.collections;
+
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable list of <code>double</code> values that is structured as a binary tree of <code>double[]</code> chunks of up to
+ * {@value ArrayChunkList#CHUNK_SIZE} values.
+ * <p>
+ * This list is the <code>double</code> counterpart of {@link ImmutableChunkedTreeList}: values are stored unboxed in the chunks and
+ * none of the read operations box them.
+ * <p>
+ * The search methods ({@link #contains(double)}, {@link #indexOf(double)} and {@link #lastIndexOf(double)}) compare values the
+ * same way as {@link Double#equals(Object)}: {@link Double#NaN} can be found, and <code>0.0</code> and <code>-0.0</code> are
+ * different values.
+ * <p>
+ * Use {@link ImmutableDoubleTreeListFactory} to create and modify lists.
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class ImmutableDoubleTreeList extends AbstractPrimitiveTreeList<double[]> {
+
+    private final class ChunkedDoubleIterator extends ChunkIterator implements PrimitiveIterator.OfDouble {
+
+        ChunkedDoubleIterator(int index) {
+            super(index);
+        }
+
+        @Override
+        public double nextDouble() {
+            final int position = this.nextPosition();
+            return this.chunk[position];
+        }
+
+    }
+
+    private static final ImmutableDoubleTreeList EMPTY = new ImmutableDoubleTreeList(ArrayChunkList.<double[]> getEmpty());
+
+    @Nonnull
+    static ImmutableDoubleTreeList getEmpty() {
+        return EMPTY;
+    }
+
+    ImmutableDoubleTreeList(@Nonnull ArrayChunkList<double[]> chunks) {
+        super(chunks);
+    }
+
+    /**
+     * Determines whether this list contains the specified value.
+     *
+     * @param value
+     *            the value to look for
+     * @return <code>true</code> if this list contains <code>value</code>, <code>false</code> otherwise
+     */
+    public final boolean contains(double value) {
+        return this.indexOf(value) >= 0;
+    }
+
+    /**
+     * Gets the value at the specified position in this list.
+     *
+     * @param index
+     *            the position of the value to get
+     * @return the value at the specified position
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than or equal to this list's size
+     */
+    public final double getDouble(int index) {
+        AbstractImmutableTreeList.checkInterval(index, 0, this.size() - 1, this.size());
+
+        // This is the same search as ArrayChunkList.findChunk(), but it doesn't allocate a ChunkPosition.
+        ArrayChunkNode<double[]> node = this.getChunks().getRoot();
+        assert node != null;
+        for (;;) {
+            final ArrayChunkNode<double[]> left = node.getLeft();
+            if (left != null) {
+                if (index < left.elementCount) {
+                    node = left;
+                    continue;
+                }
+
+                index -= left.elementCount;
+            }
+
+            final double[] value = node.getValue();
+            if (index < value.length) {
+                return value[index];
+            }
+
+            index -= value.length;
+            node = node.getRight();
+            assert node != null;
+        }
+    }
+
+    /**
+     * Gets the position of the first occurrence of the specified value in this list.
+     *
+     * @param value
+     *            the value to look for
+     * @return the position of the first occurrence of <code>value</code>, or -1 if this list doesn't contain it
+     */
+    public final int indexOf(double value) {
+        final long bits = Double.doubleToLongBits(value);
+        int chunkStartIndex = 0;
+        for (double[] chunk : this.getChunks()) {
+            for (int i = 0; i < chunk.length; i++) {
+                if (Double.doubleToLongBits(chunk[i]) == bits) {
+                    return chunkStartIndex + i;
+                }
+            }
+
+            chunkStartIndex += chunk.length;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns an iterator over the values in this list.
+     *
+     * @return an iterator over the values in this list
+     */
+    @Nonnull
+    public final PrimitiveIterator.OfDouble iterator() {
+        return this.new ChunkedDoubleIterator(0);
+    }
+
+    /**
+     * Returns an iterator over the values in this list, starting at the specified position.
+     *
+     * @param index
+     *            the position of the first value to be returned by the iterator
+     * @return an iterator over the values in this list, starting at <code>index</code>
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than this list's size
+     */
+    @Nonnull
+    public final PrimitiveIterator.OfDouble iterator(int index) {
+        AbstractImmutableTreeList.checkInterval(index, 0, this.size(), this.size());
+        return this.new ChunkedDoubleIterator(index);
+    }
+
+    /**
+     * Gets the position of the last occurrence of the specified value in this list.
+     *
+     * @param value
+     *            the value to look for
+     * @return the position of the last occurrence of <code>value</code>, or -1 if this list doesn't contain it
+     */
+    public final int lastIndexOf(double value) {
+        final long bits = Double.doubleToLongBits(value);
+        int chunkEndIndex = this.size();
+        final ArrayChunkList<double[]> chunks = this.getChunks();
+        final ListIterator<double[]> chunkIterator = chunks.listIterator(chunks.size());
+        while (chunkIterator.hasPrevious()) {
+            final double[] chunk = chunkIterator.previous();
+            chunkEndIndex -= chunk.length;
+            for (int i = chunk.length - 1; i >= 0; i--) {
+                if (Double.doubleToLongBits(chunk[i]) == bits) {
+                    return chunkEndIndex + i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns an array that contains the values in this list.
+     *
+     * @return a new array that contains the values in this list
+     */
+    @Nonnull
+    public final double[] toDoubleArray() {
+        return this.toDoubleArray(0, this.size());
+    }
+
+    /**
+     * Returns an array that contains the values in the specified range of this list.
+     *
+     * @param fromIndex
+     *            the position of the first value to copy
+     * @param toIndex
+     *            the position following the last value to copy
+     * @return a new array that contains the values in the specified range of this list
+     * @throws IndexOutOfBoundsException
+     *             <code>fromIndex</code> or <code>toIndex</code> is negative or is greater than this list's size, or
+     *             <code>fromIndex</code> is greater than <code>toIndex</code>
+     */
+    @Nonnull
+    public final double[] toDoubleArray(int fromIndex, int toIndex) {
+        return this.copyRange(fromIndex, toIndex);
+    }
+
+    @Nonnull
+    @Override
+    final ArrayChunkList.ChunkType<double[]> getChunkType() {
+        return ArrayChunkList.ChunkType.DOUBLES;
+    }
+
+}
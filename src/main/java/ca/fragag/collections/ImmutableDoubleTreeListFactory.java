@@ -0,0 +1,138 @@
+package ca.fragag.collections;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A factory of {@link ImmutableDoubleTreeList} objects.
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public class ImmutableDoubleTreeListFactory extends AbstractChunkedTreeListFactory<double[], ImmutableDoubleTreeList> {
+
+    /**
+     * The unique instance of the {@link ImmutableDoubleTreeListFactory} class.
+     */
+    private static final ImmutableDoubleTreeListFactory INSTANCE = new ImmutableDoubleTreeListFactory();
+
+    /**
+     * Gets the unique instance of the {@link ImmutableDoubleTreeListFactory} class.
+     *
+     * @return the unique instance of the {@link ImmutableDoubleTreeListFactory} class
+     */
+    @Nonnull
+    public static ImmutableDoubleTreeListFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Initializes a new ImmutableDoubleTreeListFactory.
+     */
+    private ImmutableDoubleTreeListFactory() {
+        super(ArrayChunkList.Factory.DOUBLES);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified value appended to it.
+     *
+     * @param list
+     *            the list
+     * @param value
+     *            the value to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableDoubleTreeList add(@Nonnull ImmutableDoubleTreeList list, double value) {
+        return this.add(list, list.size(), value);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified value added to it at the specified position.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position at which the value is to be inserted
+     * @param value
+     *            the value to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableDoubleTreeList add(@Nonnull ImmutableDoubleTreeList list, int index, double value) {
+        final ArrayChunkList<double[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<double[]> position = this.chunkFactory.findInsertionChunk(chunks, index);
+        final int positionInChunk = index - position.chunkStartIndex;
+        final double[] newChunk = this.chunkFactory.copyWithGap(position.chunk, positionInChunk);
+        newChunk[positionInChunk] = value;
+        return this.createList(this.chunkFactory.insertChunk(chunks, position, positionInChunk, newChunk));
+    }
+
+    /**
+     * Creates a list with the values of an array. The array is not referenced by the new list.
+     *
+     * @param values
+     *            the values
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableDoubleTreeList create(@Nonnull double[] values) {
+        return this.createList(this.chunkFactory.createChunks(values));
+    }
+
+    /**
+     * Creates a list with the values in the specified range of an array. The array is not referenced by the new list.
+     *
+     * @param values
+     *            the values
+     * @param fromIndex
+     *            the position of the first value to copy
+     * @param toIndex
+     *            the position following the last value to copy
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableDoubleTreeList create(@Nonnull double[] values, int fromIndex, int toIndex) {
+        return this.create(Arrays.copyOfRange(values, fromIndex, toIndex));
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the value at the specified position replaced with the
+     * specified value.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position of the value to change
+     * @param value
+     *            the new value
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableDoubleTreeList set(@Nonnull ImmutableDoubleTreeList list, int index, double value) {
+        final ArrayChunkList<double[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<double[]> position = chunks.findChunk(index);
+        final double[] newChunk = position.chunk.clone();
+        newChunk[index - position.chunkStartIndex] = value;
+        return this.createList(this.chunkFactory.set(chunks, position.chunkIndex, newChunk));
+    }
+
+    @Nonnull
+    @Override
+    final ImmutableDoubleTreeList createList(@Nonnull ArrayChunkList<double[]> chunks) {
+        if (chunks.isEmpty()) {
+            return ImmutableDoubleTreeList.getEmpty();
+        }
+
+        return new ImmutableDoubleTreeList(chunks);
+    }
+
+    @Nonnull
+    @Override
+    final ArrayChunkList<double[]> getChunks(@Nonnull ImmutableDoubleTreeList list) {
+        return list.getChunks();
+    }
+
+}
@@ -0,0 +1,138 @@
+package ca.fragag.collections;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A factory of {@link ImmutableIntTreeList} objects.
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public class ImmutableIntTreeListFactory extends AbstractChunkedTreeListFactory<int[], ImmutableIntTreeList> {
+
+    /**
+     * The unique instance of the {@link ImmutableIntTreeListFactory} class.
+     */
+    private static final ImmutableIntTreeListFactory INSTANCE = new ImmutableIntTreeListFactory();
+
+    /**
+     * Gets the unique instance of the {@link ImmutableIntTreeListFactory} class.
+     *
+     * @return the unique instance of the {@link ImmutableIntTreeListFactory} class
+     */
+    @Nonnull
+    public static ImmutableIntTreeListFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Initializes a new ImmutableIntTreeListFactory.
+     */
+    private ImmutableIntTreeListFactory() {
+        super(ArrayChunkList.Factory.INTS);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified value appended to it.
+     *
+     * @param list
+     *            the list
+     * @param value
+     *            the value to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableIntTreeList add(@Nonnull ImmutableIntTreeList list, int value) {
+        return this.add(list, list.size(), value);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified value added to it at the specified position.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position at which the value is to be inserted
+     * @param value
+     *            the value to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableIntTreeList add(@Nonnull ImmutableIntTreeList list, int index, int value) {
+        final ArrayChunkList<int[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<int[]> position = this.chunkFactory.findInsertionChunk(chunks, index);
+        final int positionInChunk = index - position.chunkStartIndex;
+        final int[] newChunk = this.chunkFactory.copyWithGap(position.chunk, positionInChunk);
+        newChunk[positionInChunk] = value;
+        return this.createList(this.chunkFactory.insertChunk(chunks, position, positionInChunk, newChunk));
+    }
+
+    /**
+     * Creates a list with the values of an array. The array is not referenced by the new list.
+     *
+     * @param values
+     *            the values
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableIntTreeList create(@Nonnull int[] values) {
+        return this.createList(this.chunkFactory.createChunks(values));
+    }
+
+    /**
+     * Creates a list with the values in the specified range of an array. The array is not referenced by the new list.
+     *
+     * @param values
+     *            the values
+     * @param fromIndex
+     *            the position of the first value to copy
+     * @param toIndex
+     *            the position following the last value to copy
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableIntTreeList create(@Nonnull int[] values, int fromIndex, int toIndex) {
+        return this.create(Arrays.copyOfRange(values, fromIndex, toIndex));
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the value at the specified position replaced with the
+     * specified value.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position of the value to change
+     * @param value
+     *            the new value
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableIntTreeList set(@Nonnull ImmutableIntTreeList list, int index, int value) {
+        final ArrayChunkList<int[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<int[]> position = chunks.findChunk(index);
+        final int[] newChunk = position.chunk.clone();
+        newChunk[index - position.chunkStartIndex] = value;
+        return this.createList(this.chunkFactory.set(chunks, position.chunkIndex, newChunk));
+    }
+
+    @Nonnull
+    @Override
+    final ImmutableIntTreeList createList(@Nonnull ArrayChunkList<int[]> chunks) {
+        if (chunks.isEmpty()) {
+            return ImmutableIntTreeList.getEmpty();
+        }
+
+        return new ImmutableIntTreeList(chunks);
+    }
+
+    @Nonnull
+    @Override
+    final ArrayChunkList<int[]> getChunks(@Nonnull ImmutableIntTreeList list) {
+        return list.getChunks();
+    }
+
+}
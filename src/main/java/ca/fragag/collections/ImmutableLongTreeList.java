@@ -0,0 +1,200 @@
+package ca.fragag.collections;
+
+import java.util.ListIterator;
+import java.util.PrimitiveIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable list of <code>long</code> values that is structured as a binary tree of <code>long[]</code> chunks of up to
+ * {@value ArrayChunkList#CHUNK_SIZE} values.
+ * <p>
+ * This list is the <code>long</code> counterpart of {@link ImmutableChunkedTreeList}: values are stored unboxed in the chunks and
+ * none of the read operations box them.
+ * <p>
+ * Use {@link ImmutableLongTreeListFactory} to create and modify lists.
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class ImmutableLongTreeList extends AbstractPrimitiveTreeList<long[]> {
+
+    private final class ChunkedLongIterator extends ChunkIterator implements PrimitiveIterator.OfLong {
+
+        ChunkedLongIterator(int index) {
+            super(index);
+        }
+
+        @Override
+        public long nextLong() {
+            final int position = this.nextPosition();
+            return this.chunk[position];
+        }
+
+    }
+
+    private static final ImmutableLongTreeList EMPTY = new ImmutableLongTreeList(ArrayChunkList.<long[]> getEmpty());
+
+    @Nonnull
+    static ImmutableLongTreeList getEmpty() {
+        return EMPTY;
+    }
+
+    ImmutableLongTreeList(@Nonnull ArrayChunkList<long[]> chunks) {
+        super(chunks);
+    }
+
+    /**
+     * Determines whether this list contains the specified value.
+     *
+     * @param value
+     *            the value to look for
+     * @return <code>true</code> if this list contains <code>value</code>, <code>false</code> otherwise
+     */
+    public final boolean contains(long value) {
+        return this.indexOf(value) >= 0;
+    }
+
+    /**
+     * Gets the value at the specified position in this list.
+     *
+     * @param index
+     *            the position of the value to get
+     * @return the value at the specified position
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than or equal to this list's size
+     */
+    public final long getLong(int index) {
+        AbstractImmutableTreeList.checkInterval(index, 0, this.size() - 1, this.size());
+
+        // This is the same search as ArrayChunkList.findChunk(), but it doesn't allocate a ChunkPosition.
+        ArrayChunkNode<long[]> node = this.getChunks().getRoot();
+        assert node != null;
+        for (;;) {
+            final ArrayChunkNode<long[]> left = node.getLeft();
+            if (left != null) {
+                if (index < left.elementCount) {
+                    node = left;
+                    continue;
+                }
+
+                index -= left.elementCount;
+            }
+
+            final long[] value = node.getValue();
+            if (index < value.length) {
+                return value[index];
+            }
+
+            index -= value.length;
+            node = node.getRight();
+            assert node != null;
+        }
+    }
+
+    /**
+     * Gets the position of the first occurrence of the specified value in this list.
+     *
+     * @param value
+     *            the value to look for
+     * @return the position of the first occurrence of <code>value</code>, or -1 if this list doesn't contain it
+     */
+    public final int indexOf(long value) {
+        int chunkStartIndex = 0;
+        for (long[] chunk : this.getChunks()) {
+            for (int i = 0; i < chunk.length; i++) {
+                if (chunk[i] == value) {
+                    return chunkStartIndex + i;
+                }
+            }
+
+            chunkStartIndex += chunk.length;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns an iterator over the values in this list.
+     *
+     * @return an iterator over the values in this list
+     */
+    @Nonnull
+    public final PrimitiveIterator.OfLong iterator() {
+        return this.new ChunkedLongIterator(0);
+    }
+
+    /**
+     * Returns an iterator over the values in this list, starting at the specified position.
+     *
+     * @param index
+     *            the position of the first value to be returned by the iterator
+     * @return an iterator over the values in this list, starting at <code>index</code>
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than this list's size
+     */
+    @Nonnull
+    public final PrimitiveIterator.OfLong iterator(int index) {
+        AbstractImmutableTreeList.checkInterval(index, 0, this.size(), this.size());
+        return this.new ChunkedLongIterator(index);
+    }
+
+    /**
+     * Gets the position of the last occurrence of the specified value in this list.
+     *
+     * @param value
+     *            the value to look for
+     * @return the position of the last occurrence of <code>value</code>, or -1 if this list doesn't contain it
+     */
+    public final int lastIndexOf(long value) {
+        int chunkEndIndex = this.size();
+        final ArrayChunkList<long[]> chunks = this.getChunks();
+        final ListIterator<long[]> chunkIterator = chunks.listIterator(chunks.size());
+        while (chunkIterator.hasPrevious()) {
+            final long[] chunk = chunkIterator.previous();
+            chunkEndIndex -= chunk.length;
+            for (int i = chunk.length - 1; i >= 0; i--) {
+                if (chunk[i] == value) {
+                    return chunkEndIndex + i;
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns an array that contains the values in this list.
+     *
+     * @return a new array that contains the values in this list
+     */
+    @Nonnull
+    public final long[] toLongArray() {
+        return this.toLongArray(0, this.size());
+    }
+
+    /**
+     * Returns an array that contains the values in the specified range of this list.
+     *
+     * @param fromIndex
+     *            the position of the first value to copy
+     * @param toIndex
+     *            the position following the last value to copy
+     * @return a new array that contains the values in the specified range of this list
+     * @throws IndexOutOfBoundsException
+     *             <code>fromIndex</code> or <code>toIndex</code> is negative or is greater than this list's size, or
+     *             <code>fromIndex</code> is greater than <code>toIndex</code>
+     */
+    @Nonnull
+    public final long[] toLongArray(int fromIndex, int toIndex) {
+        return this.copyRange(fromIndex, toIndex);
+    }
+
+    @Nonnull
+    @Override
+    final ArrayChunkList.ChunkType<long[]> getChunkType() {
+        return ArrayChunkList.ChunkType.LONGS;
+    }
+
+}
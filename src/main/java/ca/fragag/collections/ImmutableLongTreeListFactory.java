@@ -0,0 +1,138 @@
+package ca.fragag.collections;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A factory of {@link ImmutableLongTreeList} objects.
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public class ImmutableLongTreeListFactory extends AbstractChunkedTreeListFactory<long[], ImmutableLongTreeList> {
+
+    /**
+     * The unique instance of the {@link ImmutableLongTreeListFactory} class.
+     */
+    private static final ImmutableLongTreeListFactory INSTANCE = new ImmutableLongTreeListFactory();
+
+    /**
+     * Gets the unique instance of the {@link ImmutableLongTreeListFactory} class.
+     *
+     * @return the unique instance of the {@link ImmutableLongTreeListFactory} class
+     */
+    @Nonnull
+    public static ImmutableLongTreeListFactory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Initializes a new ImmutableLongTreeListFactory.
+     */
+    private ImmutableLongTreeListFactory() {
+        super(ArrayChunkList.Factory.LONGS);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified value appended to it.
+     *
+     * @param list
+     *            the list
+     * @param value
+     *            the value to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableLongTreeList add(@Nonnull ImmutableLongTreeList list, long value) {
+        return this.add(list, list.size(), value);
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the specified value added to it at the specified position.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position at which the value is to be inserted
+     * @param value
+     *            the value to add
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableLongTreeList add(@Nonnull ImmutableLongTreeList list, int index, long value) {
+        final ArrayChunkList<long[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<long[]> position = this.chunkFactory.findInsertionChunk(chunks, index);
+        final int positionInChunk = index - position.chunkStartIndex;
+        final long[] newChunk = this.chunkFactory.copyWithGap(position.chunk, positionInChunk);
+        newChunk[positionInChunk] = value;
+        return this.createList(this.chunkFactory.insertChunk(chunks, position, positionInChunk, newChunk));
+    }
+
+    /**
+     * Creates a list with the values of an array. The array is not referenced by the new list.
+     *
+     * @param values
+     *            the values
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableLongTreeList create(@Nonnull long[] values) {
+        return this.createList(this.chunkFactory.createChunks(values));
+    }
+
+    /**
+     * Creates a list with the values in the specified range of an array. The array is not referenced by the new list.
+     *
+     * @param values
+     *            the values
+     * @param fromIndex
+     *            the position of the first value to copy
+     * @param toIndex
+     *            the position following the last value to copy
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableLongTreeList create(@Nonnull long[] values, int fromIndex, int toIndex) {
+        return this.create(Arrays.copyOfRange(values, fromIndex, toIndex));
+    }
+
+    /**
+     * Creates a new list with the contents of the specified list and the value at the specified position replaced with the
+     * specified value.
+     *
+     * @param list
+     *            the list
+     * @param index
+     *            the position of the value to change
+     * @param value
+     *            the new value
+     * @return the new list
+     */
+    @Nonnull
+    public ImmutableLongTreeList set(@Nonnull ImmutableLongTreeList list, int index, long value) {
+        final ArrayChunkList<long[]> chunks = list.getChunks();
+        final ArrayChunkList.ChunkPosition<long[]> position = chunks.findChunk(index);
+        final long[] newChunk = position.chunk.clone();
+        newChunk[index - position.chunkStartIndex] = value;
+        return this.createList(this.chunkFactory.set(chunks, position.chunkIndex, newChunk));
+    }
+
+    @Nonnull
+    @Override
+    final ImmutableLongTreeList createList(@Nonnull ArrayChunkList<long[]> chunks) {
+        if (chunks.isEmpty()) {
+            return ImmutableLongTreeList.getEmpty();
+        }
+
+        return new ImmutableLongTreeList(chunks);
+    }
+
+    @Nonnull
+    @Override
+    final ArrayChunkList<long[]> getChunks(@Nonnull ImmutableLongTreeList list) {
+        return list.getChunks();
+    }
+
+}
@@ -21,7 +21,20 @@ public class ImmutableTreeListFactory<E> extends AbstractImmutableTreeListFactor
     private static final ImmutableTreeListFactory<?> INSTANCE = new ImmutableTreeListFactory<>();
 
     /**
-     * Gets the unique instance of the {@link ImmutableTreeListFactory} class.
+     * Creates a new {@link ImmutableTreeListFactory} that interns the nodes of the lists it creates with an
+     * {@link InterningTreeNodeFactory}. Equal lists that are created by this factory share their nodes, which saves memory and
+     * makes comparing them for equality take constant time. Use {@link #getInterningStatistics()} to monitor the effectiveness of
+     * interning.
+     *
+     * @return a new interning factory
+     */
+    @Nonnull
+    public static <E> ImmutableTreeListFactory<E> createInterning() {
+        return new ImmutableTreeListFactory<>(new InterningTreeNodeFactory<>(ImmutableTreeNode.Factory.<E> getInstance()));
+    }
+
+    /**
+     * Gets the unique instance of the {@link ImmutableTreeListFactory} class that doesn't intern its nodes.
      *
      * @return the unique instance of the {@link ImmutableTreeListFactory} class
      */
@@ -35,7 +48,11 @@ public class ImmutableTreeListFactory<E> extends AbstractImmutableTreeListFactor
      * Initializes a new ImmutableTreeListFactory.
      */
     private ImmutableTreeListFactory() {
-        super(ImmutableTreeNode.Factory.<E> getInstance());
+        this(ImmutableTreeNode.Factory.<E> getInstance());
+    }
+
+    private ImmutableTreeListFactory(@Nonnull AbstractImmutableTreeNodeFactory<E, ImmutableTreeNode<E>> nodeFactory) {
+        super(nodeFactory);
     }
 
     @Nonnull
@@ -0,0 +1,227 @@
+package ca.fragag.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable sorted map that is structured as a weight-balanced binary search tree.
+ * <p>
+ * Keys are found with the map's comparator in O(log n) time. Since each node knows the size of its subtree, the position of a
+ * key in the map ({@link #rank(Object)}) and the entry at a position ({@link #getEntry(int)}) are also found in O(log n) time. The
+ * range views ({@link #headMap(Object)}, {@link #subMap(Object, Object)} and {@link #tailMap(Object)}) are new maps that are
+ * created in O(log n) time and share most of their nodes with this map.
+ * <p>
+ * Use {@link ImmutableTreeMapFactory} to create and modify maps.
+ *
+ * @param <K>
+ *            the type of the keys in the map
+ * @param <V>
+ *            the type of the values in the map
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class ImmutableTreeMap<K, V> extends AbstractMap<K, V> implements SortedMap<K, V> {
+
+    private final class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        EntrySet() {
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+
+            final Map.Entry<?, ?> entry = (Map.Entry<?, ?>) o;
+            final ImmutableTreeNode<Map.Entry<K, V>> node = ImmutableTreeMap.this.findNode(entry.getKey());
+            return node != null && Objects.equals(node.getValue().getValue(), entry.getValue());
+        }
+
+        @Nonnull
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return ImmutableTreeMap.this.entries.iterator();
+        }
+
+        @Override
+        public int size() {
+            return ImmutableTreeMap.this.entries.size();
+        }
+
+    }
+
+    @Nonnull
+    private static UnsupportedOperationException readOnlyException() {
+        return new UnsupportedOperationException("this map is read-only");
+    }
+
+    @Nonnull
+    private final SortedTreeOperations<K, Map.Entry<K, V>> operations;
+    @Nonnull
+    private final ImmutableTreeList<Map.Entry<K, V>> entries;
+
+    ImmutableTreeMap(@Nonnull SortedTreeOperations<K, Map.Entry<K, V>> operations,
+            @CheckForNull ImmutableTreeNode<Map.Entry<K, V>> root) {
+        this.operations = operations;
+        this.entries = root == null ? ImmutableTreeList.<Map.Entry<K, V>> getEmpty() : new ImmutableTreeList<>(root);
+    }
+
+    @Override
+    public void clear() {
+        throw readOnlyException();
+    }
+
+    @CheckForNull
+    @Override
+    public Comparator<? super K> comparator() {
+        return this.operations.getComparator();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return this.findNode(key) != null;
+    }
+
+    @Nonnull
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public K firstKey() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.entries.get(0).getKey();
+    }
+
+    @Override
+    public V get(Object key) {
+        final ImmutableTreeNode<Map.Entry<K, V>> node = this.findNode(key);
+        return node == null ? null : node.getValue().getValue();
+    }
+
+    /**
+     * Gets the entry at the specified position in this map, in ascending order of keys.
+     *
+     * @param index
+     *            the position of the entry
+     * @return the entry
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than or equal to the size of this map
+     */
+    @Nonnull
+    public Map.Entry<K, V> getEntry(int index) {
+        return this.entries.get(index);
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableTreeMap<K, V> headMap(K toKey) {
+        return this.withRoot(this.operations.splitLess(this.getRoot(), toKey, false));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    @Override
+    public K lastKey() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.entries.get(this.entries.size() - 1).getKey();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public void putAll(Map<? extends K, ? extends V> m) {
+        throw readOnlyException();
+    }
+
+    /**
+     * Counts the keys of this map that are less than the specified key. If the specified key is in this map, the result is the
+     * position of its entry in this map.
+     *
+     * @param key
+     *            the key
+     * @return the number of keys in this map that are less than <code>key</code>
+     */
+    public int rank(K key) {
+        return this.operations.rank(this.getRoot(), key);
+    }
+
+    @Override
+    public V remove(Object key) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public int size() {
+        return this.entries.size();
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableTreeMap<K, V> subMap(K fromKey, K toKey) {
+        if (this.operations.compareKeys(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey is greater than toKey");
+        }
+
+        return this.withRoot(this.operations.splitLess(this.operations.splitGreater(this.getRoot(), fromKey, true), toKey, false));
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableTreeMap<K, V> tailMap(K fromKey) {
+        return this.withRoot(this.operations.splitGreater(this.getRoot(), fromKey, true));
+    }
+
+    @Nonnull
+    SortedTreeOperations<K, Map.Entry<K, V>> getOperations() {
+        return this.operations;
+    }
+
+    @CheckForNull
+    ImmutableTreeNode<Map.Entry<K, V>> getRoot() {
+        return this.entries.getRoot();
+    }
+
+    @Nonnull
+    ImmutableTreeMap<K, V> withRoot(@CheckForNull ImmutableTreeNode<Map.Entry<K, V>> root) {
+        if (root == this.getRoot()) {
+            return this;
+        }
+
+        return new ImmutableTreeMap<>(this.operations, root);
+    }
+
+    @CheckForNull
+    private ImmutableTreeNode<Map.Entry<K, V>> findNode(Object key) {
+        @SuppressWarnings("unchecked")
+        final K k = (K) key;
+        return this.operations.find(this.getRoot(), k);
+    }
+
+}
@@ -0,0 +1,214 @@
+package ca.fragag.collections;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A factory of {@link ImmutableTreeMap} objects.
+ * <p>
+ * Each factory orders the keys of the maps it creates with a specific comparator. The methods that take a map as an argument
+ * throw an {@link IllegalArgumentException} if the map's comparator differs from the factory's comparator.
+ *
+ * @param <K>
+ *            the type of the keys in the maps
+ * @param <V>
+ *            the type of the values in the maps
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public class ImmutableTreeMapFactory<K, V> {
+
+    /**
+     * The instance of the {@link ImmutableTreeMapFactory} class that orders keys in their natural ordering.
+     */
+    private static final ImmutableTreeMapFactory<?, ?> NATURAL_ORDER = new ImmutableTreeMapFactory<>(
+            new SortedTreeOperations<Object, Map.Entry<Object, Object>>(null, Map.Entry::getKey));
+
+    /**
+     * Gets the instance of the {@link ImmutableTreeMapFactory} class that orders keys in their {@linkplain Comparable natural
+     * ordering}.
+     *
+     * @param <K>
+     *            the type of the keys in the maps
+     * @param <V>
+     *            the type of the values in the maps
+     * @return the instance of the {@link ImmutableTreeMapFactory} class that uses the natural ordering
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <K, V> ImmutableTreeMapFactory<K, V> getInstance() {
+        return (ImmutableTreeMapFactory<K, V>) NATURAL_ORDER;
+    }
+
+    @Nonnull
+    private static <K, V> SortedTreeOperations<K, Map.Entry<K, V>> createOperations(@Nonnull Comparator<? super K> comparator) {
+        if (comparator == null) {
+            throw new NullPointerException("comparator");
+        }
+
+        return new SortedTreeOperations<>(comparator, Map.Entry::getKey);
+    }
+
+    @Nonnull
+    private final SortedTreeOperations<K, Map.Entry<K, V>> operations;
+    @Nonnull
+    private final ImmutableTreeMap<K, V> empty;
+
+    /**
+     * Initializes a new ImmutableTreeMapFactory that orders keys with the specified comparator.
+     *
+     * @param comparator
+     *            the comparator
+     */
+    public ImmutableTreeMapFactory(@Nonnull Comparator<? super K> comparator) {
+        this(ImmutableTreeMapFactory.<K, V> createOperations(comparator));
+    }
+
+    private ImmutableTreeMapFactory(@Nonnull SortedTreeOperations<K, Map.Entry<K, V>> operations) {
+        this.operations = operations;
+        this.empty = new ImmutableTreeMap<>(operations, null);
+    }
+
+    /**
+     * Creates an empty map.
+     *
+     * @return an empty map
+     */
+    @Nonnull
+    public ImmutableTreeMap<K, V> create() {
+        return this.empty;
+    }
+
+    /**
+     * Creates a map with the mappings of the specified map. When several keys of the map are equal according to this factory's
+     * comparator, the mapping that comes first in the map's iteration order is kept.
+     *
+     * @param map
+     *            the mappings
+     * @return the new map
+     */
+    @Nonnull
+    public ImmutableTreeMap<K, V> create(@Nonnull Map<? extends K, ? extends V> map) {
+        // Copy the entries with toArray, which sizes the array correctly even if the map is modified concurrently.
+        @SuppressWarnings("unchecked")
+        final Map.Entry<K, V>[] entries = (Map.Entry<K, V>[]) map.entrySet().toArray(new Map.Entry<?, ?>[0]);
+        final int length = entries.length;
+        for (int i = 0; i < length; i++) {
+            // Copy each entry, because the entries of a mutable map may change after they are read.
+            entries[i] = new AbstractMap.SimpleImmutableEntry<K, V>(entries[i].getKey(), entries[i].getValue());
+        }
+
+        Arrays.sort(entries, (a, b) -> this.operations.compareKeys(a.getKey(), b.getKey()));
+
+        // Remove the duplicates. The sort is stable, so the first of several equal keys comes first.
+        int size = 0;
+        for (int i = 0; i < length; i++) {
+            if (size == 0 || this.operations.compareKeys(entries[size - 1].getKey(), entries[i].getKey()) != 0) {
+                entries[size++] = entries[i];
+            }
+        }
+
+        if (size == 0) {
+            return this.empty;
+        }
+
+        return new ImmutableTreeMap<>(this.operations, this.operations.createBalanced(entries, 0, size));
+    }
+
+    /**
+     * Creates a new map with the mappings of the first map whose key is not a key of the second map.
+     *
+     * @param map
+     *            the first map
+     * @param other
+     *            the second map
+     * @return the new map
+     */
+    @Nonnull
+    public ImmutableTreeMap<K, V> difference(@Nonnull ImmutableTreeMap<K, V> map, @Nonnull ImmutableTreeMap<K, V> other) {
+        this.checkComparator(map);
+        this.checkComparator(other);
+        return map.withRoot(this.operations.difference(map.getRoot(), other.getRoot()));
+    }
+
+    /**
+     * Creates a new map with the mappings of the first map whose key is also a key of the second map.
+     *
+     * @param map
+     *            the first map
+     * @param other
+     *            the second map
+     * @return the new map
+     */
+    @Nonnull
+    public ImmutableTreeMap<K, V> intersection(@Nonnull ImmutableTreeMap<K, V> map, @Nonnull ImmutableTreeMap<K, V> other) {
+        this.checkComparator(map);
+        this.checkComparator(other);
+        return map.withRoot(this.operations.intersection(map.getRoot(), other.getRoot()));
+    }
+
+    /**
+     * Creates a new map with the mappings of the specified map and a mapping from the specified key to the specified value. If
+     * the map already maps the key to an equal value, the map is returned.
+     *
+     * @param map
+     *            the map
+     * @param key
+     *            the key
+     * @param value
+     *            the value
+     * @return the new map
+     */
+    @Nonnull
+    public ImmutableTreeMap<K, V> put(@Nonnull ImmutableTreeMap<K, V> map, K key, V value) {
+        this.checkComparator(map);
+        return map.withRoot(this.operations.insert(map.getRoot(), new AbstractMap.SimpleImmutableEntry<>(key, value), true));
+    }
+
+    /**
+     * Creates a new map with the mappings of both maps. When both maps have a mapping for the same key, the mapping from the
+     * second map is kept.
+     *
+     * @param map
+     *            the first map
+     * @param other
+     *            the second map
+     * @return the new map
+     */
+    @Nonnull
+    public ImmutableTreeMap<K, V> putAll(@Nonnull ImmutableTreeMap<K, V> map, @Nonnull ImmutableTreeMap<K, V> other) {
+        this.checkComparator(map);
+        this.checkComparator(other);
+        return map.withRoot(this.operations.union(other.getRoot(), map.getRoot()));
+    }
+
+    /**
+     * Creates a new map with the mappings of the specified map except the mapping for the specified key. If the map has no mapping
+     * for the key, the map is returned.
+     *
+     * @param map
+     *            the map
+     * @param key
+     *            the key
+     * @return the new map
+     */
+    @Nonnull
+    public ImmutableTreeMap<K, V> remove(@Nonnull ImmutableTreeMap<K, V> map, K key) {
+        this.checkComparator(map);
+        return map.withRoot(this.operations.remove(map.getRoot(), key));
+    }
+
+    private void checkComparator(@Nonnull ImmutableTreeMap<K, V> map) {
+        if (map.getOperations() != this.operations && !Objects.equals(map.comparator(), this.operations.getComparator())) {
+            throw new IllegalArgumentException("the map's comparator differs from this factory's comparator");
+        }
+    }
+
+}
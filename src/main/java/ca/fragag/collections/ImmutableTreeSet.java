@@ -0,0 +1,209 @@
+package ca.fragag.collections;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+import java.util.function.Predicate;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable sorted set that is structured as a weight-balanced binary search tree.
+ * <p>
+ * Elements are found with the set's comparator in O(log n) time. Since each node knows the size of its subtree, the position of
+ * an element in the set ({@link #rank(Object)}) and the element at a position ({@link #get(int)}) are also found in O(log n)
+ * time. The range views ({@link #headSet(Object)}, {@link #subSet(Object, Object)} and {@link #tailSet(Object)}) are new sets that
+ * are created in O(log n) time and share most of their nodes with this set.
+ * <p>
+ * Use {@link ImmutableTreeSetFactory} to create and modify sets.
+ *
+ * @param <E>
+ *            the type of the elements in the set
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class ImmutableTreeSet<E> extends AbstractSet<E> implements SortedSet<E> {
+
+    @Nonnull
+    private static UnsupportedOperationException readOnlyException() {
+        return new UnsupportedOperationException("this set is read-only");
+    }
+
+    @Nonnull
+    private final SortedTreeOperations<E, E> operations;
+    @Nonnull
+    private final ImmutableTreeList<E> elements;
+
+    ImmutableTreeSet(@Nonnull SortedTreeOperations<E, E> operations, @CheckForNull ImmutableTreeNode<E> root) {
+        this.operations = operations;
+        this.elements = root == null ? ImmutableTreeList.<E> getEmpty() : new ImmutableTreeList<>(root);
+    }
+
+    @Override
+    public boolean add(E e) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public void clear() {
+        throw readOnlyException();
+    }
+
+    @CheckForNull
+    @Override
+    public Comparator<? super E> comparator() {
+        return this.operations.getComparator();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        @SuppressWarnings("unchecked")
+        final E element = (E) o;
+        return this.operations.find(this.getRoot(), element) != null;
+    }
+
+    @Override
+    public E first() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.elements.get(0);
+    }
+
+    /**
+     * Gets the element at the specified position in this set, in ascending order.
+     *
+     * @param index
+     *            the position of the element
+     * @return the element
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than or equal to the size of this set
+     */
+    public E get(int index) {
+        return this.elements.get(index);
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableTreeSet<E> headSet(E toElement) {
+        return this.withRoot(this.operations.splitLess(this.getRoot(), toElement, false));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.elements.isEmpty();
+    }
+
+    @Nonnull
+    @Override
+    public Iterator<E> iterator() {
+        return this.elements.iterator();
+    }
+
+    @Override
+    public E last() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.elements.get(this.elements.size() - 1);
+    }
+
+    /**
+     * Counts the elements of this set that are less than the specified element. If the specified element is in this set, the
+     * result is its position in this set.
+     *
+     * @param element
+     *            the element
+     * @return the number of elements in this set that are less than <code>element</code>
+     */
+    public int rank(E element) {
+        return this.operations.rank(this.getRoot(), element);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw readOnlyException();
+    }
+
+    @Override
+    public int size() {
+        return this.elements.size();
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableTreeSet<E> subSet(E fromElement, E toElement) {
+        if (this.operations.compareKeys(fromElement, toElement) > 0) {
+            throw new IllegalArgumentException("fromElement is greater than toElement");
+        }
+
+        return this.withRoot(this.operations.splitLess(this.operations.splitGreater(this.getRoot(), fromElement, true),
+                toElement, false));
+    }
+
+    @Nonnull
+    @Override
+    public ImmutableTreeSet<E> tailSet(E fromElement) {
+        return this.withRoot(this.operations.splitGreater(this.getRoot(), fromElement, true));
+    }
+
+    @Nonnull
+    @Override
+    public Object[] toArray() {
+        return this.elements.toArray();
+    }
+
+    @Nonnull
+    @Override
+    public <T> T[] toArray(@Nonnull T[] a) {
+        return this.elements.toArray(a);
+    }
+
+    @Nonnull
+    SortedTreeOperations<E, E> getOperations() {
+        return this.operations;
+    }
+
+    @CheckForNull
+    ImmutableTreeNode<E> getRoot() {
+        return this.elements.getRoot();
+    }
+
+    @Nonnull
+    ImmutableTreeSet<E> withRoot(@CheckForNull ImmutableTreeNode<E> root) {
+        if (root == this.getRoot()) {
+            return this;
+        }
+
+        return new ImmutableTreeSet<>(this.operations, root);
+    }
+
+}
@@ -0,0 +1,201 @@
+package ca.fragag.collections;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A factory of {@link ImmutableTreeSet} objects.
+ * <p>
+ * Each factory orders the elements of the sets it creates with a specific comparator. The methods that take a set as an argument
+ * throw an {@link IllegalArgumentException} if the set's comparator differs from the factory's comparator.
+ *
+ * @param <E>
+ *            the type of the elements in the sets
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public class ImmutableTreeSetFactory<E> {
+
+    /**
+     * The instance of the {@link ImmutableTreeSetFactory} class that orders elements in their natural ordering.
+     */
+    private static final ImmutableTreeSetFactory<?> NATURAL_ORDER = new ImmutableTreeSetFactory<>(
+            new SortedTreeOperations<Object, Object>(null, Function.identity()));
+
+    /**
+     * Gets the instance of the {@link ImmutableTreeSetFactory} class that orders elements in their {@linkplain Comparable natural
+     * ordering}.
+     *
+     * @param <E>
+     *            the type of the elements in the sets
+     * @return the instance of the {@link ImmutableTreeSetFactory} class that uses the natural ordering
+     */
+    @Nonnull
+    @SuppressWarnings("unchecked")
+    public static <E> ImmutableTreeSetFactory<E> getInstance() {
+        return (ImmutableTreeSetFactory<E>) NATURAL_ORDER;
+    }
+
+    @Nonnull
+    private static <E> SortedTreeOperations<E, E> createOperations(@Nonnull Comparator<? super E> comparator) {
+        if (comparator == null) {
+            throw new NullPointerException("comparator");
+        }
+
+        return new SortedTreeOperations<>(comparator, Function.<E> identity());
+    }
+
+    @Nonnull
+    private final SortedTreeOperations<E, E> operations;
+    @Nonnull
+    private final ImmutableTreeSet<E> empty;
+
+    /**
+     * Initializes a new ImmutableTreeSetFactory that orders elements with the specified comparator.
+     *
+     * @param comparator
+     *            the comparator
+     */
+    public ImmutableTreeSetFactory(@Nonnull Comparator<? super E> comparator) {
+        this(createOperations(comparator));
+    }
+
+    private ImmutableTreeSetFactory(@Nonnull SortedTreeOperations<E, E> operations) {
+        this.operations = operations;
+        this.empty = new ImmutableTreeSet<>(operations, null);
+    }
+
+    /**
+     * Creates a new set with the elements of the specified set and the specified element. If the set already contains the
+     * element, the set is returned.
+     *
+     * @param set
+     *            the set
+     * @param element
+     *            the element to add
+     * @return the new set
+     */
+    @Nonnull
+    public ImmutableTreeSet<E> add(@Nonnull ImmutableTreeSet<E> set, E element) {
+        this.checkComparator(set);
+        return set.withRoot(this.operations.insert(set.getRoot(), element, false));
+    }
+
+    /**
+     * Creates an empty set.
+     *
+     * @return an empty set
+     */
+    @Nonnull
+    public ImmutableTreeSet<E> create() {
+        return this.empty;
+    }
+
+    /**
+     * Creates a set with the elements of the specified collection. When several elements of the collection are equal according to
+     * this factory's comparator, the first one is kept.
+     *
+     * @param collection
+     *            the elements
+     * @return the new set
+     */
+    @Nonnull
+    public ImmutableTreeSet<E> create(@Nonnull Collection<? extends E> collection) {
+        @SuppressWarnings("unchecked")
+        final E[] elements = (E[]) collection.toArray();
+        Arrays.sort(elements, this.operations::compareKeys);
+
+        // Remove the duplicates. The sort is stable, so the first of several equal elements comes first.
+        int size = 0;
+        for (int i = 0; i < elements.length; i++) {
+            if (size == 0 || this.operations.compareKeys(elements[size - 1], elements[i]) != 0) {
+                elements[size++] = elements[i];
+            }
+        }
+
+        if (size == 0) {
+            return this.empty;
+        }
+
+        return new ImmutableTreeSet<>(this.operations, this.operations.createBalanced(elements, 0, size));
+    }
+
+    /**
+     * Creates a new set with the elements of the first set that are not in the second set.
+     *
+     * @param set
+     *            the first set
+     * @param other
+     *            the second set
+     * @return the new set
+     */
+    @Nonnull
+    public ImmutableTreeSet<E> difference(@Nonnull ImmutableTreeSet<E> set, @Nonnull ImmutableTreeSet<E> other) {
+        this.checkComparator(set);
+        this.checkComparator(other);
+        return set.withRoot(this.operations.difference(set.getRoot(), other.getRoot()));
+    }
+
+    /**
+     * Creates a new set with the elements of the first set that are also in the second set.
+     *
+     * @param set
+     *            the first set
+     * @param other
+     *            the second set
+     * @return the new set
+     */
+    @Nonnull
+    public ImmutableTreeSet<E> intersection(@Nonnull ImmutableTreeSet<E> set, @Nonnull ImmutableTreeSet<E> other) {
+        this.checkComparator(set);
+        this.checkComparator(other);
+        return set.withRoot(this.operations.intersection(set.getRoot(), other.getRoot()));
+    }
+
+    /**
+     * Creates a new set with the elements of the specified set except the specified element. If the set doesn't contain the
+     * element, the set is returned.
+     *
+     * @param set
+     *            the set
+     * @param element
+     *            the element to remove
+     * @return the new set
+     */
+    @Nonnull
+    public ImmutableTreeSet<E> remove(@Nonnull ImmutableTreeSet<E> set, E element) {
+        this.checkComparator(set);
+        return set.withRoot(this.operations.remove(set.getRoot(), element));
+    }
+
+    /**
+     * Creates a new set with the elements of both sets. When both sets contain equal elements, the element from the first set is
+     * kept.
+     *
+     * @param set
+     *            the first set
+     * @param other
+     *            the second set
+     * @return the new set
+     */
+    @Nonnull
+    public ImmutableTreeSet<E> union(@Nonnull ImmutableTreeSet<E> set, @Nonnull ImmutableTreeSet<E> other) {
+        this.checkComparator(set);
+        this.checkComparator(other);
+        return set.withRoot(this.operations.union(set.getRoot(), other.getRoot()));
+    }
+
+    private void checkComparator(@Nonnull ImmutableTreeSet<E> set) {
+        if (set.getOperations() != this.operations && !Objects.equals(set.comparator(), this.operations.getComparator())) {
+            throw new IllegalArgumentException("the set's comparator differs from this factory's comparator");
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package ca.fragag.collections;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A snapshot of the statistics of an {@link InterningTreeNodeFactory}.
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class InterningStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final int internedNodeCount;
+    private final long bytesSaved;
+
+    InterningStatistics(long hitCount, long missCount, int internedNodeCount, long bytesSaved) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.internedNodeCount = internedNodeCount;
+        this.bytesSaved = bytesSaved;
+    }
+
+    /**
+     * Gets an estimate of the number of bytes that the nodes that were reused would have occupied if they had been created.
+     *
+     * @return the estimated number of bytes saved
+     */
+    public long getBytesSaved() {
+        return this.bytesSaved;
+    }
+
+    /**
+     * Gets the number of requests for a node that returned an existing node.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Gets the ratio of the requests for a node that returned an existing node.
+     *
+     * @return the hit rate, between 0 and 1, or 0 if no node was requested
+     */
+    public double getHitRate() {
+        final long requestCount = this.hitCount + this.missCount;
+        return requestCount == 0 ? 0 : (double) this.hitCount / requestCount;
+    }
+
+    /**
+     * Gets the number of nodes in the intern table, including nodes that have been garbage collected but have not been removed
+     * from the table yet.
+     *
+     * @return the number of interned nodes
+     */
+    public int getInternedNodeCount() {
+        return this.internedNodeCount;
+    }
+
+    /**
+     * Gets the number of requests for a node that created a new node.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    @Override
+    public String toString() {
+        return "InterningStatistics [hitCount=" + this.hitCount + ", missCount=" + this.missCount + ", internedNodeCount="
+                + this.internedNodeCount + ", bytesSaved=" + this.bytesSaved + "]";
+    }
+
+}
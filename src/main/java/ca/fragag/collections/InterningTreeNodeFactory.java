@@ -0,0 +1,232 @@
+package ca.fragag.collections;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A factory of {@link AbstractImmutableTreeNode} objects that reuses the nodes it created earlier (hash-consing).
+ * <p>
+ * This factory creates its nodes with another factory. Before creating a node, it looks up a node with the same children and an
+ * equal value in a table of the nodes it created earlier, and returns that node if it is still reachable. Since the children of
+ * a node are interned before their parent, two equal subtrees that are created by the same interning factory are the same
+ * object: they occupy memory only once, and comparing them for equality takes constant time. The table only references its nodes
+ * weakly, so it doesn't prevent unused nodes from being garbage collected.
+ * <p>
+ * The values of the nodes are compared with {@link Object#equals(Object)}, so they should be immutable. Interning has a cost on
+ * every node creation; it pays off when many lists with equal contents are built independently.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @param <E>
+ *            the type of the value in the node and its child nodes
+ * @param <N>
+ *            the specific type of node that this factory produces
+ *
+ * @author Francis Gagné
+ */
+@ThreadSafe
+public final class InterningTreeNodeFactory<E, N extends AbstractImmutableTreeNode<E, N>> extends AbstractImmutableTreeNodeFactory<E, N> {
+
+    /**
+     * A key used to look up a node in the intern table.
+     */
+    private static final class Lookup {
+
+        @CheckForNull
+        final Object left;
+        final Object value;
+        @CheckForNull
+        final Object right;
+        final int hashCode;
+
+        Lookup(@CheckForNull Object left, Object value, @CheckForNull Object right) {
+            this.left = left;
+            this.value = value;
+            this.right = right;
+            this.hashCode = InterningTreeNodeFactory.hashCode(left, value, right);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof InternedNode && ((InternedNode<?>) obj).matches(this.left, this.value, this.right);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+    }
+
+    /**
+     * A weak reference to a node in the intern table. The reference is its own key in the table.
+     */
+    private static final class InternedNode<N extends AbstractImmutableTreeNode<?, N>> extends WeakReference<N> {
+
+        private final int hashCode;
+
+        InternedNode(@Nonnull N node, int hashCode, @Nonnull ReferenceQueue<? super N> queue) {
+            super(node, queue);
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof InternedNode)) {
+                return false;
+            }
+
+            final AbstractImmutableTreeNode<?, ?> node = ((InternedNode<?>) obj).get();
+            return node != null && this.matches(node.getLeft(), node.getValue(), node.getRight());
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+
+        boolean matches(@CheckForNull Object left, Object value, @CheckForNull Object right) {
+            final N node = this.get();
+            return node != null && node.getLeft() == left && node.getRight() == right && Objects.equals(node.getValue(), value);
+        }
+
+    }
+
+    /**
+     * The default estimate of the size of a node, in bytes: an object header and 5 fields, with compressed references.
+     */
+    public static final int DEFAULT_NODE_SIZE = 32;
+
+    static int hashCode(@CheckForNull Object left, Object value, @CheckForNull Object right) {
+        return (31 * System.identityHashCode(left) + Objects.hashCode(value)) * 31 + System.identityHashCode(right);
+    }
+
+    @Nonnull
+    private final AbstractImmutableTreeNodeFactory<E, N> nodeFactory;
+    private final int nodeSize;
+    @Nonnull
+    private final ConcurrentHashMap<Object, InternedNode<N>> table = new ConcurrentHashMap<>();
+    @Nonnull
+    private final ReferenceQueue<N> queue = new ReferenceQueue<>();
+    @Nonnull
+    private final LongAdder hitCount = new LongAdder();
+    @Nonnull
+    private final LongAdder missCount = new LongAdder();
+
+    /**
+     * Initializes a new InterningTreeNodeFactory that estimates the size of a node to {@link #DEFAULT_NODE_SIZE}.
+     *
+     * @param nodeFactory
+     *            the factory that creates the nodes
+     */
+    public InterningTreeNodeFactory(@Nonnull AbstractImmutableTreeNodeFactory<E, N> nodeFactory) {
+        this(nodeFactory, DEFAULT_NODE_SIZE);
+    }
+
+    /**
+     * Initializes a new InterningTreeNodeFactory.
+     *
+     * @param nodeFactory
+     *            the factory that creates the nodes
+     * @param nodeSize
+     *            the estimated size of a node, in bytes, used to compute {@link InterningStatistics#getBytesSaved()}
+     */
+    public InterningTreeNodeFactory(@Nonnull AbstractImmutableTreeNodeFactory<E, N> nodeFactory, int nodeSize) {
+        if (nodeFactory == null) {
+            throw new NullPointerException("nodeFactory");
+        }
+
+        if (nodeSize < 0) {
+            throw new IllegalArgumentException("nodeSize < 0");
+        }
+
+        this.nodeFactory = nodeFactory;
+        this.nodeSize = nodeSize;
+    }
+
+    /**
+     * Gets a snapshot of the statistics of this factory.
+     *
+     * @return the statistics
+     */
+    @Nonnull
+    public InterningStatistics getStatistics() {
+        this.expungeStaleNodes();
+        final long hits = this.hitCount.sum();
+        return new InterningStatistics(hits, this.missCount.sum(), this.table.size(), hits * this.nodeSize);
+    }
+
+    @Nonnull
+    @Override
+    protected N copyNode(@CheckForNull N left, @Nonnull N node, @CheckForNull N right) {
+        return this.intern(left, node.getValue(), right, node);
+    }
+
+    @Nonnull
+    @Override
+    protected N createNode(@CheckForNull N left, E value, @CheckForNull N right) {
+        return this.intern(left, value, right, null);
+    }
+
+    private void expungeStaleNodes() {
+        Object reference;
+        while ((reference = this.queue.poll()) != null) {
+            this.table.remove(reference, reference);
+        }
+    }
+
+    /**
+     * Finds an interned node equal to the node with the specified children and value, or creates one with the wrapped factory and
+     * interns it. If <code>source</code> is not <code>null</code>, the wrapped factory creates the new node by copying it.
+     */
+    @Nonnull
+    private N intern(@CheckForNull N left, E value, @CheckForNull N right, @CheckForNull N source) {
+        this.expungeStaleNodes();
+
+        final Lookup lookup = new Lookup(left, value, right);
+        for (;;) {
+            final InternedNode<N> existing = this.table.get(lookup);
+            if (existing != null) {
+                final N node = existing.get();
+                if (node != null) {
+                    this.hitCount.increment();
+                    return node;
+                }
+
+                // The node was garbage collected after the lookup matched it; forget it and try again.
+                this.table.remove(existing, existing);
+                continue;
+            }
+
+            final N node = source == null ? this.nodeFactory.createNode(left, value, right)
+                    : this.nodeFactory.copyNode(left, source, right);
+            final InternedNode<N> interned = new InternedNode<>(node, lookup.hashCode, this.queue);
+            final InternedNode<N> previous = this.table.putIfAbsent(interned, interned);
+            if (previous == null) {
+                this.missCount.increment();
+                return node;
+            }
+
+            // Another thread interned an equal node first.
+            final N previousNode = previous.get();
+            if (previousNode != null) {
+                this.hitCount.increment();
+                return previousNode;
+            }
+
+            this.table.remove(previous, previous);
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+package ca.fragag.collections;
+
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An associative measure of the elements of a list (a monoid over <code>long</code> values). Each
+ * {@link AbstractMeasuredTreeNode} caches the measure of its subtree, which is computed from the measures of its children and of
+ * its element, so that the measure of any range of an {@link AbstractMeasuredTreeList} can be computed in O(log n) time.
+ * <p>
+ * {@link #combine(long, long)} must be associative and {@link #identity()} must be its identity element. For
+ * {@link AbstractMeasuredTreeList#findByMeasure(long)} to be meaningful, combining measures must also never decrease them, which
+ * is the case of sums of non-negative values, counts and maximums.
+ *
+ * @param <E>
+ *            the type of the elements to measure
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public abstract class Measure<E> {
+
+    /**
+     * Creates a measure that counts the elements that match the specified predicate.
+     *
+     * @param <E>
+     *            the type of the elements to measure
+     * @param predicate
+     *            the predicate
+     * @return the new measure
+     */
+    @Nonnull
+    public static <E> Measure<E> count(@Nonnull final Predicate<? super E> predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("predicate");
+        }
+
+        return new Measure<E>() {
+            @Override
+            public long combine(long left, long right) {
+                return left + right;
+            }
+
+            @Override
+            public long measure(E element) {
+                return predicate.test(element) ? 1 : 0;
+            }
+        };
+    }
+
+    /**
+     * Creates a measure that computes the maximum of the weights of the elements. The measure of an empty range is
+     * {@link Long#MIN_VALUE}.
+     *
+     * @param <E>
+     *            the type of the elements to measure
+     * @param weight
+     *            the function that computes the weight of an element
+     * @return the new measure
+     */
+    @Nonnull
+    public static <E> Measure<E> max(@Nonnull final ToLongFunction<? super E> weight) {
+        if (weight == null) {
+            throw new NullPointerException("weight");
+        }
+
+        return new Measure<E>() {
+            @Override
+            public long combine(long left, long right) {
+                return Math.max(left, right);
+            }
+
+            @Override
+            public long identity() {
+                return Long.MIN_VALUE;
+            }
+
+            @Override
+            public long measure(E element) {
+                return weight.applyAsLong(element);
+            }
+        };
+    }
+
+    /**
+     * Creates a measure that computes the sum of the weights of the elements.
+     *
+     * @param <E>
+     *            the type of the elements to measure
+     * @param weight
+     *            the function that computes the weight of an element
+     * @return the new measure
+     */
+    @Nonnull
+    public static <E> Measure<E> sum(@Nonnull final ToLongFunction<? super E> weight) {
+        if (weight == null) {
+            throw new NullPointerException("weight");
+        }
+
+        return new Measure<E>() {
+            @Override
+            public long combine(long left, long right) {
+                return left + right;
+            }
+
+            @Override
+            public long measure(E element) {
+                return weight.applyAsLong(element);
+            }
+        };
+    }
+
+    /**
+     * Initializes a new Measure.
+     */
+    protected Measure() {
+    }
+
+    /**
+     * Combines the measures of two adjacent ranges.
+     *
+     * @param left
+     *            the measure of the range on the left
+     * @param right
+     *            the measure of the range on the right
+     * @return the measure of the union of the ranges
+     */
+    public abstract long combine(long left, long right);
+
+    /**
+     * Gets the measure of an empty range. The default implementation returns 0.
+     *
+     * @return the identity element of {@link #combine(long, long)}
+     */
+    public long identity() {
+        return 0;
+    }
+
+    /**
+     * Measures a single element.
+     *
+     * @param element
+     *            the element
+     * @return the measure of the element
+     */
+    public abstract long measure(E element);
+
+}
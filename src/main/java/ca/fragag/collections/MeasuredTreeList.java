@@ -0,0 +1,31 @@
+package ca.fragag.collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An immutable list that is structured as a binary tree whose nodes cache the {@linkplain Measure measure} of their subtree.
+ * <p>
+ * Use {@link MeasuredTreeListFactory} to create and modify lists.
+ *
+ * @param <E>
+ *            the type of the elements in the list
+ * @author Francis Gagné
+ */
+@Immutable
+public final class MeasuredTreeList<E> extends AbstractMeasuredTreeList<E, MeasuredTreeNode<E>> {
+
+    /**
+     * Initializes a new MeasuredTreeList.
+     *
+     * @param root
+     *            the list's root node
+     * @param measure
+     *            the measure that the nodes of the list cache
+     */
+    MeasuredTreeList(@CheckForNull MeasuredTreeNode<E> root, @Nonnull Measure<? super E> measure) {
+        super(root, measure);
+    }
+
+}
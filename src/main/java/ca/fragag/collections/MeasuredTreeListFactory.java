@@ -0,0 +1,59 @@
+package ca.fragag.collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A factory of {@link MeasuredTreeList} objects. Each factory creates lists whose nodes cache a specific {@link Measure}.
+ *
+ * @param <E>
+ *            the type of the elements in the lists
+ * @author Francis Gagné
+ */
+@Immutable
+public class MeasuredTreeListFactory<E> extends AbstractImmutableTreeListFactory<E, MeasuredTreeNode<E>, MeasuredTreeList<E>> {
+
+    @Nonnull
+    private static <E> MeasuredTreeNode.Factory<E> createNodeFactory(@Nonnull Measure<? super E> measure) {
+        if (measure == null) {
+            throw new NullPointerException("measure");
+        }
+
+        return new MeasuredTreeNode.Factory<>(measure);
+    }
+
+    @Nonnull
+    private final Measure<? super E> measure;
+    @Nonnull
+    private final MeasuredTreeList<E> empty;
+
+    /**
+     * Initializes a new MeasuredTreeListFactory.
+     *
+     * @param measure
+     *            the measure that the nodes of the lists cache
+     */
+    public MeasuredTreeListFactory(@Nonnull Measure<? super E> measure) {
+        super(MeasuredTreeListFactory.<E> createNodeFactory(measure));
+        this.measure = measure;
+        this.empty = new MeasuredTreeList<>(null, measure);
+    }
+
+    @Nonnull
+    @Override
+    public MeasuredTreeList<E> create() {
+        return this.empty;
+    }
+
+    @Nonnull
+    @Override
+    protected MeasuredTreeList<E> createList(@CheckForNull MeasuredTreeNode<E> root) {
+        if (root == null) {
+            return this.empty;
+        }
+
+        return new MeasuredTreeList<>(root, this.measure);
+    }
+
+}
@@ -0,0 +1,53 @@
+package ca.fragag.collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * A node in a {@link MeasuredTreeList}.
+ *
+ * @param <E>
+ *            the type of the value in the node and its child nodes
+ * @author Francis Gagné
+ */
+@Immutable
+final class MeasuredTreeNode<E> extends AbstractMeasuredTreeNode<E, MeasuredTreeNode<E>> {
+
+    @Immutable
+    static final class Factory<E> extends AbstractImmutableTreeNodeFactory<E, MeasuredTreeNode<E>> {
+
+        @Nonnull
+        private final Measure<? super E> measure;
+
+        Factory(@Nonnull Measure<? super E> measure) {
+            this.measure = measure;
+        }
+
+        @Nonnull
+        @Override
+        protected MeasuredTreeNode<E> createNode(@CheckForNull MeasuredTreeNode<E> left, E value,
+                @CheckForNull MeasuredTreeNode<E> right) {
+            return new MeasuredTreeNode<>(left, value, right, this.measure);
+        }
+
+    }
+
+    /**
+     * Initializes a new MeasuredTreeNode.
+     *
+     * @param left
+     *            the left subtree
+     * @param value
+     *            the element value
+     * @param right
+     *            the right subtree
+     * @param measure
+     *            the measure of the elements
+     */
+    MeasuredTreeNode(@CheckForNull MeasuredTreeNode<E> left, E value, @CheckForNull MeasuredTreeNode<E> right,
+            @Nonnull Measure<? super E> measure) {
+        super(left, value, right, measure);
+    }
+
+}
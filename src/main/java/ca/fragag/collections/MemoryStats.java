@@ -0,0 +1,273 @@
+package ca.fragag.collections;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * An estimate of the memory used by the nodes and the elements of one or more tree lists.
+ * <p>
+ * Tree lists that were derived from each other share most of their nodes, so the memory used by several lists is less than the
+ * sum of the memory used by each list. {@link #measure(Collection)} counts each node and each element once, by identity, and
+ * {@link #retained(AbstractImmutableTreeList, Collection)} counts only the nodes and the elements of a list that are not reachable
+ * from a set of other lists, that is, the memory that would be freed if that list became unreachable. The memory shared by a list
+ * with the other lists is the difference between these two measures.
+ * <p>
+ * Sizes are estimated for a 64-bit JVM with compressed object pointers: a 12-byte object header (16 bytes for arrays), 4-byte
+ * references and objects aligned to 8 bytes. By default, elements are measured with {@link #estimateShallowSize(Object)}, which
+ * doesn't count the objects they reference (an array of characters is measured entirely, but a {@link String} is not). The lists
+ * themselves are not counted, only their nodes and elements.
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class MemoryStats {
+
+    private static final int OBJECT_HEADER_SIZE = 12;
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+
+    private static final ClassValue<Long> INSTANCE_SIZES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = OBJECT_HEADER_SIZE;
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += fieldSize(field.getType());
+                    }
+                }
+            }
+
+            return align(size);
+        }
+    };
+
+    private static final ToLongFunction<Object> SHALLOW_SIZE = MemoryStats::estimateShallowSize;
+
+    /**
+     * Estimates the size of an object, without the objects it references.
+     *
+     * @param object
+     *            the object
+     * @return the estimated size of the object, in bytes, or 0 if <code>object</code> is <code>null</code>
+     */
+    public static long estimateShallowSize(@CheckForNull Object object) {
+        if (object == null) {
+            return 0;
+        }
+
+        final Class<?> type = object.getClass();
+        if (type.isArray()) {
+            return align(ARRAY_HEADER_SIZE + (long) Array.getLength(object) * fieldSize(type.getComponentType()));
+        }
+
+        return INSTANCE_SIZES.get(type);
+    }
+
+    /**
+     * Estimates the memory used by the nodes and the elements of the specified lists, counting each node and each element once.
+     *
+     * @param lists
+     *            the lists
+     * @return the memory statistics of the lists
+     */
+    @Nonnull
+    public static MemoryStats measure(@Nonnull Collection<? extends AbstractImmutableTreeList<?, ?>> lists) {
+        return measure(lists, SHALLOW_SIZE);
+    }
+
+    /**
+     * Estimates the memory used by the nodes and the elements of the specified lists, counting each node and each element once.
+     *
+     * @param lists
+     *            the lists
+     * @param elementSize
+     *            a function that estimates the size of an element, in bytes
+     * @return the memory statistics of the lists
+     */
+    @Nonnull
+    public static MemoryStats measure(@Nonnull Collection<? extends AbstractImmutableTreeList<?, ?>> lists,
+            @Nonnull ToLongFunction<Object> elementSize) {
+        return retained(lists, Collections.<AbstractImmutableTreeList<?, ?>> emptyList(), elementSize);
+    }
+
+    /**
+     * Estimates the memory used by the nodes and the elements of a list that are not reachable from the specified other lists.
+     *
+     * @param list
+     *            the list
+     * @param others
+     *            the other lists
+     * @return the memory statistics of the nodes and the elements that only the list retains
+     */
+    @Nonnull
+    public static MemoryStats retained(@Nonnull AbstractImmutableTreeList<?, ?> list,
+            @Nonnull Collection<? extends AbstractImmutableTreeList<?, ?>> others) {
+        return retained(list, others, SHALLOW_SIZE);
+    }
+
+    /**
+     * Estimates the memory used by the nodes and the elements of a list that are not reachable from the specified other lists.
+     *
+     * @param list
+     *            the list
+     * @param others
+     *            the other lists
+     * @param elementSize
+     *            a function that estimates the size of an element, in bytes
+     * @return the memory statistics of the nodes and the elements that only the list retains
+     */
+    @Nonnull
+    public static MemoryStats retained(@Nonnull AbstractImmutableTreeList<?, ?> list,
+            @Nonnull Collection<? extends AbstractImmutableTreeList<?, ?>> others, @Nonnull ToLongFunction<Object> elementSize) {
+        if (list == null) {
+            throw new NullPointerException("list");
+        }
+
+        return retained(Collections.singletonList(list), others, elementSize);
+    }
+
+    private static long align(long size) {
+        return size + 7 & ~7L;
+    }
+
+    private static long fieldSize(@Nonnull Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+
+        return REFERENCE_SIZE;
+    }
+
+    private static void mark(@CheckForNull AbstractImmutableTreeNode<?, ?> node, @Nonnull Set<Object> excludedNodes,
+            @Nonnull Set<Object> nodes, @Nonnull Set<Object> elements) {
+        // A node that has already been visited or excluded is the root of a subtree that has already been visited or excluded.
+        while (node != null && !excludedNodes.contains(node) && nodes.add(node)) {
+            elements.add(node.getValue());
+            mark(node.getLeft(), excludedNodes, nodes, elements);
+            node = node.getRight();
+        }
+    }
+
+    @Nonnull
+    private static MemoryStats retained(@Nonnull Collection<? extends AbstractImmutableTreeList<?, ?>> lists,
+            @Nonnull Collection<? extends AbstractImmutableTreeList<?, ?>> others, @Nonnull ToLongFunction<Object> elementSize) {
+        if (elementSize == null) {
+            throw new NullPointerException("elementSize");
+        }
+
+        final Set<Object> otherNodes = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        final Set<Object> otherElements = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        for (AbstractImmutableTreeList<?, ?> other : others) {
+            mark(other.getRoot(), Collections.emptySet(), otherNodes, otherElements);
+        }
+
+        final Set<Object> nodes = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        final Set<Object> elements = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+        for (AbstractImmutableTreeList<?, ?> list : lists) {
+            mark(list.getRoot(), otherNodes, nodes, elements);
+        }
+
+        long nodeBytes = 0;
+        for (Object node : nodes) {
+            nodeBytes += estimateShallowSize(node);
+        }
+
+        int elementCount = 0;
+        long elementBytes = 0;
+        for (Object element : elements) {
+            if (element != null && !otherElements.contains(element)) {
+                elementCount++;
+                elementBytes += elementSize.applyAsLong(element);
+            }
+        }
+
+        return new MemoryStats(nodes.size(), nodeBytes, elementCount, elementBytes);
+    }
+
+    private final int nodeCount;
+    private final long nodeBytes;
+    private final int elementCount;
+    private final long elementBytes;
+
+    private MemoryStats(int nodeCount, long nodeBytes, int elementCount, long elementBytes) {
+        this.nodeCount = nodeCount;
+        this.nodeBytes = nodeBytes;
+        this.elementCount = elementCount;
+        this.elementBytes = elementBytes;
+    }
+
+    /**
+     * Gets the estimated size of the elements that were counted.
+     *
+     * @return the size of the elements, in bytes
+     */
+    public long getElementBytes() {
+        return this.elementBytes;
+    }
+
+    /**
+     * Gets the number of distinct non-null elements that were counted.
+     *
+     * @return the number of elements
+     */
+    public int getElementCount() {
+        return this.elementCount;
+    }
+
+    /**
+     * Gets the estimated size of the nodes that were counted.
+     *
+     * @return the size of the nodes, in bytes
+     */
+    public long getNodeBytes() {
+        return this.nodeBytes;
+    }
+
+    /**
+     * Gets the number of distinct nodes that were counted.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Gets the estimated size of the nodes and the elements that were counted.
+     *
+     * @return the total size, in bytes
+     */
+    public long getTotalBytes() {
+        return this.nodeBytes + this.elementBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "MemoryStats [nodeCount=" + this.nodeCount + ", nodeBytes=" + this.nodeBytes + ", elementCount=" + this.elementCount
+                + ", elementBytes=" + this.elementBytes + "]";
+    }
+
+}
@@ -0,0 +1,221 @@
+package ca.fragag.collections;
+
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Fork/join tasks that implement the bulk operations of {@link AbstractImmutableTreeListFactory}.
+ * <p>
+ * Each task processes a subtree. Subtrees of at most {@value #SEQUENTIAL_THRESHOLD} nodes are processed sequentially; larger
+ * subtrees fork a task for their left subtree, process their element and their right subtree in the current thread, then join the
+ * left task.
+ *
+ * @author Francis Gagné
+ */
+final class ParallelTreeTasks {
+
+    static final class Filter<E, N extends AbstractImmutableTreeNode<E, N>> extends RecursiveTask<N> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull
+        private static <E, N extends AbstractImmutableTreeNode<E, N>> N combine(
+                @Nonnull AbstractImmutableTreeNodeFactory<E, N> nodeFactory, @Nonnull N node, @CheckForNull N left, boolean keep,
+                @CheckForNull N right) {
+            // If nothing was removed from this subtree, share it.
+            if (keep && left == node.getLeft() && right == node.getRight()) {
+                return node;
+            }
+
+            return keep ? nodeFactory.join(left, node, right) : nodeFactory.concat(left, right);
+        }
+
+        @CheckForNull
+        private static <E, N extends AbstractImmutableTreeNode<E, N>> N filter(
+                @Nonnull AbstractImmutableTreeNodeFactory<E, N> nodeFactory, @CheckForNull N node,
+                @Nonnull Predicate<? super E> predicate) {
+            if (node == null) {
+                return null;
+            }
+
+            final N left = filter(nodeFactory, node.getLeft(), predicate);
+            final boolean keep = predicate.test(node.getValue());
+            final N right = filter(nodeFactory, node.getRight(), predicate);
+            return combine(nodeFactory, node, left, keep, right);
+        }
+
+        @Nonnull
+        private final AbstractImmutableTreeNodeFactory<E, N> nodeFactory;
+        @CheckForNull
+        private final N node;
+        @Nonnull
+        private final Predicate<? super E> predicate;
+
+        Filter(@Nonnull AbstractImmutableTreeNodeFactory<E, N> nodeFactory, @CheckForNull N node,
+                @Nonnull Predicate<? super E> predicate) {
+            this.nodeFactory = nodeFactory;
+            this.node = node;
+            this.predicate = predicate;
+        }
+
+        @Override
+        protected N compute() {
+            final N node = this.node;
+            if (node == null || node.getSize() <= SEQUENTIAL_THRESHOLD) {
+                return filter(this.nodeFactory, node, this.predicate);
+            }
+
+            final Filter<E, N> leftTask = new Filter<>(this.nodeFactory, node.getLeft(), this.predicate);
+            leftTask.fork();
+            final boolean keep = this.predicate.test(node.getValue());
+            final N right = new Filter<>(this.nodeFactory, node.getRight(), this.predicate).compute();
+            return combine(this.nodeFactory, node, leftTask.join(), keep, right);
+        }
+
+    }
+
+    static final class ForEach<E, N extends AbstractImmutableTreeNode<E, N>> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        @CheckForNull
+        private final N node;
+        @Nonnull
+        private final Consumer<? super E> action;
+
+        ForEach(@CheckForNull N node, @Nonnull Consumer<? super E> action) {
+            this.node = node;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            final N node = this.node;
+            if (node == null) {
+                return;
+            }
+
+            if (node.getSize() <= SEQUENTIAL_THRESHOLD) {
+                node.forEach(this.action, 0, 0, node.getSize());
+                return;
+            }
+
+            final ForEach<E, N> leftTask = new ForEach<>(node.getLeft(), this.action);
+            leftTask.fork();
+            this.action.accept(node.getValue());
+            new ForEach<>(node.getRight(), this.action).compute();
+            leftTask.join();
+        }
+
+    }
+
+    static final class Map<E, N extends AbstractImmutableTreeNode<E, N>, F, M extends AbstractImmutableTreeNode<F, M>> extends
+            RecursiveTask<M> {
+
+        private static final long serialVersionUID = 1L;
+
+        @CheckForNull
+        private static <E, N extends AbstractImmutableTreeNode<E, N>, F, M extends AbstractImmutableTreeNode<F, M>> M map(
+                @Nonnull AbstractImmutableTreeNodeFactory<F, M> nodeFactory, @CheckForNull N node,
+                @Nonnull Function<? super E, ? extends F> function) {
+            if (node == null) {
+                return null;
+            }
+
+            final M left = map(nodeFactory, node.getLeft(), function);
+            final F value = function.apply(node.getValue());
+            final M right = map(nodeFactory, node.getRight(), function);
+            return nodeFactory.createNode(left, value, right);
+        }
+
+        @Nonnull
+        private final AbstractImmutableTreeNodeFactory<F, M> nodeFactory;
+        @CheckForNull
+        private final N node;
+        @Nonnull
+        private final Function<? super E, ? extends F> function;
+
+        Map(@Nonnull AbstractImmutableTreeNodeFactory<F, M> nodeFactory, @CheckForNull N node,
+                @Nonnull Function<? super E, ? extends F> function) {
+            this.nodeFactory = nodeFactory;
+            this.node = node;
+            this.function = function;
+        }
+
+        @Override
+        protected M compute() {
+            final N node = this.node;
+            if (node == null || node.getSize() <= SEQUENTIAL_THRESHOLD) {
+                return map(this.nodeFactory, node, this.function);
+            }
+
+            final Map<E, N, F, M> leftTask = new Map<>(this.nodeFactory, node.getLeft(), this.function);
+            leftTask.fork();
+            final F value = this.function.apply(node.getValue());
+            final M right = new Map<>(this.nodeFactory, node.getRight(), this.function).compute();
+
+            // The new tree has the same shape as the original tree, so it doesn't need to be rebalanced.
+            return this.nodeFactory.createNode(leftTask.join(), value, right);
+        }
+
+    }
+
+    static final class Reduce<E, N extends AbstractImmutableTreeNode<E, N>> extends RecursiveTask<E> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static <E, N extends AbstractImmutableTreeNode<E, N>> E reduce(@CheckForNull N node, E identity,
+                @Nonnull BinaryOperator<E> operator) {
+            if (node == null) {
+                return identity;
+            }
+
+            E result = operator.apply(reduce(node.getLeft(), identity, operator), node.getValue());
+            if (node.getRight() != null) {
+                result = operator.apply(result, reduce(node.getRight(), identity, operator));
+            }
+
+            return result;
+        }
+
+        @CheckForNull
+        private final N node;
+        private final E identity;
+        @Nonnull
+        private final BinaryOperator<E> operator;
+
+        Reduce(@CheckForNull N node, E identity, @Nonnull BinaryOperator<E> operator) {
+            this.node = node;
+            this.identity = identity;
+            this.operator = operator;
+        }
+
+        @Override
+        protected E compute() {
+            final N node = this.node;
+            if (node == null || node.getSize() <= SEQUENTIAL_THRESHOLD) {
+                return reduce(node, this.identity, this.operator);
+            }
+
+            final Reduce<E, N> leftTask = new Reduce<>(node.getLeft(), this.identity, this.operator);
+            leftTask.fork();
+            final E right = new Reduce<>(node.getRight(), this.identity, this.operator).compute();
+            return this.operator.apply(this.operator.apply(leftTask.join(), node.getValue()), right);
+        }
+
+    }
+
+    /** The size of the subtrees under which tasks stop forking. */
+    static final int SEQUENTIAL_THRESHOLD = 1024;
+
+    private ParallelTreeTasks() {
+    }
+
+}
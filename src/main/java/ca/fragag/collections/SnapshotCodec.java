@@ -0,0 +1,103 @@
+package ca.fragag.collections;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Encodes and decodes the elements of the lists in a snapshot written by {@link TreeSnapshotWriter} and read by
+ * {@link TreeSnapshotReader}.
+ *
+ * @param <E>
+ *            the type of the elements
+ *
+ * @author Francis Gagné
+ */
+public interface SnapshotCodec<E> {
+
+    /**
+     * A codec for arrays of characters, which are encoded as their length followed by their characters in UTF-16.
+     */
+    SnapshotCodec<char[]> CHAR_ARRAY = new SnapshotCodec<char[]>() {
+        @Override
+        public char[] read(DataInput in) throws IOException {
+            final int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("invalid snapshot: negative array length " + length);
+            }
+
+            if (in instanceof TreeSnapshotReader.ByteBufferDataInput) {
+                // Copy the characters in bulk through a view of the buffer rather than one readChar() call at a time.
+                final ByteBuffer buffer = ((TreeSnapshotReader.ByteBufferDataInput) in).buffer;
+                if (length > buffer.remaining() / 2) {
+                    throw new IOException("invalid snapshot: array length " + length + " exceeds the remaining "
+                            + buffer.remaining() + " bytes");
+                }
+
+                final char[] chars = new char[length];
+                buffer.asCharBuffer().get(chars);
+                buffer.position(buffer.position() + length * 2);
+                return chars;
+            }
+
+            final char[] chars = new char[length];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = in.readChar();
+            }
+
+            return chars;
+        }
+
+        @Override
+        public void write(DataOutput out, char[] element) throws IOException {
+            out.writeInt(element.length);
+            for (char ch : element) {
+                out.writeChar(ch);
+            }
+        }
+    };
+
+    /**
+     * A codec for strings, which are encoded as their length followed by their characters in UTF-16. Unlike
+     * {@link DataOutput#writeUTF(String)}, this codec supports strings of any length.
+     */
+    SnapshotCodec<String> STRING = new SnapshotCodec<String>() {
+        @Override
+        public String read(DataInput in) throws IOException {
+            return new String(CHAR_ARRAY.read(in));
+        }
+
+        @Override
+        public void write(DataOutput out, String element) throws IOException {
+            out.writeInt(element.length());
+            out.writeChars(element);
+        }
+    };
+
+    /**
+     * Reads an element.
+     *
+     * @param in
+     *            the input to read the element from
+     * @return the element
+     * @throws IOException
+     *             an I/O error occurred or the input doesn't contain a valid element
+     */
+    E read(@Nonnull DataInput in) throws IOException;
+
+    /**
+     * Writes an element.
+     *
+     * @param out
+     *            the output to write the element to
+     * @param element
+     *            the element
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    void write(@Nonnull DataOutput out, E element) throws IOException;
+
+}
@@ -0,0 +1,303 @@
+package ca.fragag.collections;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * The search tree operations of {@link ImmutableTreeSet} and {@link ImmutableTreeMap}. The nodes are kept in increasing order of
+ * the keys of their values and are balanced with the weight-balanced rotations of {@link AbstractImmutableTreeNodeFactory}.
+ * <p>
+ * Union, intersection and difference split one tree around the root of the other and join the results, so they share the
+ * subtrees that are not affected and run in O(m log(n / m + 1)) time, where m and n are the sizes of the smaller and the larger
+ * tree.
+ *
+ * @param <K>
+ *            the type of the keys
+ * @param <T>
+ *            the type of the values in the nodes
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+final class SortedTreeOperations<K, T> {
+
+    private static int size(@CheckForNull ImmutableTreeNode<?> node) {
+        return node == null ? 0 : node.getSize();
+    }
+
+    @CheckForNull
+    private final Comparator<? super K> comparator;
+    @Nonnull
+    private final Comparator<? super K> effectiveComparator;
+    @Nonnull
+    private final Function<? super T, ? extends K> keyFunction;
+    @Nonnull
+    private final ImmutableTreeNode.Factory<T> nodeFactory = ImmutableTreeNode.Factory.getInstance();
+
+    @SuppressWarnings("unchecked")
+    SortedTreeOperations(@CheckForNull Comparator<? super K> comparator, @Nonnull Function<? super T, ? extends K> keyFunction) {
+        // An explicit natural ordering comparator orders the keys exactly like no comparator, so normalize it to null. Otherwise,
+        // a factory or a collection created with Comparator.naturalOrder() would be rejected by the natural ordering factories.
+        this.comparator = comparator == (Object) Comparator.naturalOrder() ? null : comparator;
+        this.effectiveComparator = comparator == null ? (Comparator<? super K>) Comparator.naturalOrder() : comparator;
+        this.keyFunction = keyFunction;
+    }
+
+    /**
+     * Compares two keys with this object's comparator.
+     */
+    int compareKeys(K key1, K key2) {
+        return this.effectiveComparator.compare(key1, key2);
+    }
+
+    /**
+     * Creates a balanced tree from values that are sorted by key and have distinct keys.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> createBalanced(@Nonnull T[] values, int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) {
+            return null;
+        }
+
+        final int middle = (fromIndex + toIndex) >>> 1;
+        return this.nodeFactory.createNode(this.createBalanced(values, fromIndex, middle), values[middle],
+                this.createBalanced(values, middle + 1, toIndex));
+    }
+
+    /**
+     * Creates a tree with the values of the first tree whose key is not the key of a value in the second tree.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> difference(@CheckForNull ImmutableTreeNode<T> node, @CheckForNull ImmutableTreeNode<T> other) {
+        if (node == null || other == null) {
+            return node;
+        }
+
+        if (node == other) {
+            return null;
+        }
+
+        final K key = this.keyFunction.apply(other.getValue());
+        final ImmutableTreeNode<T> left = this.difference(this.splitLess(node, key, false), other.getLeft());
+        final ImmutableTreeNode<T> right = this.difference(this.splitGreater(node, key, false), other.getRight());
+        return this.nodeFactory.concat(left, right);
+    }
+
+    /**
+     * Finds the node whose value has the specified key.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> find(@CheckForNull ImmutableTreeNode<T> node, K key) {
+        while (node != null) {
+            final int comparison = this.compare(key, node);
+            if (comparison == 0) {
+                return node;
+            }
+
+            node = comparison < 0 ? node.getLeft() : node.getRight();
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the comparator that orders the keys.
+     *
+     * @return the comparator, or <code>null</code> if the keys are in their natural ordering
+     */
+    @CheckForNull
+    Comparator<? super K> getComparator() {
+        return this.comparator;
+    }
+
+    /**
+     * Creates a tree with the specified value inserted in the specified tree. If there is already a value with the same key and
+     * <code>replace</code> is <code>true</code>, it is replaced, unless it is equal to the new value.
+     */
+    @Nonnull
+    ImmutableTreeNode<T> insert(@CheckForNull ImmutableTreeNode<T> node, T value, boolean replace) {
+        if (node == null) {
+            return this.nodeFactory.createNode(null, value, null);
+        }
+
+        final int comparison = this.compare(this.keyFunction.apply(value), node);
+        if (comparison < 0) {
+            final ImmutableTreeNode<T> left = this.insert(node.getLeft(), value, replace);
+            if (left == node.getLeft()) {
+                return node;
+            }
+
+            return this.nodeFactory.balanceLeft(left, node, node.getRight());
+        }
+
+        if (comparison > 0) {
+            final ImmutableTreeNode<T> right = this.insert(node.getRight(), value, replace);
+            if (right == node.getRight()) {
+                return node;
+            }
+
+            return this.nodeFactory.balanceRight(node.getLeft(), node, right);
+        }
+
+        if (!replace || Objects.equals(node.getValue(), value)) {
+            return node;
+        }
+
+        return this.nodeFactory.createNode(node.getLeft(), value, node.getRight());
+    }
+
+    /**
+     * Creates a tree with the values of the first tree whose key is also the key of a value in the second tree.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> intersection(@CheckForNull ImmutableTreeNode<T> node, @CheckForNull ImmutableTreeNode<T> other) {
+        if (node == null || other == null) {
+            return null;
+        }
+
+        if (node == other) {
+            return node;
+        }
+
+        final K key = this.keyFunction.apply(node.getValue());
+        final ImmutableTreeNode<T> left = this.intersection(node.getLeft(), this.splitLess(other, key, false));
+        final ImmutableTreeNode<T> right = this.intersection(node.getRight(), this.splitGreater(other, key, false));
+        if (this.find(other, key) == null) {
+            return this.nodeFactory.concat(left, right);
+        }
+
+        if (left == node.getLeft() && right == node.getRight()) {
+            return node;
+        }
+
+        return this.nodeFactory.join(left, node, right);
+    }
+
+    /**
+     * Counts the values whose key is less than the specified key.
+     */
+    int rank(@CheckForNull ImmutableTreeNode<T> node, K key) {
+        int rank = 0;
+        while (node != null) {
+            if (this.compare(key, node) <= 0) {
+                node = node.getLeft();
+            } else {
+                rank += size(node.getLeft()) + 1;
+                node = node.getRight();
+            }
+        }
+
+        return rank;
+    }
+
+    /**
+     * Creates a tree with the values of the specified tree except the one with the specified key.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> remove(@CheckForNull ImmutableTreeNode<T> node, K key) {
+        if (node == null) {
+            return null;
+        }
+
+        final int comparison = this.compare(key, node);
+        if (comparison < 0) {
+            final ImmutableTreeNode<T> left = this.remove(node.getLeft(), key);
+            if (left == node.getLeft()) {
+                return node;
+            }
+
+            return this.nodeFactory.balanceRight(left, node, node.getRight());
+        }
+
+        if (comparison > 0) {
+            final ImmutableTreeNode<T> right = this.remove(node.getRight(), key);
+            if (right == node.getRight()) {
+                return node;
+            }
+
+            return this.nodeFactory.balanceLeft(node.getLeft(), node, right);
+        }
+
+        return this.nodeFactory.glue(node.getLeft(), node.getRight());
+    }
+
+    /**
+     * Creates a tree with the values whose key is greater than (or equal to, if <code>inclusive</code> is <code>true</code>) the
+     * specified key.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> splitGreater(@CheckForNull ImmutableTreeNode<T> node, K key, boolean inclusive) {
+        if (node == null) {
+            return null;
+        }
+
+        final int comparison = this.compare(key, node);
+        if (comparison > 0 || comparison == 0 && !inclusive) {
+            return this.splitGreater(node.getRight(), key, inclusive);
+        }
+
+        final ImmutableTreeNode<T> left = this.splitGreater(node.getLeft(), key, inclusive);
+        if (left == node.getLeft()) {
+            return node;
+        }
+
+        return this.nodeFactory.join(left, node, node.getRight());
+    }
+
+    /**
+     * Creates a tree with the values whose key is less than (or equal to, if <code>inclusive</code> is <code>true</code>) the
+     * specified key.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> splitLess(@CheckForNull ImmutableTreeNode<T> node, K key, boolean inclusive) {
+        if (node == null) {
+            return null;
+        }
+
+        final int comparison = this.compare(key, node);
+        if (comparison < 0 || comparison == 0 && !inclusive) {
+            return this.splitLess(node.getLeft(), key, inclusive);
+        }
+
+        final ImmutableTreeNode<T> right = this.splitLess(node.getRight(), key, inclusive);
+        if (right == node.getRight()) {
+            return node;
+        }
+
+        return this.nodeFactory.join(node.getLeft(), node, right);
+    }
+
+    /**
+     * Creates a tree with the values of both trees. When both trees have a value with the same key, the value from the first
+     * tree is kept.
+     */
+    @CheckForNull
+    ImmutableTreeNode<T> union(@CheckForNull ImmutableTreeNode<T> node, @CheckForNull ImmutableTreeNode<T> other) {
+        if (node == null) {
+            return other;
+        }
+
+        if (other == null || node == other) {
+            return node;
+        }
+
+        final K key = this.keyFunction.apply(node.getValue());
+        final ImmutableTreeNode<T> left = this.union(node.getLeft(), this.splitLess(other, key, false));
+        final ImmutableTreeNode<T> right = this.union(node.getRight(), this.splitGreater(other, key, false));
+        if (left == node.getLeft() && right == node.getRight()) {
+            return node;
+        }
+
+        return this.nodeFactory.join(left, node, right);
+    }
+
+    private int compare(K key, @Nonnull ImmutableTreeNode<T> node) {
+        return this.effectiveComparator.compare(key, this.keyFunction.apply(node.getValue()));
+    }
+
+}
@@ -0,0 +1,215 @@
+package ca.fragag.collections;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * A mutable node in a binary tree, used by {@link AbstractImmutableTreeListFactory.Builder}.
+ * <p>
+ * A transient node either stands for an immutable subtree that has not been modified yet (its <em>source</em>), or owns its
+ * element and its child nodes, which may then be modified in place. A node that stands for an immutable subtree is
+ * <em>thawed</em> (i.e. it takes ownership of its element and wraps its child nodes) the first time an edit goes through it.
+ * Transient nodes are only ever reachable from a single builder.
+ *
+ * @param <E>
+ *            the type of the value in the node and its child nodes
+ * @param <N>
+ *            the type of the immutable nodes that this node can stand for
+ *
+ * @author Francis Gagné
+ */
+@NotThreadSafe
+final class TransientTreeNode<E, N extends AbstractImmutableTreeNode<E, N>> {
+
+    static <E, N extends AbstractImmutableTreeNode<E, N>> E get(@Nonnull TransientTreeNode<E, N> node, int index) {
+        for (;;) {
+            final N source = node.source;
+            if (source != null) {
+                return source.get(index);
+            }
+
+            final int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+
+            assert node != null;
+        }
+    }
+
+    @Nonnull
+    static <E, N extends AbstractImmutableTreeNode<E, N>> TransientTreeNode<E, N> insert(@CheckForNull TransientTreeNode<E, N> node,
+            int index, E element) {
+        if (node == null) {
+            return new TransientTreeNode<>(element);
+        }
+
+        node.thaw();
+        final int leftSize = size(node.left);
+        if (index <= leftSize) {
+            node.left = insert(node.left, index, element);
+        } else {
+            node.right = insert(node.right, index - leftSize - 1, element);
+        }
+
+        node.size++;
+        return balance(node);
+    }
+
+    @CheckForNull
+    static <E, N extends AbstractImmutableTreeNode<E, N>> TransientTreeNode<E, N> remove(@Nonnull TransientTreeNode<E, N> node,
+            int index) {
+        node.thaw();
+        final int leftSize = size(node.left);
+        if (index < leftSize) {
+            node.left = remove(node.left, index);
+        } else if (index > leftSize) {
+            node.right = remove(node.right, index - leftSize - 1);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+
+            if (node.right == null) {
+                return node.left;
+            }
+
+            // Replace the element with its neighbor from the larger subtree, then remove that neighbor.
+            if (leftSize > size(node.right)) {
+                node.value = get(node.left, leftSize - 1);
+                node.left = remove(node.left, leftSize - 1);
+            } else {
+                node.value = get(node.right, 0);
+                node.right = remove(node.right, 0);
+            }
+        }
+
+        node.size--;
+        return balance(node);
+    }
+
+    static <E, N extends AbstractImmutableTreeNode<E, N>> void set(@Nonnull TransientTreeNode<E, N> node, int index, E element) {
+        for (;;) {
+            node.thaw();
+            final int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                node.value = element;
+                return;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+
+            assert node != null;
+        }
+    }
+
+    static int size(@CheckForNull TransientTreeNode<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    @CheckForNull
+    static <E, N extends AbstractImmutableTreeNode<E, N>> TransientTreeNode<E, N> wrap(@CheckForNull N node) {
+        return node == null ? null : new TransientTreeNode<E, N>(node);
+    }
+
+    @Nonnull
+    private static <E, N extends AbstractImmutableTreeNode<E, N>> TransientTreeNode<E, N> balance(
+            @Nonnull TransientTreeNode<E, N> node) {
+        // This uses the same criteria as AbstractImmutableTreeNodeFactory.balanceLeft() and balanceRight(),
+        // but rotates the nodes in place.
+        final int leftSize = size(node.left);
+        final int rightSize = size(node.right);
+        if (leftSize + rightSize <= 1) {
+            return node;
+        }
+
+        if (rightSize > AbstractImmutableTreeNodeFactory.DELTA * leftSize) {
+            final TransientTreeNode<E, N> right = node.right.thaw();
+            if (size(right.left) >= AbstractImmutableTreeNodeFactory.RATIO * size(right.right)) {
+                node.right = rotateRight(right);
+            }
+
+            return rotateLeft(node);
+        }
+
+        if (leftSize > AbstractImmutableTreeNodeFactory.DELTA * rightSize) {
+            final TransientTreeNode<E, N> left = node.left.thaw();
+            if (size(left.right) >= AbstractImmutableTreeNodeFactory.RATIO * size(left.left)) {
+                node.left = rotateLeft(left);
+            }
+
+            return rotateRight(node);
+        }
+
+        return node;
+    }
+
+    @Nonnull
+    private static <E, N extends AbstractImmutableTreeNode<E, N>> TransientTreeNode<E, N> rotateLeft(
+            @Nonnull TransientTreeNode<E, N> node) {
+        final TransientTreeNode<E, N> right = node.right.thaw();
+        node.right = right.left;
+        right.left = node;
+        node.updateSize();
+        right.updateSize();
+        return right;
+    }
+
+    @Nonnull
+    private static <E, N extends AbstractImmutableTreeNode<E, N>> TransientTreeNode<E, N> rotateRight(
+            @Nonnull TransientTreeNode<E, N> node) {
+        final TransientTreeNode<E, N> left = node.left.thaw();
+        node.left = left.right;
+        left.right = node;
+        node.updateSize();
+        left.updateSize();
+        return left;
+    }
+
+    /** The immutable subtree that this node stands for, or <code>null</code> if this node owns its element and child nodes. */
+    @CheckForNull
+    N source;
+    @CheckForNull
+    TransientTreeNode<E, N> left;
+    E value;
+    @CheckForNull
+    TransientTreeNode<E, N> right;
+    int size;
+
+    private TransientTreeNode(E value) {
+        this.value = value;
+        this.size = 1;
+    }
+
+    private TransientTreeNode(@Nonnull N source) {
+        this.source = source;
+        this.size = source.getSize();
+    }
+
+    @Nonnull
+    private TransientTreeNode<E, N> thaw() {
+        final N source = this.source;
+        if (source != null) {
+            this.left = wrap(source.getLeft());
+            this.value = source.getValue();
+            this.right = wrap(source.getRight());
+            this.source = null;
+        }
+
+        return this;
+    }
+
+    private void updateSize() {
+        this.size = size(this.left) + size(this.right) + 1;
+    }
+
+}
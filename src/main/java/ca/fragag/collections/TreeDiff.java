@@ -0,0 +1,162 @@
+package ca.fragag.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+
+/**
+ * Computes the differences between two versions of an {@link AbstractImmutableTreeList}, for
+ * {@link AbstractImmutableTreeListFactory#diff(AbstractImmutableTreeList, AbstractImmutableTreeList)}.
+ * <p>
+ * Both trees are expanded together, largest subtree first. A subtree that appears in both trees is matched as soon as it reaches
+ * the frontier of the second tree and is never expanded. Since the ancestors of a subtree are larger than the subtree itself, a
+ * subtree that is shared by both trees is always in both frontiers by the time it would be expanded, so only the nodes that are
+ * not shared are visited. The ranges between the matched subtrees are the changes.
+ *
+ * @author Francis Gagné
+ */
+final class TreeDiff<E, N extends AbstractImmutableTreeNode<E, N>> {
+
+    private static final class Entry<N> {
+
+        @Nonnull
+        final N node;
+        final int index;
+        final int size;
+        final boolean inOldTree;
+        boolean matched;
+
+        Entry(@Nonnull N node, int index, int size, boolean inOldTree) {
+            this.node = node;
+            this.index = index;
+            this.size = size;
+            this.inOldTree = inOldTree;
+        }
+
+    }
+
+    private static final class Match {
+
+        final int oldIndex;
+        final int newIndex;
+        final int size;
+
+        Match(int oldIndex, int newIndex, int size) {
+            this.oldIndex = oldIndex;
+            this.newIndex = newIndex;
+            this.size = size;
+        }
+
+    }
+
+    @Nonnull
+    static <E, N extends AbstractImmutableTreeNode<E, N>> List<AbstractImmutableTreeListFactory.Change> diff(
+            @Nonnull AbstractImmutableTreeList<E, N> oldList, @Nonnull AbstractImmutableTreeList<E, N> newList) {
+        return new TreeDiff<E, N>().run(oldList, newList);
+    }
+
+    @Nonnull
+    private final PriorityQueue<Entry<N>> queue = new PriorityQueue<>(16, (a, b) -> Integer.compare(b.size, a.size));
+    @Nonnull
+    private final IdentityHashMap<N, Entry<N>> oldFrontier = new IdentityHashMap<>();
+    @Nonnull
+    private final IdentityHashMap<N, Entry<N>> newFrontier = new IdentityHashMap<>();
+    @Nonnull
+    private final ArrayList<Match> matches = new ArrayList<>();
+
+    private TreeDiff() {
+    }
+
+    private void add(@CheckForNull N node, int index, boolean inOldTree) {
+        if (node == null) {
+            return;
+        }
+
+        final IdentityHashMap<N, Entry<N>> frontier = inOldTree ? this.oldFrontier : this.newFrontier;
+        final IdentityHashMap<N, Entry<N>> otherFrontier = inOldTree ? this.newFrontier : this.oldFrontier;
+        final Entry<N> otherEntry = otherFrontier.remove(node);
+        if (otherEntry != null) {
+            otherEntry.matched = true;
+            this.matches.add(inOldTree ? new Match(index, otherEntry.index, otherEntry.size) : new Match(otherEntry.index, index,
+                    otherEntry.size));
+            return;
+        }
+
+        final Entry<N> entry = new Entry<>(node, index, node.getSize(), inOldTree);
+
+        // A node that occurs several times in the same tree can't be matched reliably, so it is only expanded.
+        if (!frontier.containsKey(node)) {
+            frontier.put(node, entry);
+        }
+
+        this.queue.add(entry);
+    }
+
+    private void addChange(@Nonnull ArrayList<AbstractImmutableTreeListFactory.Change> changes,
+            @Nonnull AbstractImmutableTreeList<E, N> oldList, @Nonnull AbstractImmutableTreeList<E, N> newList, int oldFromIndex,
+            int oldToIndex, int newFromIndex, int newToIndex) {
+        // Nodes that are not shared may still contain equal elements (e.g. after setting an element to an equal value).
+        while (oldFromIndex < oldToIndex && newFromIndex < newToIndex
+                && Objects.equals(oldList.get(oldFromIndex), newList.get(newFromIndex))) {
+            oldFromIndex++;
+            newFromIndex++;
+        }
+
+        while (oldFromIndex < oldToIndex && newFromIndex < newToIndex
+                && Objects.equals(oldList.get(oldToIndex - 1), newList.get(newToIndex - 1))) {
+            oldToIndex--;
+            newToIndex--;
+        }
+
+        if (oldFromIndex != oldToIndex || newFromIndex != newToIndex) {
+            changes.add(new AbstractImmutableTreeListFactory.Change(oldFromIndex, oldToIndex, newFromIndex, newToIndex));
+        }
+    }
+
+    @Nonnull
+    private List<AbstractImmutableTreeListFactory.Change> run(@Nonnull AbstractImmutableTreeList<E, N> oldList,
+            @Nonnull AbstractImmutableTreeList<E, N> newList) {
+        this.add(oldList.getRoot(), 0, true);
+        this.add(newList.getRoot(), 0, false);
+
+        Entry<N> entry;
+        while ((entry = this.queue.poll()) != null) {
+            if (entry.matched) {
+                continue;
+            }
+
+            final IdentityHashMap<N, Entry<N>> frontier = entry.inOldTree ? this.oldFrontier : this.newFrontier;
+            if (frontier.get(entry.node) == entry) {
+                frontier.remove(entry.node);
+            }
+
+            final N left = entry.node.getLeft();
+            final int leftSize = left == null ? 0 : left.getSize();
+            this.add(left, entry.index, entry.inOldTree);
+            this.add(entry.node.getRight(), entry.index + leftSize + 1, entry.inOldTree);
+        }
+
+        // Keep the matches that are in the same order in both lists.
+        this.matches.sort((a, b) -> Integer.compare(a.oldIndex, b.oldIndex));
+        final ArrayList<AbstractImmutableTreeListFactory.Change> changes = new ArrayList<>();
+        int oldIndex = 0;
+        int newIndex = 0;
+        for (Match match : this.matches) {
+            if (match.oldIndex >= oldIndex && match.newIndex >= newIndex) {
+                this.addChange(changes, oldList, newList, oldIndex, match.oldIndex, newIndex, match.newIndex);
+                oldIndex = match.oldIndex + match.size;
+                newIndex = match.newIndex + match.size;
+            }
+        }
+
+        this.addChange(changes, oldList, newList, oldIndex, oldList.size(), newIndex, newList.size());
+        return Collections.unmodifiableList(changes);
+    }
+
+}
@@ -0,0 +1,235 @@
+package ca.fragag.collections;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Reads the lists of a snapshot written by {@link TreeSnapshotWriter}.
+ * <p>
+ * The nodes are recreated exactly as they were written, so the lists share the same nodes as the lists that were written, and
+ * they are not rebalanced. The whole snapshot is read when the reader is created.
+ *
+ * @param <E>
+ *            the type of the elements in the lists
+ * @param <N>
+ *            the type of node in the lists
+ * @param <L>
+ *            the type of the lists
+ *
+ * @author Francis Gagné
+ */
+@Immutable
+public final class TreeSnapshotReader<E, N extends AbstractImmutableTreeNode<E, N>, L extends AbstractImmutableTreeList<E, N>> {
+
+    /**
+     * The input that a {@link SnapshotCodec} reads its elements from. The stream doesn't buffer anything, so a codec may read
+     * directly from {@link #buffer}, as long as it advances the buffer's position past the bytes it has read.
+     */
+    static final class ByteBufferDataInput extends DataInputStream {
+
+        @Nonnull
+        final ByteBuffer buffer;
+
+        ByteBufferDataInput(@Nonnull ByteBuffer buffer) {
+            super(new ByteBufferInputStream(buffer));
+            this.buffer = buffer;
+        }
+
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        @Nonnull
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(@Nonnull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+
+            len = Math.min(len, this.buffer.remaining());
+            this.buffer.get(b, off, len);
+            return len;
+        }
+
+    }
+
+    /**
+     * Reads a snapshot from a file, which is mapped in memory.
+     *
+     * @param <E>
+     *            the type of the elements in the lists
+     * @param <N>
+     *            the type of node in the lists
+     * @param <L>
+     *            the type of the lists
+     * @param path
+     *            the path of the file
+     * @param factory
+     *            the factory of the lists
+     * @param codec
+     *            the codec that reads the elements of the lists
+     * @return a reader of the lists of the snapshot
+     * @throws IOException
+     *             an I/O error occurred or the file is not a valid snapshot
+     */
+    @Nonnull
+    public static <E, N extends AbstractImmutableTreeNode<E, N>, L extends AbstractImmutableTreeList<E, N>>
+            TreeSnapshotReader<E, N, L> open(@Nonnull Path path, @Nonnull AbstractImmutableTreeListFactory<E, N, L> factory,
+            @Nonnull SnapshotCodec<? extends E> codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("the snapshot is too large");
+            }
+
+            return new TreeSnapshotReader<>(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), factory, codec);
+        }
+    }
+
+    @CheckForNull
+    private static <N> N getNode(@Nonnull ArrayList<N> nodes, int id) throws IOException {
+        if (id == 0) {
+            return null;
+        }
+
+        if (id < 0 || id > nodes.size()) {
+            throw new IOException("invalid snapshot: reference to an unknown node " + id);
+        }
+
+        return nodes.get(id - 1);
+    }
+
+    private static int readVarInt(@Nonnull DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("invalid snapshot: malformed integer");
+    }
+
+    @Nonnull
+    private final ArrayList<L> lists = new ArrayList<>();
+
+    /**
+     * Initializes a new TreeSnapshotReader and reads the snapshot in the specified buffer, from its position to its limit.
+     *
+     * @param buffer
+     *            the buffer that contains the snapshot
+     * @param factory
+     *            the factory of the lists
+     * @param codec
+     *            the codec that reads the elements of the lists
+     * @throws IOException
+     *             the buffer doesn't contain a valid snapshot
+     */
+    public TreeSnapshotReader(@Nonnull ByteBuffer buffer, @Nonnull AbstractImmutableTreeListFactory<E, N, L> factory,
+            @Nonnull SnapshotCodec<? extends E> codec) throws IOException {
+        if (factory == null) {
+            throw new NullPointerException("factory");
+        }
+
+        if (codec == null) {
+            throw new NullPointerException("codec");
+        }
+
+        // DataOutput writes big-endian values, so a codec that reads a view of the buffer must see it in that order.
+        final ByteBuffer input = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        final ByteBufferDataInput in = new ByteBufferDataInput(input);
+        if (input.remaining() < 5 || in.readInt() != TreeSnapshotWriter.MAGIC) {
+            throw new IOException("invalid snapshot: bad magic number");
+        }
+
+        final int version = in.readUnsignedByte();
+        if (version != TreeSnapshotWriter.VERSION) {
+            throw new IOException("unsupported snapshot version: " + version);
+        }
+
+        final AbstractImmutableTreeNodeFactory<E, N> nodeFactory = factory.getNodeFactory();
+        final ArrayList<N> nodes = new ArrayList<>();
+        final ArrayList<E> values = new ArrayList<>();
+        while (input.hasRemaining()) {
+            final int record = in.readUnsignedByte();
+            switch (record) {
+            case TreeSnapshotWriter.NODE_RECORD: {
+                final N left = getNode(nodes, readVarInt(in));
+                final N right = getNode(nodes, readVarInt(in));
+                final int valueId = readVarInt(in);
+                final E value;
+                if (valueId == 0) {
+                    value = codec.read(in);
+                    values.add(value);
+                } else if (valueId > 0 && valueId <= values.size()) {
+                    value = values.get(valueId - 1);
+                } else {
+                    throw new IOException("invalid snapshot: reference to an unknown value " + valueId);
+                }
+
+                nodes.add(nodeFactory.createNode(left, value, right));
+                break;
+            }
+
+            case TreeSnapshotWriter.LIST_RECORD:
+                this.lists.add(factory.createList(getNode(nodes, readVarInt(in))));
+                break;
+
+            default:
+                throw new IOException("invalid snapshot: unknown record type " + record);
+            }
+        }
+    }
+
+    /**
+     * Gets a list of the snapshot.
+     *
+     * @param index
+     *            the index of the list, as returned by {@link TreeSnapshotWriter#write(AbstractImmutableTreeList)}
+     * @return the list
+     * @throws IndexOutOfBoundsException
+     *             <code>index</code> is negative or is greater than or equal to the number of lists in the snapshot
+     */
+    @Nonnull
+    public L getList(int index) {
+        return this.lists.get(index);
+    }
+
+    /**
+     * Gets the number of lists in the snapshot.
+     *
+     * @return the number of lists
+     */
+    public int getListCount() {
+        return this.lists.size();
+    }
+
+}
@@ -0,0 +1,163 @@
+package ca.fragag.collections;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.IdentityHashMap;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Writes a snapshot of one or more tree lists to a channel, to be read by {@link TreeSnapshotReader}.
+ * <p>
+ * Each node is written once, the first time a list that contains it is written, and is referenced by its id afterwards. Each
+ * element is also written once, even if several nodes hold it (elements are compared by identity). Writing several versions of a
+ * list that were derived from each other thus takes space proportional to the size of the changes between versions.
+ * <p>
+ * The writer keeps a reference to every node that it has written, so a writer should not outlive the snapshot it writes. The
+ * output is buffered: call {@link #flush()} before closing the channel.
+ *
+ * @param <E>
+ *            the type of the elements in the lists
+ *
+ * @author Francis Gagné
+ */
+@NotThreadSafe
+public final class TreeSnapshotWriter<E> implements Flushable {
+
+    /** The first bytes of a snapshot: "FGTS". */
+    static final int MAGIC = 0x46475453;
+    static final int VERSION = 1;
+    static final int NODE_RECORD = 1;
+    static final int LIST_RECORD = 2;
+
+    static void writeVarInt(@Nonnull DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte(value);
+    }
+
+    @Nonnull
+    private final DataOutputStream out;
+    @Nonnull
+    private final SnapshotCodec<? super E> codec;
+    @Nonnull
+    private final IdentityHashMap<AbstractImmutableTreeNode<?, ?>, Integer> nodeIds = new IdentityHashMap<>();
+    @Nonnull
+    private final IdentityHashMap<Object, Integer> valueIds = new IdentityHashMap<>();
+    private int listCount;
+
+    /**
+     * Initializes a new TreeSnapshotWriter and writes the header of the snapshot.
+     *
+     * @param channel
+     *            the channel to write the snapshot to
+     * @param codec
+     *            the codec that writes the elements of the lists
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    public TreeSnapshotWriter(@Nonnull WritableByteChannel channel, @Nonnull SnapshotCodec<? super E> codec) throws IOException {
+        if (channel == null) {
+            throw new NullPointerException("channel");
+        }
+
+        if (codec == null) {
+            throw new NullPointerException("codec");
+        }
+
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 65536));
+        this.codec = codec;
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+    }
+
+    /**
+     * Writes the buffered output to the channel.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    /**
+     * Gets the number of lists that have been written.
+     *
+     * @return the number of lists
+     */
+    public int getListCount() {
+        return this.listCount;
+    }
+
+    /**
+     * Gets the number of distinct nodes that have been written.
+     *
+     * @return the number of nodes
+     */
+    public int getNodeCount() {
+        return this.nodeIds.size();
+    }
+
+    /**
+     * Writes a list, and each of its nodes and elements that has not been written yet.
+     *
+     * @param list
+     *            the list to write
+     * @return the index of the list in the snapshot, to pass to {@link TreeSnapshotReader#getList(int)}
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    public int write(@Nonnull AbstractImmutableTreeList<? extends E, ?> list) throws IOException {
+        final int rootId = this.writeNode(list.getRoot());
+        this.out.writeByte(LIST_RECORD);
+        writeVarInt(this.out, rootId);
+        return this.listCount++;
+    }
+
+    private int writeNode(@CheckForNull AbstractImmutableTreeNode<? extends E, ?> node) throws IOException {
+        if (node == null) {
+            return 0;
+        }
+
+        final Integer existingId = this.nodeIds.get(node);
+        if (existingId != null) {
+            return existingId;
+        }
+
+        // Write the children first, so that the reader has read them when it reads this node.
+        final int leftId = this.writeNode(node.getLeft());
+        final int rightId = this.writeNode(node.getRight());
+        this.out.writeByte(NODE_RECORD);
+        writeVarInt(this.out, leftId);
+        writeVarInt(this.out, rightId);
+
+        // Path copying creates new nodes that hold the same values as the nodes they replace, so values are also written only
+        // once. A value id of 0 means that a new value follows.
+        final E value = node.getValue();
+        final Integer valueId = this.valueIds.get(value);
+        if (valueId != null) {
+            writeVarInt(this.out, valueId);
+        } else {
+            writeVarInt(this.out, 0);
+            this.codec.write(this.out, value);
+            this.valueIds.put(value, this.valueIds.size() + 1);
+        }
+
+        // Ids start at 1; 0 represents the absence of a node.
+        final int id = this.nodeIds.size() + 1;
+        this.nodeIds.put(node, id);
+        return id;
+    }
+
+}
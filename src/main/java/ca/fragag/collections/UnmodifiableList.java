@@ -1,7 +1,9 @@
 package ca.fragag.collections;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 
 import javax.annotation.Nonnull;
 
@@ -52,6 +54,55 @@ public abstract class UnmodifiableList<E> implements List<E> {
         throw readOnlyException();
     }
 
+    /**
+     * Compares the specified object with this list for equality, as specified by {@link List#equals(Object)}.
+     *
+     * @param obj
+     *            the object to compare with this list
+     * @return <code>true</code> if the specified object is a list with the same elements in the same order as this list,
+     *         <code>false</code> otherwise
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+
+        if (!(obj instanceof List)) {
+            return false;
+        }
+
+        final List<?> other = (List<?>) obj;
+        if (this.size() != other.size()) {
+            return false;
+        }
+
+        final Iterator<E> iterator = this.iterator();
+        final Iterator<?> otherIterator = other.iterator();
+        while (iterator.hasNext()) {
+            if (!otherIterator.hasNext() || !Objects.equals(iterator.next(), otherIterator.next())) {
+                return false;
+            }
+        }
+
+        return !otherIterator.hasNext();
+    }
+
+    /**
+     * Computes the hash code of this list, as specified by {@link List#hashCode()}.
+     *
+     * @return the hash code of this list
+     */
+    @Override
+    public int hashCode() {
+        int hashCode = 1;
+        for (E e : this) {
+            hashCode = 31 * hashCode + Objects.hashCode(e);
+        }
+
+        return hashCode;
+    }
+
     @Override
     public final E remove(int index) {
         throw readOnlyException();
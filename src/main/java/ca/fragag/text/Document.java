@@ -1,7 +1,21 @@
 package ca.fragag.text;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
@@ -9,14 +23,30 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 
+import ca.fragag.collections.MemoryStats;
+import ca.fragag.collections.SnapshotCodec;
+import ca.fragag.collections.TreeSnapshotReader;
+import ca.fragag.collections.TreeSnapshotWriter;
+
 /**
  * Represents an immutable text document from which derived documents sharing memory can be created.
+ * <p>
+ * A document is never modified after it has been constructed, so it can be shared among threads without synchronization.
  *
  * @author Francis Gagné
  */
 @Immutable
 public final class Document implements CharSequence {
 
+    /**
+     * Receives the parts of the chunks of a document that are in a range.
+     */
+    private interface ChunkRangeConsumer {
+
+        void accept(@Nonnull char[] chunk, int start, int end) throws IOException;
+
+    }
+
     @Immutable
     private static final class SubDocument implements CharSequence {
 
@@ -67,11 +97,197 @@ public final class Document implements CharSequence {
 
     }
 
+    /**
+     * Reads or decodes text directly into chunks of {@link Document#CHUNK_SIZE} characters, without building an intermediate
+     * string, then builds a balanced tree of the chunks.
+     */
+    private static final class ChunkBuilder {
+
+        @CheckForNull
+        private final CharsetDecoder decoder;
+        @Nonnull
+        private final ArrayList<char[]> textChunks = new ArrayList<>();
+        @Nonnull
+        private CharBuffer chunk = CharBuffer.allocate(CHUNK_SIZE);
+        private int length;
+
+        ChunkBuilder() {
+            this.decoder = null;
+        }
+
+        ChunkBuilder(@Nonnull Charset charset) {
+            // Replace malformed input, like the String constructors do.
+            this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        /**
+         * Decodes bytes with the decoder of the charset that was passed to the constructor. When <code>endOfInput</code> is
+         * <code>false</code>, the bytes of an incomplete sequence at the end of the buffer are not consumed; they must be passed
+         * again at the start of the next buffer.
+         */
+        final void decode(@Nonnull ByteBuffer bytes, boolean endOfInput) throws IOException {
+            assert this.decoder != null;
+            while (this.decoder.decode(bytes, this.chunk, endOfInput).isOverflow()) {
+                this.nextChunk();
+            }
+        }
+
+        @Nonnull
+        final Document finish() throws IOException {
+            if (this.decoder != null) {
+                CoderResult result;
+                while ((result = this.decoder.flush(this.chunk)).isOverflow()) {
+                    this.nextChunk();
+                }
+
+                assert result.isUnderflow();
+            }
+
+            if (this.chunk.position() != 0) {
+                this.addChunk(Arrays.copyOf(this.chunk.array(), this.chunk.position()));
+            }
+
+            if (this.textChunks.isEmpty()) {
+                return EMPTY;
+            }
+
+            return new Document(DocumentImmutableTreeList.Factory.INSTANCE.create(this.textChunks));
+        }
+
+        /**
+         * Reads all the characters of a reader.
+         */
+        final void read(@Nonnull Reader reader) throws IOException {
+            int count;
+            while ((count = reader.read(this.chunk.array(), this.chunk.position(), this.chunk.remaining())) != -1) {
+                this.chunk.position(this.chunk.position() + count);
+                if (!this.chunk.hasRemaining()) {
+                    this.nextChunk();
+                }
+            }
+        }
+
+        private void addChunk(@Nonnull char[] textChunk) throws IOException {
+            if (textChunk.length > Integer.MAX_VALUE - this.length) {
+                throw new IOException("The text is too long for a document");
+            }
+
+            this.length += textChunk.length;
+            this.textChunks.add(textChunk);
+        }
+
+        private void nextChunk() throws IOException {
+            // The decoder reports an overflow when the chunk cannot hold the next character, which happens with one free slot
+            // before a surrogate pair, so the chunk is not necessarily full.
+            final int chunkLength = this.chunk.position();
+            this.addChunk(chunkLength == CHUNK_SIZE ? this.chunk.array() : Arrays.copyOf(this.chunk.array(), chunkLength));
+            this.chunk = CharBuffer.allocate(CHUNK_SIZE);
+        }
+
+    }
+
     static final int CHUNK_SIZE = 32000;
 
+    /**
+     * The size of the buffers in which {@link #read(ReadableByteChannel, Charset)} reads the bytes to decode and
+     * {@link #writeTo(WritableByteChannel, Charset, int, int)} encodes the text.
+     */
+    static final int IO_BUFFER_SIZE = 8192;
+
     /** The empty document. */
     public static final Document EMPTY = new Document();
 
+    /**
+     * Estimates the memory used by the specified documents. The chunks of text that several documents share, and the nodes that
+     * hold them, are counted once.
+     *
+     * @param documents
+     *            the documents
+     * @return the memory statistics of the documents
+     */
+    @Nonnull
+    public static MemoryStats getMemoryStats(@Nonnull Collection<Document> documents) {
+        return MemoryStats.measure(getTextChunks(documents));
+    }
+
+    /**
+     * Creates a document with the characters of a {@link ReadableByteChannel}. The bytes are read through a buffer of fixed size
+     * and decoded directly into the chunks of the document, so the text is never held in memory as a whole string. Malformed input
+     * and unmappable characters are replaced, as in {@link String#String(byte[], Charset)}. The channel is read until its end, but
+     * it is not closed.
+     *
+     * @param channel
+     *            the channel, which must be in blocking mode
+     * @param charset
+     *            the charset of the bytes
+     * @return the new document
+     * @throws IOException
+     *             an I/O error occurred or the text has more than {@link Integer#MAX_VALUE} characters
+     */
+    @Nonnull
+    public static Document read(@Nonnull ReadableByteChannel channel, @Nonnull Charset charset) throws IOException {
+        final ChunkBuilder chunkBuilder = new ChunkBuilder(charset);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+        while (channel.read(bytes) != -1) {
+            // The bytes of an incomplete sequence at the end of the buffer are kept for the next read.
+            bytes.flip();
+            chunkBuilder.decode(bytes, false);
+            bytes.compact();
+        }
+
+        bytes.flip();
+        chunkBuilder.decode(bytes, true);
+        return chunkBuilder.finish();
+    }
+
+    /**
+     * Creates a document with the characters of a {@link Reader}. The characters are read directly into the chunks of the
+     * document, so the text is never held in memory as a whole string. The reader is read until its end, but it is not closed.
+     *
+     * @param reader
+     *            the reader
+     * @return the new document
+     * @throws IOException
+     *             an I/O error occurred or the text has more than {@link Integer#MAX_VALUE} characters
+     */
+    @Nonnull
+    public static Document read(@Nonnull Reader reader) throws IOException {
+        final ChunkBuilder chunkBuilder = new ChunkBuilder();
+        chunkBuilder.read(reader);
+        return chunkBuilder.finish();
+    }
+
+    /**
+     * Reads the documents of a snapshot that was written with {@link #writeSnapshot(TreeSnapshotWriter)}. Documents that shared
+     * chunks when they were written share them again after they are read.
+     *
+     * @param buffer
+     *            the buffer that contains the snapshot
+     * @return the documents, in the order in which they were written
+     * @throws IOException
+     *             the buffer doesn't contain a valid snapshot
+     */
+    @Nonnull
+    public static List<Document> readSnapshot(@Nonnull ByteBuffer buffer) throws IOException {
+        return toDocuments(new TreeSnapshotReader<>(buffer, DocumentImmutableTreeList.Factory.INSTANCE, SnapshotCodec.CHAR_ARRAY));
+    }
+
+    /**
+     * Reads the documents of a snapshot file that was written with {@link #writeSnapshot(TreeSnapshotWriter)}. The file is mapped
+     * in memory.
+     *
+     * @param path
+     *            the path of the file
+     * @return the documents, in the order in which they were written
+     * @throws IOException
+     *             an I/O error occurred or the file is not a valid snapshot
+     */
+    @Nonnull
+    public static List<Document> readSnapshot(@Nonnull Path path) throws IOException {
+        return toDocuments(TreeSnapshotReader.open(path, DocumentImmutableTreeList.Factory.INSTANCE, SnapshotCodec.CHAR_ARRAY));
+    }
+
     private static void addChunks(@Nonnull ArrayList<char[]> textChunks, @Nonnull CharSequence text) {
         // Split the text in chunks of CHUNK_SIZE characters.
         int textLength = text.length();
@@ -98,6 +314,65 @@ public final class Document implements CharSequence {
         }
     }
 
+    private static void copyRange(@Nonnull char[] chunk, int chunkPosition, @Nonnull char[] source, int sourceStart,
+            int sourceEnd, int sourcePosition) {
+        // chunkPosition and sourcePosition are the positions of chunk[0] and source[sourceStart] in the new text.
+        final int start = Math.max(chunkPosition, sourcePosition);
+        final int end = Math.min(chunkPosition + chunk.length, sourcePosition + sourceEnd - sourceStart);
+        if (start < end) {
+            System.arraycopy(source, sourceStart + start - sourcePosition, chunk, start - chunkPosition, end - start);
+        }
+    }
+
+    private static void copyRange(@Nonnull char[] chunk, int chunkPosition, @Nonnull String source, int sourcePosition) {
+        // chunkPosition and sourcePosition are the positions of chunk[0] and source[0] in the new text.
+        final int start = Math.max(chunkPosition, sourcePosition);
+        final int end = Math.min(chunkPosition + chunk.length, sourcePosition + source.length());
+        if (start < end) {
+            source.getChars(start - sourcePosition, end - sourcePosition, chunk, start - chunkPosition);
+        }
+    }
+
+    @Nonnull
+    private static ArrayList<char[]> createChunks(@Nonnull char[] firstChunk, int prefixLength, @Nonnull String text,
+            @Nonnull char[] lastChunk, int suffixStart) {
+        // Split the concatenation of the prefix of the first chunk, the text and the suffix of the last chunk
+        // in as few chunks as possible, with the characters evenly distributed among the chunks.
+        final int textEnd = prefixLength + text.length();
+        final int totalLength = textEnd + lastChunk.length - suffixStart;
+        final int chunkCount = (totalLength + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final ArrayList<char[]> chunks = new ArrayList<>(chunkCount);
+
+        int start = 0;
+        for (int i = 1; i <= chunkCount; i++) {
+            final int end = (int) ((long) totalLength * i / chunkCount);
+            final char[] chunk = new char[end - start];
+            copyRange(chunk, start, firstChunk, 0, prefixLength, 0);
+            copyRange(chunk, start, text, prefixLength);
+            copyRange(chunk, start, lastChunk, suffixStart, lastChunk.length, textEnd);
+            chunks.add(chunk);
+            start = end;
+        }
+
+        return chunks;
+    }
+
+    private static void drain(@Nonnull ByteBuffer bytes, @Nonnull WritableByteChannel channel) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+
+        bytes.clear();
+    }
+
+    private static void encode(@Nonnull CharsetEncoder encoder, @Nonnull CharBuffer chars, @Nonnull ByteBuffer bytes,
+            @Nonnull WritableByteChannel channel, boolean endOfInput) throws IOException {
+        while (encoder.encode(chars, bytes, endOfInput).isOverflow()) {
+            drain(bytes, channel);
+        }
+    }
+
     @Nonnull
     private static DocumentImmutableTreeList initTextChunks(@Nonnull CharSequence text) {
         final ArrayList<char[]> textChunks = new ArrayList<>();
@@ -117,30 +392,37 @@ public final class Document implements CharSequence {
         return text.document.replace(text.end, text.document.length() - text.end, "").replace(0, text.start, "").textChunks;
     }
 
-    private static <T> T next(@Nonnull Iterator<T> iterator) {
-        if (iterator.hasNext()) {
-            return iterator.next();
+    @Nonnull
+    private static ArrayList<DocumentImmutableTreeList> getTextChunks(@Nonnull Collection<Document> documents) {
+        final ArrayList<DocumentImmutableTreeList> textChunks = new ArrayList<>(documents.size());
+        for (Document document : documents) {
+            textChunks.add(document.textChunks);
         }
 
-        return null;
+        return textChunks;
     }
 
     @Nonnull
-    private static String toString(@Nonnull List<char[]> textChunks, int start, int end) {
+    private static List<Document> toDocuments(
+            @Nonnull TreeSnapshotReader<char[], DocumentImmutableTreeList.Node, DocumentImmutableTreeList> reader) {
+        final ArrayList<Document> documents = new ArrayList<>(reader.getListCount());
+        for (int i = 0; i < reader.getListCount(); i++) {
+            final DocumentImmutableTreeList textChunks = reader.getList(i);
+            documents.add(textChunks.isEmpty() ? EMPTY : new Document(textChunks));
+        }
+
+        return documents;
+    }
+
+    @Nonnull
+    private static String toString(@Nonnull DocumentImmutableTreeList textChunks, int start, int end) {
         if (start == end) {
             return "";
         }
 
         int capacity;
         if (end == Integer.MAX_VALUE) {
-            if (textChunks instanceof DocumentImmutableTreeList) {
-                capacity = ((DocumentImmutableTreeList) textChunks).textLength();
-            } else {
-                capacity = 0;
-                for (int i = 0; i < textChunks.size(); i++) {
-                    capacity += textChunks.get(i).length;
-                }
-            }
+            capacity = textChunks.textLength();
         } else {
             capacity = end - start;
         }
@@ -166,12 +448,8 @@ public final class Document implements CharSequence {
         return sb.toString();
     }
 
-    // While the Document class is immutable, textChunks WILL change after calling Document.replace(int, int, String).
-    // However, the chunks before and after are equivalent: they represent the same sequence of characters.
-    // The new list of chunks shares some chunks with the document created by Document.replace(int, int, String),
-    // and the old list of chunks will eventually be garbage-collected.
     @Nonnull
-    private DocumentImmutableTreeList textChunks;
+    private final DocumentImmutableTreeList textChunks;
 
     /**
      * Initializes a new Document with the given contents.
@@ -220,6 +498,162 @@ public final class Document implements CharSequence {
         return this.textChunks.charAt(index);
     }
 
+    /**
+     * Converts an offset in code points to an offset in UTF-16 code units (an index of a <code>char</code> in this document), in
+     * O(log n) time.
+     *
+     * @param codePointOffset
+     *            the offset in code points, between 0 and {@link #getCodePointCount()} inclusive
+     * @return the offset of the first <code>char</code> of the code point
+     * @throws IndexOutOfBoundsException
+     *             <code>codePointOffset</code> is negative or is greater than {@link #getCodePointCount()}
+     */
+    public final int fromCodePointOffset(int codePointOffset) {
+        if (codePointOffset < 0 || codePointOffset > this.getCodePointCount()) {
+            throw new IndexOutOfBoundsException("codePointOffset: " + codePointOffset);
+        }
+
+        if (codePointOffset == this.getCodePointCount()) {
+            return this.length();
+        }
+
+        return this.textChunks.findUnit(codePointOffset, false);
+    }
+
+    /**
+     * Converts an offset in bytes of the UTF-8 encoding of this document to an offset in UTF-16 code units (an index of a
+     * <code>char</code> in this document), in O(log n) time. An offset that is inside the encoding of a code point is converted to
+     * the offset of that code point.
+     *
+     * @param utf8Offset
+     *            the offset in UTF-8 bytes, between 0 and {@link #getUtf8Length()} inclusive
+     * @return the offset of the first <code>char</code> of the code point
+     * @throws IndexOutOfBoundsException
+     *             <code>utf8Offset</code> is negative or is greater than {@link #getUtf8Length()}
+     */
+    public final int fromUtf8Offset(long utf8Offset) {
+        if (utf8Offset < 0 || utf8Offset > this.getUtf8Length()) {
+            throw new IndexOutOfBoundsException("utf8Offset: " + utf8Offset);
+        }
+
+        if (utf8Offset == this.getUtf8Length()) {
+            return this.length();
+        }
+
+        return this.textChunks.findUnit(utf8Offset, true);
+    }
+
+    /**
+     * Gets the number of code points in this document. A surrogate pair is one code point, even when its surrogates are in
+     * different chunks; an unpaired surrogate is also one code point, as in {@link Character#codePointCount(CharSequence, int, int)}.
+     *
+     * @return the number of code points
+     */
+    public final int getCodePointCount() {
+        return this.textChunks.codePointCount();
+    }
+
+    /**
+     * Gets the text of a line of this document, without its line terminator. Lines are terminated by a line feed (LF), a carriage
+     * return (CR) or a CR followed by an LF.
+     * <p>
+     * The line is located in O(log n) time and is returned as a view on this document, like {@link #subSequence(int, int)}.
+     *
+     * @param line
+     *            the index of the line, starting at 0
+     * @return the text of the line
+     * @throws IndexOutOfBoundsException
+     *             <code>line</code> is negative or is not less than {@link #getLineCount()}
+     */
+    @Nonnull
+    public final CharSequence getLine(int line) {
+        final int start = this.getLineStartOffset(line);
+        int end;
+        if (line + 1 < this.getLineCount()) {
+            end = this.textChunks.findLineBreakEnd(line) - 1;
+            if (this.charAt(end) == '\n' && end > start && this.charAt(end - 1) == '\r') {
+                end--;
+            }
+        } else {
+            end = this.length();
+        }
+
+        return new SubDocument(this, start, end);
+    }
+
+    /**
+     * Gets the number of lines in this document. Lines are terminated by a line feed (LF), a carriage return (CR) or a CR followed
+     * by an LF. The text that follows the last line terminator is a line, even if it's empty, so the empty document has 1 line.
+     *
+     * @return the number of lines
+     */
+    public final int getLineCount() {
+        return this.textChunks.lineBreakCount() + 1;
+    }
+
+    /**
+     * Gets the index of the line that contains the specified offset, in O(log n) time. An offset that is between the CR and the LF
+     * of a CR LF pair is on the line that the pair terminates.
+     *
+     * @param offset
+     *            the offset, between 0 and {@link #length()} inclusive
+     * @return the index of the line, starting at 0
+     * @throws IndexOutOfBoundsException
+     *             <code>offset</code> is negative or is greater than {@link #length()}
+     */
+    public final int getLineOfOffset(int offset) {
+        if (offset < 0 || offset > this.length()) {
+            throw new IndexOutOfBoundsException("offset: " + offset);
+        }
+
+        return this.textChunks.countLineBreaksBefore(offset);
+    }
+
+    /**
+     * Gets the offset of the first character of a line, in O(log n) time.
+     *
+     * @param line
+     *            the index of the line, starting at 0
+     * @return the offset of the start of the line
+     * @throws IndexOutOfBoundsException
+     *             <code>line</code> is negative or is not less than {@link #getLineCount()}
+     */
+    public final int getLineStartOffset(int line) {
+        if (line < 0 || line >= this.getLineCount()) {
+            throw new IndexOutOfBoundsException("line: " + line);
+        }
+
+        if (line == 0) {
+            return 0;
+        }
+
+        return this.textChunks.findLineBreakEnd(line - 1);
+    }
+
+    /**
+     * Estimates the memory that this document retains, compared with the specified other documents: the memory used by the chunks
+     * of text of this document that none of the other documents share, and by the nodes that hold them. This is the memory that
+     * would be freed if this document became unreachable while the other documents are still reachable.
+     *
+     * @param others
+     *            the other documents
+     * @return the memory statistics of the chunks and the nodes that only this document retains
+     */
+    @Nonnull
+    public final MemoryStats getRetainedMemoryStats(@Nonnull Collection<Document> others) {
+        return MemoryStats.retained(this.textChunks, getTextChunks(others));
+    }
+
+    /**
+     * Gets the length of this document in UTF-8. An unpaired surrogate counts as 3 bytes, as if it were encoded like any other
+     * character of the Basic Multilingual Plane.
+     *
+     * @return the number of bytes in the UTF-8 encoding of this document
+     */
+    public final long getUtf8Length() {
+        return this.textChunks.utf8Length();
+    }
+
     @Override
     public final int length() {
         return this.textChunks.textLength();
@@ -269,86 +703,24 @@ public final class Document implements CharSequence {
             return new Document(textToInsert);
         }
 
-        // The idea here is to reuse existing character arrays and create new ones only when necessary.
-
-        ArrayList<char[]> currentTextChunks = new ArrayList<>();
-        ArrayList<char[]> newTextChunks = new ArrayList<>();
-        Iterator<char[]> chunkIterator = this.textChunks.iterator();
-        char[] currentChunk = next(chunkIterator);
-        int textOffset = 0;
-
-        // Reuse the initial chunks that are common to the current and to the new document.
-        while (textOffset < offset) {
-            if (textOffset + currentChunk.length > offset) {
-                break;
-            }
-
-            currentTextChunks.add(currentChunk);
-            newTextChunks.add(currentChunk);
-            textOffset += currentChunk.length;
-            currentChunk = next(chunkIterator);
-        }
-
-        int offsetIntoCurrentChunk = 0;
-        if (textOffset < offset) {
-            // Create a new chunk from the start of the current chunk that is common to the current and to the new document.
-            offsetIntoCurrentChunk = offset - textOffset;
-            char[] newChunk = Arrays.copyOf(currentChunk, offsetIntoCurrentChunk);
-            currentTextChunks.add(newChunk);
-            newTextChunks.add(newChunk);
-        }
-
-        if (lengthToRemove > 0) {
-            if (offsetIntoCurrentChunk + lengthToRemove < currentChunk.length) {
-                // Create a new chunk from the text that is removed in the new document.
-                currentTextChunks.add(Arrays.copyOfRange(currentChunk, offsetIntoCurrentChunk, offsetIntoCurrentChunk
-                        + lengthToRemove));
-                offsetIntoCurrentChunk += lengthToRemove;
-            } else {
-                // Create or reuse chunks from the text that is removed in the new document.
-
-                // Create a new chunk from the rest of the current chunk, which is removed in the new document.
-                currentTextChunks.add(Arrays.copyOfRange(currentChunk, offsetIntoCurrentChunk, currentChunk.length));
-                int remainingLength = lengthToRemove + offsetIntoCurrentChunk - currentChunk.length;
-                currentChunk = next(chunkIterator);
-
-                // Reuse chunks from the text that is removed in the new document.
-                while (remainingLength > 0 && remainingLength >= currentChunk.length) {
-                    currentTextChunks.add(currentChunk);
-                    remainingLength -= currentChunk.length;
-                    currentChunk = next(chunkIterator);
-                }
-
-                offsetIntoCurrentChunk = remainingLength;
-
-                // Create a new chunk from the start of the current chunk that is removed in the new document.
-                if (remainingLength > 0) {
-                    currentTextChunks.add(Arrays.copyOf(currentChunk, remainingLength));
-                }
-            }
-        }
-
-        // Create new chunks from the new text that is added to the new document.
-        addChunks(newTextChunks, textToInsert);
-
-        if (offsetIntoCurrentChunk > 0) {
-            // Create a new chunk from the rest of the current chunk, which is common to the current and to the new document.
-            char[] newChunk = Arrays.copyOfRange(currentChunk, offsetIntoCurrentChunk, currentChunk.length);
-            currentTextChunks.add(newChunk);
-            newTextChunks.add(newChunk);
-            currentChunk = next(chunkIterator);
+        // Locate the first and the last chunks affected by the replacement by descending the tree.
+        // All the other chunks (and all the subtrees that contain only such chunks) are shared with the new document.
+        final int length = this.length();
+        final DocumentImmutableTreeList.ChunkPosition first = this.textChunks.findChunk(offset < length ? offset : length - 1);
+        final DocumentImmutableTreeList.ChunkPosition last;
+        if (lengthToRemove == 0 || offset + lengthToRemove <= first.chunkStartPosition + first.chunk.length) {
+            last = first;
+        } else {
+            last = this.textChunks.findChunk(offset + lengthToRemove - 1);
         }
 
-        // Reuse the final chunks that are common to the current and to the new document.
-        while (currentChunk != null) {
-            currentTextChunks.add(currentChunk);
-            newTextChunks.add(currentChunk);
-            currentChunk = next(chunkIterator);
-        }
+        // Create new chunks from the start of the first chunk, the new text and the end of the last chunk.
+        final ArrayList<char[]> newChunks = createChunks(first.chunk, offset - first.chunkStartPosition, textToInsert, last.chunk,
+                offset + lengthToRemove - last.chunkStartPosition);
 
-        assert toString(this.textChunks, 0, Integer.MAX_VALUE).equals(toString(currentTextChunks, 0, Integer.MAX_VALUE)) : "The new list of text chunks for the current document has a different content from the current list!";
-        this.textChunks = DocumentImmutableTreeList.Factory.INSTANCE.create(currentTextChunks);
-        return new Document(DocumentImmutableTreeList.Factory.INSTANCE.create(newTextChunks));
+        // Replace the affected chunks with the new chunks. This only rebuilds the paths to the first and the last chunks.
+        return new Document(DocumentImmutableTreeList.Factory.INSTANCE.replaceRange(this.textChunks, first.chunkIndex,
+                last.chunkIndex + 1, newChunks));
     }
 
     @Nonnull
@@ -382,6 +754,178 @@ public final class Document implements CharSequence {
      */
     @Nonnull
     public final String substring(int start, int end) {
+        this.checkRange(start, end);
+        return toString(this.textChunks, start, end);
+    }
+
+    /**
+     * Converts an offset in UTF-16 code units (an index of a <code>char</code> in this document) to an offset in code points, in
+     * O(log n) time. An offset that is between the surrogates of a surrogate pair is converted to the offset of the code point
+     * that the pair forms.
+     *
+     * @param offset
+     *            the offset, between 0 and {@link #length()} inclusive
+     * @return the number of code points before the offset
+     * @throws IndexOutOfBoundsException
+     *             <code>offset</code> is negative or is greater than {@link #length()}
+     */
+    public final int toCodePointOffset(int offset) {
+        if (offset < 0 || offset > this.length()) {
+            throw new IndexOutOfBoundsException("offset: " + offset);
+        }
+
+        return (int) this.textChunks.countUnitsBefore(offset, false);
+    }
+
+    @Nonnull
+    @Override
+    public final String toString() {
+        return toString(this.textChunks, 0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Converts an offset in UTF-16 code units (an index of a <code>char</code> in this document) to an offset in bytes of the UTF-8
+     * encoding of this document, in O(log n) time. An offset that is between the surrogates of a surrogate pair is converted to the
+     * offset of the code point that the pair forms.
+     *
+     * @param offset
+     *            the offset, between 0 and {@link #length()} inclusive
+     * @return the number of UTF-8 bytes before the offset
+     * @throws IndexOutOfBoundsException
+     *             <code>offset</code> is negative or is greater than {@link #length()}
+     */
+    public final long toUtf8Offset(int offset) {
+        if (offset < 0 || offset > this.length()) {
+            throw new IndexOutOfBoundsException("offset: " + offset);
+        }
+
+        return this.textChunks.countUnitsBefore(offset, true);
+    }
+
+    /**
+     * Writes the chunks of this document to a snapshot. Chunks that this document shares with documents that were written
+     * earlier with the same writer are not written again.
+     *
+     * @param writer
+     *            the snapshot writer
+     * @return the index of this document in the snapshot
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    public final int writeSnapshot(@Nonnull TreeSnapshotWriter<char[]> writer) throws IOException {
+        return writer.write(this.textChunks);
+    }
+
+    /**
+     * Writes the contents of this document to a {@link Writer}. The chunks of this document are written directly, without building
+     * a string of the whole text. The writer is not flushed.
+     *
+     * @param writer
+     *            the writer
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    public final void writeTo(@Nonnull Writer writer) throws IOException {
+        this.writeTo(writer, 0, this.length());
+    }
+
+    /**
+     * Writes a range of the contents of this document to a {@link Writer}. The chunks of this document are written directly,
+     * without building a string of the range. The writer is not flushed.
+     *
+     * @param writer
+     *            the writer
+     * @param start
+     *            the starting index (inclusive) of the range
+     * @param end
+     *            the ending index (exclusive) of the range
+     * @throws IOException
+     *             an I/O error occurred
+     * @throws IndexOutOfBoundsException
+     *             start is negative, end is greater than the size of this document or start is greater than end
+     */
+    public final void writeTo(@Nonnull final Writer writer, int start, int end) throws IOException {
+        this.checkRange(start, end);
+        this.forEachChunk(start, end, (chunk, chunkStart, chunkEnd) -> writer.write(chunk, chunkStart, chunkEnd - chunkStart));
+    }
+
+    /**
+     * Encodes the contents of this document and writes them to a {@link WritableByteChannel}. The chunks of this document are
+     * encoded one after the other through a buffer of fixed size, so the memory used doesn't depend on the size of the document.
+     * Unpaired surrogates and unmappable characters are replaced, as in {@link String#getBytes(Charset)}.
+     *
+     * @param channel
+     *            the channel
+     * @param charset
+     *            the charset with which to encode the text
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    public final void writeTo(@Nonnull WritableByteChannel channel, @Nonnull Charset charset) throws IOException {
+        this.writeTo(channel, charset, 0, this.length());
+    }
+
+    /**
+     * Encodes a range of the contents of this document and writes them to a {@link WritableByteChannel}. The chunks of this
+     * document are encoded one after the other through a buffer of fixed size, so the memory used doesn't depend on the size of
+     * the range. Unpaired surrogates and unmappable characters are replaced, as in {@link String#getBytes(Charset)}.
+     *
+     * @param channel
+     *            the channel
+     * @param charset
+     *            the charset with which to encode the text
+     * @param start
+     *            the starting index (inclusive) of the range
+     * @param end
+     *            the ending index (exclusive) of the range
+     * @throws IOException
+     *             an I/O error occurred
+     * @throws IndexOutOfBoundsException
+     *             start is negative, end is greater than the size of this document or start is greater than end
+     */
+    public final void writeTo(@Nonnull final WritableByteChannel channel, @Nonnull Charset charset, int start, int end)
+            throws IOException {
+        this.checkRange(start, end);
+
+        final CharsetEncoder encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+
+        // The encoder doesn't consume a high surrogate at the end of its input, because the low surrogate that follows it may be
+        // in the next chunk. Such a surrogate is encoded together with the first character of the next chunk.
+        final CharBuffer pending = CharBuffer.allocate(2);
+        pending.flip();
+        this.forEachChunk(start, end, (chunk, chunkStart, chunkEnd) -> {
+            final CharBuffer chars = CharBuffer.wrap(chunk, chunkStart, chunkEnd - chunkStart);
+            while (pending.hasRemaining() && chars.hasRemaining()) {
+                pending.compact();
+                pending.put(chars.get());
+                pending.flip();
+                encode(encoder, pending, bytes, channel, false);
+            }
+
+            encode(encoder, chars, bytes, channel, false);
+            if (chars.hasRemaining()) {
+                pending.compact();
+                pending.put(chars);
+                pending.flip();
+            }
+        });
+
+        encode(encoder, pending, bytes, channel, true);
+        while (encoder.flush(bytes).isOverflow()) {
+            drain(bytes, channel);
+        }
+
+        drain(bytes, channel);
+    }
+
+    @Nonnull
+    final DocumentImmutableTreeList getTextChunks() {
+        return this.textChunks;
+    }
+
+    private void checkRange(int start, int end) {
         if (start < 0) {
             throw new IndexOutOfBoundsException("start is negative: " + start);
         }
@@ -394,19 +938,26 @@ public final class Document implements CharSequence {
         if (start > end) {
             throw new IndexOutOfBoundsException("start is greater than end: start=" + start + ", end=" + end);
         }
-
-        return toString(this.textChunks, start, end);
     }
 
-    @Nonnull
-    @Override
-    public final String toString() {
-        return toString(this.textChunks, 0, Integer.MAX_VALUE);
-    }
+    private void forEachChunk(int start, int end, @Nonnull ChunkRangeConsumer consumer) throws IOException {
+        if (start == end) {
+            return;
+        }
+
+        final DocumentImmutableTreeList.ChunkPosition first = this.textChunks.findChunk(start);
+        int chunkStartPosition = first.chunkStartPosition;
+        final Iterator<char[]> iterator = this.textChunks.listIterator(first.chunkIndex);
+        while (chunkStartPosition < end) {
+            final char[] chunk = iterator.next();
+            final int chunkStart = Math.max(start - chunkStartPosition, 0);
+            final int chunkEnd = Math.min(end - chunkStartPosition, chunk.length);
+            if (chunkStart < chunkEnd) {
+                consumer.accept(chunk, chunkStart, chunkEnd);
+            }
 
-    @Nonnull
-    final DocumentImmutableTreeList getTextChunks() {
-        return this.textChunks;
+            chunkStartPosition += chunk.length;
+        }
     }
 
 }
@@ -4,13 +4,71 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
 
-import ca.fragag.collections.AbstractImmutableTreeList;
 import ca.fragag.collections.AbstractImmutableTreeListFactory;
-import ca.fragag.collections.AbstractImmutableTreeNode;
 import ca.fragag.collections.AbstractImmutableTreeNodeFactory;
+import ca.fragag.collections.AbstractMeasuredTreeList;
+import ca.fragag.collections.AbstractMeasuredTreeNode;
+import ca.fragag.collections.Measure;
 
 @Immutable
-final class DocumentImmutableTreeList extends AbstractImmutableTreeList<char[], DocumentImmutableTreeList.Node> {
+final class DocumentImmutableTreeList extends AbstractMeasuredTreeList<char[], DocumentImmutableTreeList.Node> {
+
+    /**
+     * The measures of a chunk, as counted without looking at the neighbouring chunks: a CR at the end of the chunk counts as a
+     * line break even if the next chunk starts with an LF, and a high surrogate at the end of the chunk counts as a code point of
+     * 3 bytes even if the next chunk starts with a low surrogate.
+     */
+    @Immutable
+    static final class ChunkMeasures {
+
+        final int lineBreakCount;
+        final int codePointCount;
+        final long utf8Length;
+
+        ChunkMeasures(@Nonnull char[] chunk) {
+            // Count all the measures in a single pass over the chunk. Each character is a code point of 1 byte in UTF-8, except
+            // those that are counted here.
+            int lineBreakCount = 0;
+            int lowSurrogatesInPairs = 0;
+            long extraUtf8Bytes = 0;
+            for (int i = 0; i < chunk.length; i++) {
+                final char ch = chunk[i];
+                if (ch < 0x80) {
+                    if (ch == '\r' || ch == '\n' && (i == 0 || chunk[i - 1] != '\r')) {
+                        lineBreakCount++;
+                    }
+                } else if (ch < 0x800) {
+                    extraUtf8Bytes++;
+                } else if (Character.isLowSurrogate(ch) && i != 0 && Character.isHighSurrogate(chunk[i - 1])) {
+                    // The high surrogate was counted as a code point of 3 bytes; the pair is a code point of 4 bytes.
+                    lowSurrogatesInPairs++;
+                } else {
+                    extraUtf8Bytes += 2;
+                }
+            }
+
+            this.lineBreakCount = lineBreakCount;
+            this.codePointCount = chunk.length - lowSurrogatesInPairs;
+            this.utf8Length = chunk.length + extraUtf8Bytes;
+        }
+
+    }
+
+    @Immutable
+    static final class ChunkPosition {
+
+        final int chunkIndex;
+        final int chunkStartPosition;
+        @Nonnull
+        final char[] chunk;
+
+        ChunkPosition(int chunkIndex, int chunkStartPosition, @Nonnull char[] chunk) {
+            this.chunkIndex = chunkIndex;
+            this.chunkStartPosition = chunkStartPosition;
+            this.chunk = chunk;
+        }
+
+    }
 
     @Immutable
     static final class Factory extends AbstractImmutableTreeListFactory<char[], Node, DocumentImmutableTreeList> {
@@ -36,7 +94,7 @@ final class DocumentImmutableTreeList extends AbstractImmutableTreeList<char[],
     }
 
     @Immutable
-    static final class Node extends AbstractImmutableTreeNode<char[], Node> {
+    static final class Node extends AbstractMeasuredTreeNode<char[], Node> {
 
         @Immutable
         static final class Factory extends AbstractImmutableTreeNodeFactory<char[], Node> {
@@ -46,118 +104,529 @@ final class DocumentImmutableTreeList extends AbstractImmutableTreeList<char[],
             private Factory() {
             }
 
+            @Nonnull
+            @Override
+            protected Node copyNode(@CheckForNull Node left, @Nonnull Node node, @CheckForNull Node right) {
+                // Share the measures of the chunk, which would otherwise be counted again for each node that holds it.
+                final char[] value = node.getValue();
+                assert value != null;
+                return new Node(left, value, right, node.chunkMeasures);
+            }
+
             @Nonnull
             @Override
             protected Node createNode(@CheckForNull Node left, @Nonnull char[] value, @CheckForNull Node right) {
-                return new Node(left, value, right);
+                return new Node(left, value, right, new ChunkMeasures(value));
             }
 
         }
 
-        static char charAt(@Nonnull Node node, int index) {
-            if (index < 0 || index >= node.textLength) {
-                throw new IndexOutOfBoundsException();
+        /** Measures the chunks by their length, so that the measure of a subtree is the length of its text. */
+        static final Measure<char[]> TEXT_LENGTH = Measure.sum(chunk -> chunk.length);
+
+        /**
+         * Counts the line breaks in a chunk, as if the chunk were preceded by a character other than a carriage return. A carriage
+         * return at the end of the chunk is counted, even if the next chunk starts with a line feed.
+         */
+        private static int countLineBreaks(@Nonnull char[] chunk, int end) {
+            int count = 0;
+            for (int i = 0; i < end; i++) {
+                final char ch = chunk[i];
+                if (ch == '\r' || ch == '\n' && (i == 0 || chunk[i - 1] != '\r')) {
+                    count++;
+                }
             }
 
-            for (;;) {
-                final Node left = node.getLeft();
-                if (left != null) {
-                    if (index < left.textLength) {
-                        node = left;
-                        continue;
-                    }
+            return count;
+        }
 
-                    index -= left.textLength;
-                }
+        /**
+         * Counts the code points in a chunk, or their length in UTF-8, as if the chunk were preceded by a character other than a
+         * high surrogate. A high surrogate at the end of the chunk is counted as a code point of its own, even if the next chunk
+         * starts with a low surrogate.
+         */
+        private static long countUnits(@Nonnull char[] chunk, int end, boolean utf8) {
+            long count = 0;
+            for (int i = 0; i < end; i++) {
+                count += units(chunk[i], i != 0 && Character.isHighSurrogate(chunk[i - 1]), utf8);
+            }
 
-                final char[] value = node.getValue();
-                assert value != null;
-                if (index < value.length) {
-                    return value[index];
-                }
+            return count;
+        }
 
-                index -= value.length;
-                node = node.getRight();
-                assert node != null;
+        /**
+         * The measures of the chunk of this node. They are counted when the chunk is first put in a node and shared by the nodes
+         * that hold the chunk after that, so building a node only combines the measures of its children in constant time.
+         */
+        @Nonnull
+        private final ChunkMeasures chunkMeasures;
+
+        /**
+         * The measures of the text of this subtree. A CR LF pair counts as one line break and a surrogate pair counts as one code
+         * point, even when the two characters of the pair are in different chunks.
+         */
+        private final int lineBreakCount;
+        private final int codePointCount;
+        private final long utf8Length;
+
+        /** The first and the last characters of the text of this subtree, or 0 if the text is empty. */
+        private final char firstChar;
+        private final char lastChar;
+
+        protected Node(@CheckForNull Node left, @Nonnull char[] value, @CheckForNull Node right,
+                @Nonnull ChunkMeasures chunkMeasures) {
+            super(left, value, right, TEXT_LENGTH);
+
+            this.chunkMeasures = chunkMeasures;
+
+            char firstChar = value.length == 0 ? 0 : value[0];
+            char lastChar = value.length == 0 ? 0 : value[value.length - 1];
+            int lineBreakCount = chunkMeasures.lineBreakCount;
+            int codePointCount = chunkMeasures.codePointCount;
+            long utf8Length = chunkMeasures.utf8Length;
+            if (left != null) {
+                lineBreakCount = left.lineBreakCount + lineBreakCount(lineBreakCount, left.lastChar, firstChar);
+                codePointCount = left.codePointCount + (int) units(codePointCount, left.lastChar, firstChar, false);
+                utf8Length = left.utf8Length + units(utf8Length, left.lastChar, firstChar, true);
+                if (left.getMeasure() != 0) {
+                    firstChar = left.firstChar;
+                    if (value.length == 0) {
+                        lastChar = left.lastChar;
+                    }
+                }
             }
-        }
 
-        static void setCurrentPositionInDocumentReader(@Nonnull DocumentReader reader, @Nonnull Node node, int position) {
-            int chunkIndex = 0;
-            int chunkStartPosition = 0;
-            for (;;) {
-                final Node left = node.getLeft();
-                if (left != null) {
-                    if (position < left.textLength) {
-                        node = left;
-                        continue;
+            if (right != null) {
+                lineBreakCount += lineBreakCount(right.lineBreakCount, lastChar, right.firstChar);
+                codePointCount += (int) units(right.codePointCount, lastChar, right.firstChar, false);
+                utf8Length += units(right.utf8Length, lastChar, right.firstChar, true);
+                if (right.getMeasure() != 0) {
+                    if (this.getMeasure() == right.getMeasure()) {
+                        // Everything before the right subtree is empty.
+                        firstChar = right.firstChar;
                     }
 
-                    chunkIndex += left.getSize();
-                    chunkStartPosition += left.textLength;
-                    position -= left.textLength;
+                    lastChar = right.lastChar;
                 }
+            }
 
-                final char[] value = node.getValue();
-                assert value != null;
-                final int chunkSize = value.length;
-                if (position <= chunkSize) {
-                    reader.setCurrentPosition(chunkIndex, chunkStartPosition, position);
-                    break;
-                }
+            this.lineBreakCount = lineBreakCount;
+            this.codePointCount = codePointCount;
+            this.utf8Length = utf8Length;
+            this.firstChar = firstChar;
+            this.lastChar = lastChar;
+        }
 
-                chunkIndex++;
-                chunkStartPosition += chunkSize;
-                position -= chunkSize;
-                node = node.getRight();
-                assert node != null;
-            }
+        /** Gets the number of chunks in this subtree. */
+        final int chunkCount() {
+            return this.getSize();
         }
 
-        private final transient int textLength;
+    }
+
+    static final DocumentImmutableTreeList EMPTY = new DocumentImmutableTreeList(null);
+
+    /**
+     * Adjusts the number of line breaks in a text for the character that precedes it: an LF at the start of the text and a CR just
+     * before it form a single line break, which was already counted with the CR.
+     */
+    private static int lineBreakCount(int count, char previous, char first) {
+        return previous == '\r' && first == '\n' ? count - 1 : count;
+    }
 
-        protected Node(@CheckForNull Node left, @Nonnull char[] value, @CheckForNull Node right) {
-            super(left, value, right);
-            this.textLength = (left == null ? 0 : left.textLength) + value.length + (right == null ? 0 : right.textLength);
+    /**
+     * Adjusts the number of code points in a text, or its length in UTF-8, for the character that precedes it: a low surrogate at
+     * the start of the text and a high surrogate just before it form a single code point, which takes 4 bytes in UTF-8 rather
+     * than 3 for each surrogate.
+     */
+    private static long units(long count, char previous, char first, boolean utf8) {
+        if (Character.isHighSurrogate(previous) && Character.isLowSurrogate(first)) {
+            return count - (utf8 ? 2 : 1);
         }
 
-        int textLength() {
-            return this.textLength;
+        return count;
+    }
+
+    /**
+     * Gets the number of code points, or of UTF-8 bytes, that a character adds to a text. The low surrogate of a surrogate pair
+     * adds no code point and 1 byte, because its high surrogate counts as a code point of 3 bytes on its own. An unpaired surrogate
+     * counts as a code point of 3 bytes.
+     */
+    private static long units(char ch, boolean afterHighSurrogate, boolean utf8) {
+        if (afterHighSurrogate && Character.isLowSurrogate(ch)) {
+            return utf8 ? 1 : 0;
         }
 
+        if (!utf8) {
+            return 1;
+        }
+
+        return ch < 0x80 ? 1 : ch < 0x800 ? 2 : 3;
     }
 
-    static final DocumentImmutableTreeList EMPTY = new DocumentImmutableTreeList(null);
+    private static long subtreeUnits(@Nonnull Node node, char previous, boolean utf8) {
+        return units(utf8 ? node.utf8Length : node.codePointCount, previous, node.firstChar, utf8);
+    }
+
+    private static long chunkUnits(@Nonnull Node node, @Nonnull char[] chunk, char previous, boolean utf8) {
+        final long count = utf8 ? node.chunkMeasures.utf8Length : node.chunkMeasures.codePointCount;
+        return units(count, previous, chunk.length == 0 ? 0 : chunk[0], utf8);
+    }
+
+    /**
+     * The chunk that contains the position that {@link #charAt(int)} accessed last, so that reading the characters of a chunk in
+     * sequence doesn't descend the tree for each character.
+     * <p>
+     * This field is the only mutable state of the list, and it is deliberately accessed without synchronization, like the hash
+     * code cached by {@link String}. The race is benign: a {@link ChunkPosition} is immutable and has only final fields, so a
+     * thread that reads this field sees either <code>null</code> or a complete position of a chunk of this list, and every chunk
+     * position of this list is valid for the lifetime of the list. A thread that doesn't see another thread's write only misses
+     * the cache and descends the tree. The cache doesn't affect the value of any operation, so the list still behaves as an
+     * immutable object.
+     */
+    @CheckForNull
+    private ChunkPosition lastChunk;
 
     protected DocumentImmutableTreeList(@CheckForNull Node root) {
-        super(root);
+        super(root, Node.TEXT_LENGTH);
     }
 
     final char charAt(int index) {
-        Node root = this.getRoot();
-        if (root == null) {
+        // Read the field once: another thread may replace it at any time.
+        ChunkPosition chunkPosition = this.lastChunk;
+        if (chunkPosition != null) {
+            final int positionInChunk = index - chunkPosition.chunkStartPosition;
+            if (positionInChunk >= 0 && positionInChunk < chunkPosition.chunk.length) {
+                return chunkPosition.chunk[positionInChunk];
+            }
+        }
+
+        chunkPosition = this.findChunk(index);
+        this.lastChunk = chunkPosition;
+        return chunkPosition.chunk[index - chunkPosition.chunkStartPosition];
+    }
+
+    @Nonnull
+    final ChunkPosition findChunk(int position) {
+        Node node = this.getRoot();
+        if (position < 0 || node == null || position >= node.getMeasure()) {
             throw new IndexOutOfBoundsException();
         }
 
-        return Node.charAt(root, index);
+        // Descend the tree directly rather than through findByMeasure(), so that only the ChunkPosition is allocated.
+        int chunkIndex = 0;
+        int chunkStartPosition = 0;
+        for (;;) {
+            final Node left = node.getLeft();
+            if (left != null) {
+                final int leftLength = (int) left.getMeasure();
+                if (position - chunkStartPosition < leftLength) {
+                    node = left;
+                    continue;
+                }
+
+                chunkIndex += left.chunkCount();
+                chunkStartPosition += leftLength;
+            }
+
+            final char[] chunk = node.getValue();
+            assert chunk != null;
+            if (position - chunkStartPosition < chunk.length) {
+                return new ChunkPosition(chunkIndex, chunkStartPosition, chunk);
+            }
+
+            chunkIndex++;
+            chunkStartPosition += chunk.length;
+            node = node.getRight();
+            assert node != null;
+        }
     }
 
     final void setCurrentPositionInDocumentReader(@Nonnull DocumentReader reader, int position) {
-        Node node = this.getRoot();
-        if (node == null) {
+        if (this.isEmpty() || position <= 0) {
             reader.setCurrentPosition(0, 0, position);
         } else {
-            Node.setCurrentPositionInDocumentReader(reader, node, position);
+            // Find the first chunk that ends at or after the position, so that the end of the text is at the end of the last chunk.
+            final ChunkPosition chunkPosition = this.findChunk(position - 1);
+            reader.setCurrentPosition(chunkPosition.chunkIndex, chunkPosition.chunkStartPosition,
+                    position - chunkPosition.chunkStartPosition);
         }
     }
 
-    final int textLength() {
-        Node root = this.getRoot();
-        if (root == null) {
-            return 0;
+    /**
+     * Counts the code points, or the UTF-8 bytes, that end at or before the specified position. A position between the high and
+     * the low surrogates of a surrogate pair is at the start of the code point that the pair forms.
+     */
+    final long countUnitsBefore(int position, boolean utf8) {
+        long count = 0;
+        int chunkStartPosition = 0;
+        char previous = 0;
+        Node node = this.getRoot();
+        while (node != null) {
+            final Node left = node.getLeft();
+            if (left != null) {
+                final int leftLength = (int) left.getMeasure();
+                if (position < chunkStartPosition + leftLength) {
+                    node = left;
+                    continue;
+                }
+
+                count += subtreeUnits(left, previous, utf8);
+                chunkStartPosition += leftLength;
+                if (leftLength != 0) {
+                    previous = left.lastChar;
+                }
+            }
+
+            final char[] chunk = node.getValue();
+            assert chunk != null;
+            if (position < chunkStartPosition + chunk.length || node.getRight() == null) {
+                final int end = Math.min(position - chunkStartPosition, chunk.length);
+                count += Node.countUnits(chunk, end, utf8);
+                if (end != 0) {
+                    count = units(count, previous, chunk[0], utf8);
+                }
+
+                // A high surrogate whose low surrogate follows the position doesn't end its code point before the position.
+                if (position > 0 && position < this.textLength()) {
+                    final char before = end != 0 ? chunk[end - 1] : previous;
+                    if (Character.isHighSurrogate(before)
+                            && Character.isLowSurrogate(end < chunk.length ? chunk[end] : this.findChar(position))) {
+                        count -= units(before, false, utf8);
+                    }
+                }
+
+                return count;
+            }
+
+            count += chunkUnits(node, chunk, previous, utf8);
+            chunkStartPosition += chunk.length;
+            if (chunk.length != 0) {
+                previous = chunk[chunk.length - 1];
+            }
+
+            node = node.getRight();
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the line breaks that end at or before the specified position. A position between the CR and the LF of a CR LF pair
+     * is on the line that the pair terminates.
+     */
+    final int countLineBreaksBefore(int position) {
+        int count = 0;
+        int chunkStartPosition = 0;
+        char previous = 0;
+        Node node = this.getRoot();
+        while (node != null) {
+            final Node left = node.getLeft();
+            if (left != null) {
+                final int leftLength = (int) left.getMeasure();
+                if (position < chunkStartPosition + leftLength) {
+                    node = left;
+                    continue;
+                }
+
+                count += lineBreakCount(left.lineBreakCount, previous, left.firstChar);
+                chunkStartPosition += leftLength;
+                if (leftLength != 0) {
+                    previous = left.lastChar;
+                }
+            }
+
+            final char[] chunk = node.getValue();
+            assert chunk != null;
+            if (position < chunkStartPosition + chunk.length || node.getRight() == null) {
+                final int end = Math.min(position - chunkStartPosition, chunk.length);
+                count += Node.countLineBreaks(chunk, end);
+                if (end != 0) {
+                    count = lineBreakCount(count, previous, chunk[0]);
+                }
+
+                // A CR whose LF follows the position doesn't terminate its line before the position.
+                if (position > 0 && position < this.textLength()
+                        && (end != 0 ? chunk[end - 1] : previous) == '\r'
+                        && (end < chunk.length ? chunk[end] : this.findChar(position)) == '\n') {
+                    count--;
+                }
+
+                return count;
+            }
+
+            count += lineBreakCount(node.chunkMeasures.lineBreakCount, previous, chunk.length == 0 ? 0 : chunk[0]);
+            chunkStartPosition += chunk.length;
+            if (chunk.length != 0) {
+                previous = chunk[chunk.length - 1];
+            }
+
+            node = node.getRight();
+        }
+
+        return count;
+    }
+
+    final int codePointCount() {
+        final Node root = this.getRoot();
+        return root == null ? 0 : root.codePointCount;
+    }
+
+    /**
+     * Finds the position that follows the line break with the specified index (starting at 0), which is the position of the start
+     * of the next line.
+     */
+    final int findLineBreakEnd(int lineBreakIndex) {
+        int count = 0;
+        int chunkStartPosition = 0;
+        char previous = 0;
+        Node node = this.getRoot();
+        for (;;) {
+            assert node != null;
+            final Node left = node.getLeft();
+            if (left != null) {
+                final int leftCount = lineBreakCount(left.lineBreakCount, previous, left.firstChar);
+                if (lineBreakIndex < count + leftCount) {
+                    node = left;
+                    continue;
+                }
+
+                count += leftCount;
+                final int leftLength = (int) left.getMeasure();
+                chunkStartPosition += leftLength;
+                if (leftLength != 0) {
+                    previous = left.lastChar;
+                }
+            }
+
+            final char[] chunk = node.getValue();
+            assert chunk != null;
+            final int chunkCount = lineBreakCount(node.chunkMeasures.lineBreakCount, previous, chunk.length == 0 ? 0 : chunk[0]);
+            if (lineBreakIndex < count + chunkCount) {
+                for (int i = 0;; i++) {
+                    final char ch = chunk[i];
+                    if (ch == '\n' && (i == 0 ? previous : chunk[i - 1]) != '\r') {
+                        if (count++ == lineBreakIndex) {
+                            return chunkStartPosition + i + 1;
+                        }
+                    } else if (ch == '\r') {
+                        if (count++ == lineBreakIndex) {
+                            // Include the LF of a CR LF pair, which may be in the next chunk.
+                            final int end = chunkStartPosition + i + 1;
+                            final char next = i + 1 < chunk.length ? chunk[i + 1]
+                                    : end < this.textLength() ? this.findChar(end) : 0;
+                            return next == '\n' ? end + 1 : end;
+                        }
+                    }
+                }
+            }
+
+            count += chunkCount;
+            chunkStartPosition += chunk.length;
+            if (chunk.length != 0) {
+                previous = chunk[chunk.length - 1];
+            }
+
+            node = node.getRight();
+        }
+    }
+
+    /**
+     * Finds the position of the start of the code point that contains the code point or the UTF-8 byte with the specified index
+     * (starting at 0).
+     */
+    final int findUnit(long unitIndex, boolean utf8) {
+        long count = 0;
+        int chunkStartPosition = 0;
+        char previous = 0;
+        Node node = this.getRoot();
+        for (;;) {
+            assert node != null;
+            final Node left = node.getLeft();
+            if (left != null) {
+                final long leftCount = subtreeUnits(left, previous, utf8);
+                if (unitIndex < count + leftCount) {
+                    node = left;
+                    continue;
+                }
+
+                count += leftCount;
+                final int leftLength = (int) left.getMeasure();
+                chunkStartPosition += leftLength;
+                if (leftLength != 0) {
+                    previous = left.lastChar;
+                }
+            }
+
+            final char[] chunk = node.getValue();
+            assert chunk != null;
+            final long chunkCount = chunkUnits(node, chunk, previous, utf8);
+            if (unitIndex < count + chunkCount) {
+                for (int i = 0;; i++) {
+                    final boolean afterHighSurrogate = Character.isHighSurrogate(i == 0 ? previous : chunk[i - 1]);
+                    count += units(chunk[i], afterHighSurrogate, utf8);
+                    if (unitIndex < count) {
+                        // The low surrogate of a surrogate pair is part of the code point that starts with the high surrogate.
+                        return chunkStartPosition + (afterHighSurrogate && Character.isLowSurrogate(chunk[i]) ? i - 1 : i);
+                    }
+                }
+            }
+
+            count += chunkCount;
+            chunkStartPosition += chunk.length;
+            if (chunk.length != 0) {
+                previous = chunk[chunk.length - 1];
+            }
+
+            node = node.getRight();
         }
+    }
+
+    final int lineBreakCount() {
+        final Node root = this.getRoot();
+        return root == null ? 0 : root.lineBreakCount;
+    }
 
-        return root.textLength();
+    final int textLength() {
+        return (int) this.measure();
+    }
+
+    final long utf8Length() {
+        final Node root = this.getRoot();
+        return root == null ? 0 : root.utf8Length;
+    }
+
+    /**
+     * Gets the character at the specified position without going through the cache of {@link #charAt(int)}. This method doesn't
+     * allocate anything, so the measure descents use it to look at the character that follows the chunk they end in without
+     * replacing the chunk that a sequential reader may have cached.
+     */
+    private char findChar(int position) {
+        Node node = this.getRoot();
+        assert node != null && position >= 0 && position < node.getMeasure();
+
+        for (;;) {
+            final Node left = node.getLeft();
+            if (left != null) {
+                final int leftLength = (int) left.getMeasure();
+                if (position < leftLength) {
+                    node = left;
+                    continue;
+                }
+
+                position -= leftLength;
+            }
+
+            final char[] chunk = node.getValue();
+            assert chunk != null;
+            if (position < chunk.length) {
+                return chunk[position];
+            }
+
+            position -= chunk.length;
+            node = node.getRight();
+            assert node != null;
+        }
     }
 
 }
@@ -39,8 +39,6 @@ public final class DocumentReader extends CharSequenceReader<Document> {
 
         this.document = document;
 
-        // We need to capture the document's list of chunks, because it may change.
-        // Since we maintain indices in that list, our behavior would be incorrect if the list changed!
         this.chunks = document.getTextChunks();
 
         this.setCurrentPosition(0, 0, 0);
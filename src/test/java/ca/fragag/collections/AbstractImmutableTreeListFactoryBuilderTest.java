@@ -0,0 +1,203 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import ca.fragag.NamedTestObject;
+
+/**
+ * Test class for {@link AbstractImmutableTreeListFactory.Builder}.
+ *
+ * @author Francis Gagné
+ */
+public class AbstractImmutableTreeListFactoryBuilderTest {
+
+    private static final ImmutableTreeListFactory<Object> FACTORY = ImmutableTreeListFactory.getInstance();
+
+    private static final Object OBJECT_0 = new NamedTestObject("object 0");
+    private static final Object OBJECT_1 = new NamedTestObject("object 1");
+
+    private static void assertBalanced(ImmutableTreeNode<?> node) {
+        if (node == null) {
+            return;
+        }
+
+        final int leftSize = node.getLeft() == null ? 0 : node.getLeft().getSize();
+        final int rightSize = node.getRight() == null ? 0 : node.getRight().getSize();
+        if (leftSize + rightSize > 1) {
+            assertThat("left subtree too large: " + leftSize + " vs " + rightSize, leftSize <= 3 * rightSize, is(true));
+            assertThat("right subtree too large: " + rightSize + " vs " + leftSize, rightSize <= 3 * leftSize, is(true));
+        }
+
+        assertBalanced(node.getLeft());
+        assertBalanced(node.getRight());
+    }
+
+    private static void assertBuilds(ImmutableTreeListFactory<Object>.Builder builder, List<Object> expected) {
+        assertThat(builder.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(builder.get(i), is(expected.get(i)));
+        }
+
+        final ImmutableTreeList<Object> list = builder.build();
+        assertThat(Arrays.asList(list.toArray()), is(expected));
+        assertBalanced(list.getRoot());
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#add(Object)} appends elements to the list and keeps the tree
+     * balanced.
+     */
+    @Test
+    public void add() {
+        final ImmutableTreeListFactory<Object>.Builder builder = FACTORY.builder();
+        final ArrayList<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            builder.add(i);
+            expected.add(i);
+        }
+
+        assertBuilds(builder, expected);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#add(int, Object)} inserts elements at the specified position and
+     * keeps the tree balanced.
+     */
+    @Test
+    public void addIntObject() {
+        final ImmutableTreeListFactory<Object>.Builder builder = FACTORY.builder(FACTORY.create(Arrays.asList(-1, -2, -3)));
+        final ArrayList<Object> expected = new ArrayList<Object>(Arrays.asList(-1, -2, -3));
+        for (int i = 0; i < 100; i++) {
+            final int index = i * 7 % (expected.size() + 1);
+            builder.add(index, i);
+            expected.add(index, i);
+        }
+
+        assertBuilds(builder, expected);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#add(int, Object)} throws an {@link IndexOutOfBoundsException}
+     * when the <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addIntObjectIndexTooHigh() {
+        FACTORY.builder().add(1, OBJECT_0);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#build()} returns an empty list when no elements were added to
+     * the builder.
+     */
+    @Test
+    public void buildEmpty() {
+        assertThat(FACTORY.builder().build(), is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#build()} returns a list that shares the subtrees that were not
+     * modified with the list that the builder was created from.
+     */
+    @Test
+    public void buildSharesUnmodifiedSubtrees() {
+        final ArrayList<Object> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(i);
+        }
+
+        final ImmutableTreeList<Object> list = FACTORY.create(elements);
+        final ImmutableTreeList<Object> newList = FACTORY.builder(list).set(0, OBJECT_0).build();
+        assertThat(newList.get(0), is(OBJECT_0));
+        assertThat(newList.getRoot().getRight(), is(sameInstance(list.getRoot().getRight())));
+    }
+
+    /**
+     * Asserts that the lists built by {@link AbstractImmutableTreeListFactory.Builder#build()} are not affected by the edits that
+     * are made on the builder afterwards.
+     */
+    @Test
+    public void buildTwice() {
+        final ImmutableTreeListFactory<Object>.Builder builder = FACTORY.builder().add(OBJECT_0).add(OBJECT_1);
+        final ImmutableTreeList<Object> list = builder.build();
+        builder.set(0, OBJECT_1).remove(1).add(OBJECT_0);
+        final ImmutableTreeList<Object> newList = builder.build();
+        assertThat(Arrays.asList(list.toArray()), is(Arrays.asList(OBJECT_0, OBJECT_1)));
+        assertThat(Arrays.asList(newList.toArray()), is(Arrays.asList(OBJECT_1, OBJECT_0)));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#get(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getIndexTooLow() {
+        FACTORY.builder().add(OBJECT_0).get(-1);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#remove(int)} removes elements from the list and keeps the tree
+     * balanced.
+     */
+    @Test
+    public void remove() {
+        final ArrayList<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            expected.add(i);
+        }
+
+        final ImmutableTreeListFactory<Object>.Builder builder = FACTORY.builder(FACTORY.create(expected));
+        for (int i = 0; i < 150; i++) {
+            final int index = i * 13 % expected.size();
+            builder.remove(index);
+            expected.remove(index);
+        }
+
+        assertBuilds(builder, expected);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#remove(int)} throws an {@link IndexOutOfBoundsException} when
+     * the <code>index</code> argument is greater than or equal to the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeIndexTooHigh() {
+        FACTORY.builder().add(OBJECT_0).remove(1);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#set(int, Object)} replaces elements in the list.
+     */
+    @Test
+    public void set() {
+        final ArrayList<Object> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(i);
+        }
+
+        final ImmutableTreeListFactory<Object>.Builder builder = FACTORY.builder(FACTORY.create(expected));
+        for (int i = 0; i < 50; i += 3) {
+            builder.set(i, -i);
+            expected.set(i, -i);
+        }
+
+        assertBuilds(builder, expected);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory.Builder#set(int, Object)} throws an {@link IndexOutOfBoundsException} when
+     * the <code>index</code> argument is greater than or equal to the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setIndexTooHigh() {
+        FACTORY.builder().set(0, OBJECT_0);
+    }
+
+}
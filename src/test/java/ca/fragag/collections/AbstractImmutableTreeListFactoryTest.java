@@ -1,14 +1,23 @@
 package ca.fragag.collections;
 
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import org.junit.Test;
 
@@ -23,11 +32,19 @@ public class AbstractImmutableTreeListFactoryTest {
 
     private static class TestFactory extends AbstractImmutableTreeListFactory<Object, TestList.Node, TestList> {
 
+        static int createNodeCount;
+
         TestFactory() {
             super(new AbstractImmutableTreeNodeFactory<Object, TestList.Node>() {
 
+                @Override
+                protected TestList.Node copyNode(TestList.Node left, TestList.Node node, TestList.Node right) {
+                    return new TestList.Node(left, node.getValue(), right);
+                }
+
                 @Override
                 protected TestList.Node createNode(TestList.Node left, Object value, TestList.Node right) {
+                    createNodeCount++;
                     return new TestList.Node(left, value, right);
                 }
 
@@ -88,12 +105,38 @@ public class AbstractImmutableTreeListFactoryTest {
         }
 
     };
+    private static final Collection<Integer> SAMPLE_COLLECTION_0 = Arrays.asList(new Integer[] {});
     private static final Collection<Integer> SAMPLE_COLLECTION_2 = Arrays.asList(new Integer[] { 3, 4 });
     private static final Collection<Integer> SAMPLE_COLLECTION_3 = Arrays.asList(new Integer[] { 5, 6, 7 });
     private static final Object OBJECT_0 = new NamedTestObject("object 0");
     private static final Object OBJECT_1 = new NamedTestObject("object 1");
     private static final Object OBJECT_2 = new NamedTestObject("object 2");
 
+    private static void assertBalanced(ImmutableTreeNode<?> node) {
+        if (node == null) {
+            return;
+        }
+
+        final int leftSize = node.getLeft() == null ? 0 : node.getLeft().getSize();
+        final int rightSize = node.getRight() == null ? 0 : node.getRight().getSize();
+        if (leftSize + rightSize > 1) {
+            assertThat("left subtree too large: " + leftSize + " vs " + rightSize, leftSize <= 3 * rightSize, is(true));
+            assertThat("right subtree too large: " + rightSize + " vs " + leftSize, rightSize <= 3 * leftSize, is(true));
+        }
+
+        assertBalanced(node.getLeft());
+        assertBalanced(node.getRight());
+    }
+
+    private static void assertListContainsRange(ImmutableTreeList<Object> list, int start, int end) {
+        assertThat(list.size(), is(end - start));
+        for (int i = start; i < end; i++) {
+            assertThat(list.get(i - start), is((Object) i));
+        }
+
+        assertBalanced(list.getRoot());
+    }
+
     private static ImmutableTreeList<String> createListFromString(String list) {
         try {
             try (Reader reader = new StringReader(list)) {
@@ -131,6 +174,15 @@ public class AbstractImmutableTreeListFactoryTest {
         return new ImmutableTreeNode<>(left, element, right);
     }
 
+    private static ImmutableTreeList<Object> createRange(int start, int end) {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            elements.add(i);
+        }
+
+        return FACTORY_1.create(elements);
+    }
+
     private static String dumpListToString(ImmutableTreeList<String> list) {
         final ImmutableTreeNode<String> root = list.getRoot();
         if (root == null) {
@@ -332,6 +384,39 @@ public class AbstractImmutableTreeListFactoryTest {
         assertThat(list.get(1), is(OBJECT_1));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#concat(AbstractImmutableTreeList, AbstractImmutableTreeList)} creates a
+     * balanced {@link AbstractImmutableTreeList} that contains the elements of the first list followed by the elements of the second
+     * list.
+     */
+    @Test
+    public void concat() {
+        for (int leftSize = 0; leftSize <= 20; leftSize++) {
+            for (int rightSize = 0; rightSize <= 20; rightSize++) {
+                final ImmutableTreeList<Object> list = FACTORY_1.concat(createRange(0, leftSize),
+                        createRange(leftSize, leftSize + rightSize));
+                assertListContainsRange(list, 0, leftSize + rightSize);
+            }
+        }
+
+        assertListContainsRange(FACTORY_1.concat(createRange(0, 1), createRange(1, 1000)), 0, 1000);
+        assertListContainsRange(FACTORY_1.concat(createRange(0, 999), createRange(999, 1000)), 0, 1000);
+        assertListContainsRange(FACTORY_1.concat(createRange(0, 7), createRange(7, 1000)), 0, 1000);
+        assertListContainsRange(FACTORY_1.concat(createRange(0, 993), createRange(993, 1000)), 0, 1000);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#concat(AbstractImmutableTreeList, AbstractImmutableTreeList)} returns the
+     * non-empty list when the other list is empty.
+     */
+    @Test
+    public void concatEmpty() {
+        final ImmutableTreeList<Object> list = createRange(0, 10);
+        final ImmutableTreeList<Object> emptyList = FACTORY_1.create();
+        assertThat(FACTORY_1.concat(list, emptyList), is(sameInstance(list)));
+        assertThat(FACTORY_1.concat(emptyList, list), is(sameInstance(list)));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeListFactory#create()} creates an empty {@link AbstractImmutableTreeList}.
      */
@@ -392,6 +477,269 @@ public class AbstractImmutableTreeListFactoryTest {
         assertThat(list.get(1), is((Object) 4));
     }
 
+    /**
+     * Asserts that the operations of {@link AbstractImmutableTreeListFactory} create nodes with
+     * {@link AbstractImmutableTreeNodeFactory#createNode(AbstractImmutableTreeNode, Object, AbstractImmutableTreeNode)} only for
+     * the new elements, and with
+     * {@link AbstractImmutableTreeNodeFactory#copyNode(AbstractImmutableTreeNode, AbstractImmutableTreeNode, AbstractImmutableTreeNode)}
+     * for the elements that they move.
+     */
+    @Test
+    public void createNodeOnlyForNewElements() {
+        final ArrayList<Object> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(i);
+        }
+
+        TestList list = FACTORY_0.create(elements);
+        TestFactory.createNodeCount = 0;
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            list = FACTORY_0.add(list, random.nextInt(list.size() + 1), OBJECT_0);
+            list = FACTORY_0.remove(list, random.nextInt(list.size()));
+            list = FACTORY_0.set(list, random.nextInt(list.size()), OBJECT_1);
+            final int fromIndex = random.nextInt(list.size() - 10);
+            list = FACTORY_0.replaceRange(list, fromIndex, fromIndex + 2, Arrays.asList(OBJECT_2, OBJECT_2));
+            final int middle = list.size() / 2;
+            list = FACTORY_0.concat(FACTORY_0.slice(list, middle, list.size()), FACTORY_0.slice(list, 0, middle));
+        }
+
+        assertThat(TestFactory.createNodeCount, is(200 * 4));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#diff(AbstractImmutableTreeList, AbstractImmutableTreeList)} reports the
+     * inserted, deleted and replaced ranges between a list and lists derived from it.
+     */
+    @Test
+    public void diff() {
+        final ImmutableTreeList<Object> list = createRange(0, 10000);
+        assertThat(FACTORY_1.diff(list, list).isEmpty(), is(true));
+        assertThat(FACTORY_1.diff(list, FACTORY_1.set(list, 5000, -1)).toString(), is("[REPLACE [5000, 5001) -> [5000, 5001)]"));
+        assertThat(FACTORY_1.diff(list, FACTORY_1.set(list, 5000, 5000)).isEmpty(), is(true));
+        assertThat(FACTORY_1.diff(list, FACTORY_1.add(list, 1234, -1)).toString(), is("[INSERT [1234, 1234) -> [1234, 1235)]"));
+        assertThat(FACTORY_1.diff(list, FACTORY_1.remove(list, 9999)).toString(), is("[DELETE [9999, 10000) -> [9999, 9999)]"));
+        assertThat(FACTORY_1.diff(list, FACTORY_1.removeRange(FACTORY_1.set(list, 10, -1), 100, 200)).toString(),
+                is("[REPLACE [10, 11) -> [10, 11), DELETE [100, 200) -> [100, 100)]"));
+        assertThat(FACTORY_1.diff(list, createRange(0, 10000)).isEmpty(), is(true));
+        assertThat(FACTORY_1.diff(FACTORY_1.create(), list).toString(), is("[INSERT [0, 0) -> [0, 10000)]"));
+        assertThat(FACTORY_1.diff(list, FACTORY_1.create()).toString(), is("[DELETE [0, 10000) -> [0, 0)]"));
+    }
+
+    /**
+     * Asserts that replacing the ranges reported by
+     * {@link AbstractImmutableTreeListFactory#diff(AbstractImmutableTreeList, AbstractImmutableTreeList)} in the old list yields
+     * the new list, after random modifications.
+     */
+    @Test
+    public void diffRandomModifications() {
+        final Random random = new Random(42);
+        final ImmutableTreeList<Object> oldList = createRange(0, 10000);
+        for (int round = 0; round < 50; round++) {
+            ImmutableTreeList<Object> newList = oldList;
+            for (int i = 0; i < 20; i++) {
+                switch (random.nextInt(3)) {
+                case 0:
+                    newList = FACTORY_1.add(newList, random.nextInt(newList.size() + 1), -i);
+                    break;
+
+                case 1:
+                    newList = FACTORY_1.remove(newList, random.nextInt(newList.size()));
+                    break;
+
+                default:
+                    newList = FACTORY_1.set(newList, random.nextInt(newList.size()), -i);
+                    break;
+                }
+            }
+
+            final List<AbstractImmutableTreeListFactory.Change> changes = FACTORY_1.diff(oldList, newList);
+            assertThat(changes.size() <= 20, is(true));
+
+            final ArrayList<Object> elements = new ArrayList<>(oldList);
+            for (int i = changes.size() - 1; i >= 0; i--) {
+                final AbstractImmutableTreeListFactory.Change change = changes.get(i);
+                final List<Object> range = elements.subList(change.getOldFromIndex(), change.getOldToIndex());
+                range.clear();
+                range.addAll(newList.subList(change.getNewFromIndex(), change.getNewToIndex()));
+            }
+
+            assertThat(elements, is((List<Object>) newList));
+        }
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#filter(AbstractImmutableTreeList, Predicate)} creates a balanced
+     * {@link AbstractImmutableTreeList} with the elements that match the predicate, in order.
+     */
+    @Test
+    public void filter() {
+        final ImmutableTreeList<Object> list = FACTORY_1.filter(createRange(0, 10000), new Predicate<Object>() {
+            @Override
+            public boolean test(Object t) {
+                return (Integer) t % 3 == 0;
+            }
+        });
+
+        assertThat(list.size(), is(3334));
+        for (int i = 0; i < list.size(); i++) {
+            assertThat(list.get(i), is((Object) (i * 3)));
+        }
+
+        assertBalanced(list.getRoot());
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#filter(AbstractImmutableTreeList, Predicate)} shares the subtrees in
+     * which every element is kept with the original list.
+     */
+    @Test
+    public void filterSharesUnmodifiedSubtrees() {
+        final ImmutableTreeList<Object> list = createRange(0, 10000);
+        assertThat(FACTORY_1.filter(list, new Predicate<Object>() {
+            @Override
+            public boolean test(Object t) {
+                return true;
+            }
+        }), is(sameInstance(list)));
+
+        final ImmutableTreeList<Object> newList = FACTORY_1.filter(list, new Predicate<Object>() {
+            @Override
+            public boolean test(Object t) {
+                return !t.equals(9999);
+            }
+        });
+
+        assertListContainsRange(newList, 0, 9999);
+        assertThat(newList.getRoot().getLeft(), is(sameInstance(list.getRoot().getLeft())));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#forEach(AbstractImmutableTreeList, Consumer)} performs the action on
+     * each element of the list exactly once.
+     */
+    @Test
+    public void forEach() {
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong count = new AtomicLong();
+        FACTORY_1.forEach(createRange(0, 100000), new Consumer<Object>() {
+            @Override
+            public void accept(Object t) {
+                sum.addAndGet((Integer) t);
+                count.incrementAndGet();
+            }
+        });
+
+        assertThat(count.get(), is(100000L));
+        assertThat(sum.get(), is(100000L * 99999L / 2));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#insertAll(AbstractImmutableTreeList, int, Collection)} creates a balanced
+     * {@link AbstractImmutableTreeList} with the elements of the collection inserted at the specified position.
+     */
+    @Test
+    public void insertAll() {
+        for (int size = 0; size <= 20; size++) {
+            for (int count = 0; count <= 20; count++) {
+                for (int index = 0; index <= size; index++) {
+                    final ImmutableTreeList<Object> list = FACTORY_1.concat(createRange(0, index),
+                            createRange(index + count, size + count));
+                    final ImmutableTreeList<Object> newList = FACTORY_1.insertAll(list, index, createRange(index, index + count));
+                    assertListContainsRange(newList, 0, size + count);
+                }
+            }
+        }
+
+        assertListContainsRange(FACTORY_1.insertAll(createRange(1000, 1001), 0, createRange(0, 1000)), 0, 1001);
+        assertListContainsRange(FACTORY_1.insertAll(createRange(0, 1), 1, createRange(1, 1000)), 0, 1000);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#insertAll(AbstractImmutableTreeList, int, Collection)} returns the
+     * original list when the collection is empty.
+     */
+    @Test
+    public void insertAllEmptyCollection() {
+        final ImmutableTreeList<Object> list = createRange(0, 10);
+        assertThat(FACTORY_1.insertAll(list, 5, SAMPLE_COLLECTION_0), is(sameInstance(list)));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#insertAll(AbstractImmutableTreeList, int, Collection)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void insertAllIndexTooHigh() {
+        FACTORY_1.insertAll(createRange(0, 10), 11, SAMPLE_COLLECTION_2);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#map(AbstractImmutableTreeList, Function)} creates an
+     * {@link AbstractImmutableTreeList} with the results of the function, with the same shape as the original list.
+     */
+    @Test
+    public void map() {
+        final ImmutableTreeList<Object> list = createRange(0, 10000);
+        final ImmutableTreeList<Object> newList = FACTORY_1.map(list, new Function<Object, Object>() {
+            @Override
+            public Object apply(Object t) {
+                return (Integer) t + 5;
+            }
+        });
+
+        assertListContainsRange(newList, 5, 10005);
+        assertThat(newList.getRoot().getLeft().getSize(), is(list.getRoot().getLeft().getSize()));
+        assertThat(newList.getRoot().getRight().getLeft().getSize(), is(list.getRoot().getRight().getLeft().getSize()));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#map(AbstractImmutableTreeList, Function, AbstractImmutableTreeListFactory)}
+     * creates a list with the specified factory.
+     */
+    @Test
+    public void mapWithFactory() {
+        final ImmutableTreeList<String> list = FACTORY_1.map(createRange(0, 3000), new Function<Object, String>() {
+            @Override
+            public String apply(Object t) {
+                return t.toString();
+            }
+        }, FACTORY_2);
+
+        assertThat(list.size(), is(3000));
+        assertThat(list.get(2999), is("2999"));
+        assertThat(FACTORY_1.map(FACTORY_1.create(), new Function<Object, String>() {
+            @Override
+            public String apply(Object t) {
+                return t.toString();
+            }
+        }, FACTORY_2), is(sameInstance(FACTORY_2.create())));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#reduce(AbstractImmutableTreeList, Object, BinaryOperator)} combines the
+     * elements of the list in order.
+     */
+    @Test
+    public void reduce() {
+        final BinaryOperator<String> concatenate = new BinaryOperator<String>() {
+            @Override
+            public String apply(String t, String u) {
+                return t + u;
+            }
+        };
+
+        final StringBuilder expected = new StringBuilder();
+        final ArrayList<String> elements = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            elements.add(Character.toString((char) ('a' + i % 26)));
+            expected.append((char) ('a' + i % 26));
+        }
+
+        assertThat(FACTORY_2.reduce(FACTORY_2.create(elements), "", concatenate), is(expected.toString()));
+        assertThat(FACTORY_2.reduce(FACTORY_2.create(), "", concatenate), is(""));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeListFactory#remove(AbstractImmutableTreeList, int)} creates a new
      * {@link AbstractImmutableTreeList} with the specified element removed from the list and re-balances the list if necessary.
@@ -482,6 +830,80 @@ public class AbstractImmutableTreeListFactoryTest {
         FACTORY_0.remove(new TestList(null), -1);
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#removeRange(AbstractImmutableTreeList, int, int)} creates a balanced
+     * {@link AbstractImmutableTreeList} with the elements in the specified range removed from the list.
+     */
+    @Test
+    public void removeRange() {
+        for (int size = 0; size <= 20; size++) {
+            final ImmutableTreeList<Object> list = createRange(0, size);
+            for (int fromIndex = 0; fromIndex <= size; fromIndex++) {
+                for (int toIndex = fromIndex; toIndex <= size; toIndex++) {
+                    final ImmutableTreeList<Object> newList = FACTORY_1.removeRange(list, fromIndex, toIndex);
+                    assertListContainsRange(FACTORY_1.slice(newList, 0, fromIndex), 0, fromIndex);
+                    assertListContainsRange(FACTORY_1.slice(newList, fromIndex, newList.size()), toIndex, size);
+                }
+            }
+        }
+
+        final ImmutableTreeList<Object> list = createRange(0, 1000);
+        assertListContainsRange(FACTORY_1.removeRange(list, 0, 999), 999, 1000);
+        assertListContainsRange(FACTORY_1.removeRange(list, 1, 1000), 0, 1);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#removeRange(AbstractImmutableTreeList, int, int)} returns the original
+     * list when the range is empty.
+     */
+    @Test
+    public void removeRangeEmpty() {
+        final ImmutableTreeList<Object> list = createRange(0, 10);
+        assertThat(FACTORY_1.removeRange(list, 5, 5), is(sameInstance(list)));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#removeRange(AbstractImmutableTreeList, int, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>fromIndex</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeRangeFromIndexTooLow() {
+        FACTORY_1.removeRange(createRange(0, 10), -1, 5);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#replaceRange(AbstractImmutableTreeList, int, int, Collection)} creates a
+     * balanced {@link AbstractImmutableTreeList} with the elements in the specified range replaced with the elements of the
+     * collection.
+     */
+    @Test
+    public void replaceRange() {
+        for (int size = 0; size <= 16; size++) {
+            final ImmutableTreeList<Object> list = createRange(0, size);
+            for (int fromIndex = 0; fromIndex <= size; fromIndex++) {
+                for (int toIndex = fromIndex; toIndex <= size; toIndex++) {
+                    for (int count = 0; count <= 16; count++) {
+                        final ImmutableTreeList<Object> newList = FACTORY_1.replaceRange(list, fromIndex, toIndex,
+                                createRange(-count, 0));
+                        assertListContainsRange(FACTORY_1.slice(newList, 0, fromIndex), 0, fromIndex);
+                        assertListContainsRange(FACTORY_1.slice(newList, fromIndex, fromIndex + count), -count, 0);
+                        assertListContainsRange(FACTORY_1.slice(newList, fromIndex + count, newList.size()), toIndex, size);
+                        assertBalanced(newList.getRoot());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#replaceRange(AbstractImmutableTreeList, int, int, Collection)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>toIndex</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void replaceRangeToIndexTooHigh() {
+        FACTORY_1.replaceRange(createRange(0, 10), 5, 11, SAMPLE_COLLECTION_2);
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeListFactory#set(AbstractImmutableTreeList, int, Object)} throws an
      * {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than or equal to the list's size.
@@ -538,4 +960,94 @@ public class AbstractImmutableTreeListFactoryTest {
         assertThat(list.get(0), is(OBJECT_1));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#slice(AbstractImmutableTreeList, int, int)} creates a balanced
+     * {@link AbstractImmutableTreeList} that contains the elements in the specified range.
+     */
+    @Test
+    public void slice() {
+        for (int size = 0; size <= 20; size++) {
+            final ImmutableTreeList<Object> list = createRange(0, size);
+            for (int fromIndex = 0; fromIndex <= size; fromIndex++) {
+                for (int toIndex = fromIndex; toIndex <= size; toIndex++) {
+                    assertListContainsRange(FACTORY_1.slice(list, fromIndex, toIndex), fromIndex, toIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#slice(AbstractImmutableTreeList, int, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>fromIndex</code> argument is greater than the <code>toIndex</code> argument.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void sliceFromIndexAfterToIndex() {
+        FACTORY_1.slice(createRange(0, 10), 6, 5);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#slice(AbstractImmutableTreeList, int, int)} shares the subtrees that lie
+     * entirely within the specified range with the original list.
+     */
+    @Test
+    public void sliceSharesSubtrees() {
+        final ImmutableTreeList<Object> list = createRange(0, 100);
+        final ImmutableTreeList<Object> slice = FACTORY_1.slice(list, 1, 100);
+        assertListContainsRange(slice, 1, 100);
+        assertThat(slice.getRoot().getRight(), is(sameInstance(list.getRoot().getRight())));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#slice(AbstractImmutableTreeList, int, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>toIndex</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void sliceToIndexTooHigh() {
+        FACTORY_1.slice(createRange(0, 10), 0, 11);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#slice(AbstractImmutableTreeList, int, int)} returns the original list
+     * when the range covers the whole list.
+     */
+    @Test
+    public void sliceWhole() {
+        final ImmutableTreeList<Object> list = createRange(0, 10);
+        assertThat(FACTORY_1.slice(list, 0, 10), is(sameInstance(list)));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#split(AbstractImmutableTreeList, int)} creates two balanced
+     * {@link AbstractImmutableTreeList AbstractImmutableTreeLists} that contain the elements before and after the specified index.
+     */
+    @Test
+    public void split() {
+        for (int size = 0; size <= 40; size++) {
+            final ImmutableTreeList<Object> list = createRange(0, size);
+            for (int index = 0; index <= size; index++) {
+                final AbstractImmutableTreeListFactory.Split<ImmutableTreeList<Object>> split = FACTORY_1.split(list, index);
+                assertListContainsRange(split.getLeft(), 0, index);
+                assertListContainsRange(split.getRight(), index, size);
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#split(AbstractImmutableTreeList, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void splitIndexTooHigh() {
+        FACTORY_1.split(createRange(0, 10), 11);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeListFactory#split(AbstractImmutableTreeList, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void splitIndexTooLow() {
+        FACTORY_1.split(createRange(0, 10), -1);
+    }
+
 }
@@ -6,11 +6,15 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
 
 import org.hamcrest.Matcher;
 import org.junit.Test;
@@ -43,6 +47,15 @@ public class AbstractImmutableTreeListSubListTest {
 
     private static final Object[] EMPTY_ARRAY_OF_OBJECTS = new Object[0];
 
+    private static ArrayList<Integer> createRange(int start, int end) {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            elements.add(i);
+        }
+
+        return elements;
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList.TreeSubList#containsAll(Collection)} returns <code>false</code> when some of
      * the elements of the specified collection are not elements of the sublist.
@@ -79,6 +92,47 @@ public class AbstractImmutableTreeListSubListTest {
         assertThat(SUB_LIST_1_2.contains(CENTER_OBJECT), is(true));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeList.TreeSubList#equals(Object)} compares the sublist with lists and with other
+     * sublists by their elements.
+     */
+    @Test
+    public void equals() {
+        final List<Object> expected = Arrays.asList(CENTER_OBJECT, RIGHT_OBJECT, LEFT_OBJECT, CENTER_OBJECT);
+        assertThat(SUB_LIST_WITH_DUPLICATES.equals(expected), is(true));
+        assertThat(expected.equals(SUB_LIST_WITH_DUPLICATES), is(true));
+        assertThat(SUB_LIST_WITH_DUPLICATES.equals(ImmutableTreeListFactory.getInstance().create(expected)), is(true));
+        assertThat(ImmutableTreeListFactory.getInstance().create(expected).equals(SUB_LIST_WITH_DUPLICATES), is(true));
+        assertThat(SUB_LIST_WITH_DUPLICATES.subList(0, 1).equals(SUB_LIST_1_2), is(true));
+        assertThat(SUB_LIST_WITH_DUPLICATES.subList(0, 1).equals(SUB_LIST_1_3), is(false));
+        assertThat(SUB_LIST_1_3.equals(SUB_LIST_WITH_DUPLICATES.subList(0, 2)), is(true));
+        assertThat(SUB_LIST_1_1.equals(Collections.emptyList()), is(true));
+        assertThat(SUB_LIST_1_2.equals(LIST), is(false));
+        assertThat(SUB_LIST_1_2.equals(new Object()), is(false));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList.TreeSubList#forEach(java.util.function.Consumer)} performs the action on each
+     * element of the sublist, in order.
+     */
+    @Test
+    public void forEach() {
+        final ArrayList<Object> elements = new ArrayList<>();
+        final ca.fragag.Consumer<Object> addToElements = new ca.fragag.Consumer<Object>() {
+            @Override
+            public void accept(Object object) {
+                elements.add(object);
+            }
+        };
+
+        SUB_LIST_WITH_DUPLICATES.forEach(addToElements);
+        assertThat(elements, is(Arrays.asList(CENTER_OBJECT, RIGHT_OBJECT, LEFT_OBJECT, CENTER_OBJECT)));
+
+        elements.clear();
+        SUB_LIST_1_1.forEach(addToElements);
+        assertThat(elements.isEmpty(), is(true));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList.TreeSubList#get(int)} throws an {@link IndexOutOfBoundsException} when the
      * <code>index</code> argument is greater than or equal to the sublist's size.
@@ -105,6 +159,26 @@ public class AbstractImmutableTreeListSubListTest {
         assertThat(SUB_LIST_1_2.get(0), is(CENTER_OBJECT));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeList.TreeSubList#hashCode()} computes the hash code specified by
+     * {@link List#hashCode()}.
+     */
+    @Test
+    public void hashCodeTest() {
+        assertThat(SUB_LIST_WITH_DUPLICATES.hashCode(),
+                is(Arrays.asList(CENTER_OBJECT, RIGHT_OBJECT, LEFT_OBJECT, CENTER_OBJECT).hashCode()));
+        assertThat(SUB_LIST_1_1.hashCode(), is(Collections.emptyList().hashCode()));
+        assertThat(SUB_LIST_1_3.hashCode(), is(Arrays.asList(CENTER_OBJECT, RIGHT_OBJECT).hashCode()));
+
+        final ImmutableTreeList<Integer> list = ImmutableTreeListFactory.<Integer> getInstance().create(createRange(0, 1000));
+        list.hashCode();
+        for (int fromIndex = 0; fromIndex <= 1000; fromIndex += 37) {
+            for (int toIndex = fromIndex; toIndex <= 1000; toIndex += 41) {
+                assertThat(list.subList(fromIndex, toIndex).hashCode(), is(createRange(fromIndex, toIndex).hashCode()));
+            }
+        }
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList.TreeSubList#indexOf(Object)} returns -1 when the specified object is not an
      * element of the sublist.
@@ -212,6 +286,26 @@ public class AbstractImmutableTreeListSubListTest {
         assertThat(SUB_LIST_1_2.size(), is(1));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeList.TreeSubList#spliterator()} returns a spliterator over the sublist's elements
+     * that reports its exact size.
+     */
+    @Test
+    public void spliterator() {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(i);
+        }
+
+        final List<Integer> subList = ImmutableTreeListFactory.<Integer> getInstance().create(elements).subList(100, 900);
+        final Spliterator<Integer> spliterator = subList.spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED), is(true));
+        assertThat(spliterator.getExactSizeIfKnown(), is(800L));
+        assertThat(spliterator.trySplit().getExactSizeIfKnown(), is(400L));
+        assertThat(subList.parallelStream().collect(Collectors.toList()), is(elements.subList(100, 900)));
+        assertThat(SUB_LIST_1_1.spliterator().getExactSizeIfKnown(), is(0L));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList.TreeSubList#subList(int, int)} returns a sublist that contains the elements
      * contained in the range designated by the <code>fromIndex</code> and <code>toIndex</code> arguments.
@@ -252,6 +346,21 @@ public class AbstractImmutableTreeListSubListTest {
         assertThat(array, is(arrayContaining(Arrays.<Matcher<? super Object>> asList(sameInstance(CENTER_OBJECT)))));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeList.TreeSubList#toArray()} returns an array that contains the sublist's elements
+     * when the sublist spans several levels of the tree.
+     */
+    @Test
+    public void toArrayLargeList() {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(i);
+        }
+
+        final List<Integer> subList = ImmutableTreeListFactory.<Integer> getInstance().create(elements).subList(100, 900);
+        assertThat(Arrays.asList(subList.toArray()), is((List<Object>) new ArrayList<Object>(elements.subList(100, 900))));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList.TreeSubList#toArray(Object[])} returns the specified array filled with the
      * sublist's elements when the specified array has the same size as the sublist.
@@ -8,11 +8,16 @@ import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.collection.IsArrayWithSize.arrayWithSize;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.hamcrest.Matcher;
 import org.junit.Test;
@@ -24,6 +29,29 @@ import org.junit.Test;
  */
 public class AbstractImmutableTreeListTest {
 
+    private static final class CountingObject {
+
+        static int equalsCount;
+
+        private final int value;
+
+        CountingObject(int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            equalsCount++;
+            return obj instanceof CountingObject && ((CountingObject) obj).value == this.value;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.value;
+        }
+
+    }
+
     private static final Object A_SAMPLE_OBJECT = new Object();
     private static final Object ANOTHER_SAMPLE_OBJECT = new Object();
     private static final Object[] EMPTY_ARRAY_OF_OBJECTS = new Object[0];
@@ -34,6 +62,15 @@ public class AbstractImmutableTreeListTest {
     private static final ImmutableTreeList<Object> LIST_WITH_DUPLICATES = new ImmutableTreeList<>(new ImmutableTreeNode<>(
             LEAF_NODE_OF_NULL, null, LEAF_NODE_OF_OBJECT));
 
+    private static ArrayList<Integer> createRange(int start, int end) {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            elements.add(i);
+        }
+
+        return elements;
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList#AbstractImmutableTreeList(AbstractImmutableTreeNode)} correctly initializes an
      * {@link AbstractImmutableTreeList}.
@@ -82,6 +119,171 @@ public class AbstractImmutableTreeListTest {
         assertThat(LIST_OF_A_SINGLE_NULL.contains(null), is(true));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeList.Cursor#get(int)} returns the elements of the list when they are accessed in
+     * sequence, in reverse and at random.
+     */
+    @Test
+    public void cursor() {
+        final ArrayList<Integer> elements = createRange(0, 1000);
+        final ImmutableTreeList<Integer> list = ImmutableTreeListFactory.<Integer> getInstance().create(elements);
+        final AbstractImmutableTreeList<Integer, ImmutableTreeNode<Integer>>.Cursor cursor = list.cursor();
+        assertThat(cursor.getList(), is(sameInstance((Object) list)));
+
+        for (int i = 0; i < elements.size(); i++) {
+            assertThat(cursor.get(i), is(elements.get(i)));
+        }
+
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            assertThat(cursor.get(i), is(elements.get(i)));
+        }
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final int index = random.nextInt(elements.size());
+            assertThat(cursor.get(index), is(elements.get(index)));
+        }
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList.Cursor#get(int)} throws an {@link IndexOutOfBoundsException} when the index is
+     * equal to the size of the list.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void cursorGetSize() {
+        final AbstractImmutableTreeList<Object, ImmutableTreeNode<Object>>.Cursor cursor = LIST_WITH_DUPLICATES.cursor();
+        cursor.get(2);
+        cursor.get(3);
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#equals(Object)} compares lists by their elements, as specified by
+     * {@link List#equals(Object)}.
+     */
+    @Test
+    public void equals() {
+        final ImmutableTreeListFactory<Integer> factory = ImmutableTreeListFactory.getInstance();
+        final ImmutableTreeList<Integer> list = factory.create(createRange(0, 100));
+
+        assertThat(list.equals(factory.create(createRange(0, 100))), is(true));
+        assertThat(list.equals(createRange(0, 100)), is(true));
+        assertThat(createRange(0, 100).equals(list), is(true));
+        assertThat(list.equals(factory.create(createRange(0, 99))), is(false));
+        assertThat(list.equals(factory.set(list, 50, -1)), is(false));
+        assertThat(list.equals(factory.set(list, 50, 50)), is(true));
+        assertThat(list.equals(createRange(1, 101)), is(false));
+        assertThat(list.equals(null), is(false));
+        assertThat(list.equals(new Object()), is(false));
+        assertThat(ImmutableTreeList.getEmpty().equals(new ArrayList<>()), is(true));
+        assertThat(LIST_WITH_DUPLICATES.equals(Arrays.asList(null, null, A_SAMPLE_OBJECT)), is(true));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#equals(Object)} doesn't compare the elements in the subtrees that are shared
+     * by both lists.
+     */
+    @Test
+    public void equalsSharedSubtrees() {
+        final ImmutableTreeListFactory<CountingObject> factory = ImmutableTreeListFactory.getInstance();
+        final ArrayList<CountingObject> elements = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            elements.add(new CountingObject(i));
+        }
+
+        final ImmutableTreeList<CountingObject> list = factory.create(elements);
+        final ImmutableTreeList<CountingObject> derivedList = factory.add(factory.remove(
+                factory.set(list, 5000, new CountingObject(5000)), 9999), new CountingObject(9999));
+
+        CountingObject.equalsCount = 0;
+        assertThat(list.equals(derivedList), is(true));
+        assertThat(derivedList.subList(10, 9990).equals(list.subList(10, 9990)), is(true));
+        assertThat(CountingObject.equalsCount < 200, is(true));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#equals(Object)} compares ranges of lists whose trees have different shapes and
+     * share no subtrees, comparing each element once.
+     */
+    @Test
+    public void equalsUnrelatedTrees() {
+        final ImmutableTreeListFactory<CountingObject> factory = ImmutableTreeListFactory.getInstance();
+        final ArrayList<CountingObject> elements = new ArrayList<>();
+        ImmutableTreeList<CountingObject> appendedList = factory.create();
+        for (int i = 0; i < 1000; i++) {
+            elements.add(new CountingObject(i % 7));
+            appendedList = factory.add(appendedList, new CountingObject(i % 7));
+        }
+
+        final ImmutableTreeList<CountingObject> list = factory.create(elements);
+        CountingObject.equalsCount = 0;
+        assertThat(list.equals(appendedList), is(true));
+        assertThat(CountingObject.equalsCount, is(1000));
+
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final int length = random.nextInt(100);
+            final int fromIndex = random.nextInt(1000 - length + 1);
+            final int otherFromIndex = random.nextInt(1000 - length + 1);
+            final List<CountingObject> subList = list.subList(fromIndex, fromIndex + length);
+            final List<CountingObject> otherSubList = appendedList.subList(otherFromIndex, otherFromIndex + length);
+            assertThat(subList.equals(otherSubList), is(new ArrayList<>(subList).equals(otherSubList)));
+        }
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#forEach(java.util.function.Consumer)} performs the action on each element of
+     * the list, in order.
+     */
+    @Test
+    public void forEach() {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        ImmutableTreeListFactory.<Integer> getInstance().create(createRange(0, 100)).forEach(new ca.fragag.Consumer<Integer>() {
+            @Override
+            public void accept(Integer object) {
+                elements.add(object);
+            }
+        });
+
+        assertThat(elements, is(createRange(0, 100)));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#forEach(int, int, java.util.function.Consumer)} performs the action on each
+     * element in the specified range of the list, in order.
+     */
+    @Test
+    public void forEachIntInt() {
+        final ImmutableTreeList<Integer> list = ImmutableTreeListFactory.<Integer> getInstance().create(createRange(0, 100));
+        final ArrayList<Integer> elements = new ArrayList<>();
+        final ca.fragag.Consumer<Integer> addToElements = new ca.fragag.Consumer<Integer>() {
+            @Override
+            public void accept(Integer object) {
+                elements.add(object);
+            }
+        };
+
+        for (int fromIndex = 0; fromIndex <= 100; fromIndex += 7) {
+            for (int toIndex = fromIndex; toIndex <= 100; toIndex += 5) {
+                elements.clear();
+                list.forEach(fromIndex, toIndex, addToElements);
+                assertThat(elements, is(createRange(fromIndex, toIndex)));
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#forEach(int, int, java.util.function.Consumer)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>fromIndex</code> argument is greater than the <code>toIndex</code> argument.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void forEachIntIntReversed() {
+        LIST_WITH_DUPLICATES.forEach(2, 1, new ca.fragag.Consumer<Object>() {
+            @Override
+            public void accept(Object object) {
+            }
+        });
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList#get(int)} throws an {@link IndexOutOfBoundsException} when the
      * <code>index</code> argument is greater than or equal to the sublist's size.
@@ -108,6 +310,26 @@ public class AbstractImmutableTreeListTest {
         assertThat(LIST_OF_A_SINGLE_NULL.get(0), is(nullValue()));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#hashCode()} computes the hash code specified by {@link List#hashCode()}, both
+     * for new lists and for lists derived from lists whose hash code has already been computed.
+     */
+    @Test
+    public void hashCodeTest() {
+        final ImmutableTreeListFactory<Integer> factory = ImmutableTreeListFactory.getInstance();
+        final ImmutableTreeList<Integer> list = factory.create(createRange(0, 1000));
+        assertThat(list.hashCode(), is(createRange(0, 1000).hashCode()));
+
+        final ImmutableTreeList<Integer> derivedList = factory.remove(factory.add(list, 123, 0), 999);
+        final ArrayList<Integer> expected = createRange(0, 1000);
+        expected.add(123, 0);
+        expected.remove(999);
+        assertThat(derivedList.hashCode(), is(expected.hashCode()));
+
+        assertThat(ImmutableTreeList.getEmpty().hashCode(), is(new ArrayList<>().hashCode()));
+        assertThat(LIST_WITH_DUPLICATES.hashCode(), is(Arrays.asList(null, null, A_SAMPLE_OBJECT).hashCode()));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList#indexOf(Object)} returns -1 when the specified object is not found in the list.
      */
@@ -204,6 +426,16 @@ public class AbstractImmutableTreeListTest {
         assertThat(iterator.hasNext(), is(false));
     }
 
+    /**
+     * Asserts that a parallel stream over an {@link AbstractImmutableTreeList} processes all of the list's elements.
+     */
+    @Test
+    public void parallelStream() {
+        final ImmutableTreeList<Integer> list = ImmutableTreeListFactory.<Integer> getInstance().create(createRange(0, 100000));
+        assertThat(list.parallelStream().mapToLong(Integer::longValue).sum(), is(100000L * 99999L / 2));
+        assertThat(list.parallelStream().collect(Collectors.toList()), is((List<Integer>) createRange(0, 100000)));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList#size()} returns 0 for an empty list.
      */
@@ -220,6 +452,50 @@ public class AbstractImmutableTreeListTest {
         assertThat(LIST_OF_A_SINGLE_NULL.size(), is(1));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#spliterator()} returns a spliterator that reports its exact size and that
+     * splits its range in two halves.
+     */
+    @Test
+    public void spliterator() {
+        final ImmutableTreeList<Integer> list = ImmutableTreeListFactory.<Integer> getInstance().create(createRange(0, 101));
+        final Spliterator<Integer> spliterator = list.spliterator();
+        assertThat(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED), is(true));
+        assertThat(spliterator.getExactSizeIfKnown(), is(101L));
+
+        final Spliterator<Integer> prefix = spliterator.trySplit();
+        assertThat(prefix.getExactSizeIfKnown(), is(50L));
+        assertThat(spliterator.getExactSizeIfKnown(), is(51L));
+
+        final ArrayList<Integer> elements = new ArrayList<>();
+        final Consumer<Integer> addToElements = new Consumer<Integer>() {
+            @Override
+            public void accept(Integer t) {
+                elements.add(t);
+            }
+        };
+
+        assertThat(prefix.tryAdvance(addToElements), is(true));
+        assertThat(prefix.tryAdvance(addToElements), is(true));
+        final Spliterator<Integer> prefixOfPrefix = prefix.trySplit();
+        prefixOfPrefix.forEachRemaining(addToElements);
+        prefix.forEachRemaining(addToElements);
+        assertThat(prefix.tryAdvance(addToElements), is(false));
+        spliterator.forEachRemaining(addToElements);
+        assertThat(elements, is(createRange(0, 101)));
+    }
+
+    /**
+     * Asserts that {@link AbstractImmutableTreeList#spliterator()} returns a spliterator that doesn't split when the list has less
+     * than 2 elements.
+     */
+    @Test
+    public void spliteratorSingleElement() {
+        final Spliterator<Object> spliterator = LIST_OF_A_SINGLE_OBJECT.spliterator();
+        assertThat(spliterator.trySplit(), is(nullValue()));
+        assertThat(ImmutableTreeList.getEmpty().spliterator().trySplit(), is(nullValue()));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeList#subList(int, int)} returns a sublist.
      */
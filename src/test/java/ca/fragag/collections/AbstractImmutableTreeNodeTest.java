@@ -24,6 +24,30 @@ public class AbstractImmutableTreeNodeTest {
     private static final ImmutableTreeNode<Object> ROOT_NODE = new ImmutableTreeNode<>(LEFT_NODE, CENTER_OBJECT, RIGHT_NODE);
     private static final ImmutableTreeNode<Object> NODE_WITH_DUPLICATES = new ImmutableTreeNode<>(LEFT_NODE, CENTER_OBJECT,
             LEFT_NODE);
+    private static final int DEGENERATE_TREE_SIZE = 100000;
+
+    /**
+     * Creates a degenerate tree, in which every node has a single child, whose elements are the integers from 0 to
+     * {@link #DEGENERATE_TREE_SIZE} - 1. Such a tree is much deeper than the recursion depth the default thread stack allows.
+     *
+     * @param leftLeaning
+     *            <code>true</code> to put the children on the left of their parent, <code>false</code> to put them on the right
+     * @return the root of the tree
+     */
+    private static ImmutableTreeNode<Object> createDegenerateTree(boolean leftLeaning) {
+        ImmutableTreeNode<Object> node = null;
+        if (leftLeaning) {
+            for (int i = 0; i < DEGENERATE_TREE_SIZE; i++) {
+                node = new ImmutableTreeNode<>(node, i, null);
+            }
+        } else {
+            for (int i = DEGENERATE_TREE_SIZE - 1; i >= 0; i--) {
+                node = new ImmutableTreeNode<>(null, i, node);
+            }
+        }
+
+        return node;
+    }
 
     /**
      * Asserts that
@@ -57,6 +81,15 @@ public class AbstractImmutableTreeNodeTest {
         assertThat(ROOT_NODE.get(1), is(CENTER_OBJECT));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeNode#get(int)} returns the correct element in a degenerate tree.
+     */
+    @Test
+    public void getDegenerateTree() {
+        assertThat(createDegenerateTree(true).get(0), is((Object) 0));
+        assertThat(createDegenerateTree(false).get(DEGENERATE_TREE_SIZE - 1), is((Object) (DEGENERATE_TREE_SIZE - 1)));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeNode#get(int)} returns the correct element by navigating to the left node from the
      * root node.
@@ -83,6 +116,15 @@ public class AbstractImmutableTreeNodeTest {
         assertThat(ROOT_NODE.indexOf(CENTER_OBJECT, 100), is(101));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeNode#indexOf(Object, int)} returns the correct index in a degenerate tree.
+     */
+    @Test
+    public void indexOfObjectIntDegenerateTree() {
+        assertThat(createDegenerateTree(true).indexOf(DEGENERATE_TREE_SIZE - 1, 100), is(DEGENERATE_TREE_SIZE + 99));
+        assertThat(createDegenerateTree(false).indexOf(FOREIGN_OBJECT, 100), is(-1));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeNode#indexOf(Object, int)} returns the index of the first occurrence of an element
      * in the tree.
@@ -199,6 +241,15 @@ public class AbstractImmutableTreeNodeTest {
         assertThat(ROOT_NODE.lastIndexOf(CENTER_OBJECT, 103), is(101));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeNode#lastIndexOf(Object, int)} returns the correct index in a degenerate tree.
+     */
+    @Test
+    public void lastIndexOfObjectIntDegenerateTree() {
+        assertThat(createDegenerateTree(false).lastIndexOf(0, DEGENERATE_TREE_SIZE + 100), is(100));
+        assertThat(createDegenerateTree(true).lastIndexOf(FOREIGN_OBJECT, DEGENERATE_TREE_SIZE + 100), is(-1));
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeNode#lastIndexOf(Object, int)} returns the index of the last occurrence of an
      * element in the tree.
@@ -306,6 +357,19 @@ public class AbstractImmutableTreeNodeTest {
         assertThat(ROOT_NODE.lastIndexOf(RIGHT_OBJECT, 103), is(102));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeNode#powerOf31(int)} computes powers of 31 with the overflow semantics of
+     * <code>int</code> multiplication.
+     */
+    @Test
+    public void powerOf31() {
+        int expected = 1;
+        for (int exponent = 0; exponent < 1000; exponent++) {
+            assertThat(AbstractImmutableTreeNode.powerOf31(exponent), is(expected));
+            expected *= 31;
+        }
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeNode#toArray(Object[], int)} fills the specified array, starting at the specified
      * index, with the elements of the node and of its children.
@@ -326,6 +390,23 @@ public class AbstractImmutableTreeNodeTest {
         assertThat(array[6], is(FOREIGN_OBJECT));
     }
 
+    /**
+     * Asserts that {@link AbstractImmutableTreeNode#toArray(Object[], int)} fills the specified array with the elements of a
+     * degenerate tree, in order.
+     */
+    @Test
+    public void toArrayObjectArrayIntDegenerateTree() {
+        for (boolean leftLeaning : new boolean[] { true, false }) {
+            Object[] array = new Object[DEGENERATE_TREE_SIZE];
+
+            createDegenerateTree(leftLeaning).toArray(array, 0);
+
+            for (int i = 0; i < DEGENERATE_TREE_SIZE; i++) {
+                assertThat(array[i], is((Object) i));
+            }
+        }
+    }
+
     /**
      * Asserts that {@link AbstractImmutableTreeNode#toArray(Object[], int, int, int)} fills the specified array with the element at
      * the root node.
@@ -0,0 +1,302 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import ca.fragag.NamedTestObject;
+
+/**
+ * Test class for {@link ImmutableChunkedTreeListFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableChunkedTreeListFactoryTest {
+
+    private static final ImmutableChunkedTreeListFactory<Object> FACTORY = ImmutableChunkedTreeListFactory.getInstance();
+
+    private static final Object OBJECT_0 = new NamedTestObject("object 0");
+
+    private static void assertChunksValid(ImmutableChunkedTreeList<Object> list) {
+        for (Object[] chunk : list.getChunks()) {
+            assertThat(chunk.length > 0, is(true));
+            assertThat(chunk.length <= ImmutableChunkedTreeList.CHUNK_SIZE, is(true));
+        }
+    }
+
+    private static void assertListEquals(ImmutableChunkedTreeList<Object> list, List<Object> expected) {
+        assertThat(list.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(list.get(i), is(expected.get(i)));
+        }
+
+        assertChunksValid(list);
+    }
+
+    private static ArrayList<Object> createRange(int start, int end) {
+        final ArrayList<Object> elements = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            elements.add(i);
+        }
+
+        return elements;
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#add(ImmutableChunkedTreeList, Object)} appends elements to the list and
+     * fills chunks completely.
+     */
+    @Test
+    public void add() {
+        ImmutableChunkedTreeList<Object> list = FACTORY.create();
+        for (int i = 0; i < 100; i++) {
+            list = FACTORY.add(list, i);
+        }
+
+        assertListEquals(list, createRange(0, 100));
+        assertThat(list.getChunks().size(), is(4));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#add(ImmutableChunkedTreeList, int, Object)} inserts elements at the
+     * specified position, splitting chunks when necessary.
+     */
+    @Test
+    public void addIntObject() {
+        ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 100));
+        final ArrayList<Object> expected = createRange(0, 100);
+        for (int i = 0; i < 200; i++) {
+            final int index = i * 37 % (expected.size() + 1);
+            list = FACTORY.add(list, index, -i);
+            expected.add(index, -i);
+        }
+
+        assertListEquals(list, expected);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#add(ImmutableChunkedTreeList, int, Object)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addIntObjectIndexTooHigh() {
+        FACTORY.add(FACTORY.create(), 1, OBJECT_0);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#concat(ImmutableChunkedTreeList, ImmutableChunkedTreeList)} creates a
+     * list with the elements of both lists and merges the chunks where they are joined if they fit in one chunk.
+     */
+    @Test
+    public void concat() {
+        final ImmutableChunkedTreeList<Object> left = FACTORY.create(createRange(0, 70));
+        final ImmutableChunkedTreeList<Object> right = FACTORY.create(createRange(70, 90));
+        final ImmutableChunkedTreeList<Object> list = FACTORY.concat(left, right);
+        assertListEquals(list, createRange(0, 90));
+        assertThat(list.getChunks().size(), is(3));
+        assertThat(list.getChunks().get(0), is(sameInstance(left.getChunks().get(0))));
+
+        assertThat(FACTORY.concat(left, FACTORY.create()), is(sameInstance(left)));
+        assertThat(FACTORY.concat(FACTORY.create(), right), is(sameInstance(right)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#create()} returns the same value as
+     * {@link ImmutableChunkedTreeList#getEmpty()}.
+     */
+    @Test
+    public void create() {
+        assertThat(FACTORY.create(), is(sameInstance(ImmutableChunkedTreeList.getEmpty())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#create(java.util.Collection)} creates a list that contains the specified
+     * collection's elements in full chunks.
+     */
+    @Test
+    public void createCollection() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 70));
+        assertListEquals(list, createRange(0, 70));
+        assertThat(list.getChunks().size(), is(3));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#create(Iterable)} creates a list that contains the elements returned by
+     * the specified {@link Iterable}'s iterator.
+     */
+    @Test
+    public void createIterable() {
+        final Iterable<Object> iterable = new Iterable<Object>() {
+            @Override
+            public Iterator<Object> iterator() {
+                return createRange(0, 40).iterator();
+            }
+        };
+
+        assertListEquals(FACTORY.create(iterable), createRange(0, 40));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#insertAll(ImmutableChunkedTreeList, int, java.util.Collection)} inserts
+     * the elements of the collection at the specified position.
+     */
+    @Test
+    public void insertAll() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.insertAll(FACTORY.create(createRange(0, 100)), 45,
+                createRange(100, 150));
+        final ArrayList<Object> expected = createRange(0, 100);
+        expected.addAll(45, createRange(100, 150));
+        assertListEquals(list, expected);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#insertAll(ImmutableChunkedTreeList, int, java.util.Collection)} throws
+     * an {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void insertAllIndexTooHigh() {
+        FACTORY.insertAll(FACTORY.create(createRange(0, 10)), 11, createRange(0, 10));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#remove(ImmutableChunkedTreeList, int)} removes elements from the list and
+     * merges small chunks with their neighbors.
+     */
+    @Test
+    public void remove() {
+        ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 300));
+        final ArrayList<Object> expected = createRange(0, 300);
+        for (int i = 0; i < 280; i++) {
+            final int index = i * 13 % expected.size();
+            list = FACTORY.remove(list, index);
+            expected.remove(index);
+        }
+
+        assertListEquals(list, expected);
+        assertThat(list.getChunks().size(), is(1));
+
+        for (int i = 0; i < 20; i++) {
+            list = FACTORY.remove(list, 0);
+        }
+
+        assertThat(list, is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#remove(ImmutableChunkedTreeList, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than or equal to the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeIndexTooHigh() {
+        FACTORY.remove(FACTORY.create(), 0);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#removeRange(ImmutableChunkedTreeList, int, int)} removes the elements in
+     * the range and shares the chunks outside of it.
+     */
+    @Test
+    public void removeRange() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 200));
+        final ImmutableChunkedTreeList<Object> newList = FACTORY.removeRange(list, 40, 150);
+        final ArrayList<Object> expected = createRange(0, 40);
+        expected.addAll(createRange(150, 200));
+        assertListEquals(newList, expected);
+        assertThat(newList.getChunks().get(0), is(sameInstance(list.getChunks().get(0))));
+        assertThat(FACTORY.removeRange(list, 0, 200), is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#removeRange(ImmutableChunkedTreeList, int, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>fromIndex</code> argument is greater than the <code>toIndex</code>
+     * argument.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeRangeFromIndexGreaterThanToIndex() {
+        FACTORY.removeRange(FACTORY.create(createRange(0, 10)), 5, 4);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#replaceRange(ImmutableChunkedTreeList, int, int, java.util.Collection)}
+     * gives the same results as {@link List#subList(int, int)} and {@link List#addAll(java.util.Collection)} on a mutable list.
+     */
+    @Test
+    public void replaceRange() {
+        ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 500));
+        final ArrayList<Object> expected = createRange(0, 500);
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final int fromIndex = random.nextInt(expected.size() + 1);
+            final int toIndex = fromIndex + random.nextInt(Math.min(40, expected.size() - fromIndex) + 1);
+            final ArrayList<Object> elements = createRange(1000 * i, 1000 * i + random.nextInt(40));
+            list = FACTORY.replaceRange(list, fromIndex, toIndex, elements);
+            expected.subList(fromIndex, toIndex).clear();
+            expected.addAll(fromIndex, elements);
+        }
+
+        assertListEquals(list, expected);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#set(ImmutableChunkedTreeList, int, Object)} replaces an element and shares
+     * the other chunks with the original list.
+     */
+    @Test
+    public void set() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 100));
+        final ImmutableChunkedTreeList<Object> newList = FACTORY.set(list, 40, OBJECT_0);
+        final ArrayList<Object> expected = createRange(0, 100);
+        expected.set(40, OBJECT_0);
+        assertListEquals(newList, expected);
+        assertListEquals(list, createRange(0, 100));
+        assertThat(newList.getChunks().get(0), is(sameInstance(list.getChunks().get(0))));
+        assertThat(newList.getChunks().get(2), is(sameInstance(list.getChunks().get(2))));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#set(ImmutableChunkedTreeList, int, Object)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setIndexTooLow() {
+        FACTORY.set(FACTORY.create(createRange(0, 10)), -1, OBJECT_0);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#slice(ImmutableChunkedTreeList, int, int)} creates a list with the
+     * elements in the range and shares the chunks that lie entirely within it.
+     */
+    @Test
+    public void slice() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 200));
+        final ImmutableChunkedTreeList<Object> newList = FACTORY.slice(list, 40, 150);
+        assertListEquals(newList, createRange(40, 150));
+        assertThat(newList.getChunks().get(1), is(sameInstance(list.getChunks().get(2))));
+        assertListEquals(FACTORY.slice(list, 70, 80), createRange(70, 80));
+        assertThat(FACTORY.slice(list, 0, 200), is(sameInstance(list)));
+        assertThat(FACTORY.slice(list, 100, 100), is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeListFactory#split(ImmutableChunkedTreeList, int)} splits the list in two at the
+     * specified index.
+     */
+    @Test
+    public void split() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.create(createRange(0, 200));
+        final AbstractImmutableTreeListFactory.Split<ImmutableChunkedTreeList<Object>> split = FACTORY.split(list, 77);
+        assertListEquals(split.getLeft(), createRange(0, 77));
+        assertListEquals(split.getRight(), createRange(77, 200));
+        assertThat(FACTORY.split(list, 0).getRight(), is(sameInstance(list)));
+        assertThat(FACTORY.split(list, 200).getLeft(), is(sameInstance(list)));
+    }
+
+}
@@ -0,0 +1,263 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableChunkedTreeList}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableChunkedTreeListTest {
+
+    private static final ImmutableChunkedTreeListFactory<Object> FACTORY = ImmutableChunkedTreeListFactory.getInstance();
+
+    // 100 elements spread over several chunks, the last of which is not full
+    private static final List<Object> ELEMENTS = createRange(0, 100);
+    private static final ImmutableChunkedTreeList<Object> LIST = FACTORY.create(ELEMENTS);
+
+    private static ArrayList<Object> createRange(int start, int end) {
+        final ArrayList<Object> elements = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            elements.add(i);
+        }
+
+        return elements;
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#contains(Object)} returns <code>true</code> when the specified object is an
+     * element of the list and <code>false</code> otherwise.
+     */
+    @Test
+    public void contains() {
+        assertThat(LIST.contains(99), is(true));
+        assertThat(LIST.contains(100), is(false));
+        assertThat(ImmutableChunkedTreeList.getEmpty().contains(null), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#containsAll(java.util.Collection)} returns <code>true</code> only when all of the
+     * elements of the specified collection are elements of the list.
+     */
+    @Test
+    public void containsAll() {
+        assertThat(LIST.containsAll(Arrays.asList(0, 50, 99)), is(true));
+        assertThat(LIST.containsAll(Arrays.asList(0, 50, 100)), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#equals(Object)} and {@link ImmutableChunkedTreeList#hashCode()} follow the
+     * contract of {@link List}.
+     */
+    @Test
+    public void equalsAndHashCode() {
+        assertThat(LIST.equals(ELEMENTS), is(true));
+        assertThat(ELEMENTS.equals(LIST), is(true));
+        assertThat(LIST.equals(FACTORY.create(createRange(0, 100))), is(true));
+        assertThat(LIST.equals(createRange(0, 99)), is(false));
+        assertThat(LIST.equals(createRange(1, 101)), is(false));
+        assertThat(LIST.hashCode(), is(ELEMENTS.hashCode()));
+        assertThat(ImmutableChunkedTreeList.getEmpty().hashCode(), is(1));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#get(int)} returns the element at the specified position.
+     */
+    @Test
+    public void get() {
+        for (int i = 0; i < ELEMENTS.size(); i++) {
+            assertThat(LIST.get(i), is(ELEMENTS.get(i)));
+        }
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#get(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is greater than or equal to the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getIndexTooHigh() {
+        LIST.get(100);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#get(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getIndexTooLow() {
+        LIST.get(-1);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#indexOf(Object)} returns the index of the first occurrence of the specified
+     * object in the list, or -1 if it is not found.
+     */
+    @Test
+    public void indexOf() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.set(FACTORY.set(LIST, 70, null), 10, null);
+        assertThat(list.indexOf(null), is(10));
+        assertThat(list.indexOf(64), is(64));
+        assertThat(list.indexOf(100), is(-1));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#isEmpty()} returns <code>true</code> only for an empty list.
+     */
+    @Test
+    public void isEmpty() {
+        assertThat(ImmutableChunkedTreeList.getEmpty().isEmpty(), is(true));
+        assertThat(LIST.isEmpty(), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#iterator()} returns an iterator that returns the list's elements in order.
+     */
+    @Test
+    public void iterator() {
+        final Iterator<Object> iterator = LIST.iterator();
+        for (Object element : ELEMENTS) {
+            assertThat(iterator.hasNext(), is(true));
+            assertThat(iterator.next(), is(element));
+        }
+
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    /**
+     * Asserts that the iterator returned by {@link ImmutableChunkedTreeList#iterator()} throws a {@link NoSuchElementException} when
+     * there are no more elements.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void iteratorPastEnd() {
+        ImmutableChunkedTreeList.getEmpty().iterator().next();
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#lastIndexOf(Object)} returns the index of the last occurrence of the specified
+     * object in the list, or -1 if it is not found.
+     */
+    @Test
+    public void lastIndexOf() {
+        final ImmutableChunkedTreeList<Object> list = FACTORY.set(FACTORY.set(LIST, 70, null), 10, null);
+        assertThat(list.lastIndexOf(null), is(70));
+        assertThat(list.lastIndexOf(31), is(31));
+        assertThat(list.lastIndexOf(100), is(-1));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#listIterator(int)} returns a list iterator that moves in both directions across
+     * chunk boundaries.
+     */
+    @Test
+    public void listIteratorInt() {
+        final ListIterator<Object> iterator = LIST.listIterator(40);
+        for (int i = 40; i > 0; i--) {
+            assertThat(iterator.previousIndex(), is(i - 1));
+            assertThat(iterator.previous(), is(ELEMENTS.get(i - 1)));
+        }
+
+        assertThat(iterator.hasPrevious(), is(false));
+        for (int i = 0; i < 100; i++) {
+            assertThat(iterator.nextIndex(), is(i));
+            assertThat(iterator.next(), is(ELEMENTS.get(i)));
+        }
+
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(iterator.previous(), is(ELEMENTS.get(99)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#listIterator(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void listIteratorIntIndexTooHigh() {
+        LIST.listIterator(101);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#size()} returns the number of elements in the list.
+     */
+    @Test
+    public void size() {
+        assertThat(ImmutableChunkedTreeList.getEmpty().size(), is(0));
+        assertThat(LIST.size(), is(100));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#subList(int, int)} returns a view of the specified range of the list.
+     */
+    @Test
+    public void subList() {
+        final List<Object> subList = LIST.subList(20, 90);
+        assertThat(subList, is(ELEMENTS.subList(20, 90)));
+        assertThat(subList.get(0), is((Object) 20));
+        assertThat(subList.indexOf(64), is(44));
+        assertThat(subList.indexOf(10), is(-1));
+        assertThat(subList.lastIndexOf(95), is(-1));
+        assertThat(Arrays.asList(subList.toArray()), is(ELEMENTS.subList(20, 90)));
+        assertThat(subList.subList(10, 20), is(ELEMENTS.subList(30, 40)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#subList(int, int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>toIndex</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void subListToIndexTooHigh() {
+        LIST.subList(0, 101);
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#subList(int, int)} returns the list itself when the range covers the whole list.
+     */
+    @Test
+    public void subListWholeList() {
+        assertThat(LIST.subList(0, 100), is(sameInstance((List<Object>) LIST)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#toArray()} returns an array that contains the list's elements.
+     */
+    @Test
+    public void toArray() {
+        assertThat(Arrays.asList(LIST.toArray()), is(ELEMENTS));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#toArray(Object[])} returns the specified array when it is large enough and marks
+     * the end of the list with a <code>null</code> element.
+     */
+    @Test
+    public void toArrayObjectArrayArgumentLarger() {
+        final Object[] array = new Object[101];
+        Arrays.fill(array, "x");
+        assertThat(LIST.toArray(array), is(sameInstance(array)));
+        assertThat(Arrays.asList(array).subList(0, 100), is(ELEMENTS));
+        assertThat(array[100], is(nullValue()));
+    }
+
+    /**
+     * Asserts that {@link ImmutableChunkedTreeList#toArray(Object[])} returns a new array of the same type when the specified array
+     * is too small.
+     */
+    @Test
+    public void toArrayObjectArrayArgumentTooSmall() {
+        final Integer[] array = LIST.toArray(new Integer[0]);
+        assertThat(array.length, is(100));
+        assertThat(Arrays.<Object> asList(array), is(ELEMENTS));
+    }
+
+}
@@ -0,0 +1,82 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableDoubleTreeList} and {@link ImmutableDoubleTreeListFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableDoubleTreeListTest {
+
+    private static final ImmutableDoubleTreeListFactory FACTORY = ImmutableDoubleTreeListFactory.getInstance();
+
+    private static double[] createRange(int start, int end) {
+        final double[] values = new double[end - start];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (start + i) * 0.5;
+        }
+
+        return values;
+    }
+
+    /**
+     * Asserts that {@link ImmutableDoubleTreeListFactory#add(ImmutableDoubleTreeList, int, double)} and
+     * {@link ImmutableDoubleTreeListFactory#remove(ImmutableDoubleTreeList, int)} produce lists whose values are read back by
+     * {@link ImmutableDoubleTreeList#getDouble(int)}, {@link ImmutableDoubleTreeList#iterator()} and
+     * {@link ImmutableDoubleTreeList#toDoubleArray()}.
+     */
+    @Test
+    public void addRemove() {
+        ImmutableDoubleTreeList list = FACTORY.create();
+        for (int i = 0; i < 100; i++) {
+            list = FACTORY.add(list, i / 2, i * 0.25);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            list = FACTORY.remove(list, i);
+        }
+
+        final double[] array = list.toDoubleArray();
+        assertThat(array.length, is(50));
+        final PrimitiveIterator.OfDouble iterator = list.iterator();
+        for (int i = 0; i < array.length; i++) {
+            assertThat(list.getDouble(i), is(array[i]));
+            assertThat(iterator.nextDouble(), is(array[i]));
+        }
+
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableDoubleTreeList#indexOf(double)} and {@link ImmutableDoubleTreeList#lastIndexOf(double)} compare
+     * values like {@link Double#equals(Object)}.
+     */
+    @Test
+    public void indexOf() {
+        ImmutableDoubleTreeList list = FACTORY.create(createRange(0, 100));
+        list = FACTORY.set(FACTORY.set(list, 70, Double.NaN), 10, Double.NaN);
+        list = FACTORY.set(list, 40, -0.0);
+        assertThat(list.indexOf(Double.NaN), is(10));
+        assertThat(list.lastIndexOf(Double.NaN), is(70));
+        assertThat(list.indexOf(-0.0), is(40));
+        assertThat(list.lastIndexOf(0.0), is(0));
+        assertThat(list.contains(49.5), is(true));
+        assertThat(list.contains(49.75), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableDoubleTreeList#toDoubleArray(int, int)} returns an array that contains the values in the
+     * specified range of the list.
+     */
+    @Test
+    public void toDoubleArrayIntInt() {
+        assertThat(FACTORY.create(createRange(0, 100)).toDoubleArray(20, 90), is(createRange(20, 90)));
+    }
+
+}
@@ -0,0 +1,198 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableIntTreeListFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableIntTreeListFactoryTest {
+
+    private static final ImmutableIntTreeListFactory FACTORY = ImmutableIntTreeListFactory.getInstance();
+
+    private static void assertListEquals(ImmutableIntTreeList list, ArrayList<Integer> expected) {
+        assertThat(list.size(), is(expected.size()));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(list.getInt(i), is((int) expected.get(i)));
+        }
+
+        for (int[] chunk : list.getChunks()) {
+            assertThat(chunk.length > 0, is(true));
+            assertThat(chunk.length <= ArrayChunkList.CHUNK_SIZE, is(true));
+        }
+    }
+
+    private static ArrayList<Integer> createRange(int start, int end) {
+        final ArrayList<Integer> values = new ArrayList<>();
+        for (int i = start; i < end; i++) {
+            values.add(i);
+        }
+
+        return values;
+    }
+
+    private static int[] toIntArray(ArrayList<Integer> values) {
+        final int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#add(ImmutableIntTreeList, int)} appends values to the list and fills chunks
+     * completely.
+     */
+    @Test
+    public void add() {
+        ImmutableIntTreeList list = FACTORY.create();
+        for (int i = 0; i < 100; i++) {
+            list = FACTORY.add(list, i);
+        }
+
+        assertListEquals(list, createRange(0, 100));
+        assertThat(list.getChunks().size(), is(4));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#add(ImmutableIntTreeList, int, int)} inserts values at the specified
+     * position, splitting chunks when necessary.
+     */
+    @Test
+    public void addIntInt() {
+        final ArrayList<Integer> expected = createRange(0, 100);
+        ImmutableIntTreeList list = FACTORY.create(toIntArray(expected));
+        for (int i = 0; i < 200; i++) {
+            final int index = i * 37 % (expected.size() + 1);
+            list = FACTORY.add(list, index, -i);
+            expected.add(index, -i);
+        }
+
+        assertListEquals(list, expected);
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#add(ImmutableIntTreeList, int, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addIntIntIndexTooHigh() {
+        FACTORY.add(FACTORY.create(), 1, 0);
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#concat(ImmutableIntTreeList, ImmutableIntTreeList)} creates a list that
+     * contains the values of both lists and that {@link ImmutableIntTreeListFactory#slice(ImmutableIntTreeList, int, int)}
+     * extracts them back.
+     */
+    @Test
+    public void concatSlice() {
+        final ImmutableIntTreeList left = FACTORY.create(toIntArray(createRange(0, 70)));
+        final ImmutableIntTreeList right = FACTORY.create(toIntArray(createRange(70, 150)));
+        final ImmutableIntTreeList list = FACTORY.concat(left, right);
+        assertListEquals(list, createRange(0, 150));
+        assertListEquals(FACTORY.slice(list, 0, 70), createRange(0, 70));
+        assertListEquals(FACTORY.slice(list, 35, 110), createRange(35, 110));
+        assertListEquals(FACTORY.split(list, 100).getRight(), createRange(100, 150));
+        assertThat(FACTORY.slice(list, 0, 150), is(sameInstance(list)));
+        assertThat(FACTORY.concat(list, FACTORY.create()), is(sameInstance(list)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#create()} returns the same value as {@link ImmutableIntTreeList#getEmpty()}.
+     */
+    @Test
+    public void create() {
+        assertThat(FACTORY.create(), is(sameInstance(ImmutableIntTreeList.getEmpty())));
+        assertThat(FACTORY.create(new int[0]), is(sameInstance(ImmutableIntTreeList.getEmpty())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#create(int[])} creates a list that contains the specified values and that
+     * doesn't reference the array.
+     */
+    @Test
+    public void createIntArray() {
+        final int[] values = toIntArray(createRange(0, 70));
+        final ImmutableIntTreeList list = FACTORY.create(values);
+        values[0] = -1;
+        assertListEquals(list, createRange(0, 70));
+        assertThat(list.getChunks().size(), is(3));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#create(int[], int, int)} creates a list that contains the values in the
+     * specified range of the array.
+     */
+    @Test
+    public void createIntArrayIntInt() {
+        assertListEquals(FACTORY.create(toIntArray(createRange(0, 70)), 10, 60), createRange(10, 60));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#remove(ImmutableIntTreeList, int)} removes values from the list and merges
+     * small chunks with their neighbors.
+     */
+    @Test
+    public void remove() {
+        final ArrayList<Integer> expected = createRange(0, 300);
+        ImmutableIntTreeList list = FACTORY.create(toIntArray(expected));
+        for (int i = 0; i < 280; i++) {
+            final int index = i * 13 % expected.size();
+            list = FACTORY.remove(list, index);
+            expected.remove(index);
+        }
+
+        assertListEquals(list, expected);
+        assertThat(list.getChunks().size(), is(1));
+
+        for (int i = 0; i < 20; i++) {
+            list = FACTORY.remove(list, 0);
+        }
+
+        assertThat(list, is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#remove(ImmutableIntTreeList, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is greater than or equal to the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeIndexTooHigh() {
+        FACTORY.remove(FACTORY.create(), 0);
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#set(ImmutableIntTreeList, int, int)} replaces a value and shares the other
+     * chunks with the original list.
+     */
+    @Test
+    public void set() {
+        final ImmutableIntTreeList list = FACTORY.create(toIntArray(createRange(0, 100)));
+        final ImmutableIntTreeList newList = FACTORY.set(list, 40, -1);
+        final ArrayList<Integer> expected = createRange(0, 100);
+        expected.set(40, -1);
+        assertListEquals(newList, expected);
+        assertListEquals(list, createRange(0, 100));
+        assertThat(newList.getChunks().get(0), is(sameInstance(list.getChunks().get(0))));
+        assertThat(newList.getChunks().get(2), is(sameInstance(list.getChunks().get(2))));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeListFactory#set(ImmutableIntTreeList, int, int)} throws an
+     * {@link IndexOutOfBoundsException} when the <code>index</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void setIndexTooLow() {
+        FACTORY.set(FACTORY.create(new int[] { 1, 2, 3 }), -1, 0);
+    }
+
+}
@@ -0,0 +1,188 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableIntTreeList}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableIntTreeListTest {
+
+    private static final ImmutableIntTreeListFactory FACTORY = ImmutableIntTreeListFactory.getInstance();
+
+    // 100 values spread over several chunks, the last of which is not full
+    private static final int[] VALUES = createRange(0, 100);
+    private static final ImmutableIntTreeList LIST = FACTORY.create(VALUES);
+
+    private static int[] createRange(int start, int end) {
+        final int[] values = new int[end - start];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = start + i;
+        }
+
+        return values;
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#contains(int)} returns <code>true</code> when the specified value is in the list and
+     * <code>false</code> otherwise.
+     */
+    @Test
+    public void contains() {
+        assertThat(LIST.contains(99), is(true));
+        assertThat(LIST.contains(100), is(false));
+        assertThat(ImmutableIntTreeList.getEmpty().contains(0), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#getInt(int)} returns the value at the specified position.
+     */
+    @Test
+    public void getInt() {
+        for (int i = 0; i < VALUES.length; i++) {
+            assertThat(LIST.getInt(i), is(VALUES[i]));
+        }
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#getInt(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is greater than or equal to the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getIntIndexTooHigh() {
+        LIST.getInt(100);
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#getInt(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getIntIndexTooLow() {
+        LIST.getInt(-1);
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#indexOf(int)} returns the position of the first occurrence of the specified value,
+     * or -1 if it is not found.
+     */
+    @Test
+    public void indexOf() {
+        final ImmutableIntTreeList list = FACTORY.set(FACTORY.set(LIST, 70, -1), 10, -1);
+        assertThat(list.indexOf(-1), is(10));
+        assertThat(list.indexOf(64), is(64));
+        assertThat(list.indexOf(100), is(-1));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#isEmpty()} returns <code>true</code> only for an empty list.
+     */
+    @Test
+    public void isEmpty() {
+        assertThat(ImmutableIntTreeList.getEmpty().isEmpty(), is(true));
+        assertThat(LIST.isEmpty(), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#iterator()} returns an iterator that returns the list's values in order.
+     */
+    @Test
+    public void iterator() {
+        final PrimitiveIterator.OfInt iterator = LIST.iterator();
+        for (int value : VALUES) {
+            assertThat(iterator.hasNext(), is(true));
+            assertThat(iterator.nextInt(), is(value));
+        }
+
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#iterator(int)} returns an iterator that starts at the specified position.
+     */
+    @Test
+    public void iteratorInt() {
+        final PrimitiveIterator.OfInt iterator = LIST.iterator(40);
+        for (int i = 40; i < 100; i++) {
+            assertThat(iterator.nextInt(), is(i));
+        }
+
+        assertThat(iterator.hasNext(), is(false));
+        assertThat(LIST.iterator(100).hasNext(), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#iterator(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is greater than the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void iteratorIntIndexTooHigh() {
+        LIST.iterator(101);
+    }
+
+    /**
+     * Asserts that the iterator returned by {@link ImmutableIntTreeList#iterator()} throws a {@link NoSuchElementException} when
+     * there are no more values.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void iteratorPastEnd() {
+        ImmutableIntTreeList.getEmpty().iterator().nextInt();
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#lastIndexOf(int)} returns the position of the last occurrence of the specified
+     * value, or -1 if it is not found.
+     */
+    @Test
+    public void lastIndexOf() {
+        final ImmutableIntTreeList list = FACTORY.set(FACTORY.set(LIST, 70, -1), 10, -1);
+        assertThat(list.lastIndexOf(-1), is(70));
+        assertThat(list.lastIndexOf(31), is(31));
+        assertThat(list.lastIndexOf(100), is(-1));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#size()} returns the number of values in the list.
+     */
+    @Test
+    public void size() {
+        assertThat(ImmutableIntTreeList.getEmpty().size(), is(0));
+        assertThat(LIST.size(), is(100));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#toIntArray()} returns an array that contains the list's values.
+     */
+    @Test
+    public void toIntArray() {
+        assertThat(LIST.toIntArray(), is(VALUES));
+        assertThat(ImmutableIntTreeList.getEmpty().toIntArray(), is(new int[0]));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#toIntArray(int, int)} returns an array that contains the values in the specified
+     * range of the list.
+     */
+    @Test
+    public void toIntArrayIntInt() {
+        assertThat(LIST.toIntArray(20, 90), is(createRange(20, 90)));
+        assertThat(LIST.toIntArray(50, 50), is(new int[0]));
+    }
+
+    /**
+     * Asserts that {@link ImmutableIntTreeList#toIntArray(int, int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>fromIndex</code> argument is greater than the <code>toIndex</code> argument.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void toIntArrayIntIntReversed() {
+        LIST.toIntArray(60, 50);
+    }
+
+}
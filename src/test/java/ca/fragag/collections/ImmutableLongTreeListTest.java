@@ -0,0 +1,89 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableLongTreeList} and {@link ImmutableLongTreeListFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableLongTreeListTest {
+
+    private static final ImmutableLongTreeListFactory FACTORY = ImmutableLongTreeListFactory.getInstance();
+
+    private static final long BIG = 1L << 40;
+
+    private static long[] createRange(int start, int end) {
+        final long[] values = new long[end - start];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = BIG + start + i;
+        }
+
+        return values;
+    }
+
+    /**
+     * Asserts that {@link ImmutableLongTreeListFactory#add(ImmutableLongTreeList, int, long)} and
+     * {@link ImmutableLongTreeListFactory#remove(ImmutableLongTreeList, int)} produce lists whose values are read back by
+     * {@link ImmutableLongTreeList#getLong(int)}, {@link ImmutableLongTreeList#iterator()} and
+     * {@link ImmutableLongTreeList#toLongArray()}.
+     */
+    @Test
+    public void addRemove() {
+        ImmutableLongTreeList list = FACTORY.create();
+        for (int i = 0; i < 100; i++) {
+            list = FACTORY.add(list, i / 2, BIG + i);
+        }
+
+        for (int i = 0; i < 50; i++) {
+            list = FACTORY.remove(list, i);
+        }
+
+        final long[] array = list.toLongArray();
+        assertThat(array.length, is(50));
+        final PrimitiveIterator.OfLong iterator = list.iterator();
+        for (int i = 0; i < array.length; i++) {
+            assertThat(list.getLong(i), is(array[i]));
+            assertThat(iterator.nextLong(), is(array[i]));
+        }
+
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableLongTreeList#getLong(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>index</code> argument is greater than or equal to the list's size.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getLongIndexTooHigh() {
+        FACTORY.create(createRange(0, 10)).getLong(10);
+    }
+
+    /**
+     * Asserts that {@link ImmutableLongTreeList#indexOf(long)} and {@link ImmutableLongTreeList#lastIndexOf(long)} return the
+     * positions of the first and last occurrences of the specified value.
+     */
+    @Test
+    public void indexOf() {
+        final ImmutableLongTreeList list = FACTORY.set(FACTORY.set(FACTORY.create(createRange(0, 100)), 70, -BIG), 10, -BIG);
+        assertThat(list.indexOf(-BIG), is(10));
+        assertThat(list.lastIndexOf(-BIG), is(70));
+        assertThat(list.contains(BIG + 64), is(true));
+        assertThat(list.indexOf(64), is(-1));
+    }
+
+    /**
+     * Asserts that {@link ImmutableLongTreeList#toLongArray(int, int)} returns an array that contains the values in the specified
+     * range of the list.
+     */
+    @Test
+    public void toLongArrayIntInt() {
+        assertThat(FACTORY.create(createRange(0, 100)).toLongArray(20, 90), is(createRange(20, 90)));
+    }
+
+}
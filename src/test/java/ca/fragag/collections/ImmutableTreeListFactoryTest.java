@@ -2,6 +2,9 @@ package ca.fragag.collections;
 
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
@@ -24,6 +27,18 @@ public class ImmutableTreeListFactoryTest {
         assertThat(INSTANCE.create(), is(sameInstance(ImmutableTreeList.getEmpty())));
     }
 
+    /**
+     * Asserts that {@link ImmutableTreeListFactory#createInterning()} returns a new factory that interns its nodes.
+     */
+    @Test
+    public void createInterning() {
+        final ImmutableTreeListFactory<Object> factory = ImmutableTreeListFactory.createInterning();
+        assertThat(factory, is(not(sameInstance(INSTANCE))));
+        assertThat(factory, is(not(sameInstance(ImmutableTreeListFactory.createInterning()))));
+        assertThat(factory.getInterningStatistics(), is(notNullValue()));
+        assertThat(factory.create(), is(sameInstance(ImmutableTreeList.getEmpty())));
+    }
+
     /**
      * Asserts that {@link ImmutableTreeListFactory#createList(ImmutableTreeNode)} returns an {@link ImmutableTreeList}.
      */
@@ -32,4 +47,13 @@ public class ImmutableTreeListFactoryTest {
         assertThat(INSTANCE.createList(null), is(instanceOf(ImmutableTreeList.class)));
     }
 
+    /**
+     * Asserts that {@link ImmutableTreeListFactory#getInterningStatistics()} returns <code>null</code> on the factory that doesn't
+     * intern its nodes.
+     */
+    @Test
+    public void getInterningStatistics() {
+        assertThat(INSTANCE.getInterningStatistics(), is(nullValue()));
+    }
+
 }
@@ -0,0 +1,145 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableTreeMapFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableTreeMapFactoryTest {
+
+    private static final ImmutableTreeMapFactory<Integer, Integer> FACTORY = ImmutableTreeMapFactory.getInstance();
+
+    private static TreeMap<Integer, Integer> createRandomMap(Random random, int count, int bound) {
+        final TreeMap<Integer, Integer> map = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            map.put(random.nextInt(bound), random.nextInt());
+        }
+
+        return map;
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMapFactory#create(java.util.Map)} creates a map with the same mappings as the specified map.
+     */
+    @Test
+    public void create() {
+        final TreeMap<Integer, Integer> expected = createRandomMap(new Random(42), 1000, 500);
+        assertThat(FACTORY.create(expected), is((Object) expected));
+        assertThat(FACTORY.create(Collections.<Integer, Integer> emptyMap()), is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMapFactory#create(java.util.Map)} copies all the mappings of a map whose size is out of date,
+     * like a map that grows concurrently.
+     */
+    @Test
+    public void createMapGrowing() {
+        final TreeMap<Integer, Integer> expected = createRandomMap(new Random(42), 100, 50);
+        final TreeMap<Integer, Integer> map = new TreeMap<Integer, Integer>(expected) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int size() {
+                return 0;
+            }
+        };
+
+        assertThat(FACTORY.create(map), is((Object) expected));
+    }
+
+    /**
+     * Asserts that a factory created with {@link Comparator#naturalOrder()} creates maps that the natural ordering factory accepts
+     * and that report the natural ordering.
+     */
+    @Test
+    public void naturalOrderComparator() {
+        final ImmutableTreeMapFactory<Integer, Integer> naturalOrderFactory = new ImmutableTreeMapFactory<>(
+                Comparator.<Integer> naturalOrder());
+        final ImmutableTreeMap<Integer, Integer> map = naturalOrderFactory.put(naturalOrderFactory.create(), 2, 2);
+        assertThat(map.comparator(), is(nullValue()));
+        assertThat(new ArrayList<>(FACTORY.put(map, 1, 1).keySet()), is(Arrays.asList(1, 2)));
+        assertThat(new ArrayList<>(naturalOrderFactory.put(FACTORY.put(FACTORY.create(), 4, 4), 3, 3).keySet()),
+                is(Arrays.asList(3, 4)));
+    }
+
+    /**
+     * Asserts that a factory created with a comparator orders the keys with that comparator and rejects maps created with a
+     * different comparator.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void differentComparator() {
+        final ImmutableTreeMapFactory<Integer, Integer> reverseFactory = new ImmutableTreeMapFactory<>(
+                Collections.<Integer> reverseOrder());
+        final ImmutableTreeMap<Integer, Integer> map = reverseFactory.put(reverseFactory.put(reverseFactory.create(), 1, 1), 2, 2);
+        assertThat(new ArrayList<>(map.keySet()), is(Arrays.asList(2, 1)));
+        FACTORY.put(map, 3, 3);
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMapFactory#put(ImmutableTreeMap, Object, Object)} and
+     * {@link ImmutableTreeMapFactory#remove(ImmutableTreeMap, Object)} behave like the corresponding methods of {@link TreeMap}.
+     */
+    @Test
+    public void putAndRemove() {
+        final Random random = new Random(42);
+        final TreeMap<Integer, Integer> expected = new TreeMap<>();
+        ImmutableTreeMap<Integer, Integer> map = FACTORY.create();
+        for (int i = 0; i < 5000; i++) {
+            final int key = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = FACTORY.remove(map, key);
+            } else {
+                final int value = random.nextInt(10);
+                expected.put(key, value);
+                map = FACTORY.put(map, key, value);
+            }
+        }
+
+        assertThat(map, is((Object) expected));
+        assertThat(FACTORY.put(map, map.firstKey(), map.get(map.firstKey())), is(sameInstance(map)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMapFactory#putAll(ImmutableTreeMap, ImmutableTreeMap)},
+     * {@link ImmutableTreeMapFactory#intersection(ImmutableTreeMap, ImmutableTreeMap)} and
+     * {@link ImmutableTreeMapFactory#difference(ImmutableTreeMap, ImmutableTreeMap)} compute the expected maps.
+     */
+    @Test
+    public void setOperations() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            final TreeMap<Integer, Integer> map1 = createRandomMap(random, random.nextInt(500), 1000);
+            final TreeMap<Integer, Integer> map2 = createRandomMap(random, random.nextInt(500), 1000);
+            final ImmutableTreeMap<Integer, Integer> immutableMap1 = FACTORY.create(map1);
+            final ImmutableTreeMap<Integer, Integer> immutableMap2 = FACTORY.create(map2);
+
+            final TreeMap<Integer, Integer> union = new TreeMap<>(map1);
+            union.putAll(map2);
+            assertThat(FACTORY.putAll(immutableMap1, immutableMap2), is((Object) union));
+
+            final TreeMap<Integer, Integer> intersection = new TreeMap<>(map1);
+            intersection.keySet().retainAll(map2.keySet());
+            assertThat(FACTORY.intersection(immutableMap1, immutableMap2), is((Object) intersection));
+
+            final TreeMap<Integer, Integer> difference = new TreeMap<>(map1);
+            difference.keySet().removeAll(map2.keySet());
+            assertThat(FACTORY.difference(immutableMap1, immutableMap2), is((Object) difference));
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableTreeMap}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableTreeMapTest {
+
+    private static final ImmutableTreeMapFactory<Integer, String> FACTORY = ImmutableTreeMapFactory.getInstance();
+
+    // Maps the even numbers from 0 to 198 to their string representation
+    private static final TreeMap<Integer, String> EXPECTED = createExpected();
+    private static final ImmutableTreeMap<Integer, String> MAP = FACTORY.create(EXPECTED);
+
+    private static TreeMap<Integer, String> createExpected() {
+        final TreeMap<Integer, String> map = new TreeMap<>();
+        for (int i = 0; i < 200; i += 2) {
+            map.put(i, Integer.toString(i));
+        }
+
+        return map;
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#containsKey(Object)} and {@link ImmutableTreeMap#get(Object)} find the mappings of the
+     * map.
+     */
+    @Test
+    public void containsKeyAndGet() {
+        for (int i = -1; i < 201; i++) {
+            assertThat(MAP.containsKey(i), is(EXPECTED.containsKey(i)));
+            assertThat(MAP.get(i), is(EXPECTED.get(i)));
+        }
+
+        assertThat(FACTORY.create().get(0), is(nullValue()));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#entrySet()} contains the mappings of the map, in ascending order of keys.
+     */
+    @Test
+    public void entrySet() {
+        assertThat(new ArrayList<>(MAP.entrySet()), is(new ArrayList<>(EXPECTED.entrySet())));
+        assertThat(MAP.entrySet().contains(new AbstractMap.SimpleEntry<>(4, "4")), is(true));
+        assertThat(MAP.entrySet().contains(new AbstractMap.SimpleEntry<>(4, "5")), is(false));
+        assertThat(MAP.entrySet().contains(new AbstractMap.SimpleEntry<>(5, "5")), is(false));
+        assertThat(new ArrayList<>(MAP.keySet()), is(new ArrayList<>(EXPECTED.keySet())));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#equals(Object)} and {@link ImmutableTreeMap#hashCode()} follow the contract of
+     * {@link Map}.
+     */
+    @Test
+    public void equalsAndHashCode() {
+        assertThat(MAP.equals(EXPECTED), is(true));
+        assertThat(EXPECTED.equals(MAP), is(true));
+        assertThat(MAP.hashCode(), is(EXPECTED.hashCode()));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#firstKey()} and {@link ImmutableTreeMap#lastKey()} return the lowest and the highest
+     * key of the map.
+     */
+    @Test
+    public void firstKeyAndLastKey() {
+        assertThat(MAP.firstKey(), is(0));
+        assertThat(MAP.lastKey(), is(198));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#lastKey()} throws a {@link NoSuchElementException} when the map is empty.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void lastKeyEmpty() {
+        FACTORY.create().lastKey();
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#getEntry(int)} returns the entries in ascending order of keys and that
+     * {@link ImmutableTreeMap#rank(Object)} returns the position of a key or the number of lower keys.
+     */
+    @Test
+    public void getEntryAndRank() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(MAP.getEntry(i).getKey(), is(i * 2));
+            assertThat(MAP.rank(i * 2), is(i));
+            assertThat(MAP.rank(i * 2 + 1), is(i + 1));
+        }
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#put(Object, Object)} throws an {@link UnsupportedOperationException}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void put() {
+        MAP.put(1, "1");
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#headMap(Object)}, {@link ImmutableTreeMap#subMap(Object, Object)} and
+     * {@link ImmutableTreeMap#tailMap(Object)} return the mappings in the specified ranges.
+     */
+    @Test
+    public void rangeViews() {
+        for (int from = -1; from <= 201; from += 7) {
+            assertThat(MAP.headMap(from), is((Map<Integer, String>) EXPECTED.headMap(from)));
+            assertThat(MAP.tailMap(from), is((Map<Integer, String>) EXPECTED.tailMap(from)));
+            for (int to = from; to <= 201; to += 5) {
+                assertThat(new ArrayList<>(MAP.subMap(from, to).keySet()), is(new ArrayList<>(EXPECTED.subMap(from, to).keySet())));
+            }
+        }
+
+        assertThat(MAP.tailMap(0), is(sameInstance(MAP)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeMap#remove(Object)} throws an {@link UnsupportedOperationException}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void remove() {
+        MAP.remove(2);
+    }
+
+}
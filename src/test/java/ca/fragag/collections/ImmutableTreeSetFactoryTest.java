@@ -0,0 +1,174 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableTreeSetFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableTreeSetFactoryTest {
+
+    private static final ImmutableTreeSetFactory<Integer> FACTORY = ImmutableTreeSetFactory.getInstance();
+
+    private static void assertBalanced(ImmutableTreeNode<?> node) {
+        if (node == null) {
+            return;
+        }
+
+        final int leftSize = node.getLeft() == null ? 0 : node.getLeft().getSize();
+        final int rightSize = node.getRight() == null ? 0 : node.getRight().getSize();
+        if (leftSize + rightSize > 1) {
+            assertThat("left subtree too large: " + leftSize + " vs " + rightSize, leftSize <= 3 * rightSize, is(true));
+            assertThat("right subtree too large: " + rightSize + " vs " + leftSize, rightSize <= 3 * leftSize, is(true));
+        }
+
+        assertBalanced(node.getLeft());
+        assertBalanced(node.getRight());
+    }
+
+    private static ArrayList<Integer> createRandomElements(Random random, int count, int bound) {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            elements.add(random.nextInt(bound));
+        }
+
+        return elements;
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSetFactory#add(ImmutableTreeSet, Object)} and
+     * {@link ImmutableTreeSetFactory#remove(ImmutableTreeSet, Object)} keep the elements sorted and the tree balanced.
+     */
+    @Test
+    public void addAndRemove() {
+        final Random random = new Random(42);
+        final TreeSet<Integer> expected = new TreeSet<>();
+        ImmutableTreeSet<Integer> set = FACTORY.create();
+        for (int i = 0; i < 5000; i++) {
+            final int element = random.nextInt(2000);
+            if (random.nextInt(3) == 0) {
+                expected.remove(element);
+                set = FACTORY.remove(set, element);
+            } else {
+                expected.add(element);
+                set = FACTORY.add(set, element);
+            }
+        }
+
+        assertThat(new ArrayList<>(set), is(new ArrayList<>(expected)));
+        assertBalanced(set.getRoot());
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSetFactory#add(ImmutableTreeSet, Object)} and
+     * {@link ImmutableTreeSetFactory#remove(ImmutableTreeSet, Object)} return the set itself when it is not modified.
+     */
+    @Test
+    public void addAndRemoveUnmodified() {
+        final ImmutableTreeSet<Integer> set = FACTORY.create(Arrays.asList(1, 2, 3));
+        assertThat(FACTORY.add(set, 2), is(sameInstance(set)));
+        assertThat(FACTORY.remove(set, 4), is(sameInstance(set)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSetFactory#create(java.util.Collection)} sorts the elements, removes the duplicates and
+     * builds a balanced tree.
+     */
+    @Test
+    public void create() {
+        final ArrayList<Integer> elements = createRandomElements(new Random(42), 1000, 500);
+        final ImmutableTreeSet<Integer> set = FACTORY.create(elements);
+        assertThat(new ArrayList<>(set), is(new ArrayList<>(new TreeSet<>(elements))));
+        assertBalanced(set.getRoot());
+        assertThat(FACTORY.create(Collections.<Integer> emptyList()), is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that a factory created with {@link Comparator#naturalOrder()} creates sets that the natural ordering factory accepts
+     * and that report the natural ordering.
+     */
+    @Test
+    public void naturalOrderComparator() {
+        final ImmutableTreeSetFactory<Integer> naturalOrderFactory = new ImmutableTreeSetFactory<>(
+                Comparator.<Integer> naturalOrder());
+        final ImmutableTreeSet<Integer> set = naturalOrderFactory.create(Arrays.asList(3, 1, 2));
+        assertThat(set.comparator(), is(nullValue()));
+        assertThat(new ArrayList<>(FACTORY.add(set, 0)), is(Arrays.asList(0, 1, 2, 3)));
+        assertThat(new ArrayList<>(naturalOrderFactory.add(FACTORY.create(Arrays.asList(5, 4)), 6)), is(Arrays.asList(4, 5, 6)));
+    }
+
+    /**
+     * Asserts that a factory created with a comparator orders the elements with that comparator and rejects sets created with a
+     * different comparator.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void differentComparator() {
+        final ImmutableTreeSetFactory<Integer> reverseFactory = new ImmutableTreeSetFactory<>(Collections.<Integer> reverseOrder());
+        final ImmutableTreeSet<Integer> set = reverseFactory.create(Arrays.asList(1, 3, 2));
+        assertThat(new ArrayList<>(set), is(Arrays.asList(3, 2, 1)));
+        FACTORY.add(set, 4);
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSetFactory#union(ImmutableTreeSet, ImmutableTreeSet)},
+     * {@link ImmutableTreeSetFactory#intersection(ImmutableTreeSet, ImmutableTreeSet)} and
+     * {@link ImmutableTreeSetFactory#difference(ImmutableTreeSet, ImmutableTreeSet)} compute the same sets as {@link TreeSet}
+     * and produce balanced trees.
+     */
+    @Test
+    public void setOperations() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            final ArrayList<Integer> elements1 = createRandomElements(random, random.nextInt(500), 1000);
+            final ArrayList<Integer> elements2 = createRandomElements(random, random.nextInt(500), 1000);
+            final ImmutableTreeSet<Integer> set1 = FACTORY.create(elements1);
+            final ImmutableTreeSet<Integer> set2 = FACTORY.create(elements2);
+
+            final TreeSet<Integer> union = new TreeSet<>(elements1);
+            union.addAll(elements2);
+            final ImmutableTreeSet<Integer> actualUnion = FACTORY.union(set1, set2);
+            assertThat(new ArrayList<>(actualUnion), is(new ArrayList<>(union)));
+            assertBalanced(actualUnion.getRoot());
+
+            final TreeSet<Integer> intersection = new TreeSet<>(elements1);
+            intersection.retainAll(elements2);
+            final ImmutableTreeSet<Integer> actualIntersection = FACTORY.intersection(set1, set2);
+            assertThat(new ArrayList<>(actualIntersection), is(new ArrayList<>(intersection)));
+            assertBalanced(actualIntersection.getRoot());
+
+            final TreeSet<Integer> difference = new TreeSet<>(elements1);
+            difference.removeAll(elements2);
+            final ImmutableTreeSet<Integer> actualDifference = FACTORY.difference(set1, set2);
+            assertThat(new ArrayList<>(actualDifference), is(new ArrayList<>(difference)));
+            assertBalanced(actualDifference.getRoot());
+        }
+    }
+
+    /**
+     * Asserts that the set operations return one of their arguments when the result has the same elements.
+     */
+    @Test
+    public void setOperationsShareUnmodifiedSets() {
+        final ImmutableTreeSet<Integer> set = FACTORY.create(createRandomElements(new Random(42), 1000, 5000));
+        final ImmutableTreeSet<Integer> subset = set.subSet(1000, 2000);
+        assertThat(FACTORY.union(set, subset), is(sameInstance(set)));
+        assertThat(FACTORY.union(set, FACTORY.create()), is(sameInstance(set)));
+        assertThat(FACTORY.intersection(set, set), is(sameInstance(set)));
+        assertThat(FACTORY.difference(set, FACTORY.create()), is(sameInstance(set)));
+        assertThat(FACTORY.difference(set, set).isEmpty(), is(true));
+    }
+
+}
@@ -0,0 +1,161 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link ImmutableTreeSet}.
+ *
+ * @author Francis Gagné
+ */
+public class ImmutableTreeSetTest {
+
+    private static final ImmutableTreeSetFactory<Integer> FACTORY = ImmutableTreeSetFactory.getInstance();
+
+    // The even numbers from 0 to 198
+    private static final ImmutableTreeSet<Integer> SET = FACTORY.create(createEvenNumbers(0, 200));
+
+    private static ArrayList<Integer> createEvenNumbers(int start, int end) {
+        final ArrayList<Integer> elements = new ArrayList<>();
+        for (int i = start; i < end; i += 2) {
+            elements.add(i);
+        }
+
+        return elements;
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#add(Object)} throws an {@link UnsupportedOperationException}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void add() {
+        SET.add(1);
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#comparator()} returns <code>null</code> for sets that use the natural ordering and the
+     * factory's comparator otherwise.
+     */
+    @Test
+    public void comparator() {
+        assertThat(SET.comparator(), is(nullValue()));
+
+        final Comparator<Integer> comparator = Collections.reverseOrder();
+        assertThat(new ImmutableTreeSetFactory<>(comparator).create().comparator(), is(sameInstance((Object) comparator)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#contains(Object)} returns <code>true</code> when the specified object is an element of
+     * the set and <code>false</code> otherwise.
+     */
+    @Test
+    public void contains() {
+        for (int i = -1; i < 201; i++) {
+            assertThat(SET.contains(i), is(i >= 0 && i < 200 && i % 2 == 0));
+        }
+
+        assertThat(FACTORY.create().contains(0), is(false));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#equals(Object)} and {@link ImmutableTreeSet#hashCode()} follow the contract of
+     * {@link java.util.Set}.
+     */
+    @Test
+    public void equalsAndHashCode() {
+        final TreeSet<Integer> expected = new TreeSet<>(createEvenNumbers(0, 200));
+        assertThat(SET.equals(expected), is(true));
+        assertThat(expected.equals(SET), is(true));
+        assertThat(SET.hashCode(), is(expected.hashCode()));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#first()} and {@link ImmutableTreeSet#last()} return the lowest and the highest
+     * element of the set.
+     */
+    @Test
+    public void firstAndLast() {
+        assertThat(SET.first(), is(0));
+        assertThat(SET.last(), is(198));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#first()} throws a {@link NoSuchElementException} when the set is empty.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void firstEmpty() {
+        FACTORY.create().first();
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#get(int)} returns the elements in ascending order and that {@link ImmutableTreeSet#rank(Object)}
+     * returns the position of an element or the number of lower elements.
+     */
+    @Test
+    public void getAndRank() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(SET.get(i), is(i * 2));
+            assertThat(SET.rank(i * 2), is(i));
+            assertThat(SET.rank(i * 2 + 1), is(i + 1));
+        }
+
+        assertThat(SET.rank(-1), is(0));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#headSet(Object)}, {@link ImmutableTreeSet#subSet(Object, Object)} and
+     * {@link ImmutableTreeSet#tailSet(Object)} return the elements in the specified ranges.
+     */
+    @Test
+    public void rangeViews() {
+        final TreeSet<Integer> expected = new TreeSet<>(createEvenNumbers(0, 200));
+        for (int from = -1; from <= 201; from += 7) {
+            assertThat(SET.headSet(from), is(expected.headSet(from)));
+            assertThat(SET.tailSet(from), is(expected.tailSet(from)));
+            for (int to = from; to <= 201; to += 5) {
+                final ImmutableTreeSet<Integer> subSet = SET.subSet(from, to);
+                assertThat(new ArrayList<>(subSet), is(new ArrayList<>(expected.subSet(from, to))));
+            }
+        }
+
+        assertThat(SET.headSet(1000), is(sameInstance(SET)));
+        assertThat(SET.tailSet(-1000), is(sameInstance(SET)));
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#remove(Object)} throws an {@link UnsupportedOperationException}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void remove() {
+        SET.remove(2);
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#subSet(Object, Object)} throws an {@link IllegalArgumentException} when
+     * <code>fromElement</code> is greater than <code>toElement</code>.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void subSetReversed() {
+        SET.subSet(10, 5);
+    }
+
+    /**
+     * Asserts that {@link ImmutableTreeSet#toArray()} returns the elements in ascending order.
+     */
+    @Test
+    public void toArray() {
+        assertThat(Arrays.asList(SET.toArray()), is((Object) new ArrayList<Object>(createEvenNumbers(0, 200))));
+    }
+
+}
@@ -0,0 +1,134 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link InterningTreeNodeFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class InterningTreeNodeFactoryTest {
+
+    private static ArrayList<String> createStrings(int count) {
+        final ArrayList<String> strings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Create new String objects, so that only equal (not identical) values are shared between lists.
+            strings.add(new String("item " + i));
+        }
+
+        return strings;
+    }
+
+    /**
+     * Asserts that equal lists that are built independently by an interning factory share their root node.
+     */
+    @Test
+    public void createNodeEqualLists() {
+        final ImmutableTreeListFactory<String> factory = ImmutableTreeListFactory.createInterning();
+        final ImmutableTreeList<String> list1 = factory.create(createStrings(100));
+
+        ImmutableTreeList<String> list2 = factory.create();
+        for (String string : createStrings(100)) {
+            list2 = factory.add(list2, string);
+        }
+
+        // Both lists were built with different operations, so they only share their nodes if they have the same shape.
+        final ImmutableTreeList<String> list3 = factory.create(createStrings(100));
+        assertThat(list3.getRoot(), is(sameInstance(list1.getRoot())));
+        assertThat(list3, is(list1));
+        assertThat(list2, is(list1));
+
+        final ImmutableTreeList<String> list4 = factory.set(list3, 50, "changed");
+        assertThat(list4.getRoot(), is(not(sameInstance(list1.getRoot()))));
+        assertThat(factory.set(list4, 50, new String("item 50")).getRoot(), is(sameInstance(list1.getRoot())));
+    }
+
+    /**
+     * Asserts that equal lists that are built concurrently by an interning factory share their root node.
+     *
+     * @throws Exception
+     *             an exception was thrown in a thread
+     */
+    @Test
+    public void createNodeConcurrently() throws Exception {
+        final ImmutableTreeListFactory<String> factory = ImmutableTreeListFactory.createInterning();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<ImmutableTreeList<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(new Callable<ImmutableTreeList<String>>() {
+                    @Override
+                    public ImmutableTreeList<String> call() {
+                        return factory.create(createStrings(1000));
+                    }
+                }));
+            }
+
+            final ImmutableTreeList<String> first = futures.get(0).get();
+            for (Future<ImmutableTreeList<String>> future : futures) {
+                assertThat(future.get().getRoot(), is(sameInstance(first.getRoot())));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Asserts that {@link InterningTreeNodeFactory#getStatistics()} counts the hits and misses and estimates the bytes saved.
+     */
+    @Test
+    public void getStatistics() {
+        final InterningTreeNodeFactory<String, ImmutableTreeNode<String>> nodeFactory = new InterningTreeNodeFactory<>(
+                ImmutableTreeNode.Factory.<String> getInstance(), 40);
+
+        InterningStatistics statistics = nodeFactory.getStatistics();
+        assertThat(statistics.getHitCount(), is(0L));
+        assertThat(statistics.getMissCount(), is(0L));
+        assertThat(statistics.getHitRate(), is(0.0));
+        assertThat(statistics.getBytesSaved(), is(0L));
+
+        final ImmutableTreeNode<String> leaf = nodeFactory.createNode(null, "a", null);
+        final ImmutableTreeNode<String> root = nodeFactory.createNode(leaf, "b", null);
+        assertThat(nodeFactory.createNode(null, new String("a"), null), is(sameInstance(leaf)));
+        assertThat(nodeFactory.createNode(leaf, new String("b"), null), is(sameInstance(root)));
+        assertThat(nodeFactory.createNode(null, "b", null), is(not(sameInstance(root))));
+
+        statistics = nodeFactory.getStatistics();
+        assertThat(statistics.getHitCount(), is(2L));
+        assertThat(statistics.getMissCount(), is(3L));
+        assertThat(statistics.getHitRate(), is(0.4));
+        assertThat(statistics.getBytesSaved(), is(80L));
+        assertThat(statistics.getInternedNodeCount(), is(3));
+    }
+
+    /**
+     * Asserts that {@link InterningTreeNodeFactory#InterningTreeNodeFactory(AbstractImmutableTreeNodeFactory, int)} throws an
+     * {@link IllegalArgumentException} when the node size is negative.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void newInterningTreeNodeFactoryNegativeNodeSize() {
+        new InterningTreeNodeFactory<>(ImmutableTreeNode.Factory.<String> getInstance(), -1);
+    }
+
+    /**
+     * Asserts that {@link InterningTreeNodeFactory#InterningTreeNodeFactory(AbstractImmutableTreeNodeFactory)} throws a
+     * {@link NullPointerException} when the node factory is <code>null</code>.
+     */
+    @Test(expected = NullPointerException.class)
+    public void newInterningTreeNodeFactoryNull() {
+        new InterningTreeNodeFactory<String, ImmutableTreeNode<String>>(null);
+    }
+
+}
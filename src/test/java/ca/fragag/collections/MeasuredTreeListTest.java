@@ -0,0 +1,175 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link MeasuredTreeList} and {@link MeasuredTreeListFactory}.
+ *
+ * @author Francis Gagné
+ */
+public class MeasuredTreeListTest {
+
+    private static final Measure<String> LENGTH = Measure.sum(String::length);
+    private static final MeasuredTreeListFactory<String> FACTORY = new MeasuredTreeListFactory<>(LENGTH);
+
+    private static ArrayList<String> createStrings(int count, long seed) {
+        final Random random = new Random(seed);
+        final ArrayList<String> strings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final char[] chars = new char[random.nextInt(5)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(26));
+            }
+
+            strings.add(new String(chars));
+        }
+
+        return strings;
+    }
+
+    /**
+     * Asserts that {@link MeasuredTreeList#findByMeasure(long)} finds the element that contains each offset of the concatenation of
+     * the elements.
+     */
+    @Test
+    public void findByMeasure() {
+        final ArrayList<String> strings = createStrings(300, 1);
+        final MeasuredTreeList<String> list = FACTORY.create(strings);
+
+        int offset = 0;
+        for (int i = 0; i < strings.size(); i++) {
+            final String string = strings.get(i);
+            for (int j = 0; j < string.length(); j++) {
+                final AbstractMeasuredTreeList.Position<String> position = list.findByMeasure(offset + j);
+                assertThat(position, is(notNullValue()));
+                assertThat(position.getIndex(), is(i));
+                assertThat(position.getMeasureBefore(), is((long) offset));
+                assertThat(position.getElement(), is(sameInstance(string)));
+            }
+
+            offset += string.length();
+        }
+
+        assertThat(list.findByMeasure(offset), is(nullValue()));
+        assertThat(FACTORY.create().findByMeasure(0), is(nullValue()));
+    }
+
+    /**
+     * Asserts that {@link MeasuredTreeList#getMeasure()} returns the factory's measure.
+     */
+    @Test
+    public void getMeasure() {
+        assertThat(FACTORY.create().getMeasure(), is(sameInstance((Object) LENGTH)));
+        assertThat(FACTORY.create(createStrings(10, 2)).getMeasure(), is(sameInstance((Object) LENGTH)));
+    }
+
+    /**
+     * Asserts that {@link Measure#max(java.util.function.ToLongFunction)} computes the maximum of a range and
+     * {@link Measure#count(java.util.function.Predicate)} counts the matching elements of a range.
+     */
+    @Test
+    public void maxAndCount() {
+        final ArrayList<String> strings = createStrings(200, 3);
+        final MeasuredTreeList<String> maxList = new MeasuredTreeListFactory<String>(Measure.max(String::length)).create(strings);
+        final MeasuredTreeList<String> countList = new MeasuredTreeListFactory<String>(Measure.count(String::isEmpty))
+                .create(strings);
+
+        for (int from = 0; from <= strings.size(); from += 7) {
+            for (int to = from; to <= strings.size(); to += 5) {
+                long max = Long.MIN_VALUE;
+                long count = 0;
+                for (int i = from; i < to; i++) {
+                    max = Math.max(max, strings.get(i).length());
+                    if (strings.get(i).isEmpty()) {
+                        count++;
+                    }
+                }
+
+                assertThat(maxList.measure(from, to), is(max));
+                assertThat(countList.measure(from, to), is(count));
+            }
+        }
+
+        assertThat(new MeasuredTreeListFactory<String>(Measure.max(String::length)).create().measure(), is(Long.MIN_VALUE));
+    }
+
+    /**
+     * Asserts that {@link MeasuredTreeList#measure()} returns the sum of the lengths of the elements after modifications of the
+     * list.
+     */
+    @Test
+    public void measure() {
+        final Random random = new Random(4);
+        final ArrayList<String> expected = new ArrayList<>();
+        MeasuredTreeList<String> list = FACTORY.create();
+        assertThat(list.measure(), is(0L));
+
+        for (int i = 0; i < 500; i++) {
+            final String element = createStrings(1, i).get(0);
+            final int index = random.nextInt(expected.size() + 1);
+            if (expected.isEmpty() || random.nextInt(3) != 0) {
+                expected.add(index, element);
+                list = FACTORY.add(list, index, element);
+            } else if (index < expected.size()) {
+                expected.set(index, element);
+                list = FACTORY.set(list, index, element);
+            } else {
+                expected.remove(index - 1);
+                list = FACTORY.remove(list, index - 1);
+            }
+
+            long length = 0;
+            for (String string : expected) {
+                length += string.length();
+            }
+
+            assertThat(list.measure(), is(length));
+        }
+    }
+
+    /**
+     * Asserts that {@link MeasuredTreeList#measure(int, int)} returns the sum of the lengths of the elements in each range.
+     */
+    @Test
+    public void measureIntInt() {
+        final ArrayList<String> strings = createStrings(150, 5);
+        final MeasuredTreeList<String> list = FACTORY.create(strings);
+
+        for (int from = 0; from <= strings.size(); from++) {
+            long length = 0;
+            assertThat(list.measure(from, from), is(0L));
+            for (int to = from + 1; to <= strings.size(); to++) {
+                length += strings.get(to - 1).length();
+                assertThat(list.measure(from, to), is(length));
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link MeasuredTreeList#measure(int, int)} throws an {@link IndexOutOfBoundsException} when the range is
+     * reversed.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void measureIntIntReversed() {
+        FACTORY.create(createStrings(10, 6)).measure(5, 4);
+    }
+
+    /**
+     * Asserts that {@link MeasuredTreeListFactory#MeasuredTreeListFactory(Measure)} throws a {@link NullPointerException} when the
+     * measure is <code>null</code>.
+     */
+    @Test(expected = NullPointerException.class)
+    public void newFactoryNullMeasure() {
+        new MeasuredTreeListFactory<String>(null);
+    }
+
+}
@@ -0,0 +1,125 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link MemoryStats}.
+ *
+ * @author Francis Gagné
+ */
+public class MemoryStatsTest {
+
+    private static final ImmutableTreeListFactory<Object> FACTORY = ImmutableTreeListFactory.getInstance();
+
+    private static ImmutableTreeList<Object> createList(int size) {
+        final ArrayList<Object> elements = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            elements.add(new char[10]);
+        }
+
+        return FACTORY.create(elements);
+    }
+
+    private static int pathLength(ImmutableTreeNode<Object> node, int index) {
+        int length = 0;
+        for (;;) {
+            length++;
+            final int leftSize = node.getLeft() == null ? 0 : node.getLeft().getSize();
+            if (index == leftSize) {
+                return length;
+            }
+
+            if (index < leftSize) {
+                node = node.getLeft();
+            } else {
+                index -= leftSize + 1;
+                node = node.getRight();
+            }
+        }
+    }
+
+    /**
+     * Asserts that {@link MemoryStats#estimateShallowSize(Object)} estimates the size of objects and arrays.
+     */
+    @Test
+    public void estimateShallowSize() {
+        assertThat(MemoryStats.estimateShallowSize(null), is(0L));
+        assertThat(MemoryStats.estimateShallowSize(new Object()), is(16L));
+        assertThat(MemoryStats.estimateShallowSize(Long.valueOf(1)), is(24L));
+        assertThat(MemoryStats.estimateShallowSize(new char[0]), is(16L));
+        assertThat(MemoryStats.estimateShallowSize(new char[10]), is(40L));
+        assertThat(MemoryStats.estimateShallowSize(new long[3]), is(40L));
+
+        // A node has 3 references and 2 ints.
+        assertThat(MemoryStats.estimateShallowSize(new ImmutableTreeNode<>(null, null, null)), is(32L));
+    }
+
+    /**
+     * Asserts that {@link MemoryStats#measure(java.util.Collection)} counts the nodes and the elements that several lists share
+     * once.
+     */
+    @Test
+    public void measure() {
+        final ImmutableTreeList<Object> list = createList(100);
+        final MemoryStats stats = MemoryStats.measure(Collections.singletonList(list));
+        assertThat(stats.getNodeCount(), is(100));
+        assertThat(stats.getNodeBytes(), is(3200L));
+        assertThat(stats.getElementCount(), is(100));
+        assertThat(stats.getElementBytes(), is(4000L));
+        assertThat(stats.getTotalBytes(), is(7200L));
+
+        final ImmutableTreeList<Object> modified = FACTORY.set(list, 50, new char[10]);
+        final MemoryStats both = MemoryStats.measure(Arrays.asList(list, modified, list));
+        assertThat(both.getElementCount(), is(101));
+        assertThat(both.getNodeCount(), is(100 + pathLength(list.getRoot(), 50)));
+        assertThat(MemoryStats.measure(Collections.singletonList(FACTORY.create())).getTotalBytes(), is(0L));
+    }
+
+    /**
+     * Asserts that {@link MemoryStats#measure(java.util.Collection, java.util.function.ToLongFunction)} measures the elements with
+     * the specified function.
+     */
+    @Test
+    public void measureToLongFunction() {
+        final MemoryStats stats = MemoryStats.measure(Collections.singletonList(createList(10)), element -> 1000);
+        assertThat(stats.getElementBytes(), is(10000L));
+    }
+
+    /**
+     * Asserts that {@link MemoryStats#retained(AbstractImmutableTreeList, java.util.Collection)} counts only the nodes and the
+     * elements that the other lists don't share.
+     */
+    @Test
+    public void retained() {
+        final ImmutableTreeList<Object> list = createList(100);
+        final ImmutableTreeList<Object> modified = FACTORY.set(list, 50, new char[10]);
+        final int pathLength = pathLength(list.getRoot(), 50);
+
+        final MemoryStats retained = MemoryStats.retained(modified, Collections.singletonList(list));
+        assertThat(retained.getNodeCount(), is(pathLength));
+        assertThat(retained.getNodeBytes(), is(32L * pathLength));
+        assertThat(retained.getElementCount(), is(1));
+        assertThat(retained.getElementBytes(), is(40L));
+
+        assertThat(MemoryStats.retained(list, Collections.<ImmutableTreeList<Object>> emptyList()).getTotalBytes(),
+                is(MemoryStats.measure(Collections.singletonList(list)).getTotalBytes()));
+        assertThat(MemoryStats.retained(list, Collections.singletonList(list)).getTotalBytes(), is(0L));
+    }
+
+    /**
+     * Asserts that {@link MemoryStats#retained(AbstractImmutableTreeList, java.util.Collection)} throws a
+     * {@link NullPointerException} when the list is <code>null</code>.
+     */
+    @Test(expected = NullPointerException.class)
+    public void retainedNull() {
+        MemoryStats.retained(null, Collections.<ImmutableTreeList<Object>> emptyList());
+    }
+
+}
@@ -0,0 +1,210 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link TreeSnapshotReader}.
+ *
+ * @author Francis Gagné
+ */
+public class TreeSnapshotReaderTest {
+
+    private static final ImmutableTreeListFactory<String> FACTORY = ImmutableTreeListFactory.getInstance();
+
+    private static List<ImmutableTreeList<String>> createVersions() {
+        final ArrayList<String> elements = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            elements.add("element " + i);
+        }
+
+        final ArrayList<ImmutableTreeList<String>> versions = new ArrayList<>();
+        ImmutableTreeList<String> list = FACTORY.create(elements);
+        versions.add(list);
+        for (int i = 0; i < 10; i++) {
+            list = FACTORY.add(list, i * 37, "inserted " + i);
+            list = FACTORY.remove(list, i * 41);
+            versions.add(list);
+        }
+
+        versions.add(FACTORY.create());
+        return versions;
+    }
+
+    private static ByteBuffer createSingleElementSnapshot(int length, int charCount) {
+        final ByteBuffer buffer = ByteBuffer.allocate(13 + charCount * 2);
+        buffer.putInt(TreeSnapshotWriter.MAGIC).put((byte) TreeSnapshotWriter.VERSION).put((byte) TreeSnapshotWriter.NODE_RECORD)
+                .put((byte) 0).put((byte) 0).put((byte) 0).putInt(length);
+        for (int i = 0; i < charCount; i++) {
+            buffer.putChar('a');
+        }
+
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer write(List<ImmutableTreeList<String>> lists) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TreeSnapshotWriter<String> writer = new TreeSnapshotWriter<>(Channels.newChannel(output), SnapshotCodec.STRING);
+        for (ImmutableTreeList<String> list : lists) {
+            writer.write(list);
+        }
+
+        writer.flush();
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#open(Path, AbstractImmutableTreeListFactory, SnapshotCodec)} reads the lists of a
+     * snapshot file.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void open() throws IOException {
+        final List<ImmutableTreeList<String>> versions = createVersions();
+        final Path path = Files.createTempFile("snapshot", ".bin");
+        try {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                final TreeSnapshotWriter<String> writer = new TreeSnapshotWriter<>(channel, SnapshotCodec.STRING);
+                for (ImmutableTreeList<String> list : versions) {
+                    writer.write(list);
+                }
+
+                writer.flush();
+            }
+
+            final TreeSnapshotReader<String, ImmutableTreeNode<String>, ImmutableTreeList<String>> reader = TreeSnapshotReader
+                    .open(path, FACTORY, SnapshotCodec.STRING);
+            assertThat(reader.getListCount(), is(versions.size()));
+            for (int i = 0; i < versions.size(); i++) {
+                assertThat(reader.getList(i), is(versions.get(i)));
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#TreeSnapshotReader(ByteBuffer, AbstractImmutableTreeListFactory, SnapshotCodec)}
+     * recreates the lists with the same shape and the same sharing of nodes as the lists that were written.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void treeSnapshotReader() throws IOException {
+        final List<ImmutableTreeList<String>> versions = createVersions();
+        final TreeSnapshotReader<String, ImmutableTreeNode<String>, ImmutableTreeList<String>> reader = new TreeSnapshotReader<>(
+                write(versions), FACTORY, SnapshotCodec.STRING);
+
+        assertThat(reader.getListCount(), is(versions.size()));
+        for (int i = 0; i < versions.size(); i++) {
+            assertThat(reader.getList(i), is(versions.get(i)));
+        }
+
+        // The root of the second version shares its left or right subtree with the first version, since only a few elements
+        // were modified.
+        final ImmutableTreeNode<String> root0 = reader.getList(0).getRoot();
+        final ImmutableTreeNode<String> root1 = reader.getList(1).getRoot();
+        assertThat(root0.getLeft() == root1.getLeft() || root0.getRight() == root1.getRight(), is(true));
+        assertThat(reader.getList(versions.size() - 1), is(sameInstance(FACTORY.create())));
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#TreeSnapshotReader(ByteBuffer, AbstractImmutableTreeListFactory, SnapshotCodec)}
+     * throws an {@link IOException} when the buffer doesn't start with the magic number.
+     *
+     * @throws IOException
+     *             the expected exception
+     */
+    @Test(expected = IOException.class)
+    public void treeSnapshotReaderBadMagic() throws IOException {
+        new TreeSnapshotReader<>(ByteBuffer.wrap(new byte[] { 1, 2, 3, 4, 5 }), FACTORY, SnapshotCodec.STRING);
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#TreeSnapshotReader(ByteBuffer, AbstractImmutableTreeListFactory, SnapshotCodec)}
+     * throws an {@link IOException} when a list references a node that has not been read.
+     *
+     * @throws IOException
+     *             the expected exception
+     */
+    @Test(expected = IOException.class)
+    public void treeSnapshotReaderUnknownNode() throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(7);
+        buffer.putInt(TreeSnapshotWriter.MAGIC).put((byte) TreeSnapshotWriter.VERSION).put((byte) TreeSnapshotWriter.LIST_RECORD)
+                .put((byte) 1).flip();
+        new TreeSnapshotReader<>(buffer, FACTORY, SnapshotCodec.STRING);
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#TreeSnapshotReader(ByteBuffer, AbstractImmutableTreeListFactory, SnapshotCodec)}
+     * throws an {@link IOException} when the length of an element is negative.
+     *
+     * @throws IOException
+     *             the expected exception
+     */
+    @Test(expected = IOException.class)
+    public void treeSnapshotReaderNegativeLength() throws IOException {
+        new TreeSnapshotReader<>(createSingleElementSnapshot(-1, 0), FACTORY, SnapshotCodec.STRING);
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#TreeSnapshotReader(ByteBuffer, AbstractImmutableTreeListFactory, SnapshotCodec)}
+     * throws an {@link IOException} when the length of an element exceeds the remaining bytes of the snapshot.
+     *
+     * @throws IOException
+     *             the expected exception
+     */
+    @Test(expected = IOException.class)
+    public void treeSnapshotReaderOversizedLength() throws IOException {
+        new TreeSnapshotReader<>(createSingleElementSnapshot(Integer.MAX_VALUE, 3), FACTORY, SnapshotCodec.STRING);
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#TreeSnapshotReader(ByteBuffer, AbstractImmutableTreeListFactory, SnapshotCodec)}
+     * reads the elements of a snapshot from a buffer whose byte order is little-endian.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void treeSnapshotReaderLittleEndianBuffer() throws IOException {
+        final List<ImmutableTreeList<String>> versions = createVersions();
+        final TreeSnapshotReader<String, ImmutableTreeNode<String>, ImmutableTreeList<String>> reader = new TreeSnapshotReader<>(
+                write(versions).order(ByteOrder.LITTLE_ENDIAN), FACTORY, SnapshotCodec.STRING);
+        assertThat(reader.getList(0), is(versions.get(0)));
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotReader#TreeSnapshotReader(ByteBuffer, AbstractImmutableTreeListFactory, SnapshotCodec)}
+     * throws an {@link IOException} when the snapshot is truncated.
+     *
+     * @throws IOException
+     *             the expected exception
+     */
+    @Test(expected = IOException.class)
+    public void treeSnapshotReaderTruncated() throws IOException {
+        final ByteBuffer buffer = write(createVersions());
+        buffer.limit(buffer.limit() - 3);
+        new TreeSnapshotReader<>(buffer, FACTORY, SnapshotCodec.STRING);
+    }
+
+}
@@ -0,0 +1,85 @@
+package ca.fragag.collections;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Test class for {@link TreeSnapshotWriter}.
+ *
+ * @author Francis Gagné
+ */
+public class TreeSnapshotWriterTest {
+
+    private static final ImmutableTreeListFactory<String> FACTORY = ImmutableTreeListFactory.getInstance();
+
+    /**
+     * Asserts that {@link TreeSnapshotWriter#TreeSnapshotWriter(java.nio.channels.WritableByteChannel, SnapshotCodec)} throws a
+     * {@link NullPointerException} when the channel is <code>null</code>.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test(expected = NullPointerException.class)
+    public void treeSnapshotWriterNullChannel() throws IOException {
+        new TreeSnapshotWriter<>(null, SnapshotCodec.STRING);
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotWriter#TreeSnapshotWriter(java.nio.channels.WritableByteChannel, SnapshotCodec)} throws a
+     * {@link NullPointerException} when the codec is <code>null</code>.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test(expected = NullPointerException.class)
+    public void treeSnapshotWriterNullCodec() throws IOException {
+        new TreeSnapshotWriter<String>(Channels.newChannel(new ByteArrayOutputStream()), null);
+    }
+
+    /**
+     * Asserts that {@link TreeSnapshotWriter#write(AbstractImmutableTreeList)} writes only the nodes that a list doesn't share with
+     * the lists that were written before.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void write() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TreeSnapshotWriter<String> writer = new TreeSnapshotWriter<>(Channels.newChannel(output), SnapshotCodec.STRING);
+
+        final String[] elements = new String[1000];
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = "element " + i;
+        }
+
+        ImmutableTreeList<String> list = FACTORY.create(Arrays.asList(elements));
+        assertThat(writer.write(list), is(0));
+        assertThat(writer.getNodeCount(), is(1000));
+        writer.flush();
+        final int fullSize = output.size();
+
+        // Writing the same list again writes no node.
+        assertThat(writer.write(list), is(1));
+        assertThat(writer.getNodeCount(), is(1000));
+
+        // Writing a modified version of the list writes only the nodes on the path to the modification.
+        list = FACTORY.set(list, 500, "changed");
+        assertThat(writer.write(list), is(2));
+        assertThat(writer.getNodeCount(), is(lessThan(1000 + 30)));
+        writer.flush();
+        assertThat(output.size() - fullSize, is(lessThan(fullSize / 20)));
+
+        assertThat(writer.write(FACTORY.create()), is(3));
+        assertThat(writer.getListCount(), is(4));
+    }
+
+}
@@ -4,10 +4,29 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Test;
 
+import ca.fragag.collections.MemoryStats;
+import ca.fragag.collections.SnapshotCodec;
+import ca.fragag.collections.TreeSnapshotWriter;
+
 /**
  * Test class for {@link Document}.
  *
@@ -20,6 +39,8 @@ public class DocumentTest {
     private static final String LARGE_DOCUMENT_CONTENTS = stringOfChar('a', Document.CHUNK_SIZE + 16);
     private static final String HUGE_DOCUMENT_CONTENTS = stringOfChar('a', Document.CHUNK_SIZE * 2 + 16);
     private static final String QUUX = "quux";
+    /** Characters that take 1, 2, 3, 4 (a surrogate pair) and 1 bytes in UTF-8. */
+    private static final String MIXED_CONTENTS = "a\u00e9\u4e2d\ud83d\ude00b";
 
     private static final Document EMPTY_DOCUMENT = new Document(EMPTY_DOCUMENT_CONTENTS);
     private static final Document SMALL_DOCUMENT = new Document(SMALL_DOCUMENT_CONTENTS);
@@ -32,6 +53,44 @@ public class DocumentTest {
         return new String(chars);
     }
 
+    /**
+     * Asserts that {@link Document#charAt(int)} returns the characters of a document that is composed of several chunks when they
+     * are read forwards, backwards and across chunk boundaries.
+     */
+    @Test
+    public void charAtAcrossChunks() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < Document.CHUNK_SIZE * 3 + 100; i++) {
+            sb.append((char) ('a' + i % 26));
+        }
+
+        final String contents = sb.toString();
+        final Document document = new Document(contents);
+        for (int i = 0; i < contents.length(); i++) {
+            assertThat(document.charAt(i), is(contents.charAt(i)));
+        }
+
+        for (int i = contents.length() - 1; i >= 0; i--) {
+            assertThat(document.charAt(i), is(contents.charAt(i)));
+        }
+
+        for (int i = 1; i < contents.length(); i += Document.CHUNK_SIZE / 2) {
+            assertThat(document.charAt(i), is(contents.charAt(i)));
+            assertThat(document.charAt(i - 1), is(contents.charAt(i - 1)));
+        }
+    }
+
+    /**
+     * Asserts that {@link Document#charAt(int)} throws an {@link IndexOutOfBoundsException} when the <code>index</code> argument is
+     * equal to the document's length after a character of the last chunk was read.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAtLargeDocumentLengthAfterLastChunk() {
+        final Document document = new Document(LARGE_DOCUMENT_CONTENTS);
+        document.charAt(LARGE_DOCUMENT_CONTENTS.length() - 1);
+        document.charAt(LARGE_DOCUMENT_CONTENTS.length());
+    }
+
     /**
      * Asserts that {@link Document#charAt(int)} throws an {@link IndexOutOfBoundsException} when the <code>index</code> argument is
      * negative for an empty document.
@@ -136,6 +195,193 @@ public class DocumentTest {
         assertThat(EMPTY_DOCUMENT.length(), is(EMPTY_DOCUMENT_CONTENTS.length()));
     }
 
+    /**
+     * Asserts that {@link Document#fromCodePointOffset(int)} returns the offset of the high surrogate of a surrogate pair for the
+     * code point that the pair forms.
+     */
+    @Test
+    public void fromCodePointOffset() {
+        final Document document = new Document(MIXED_CONTENTS);
+        final int[] expected = { 0, 1, 2, 3, 5, 6 };
+        for (int codePointOffset = 0; codePointOffset < expected.length; codePointOffset++) {
+            assertThat(document.fromCodePointOffset(codePointOffset), is(expected[codePointOffset]));
+        }
+    }
+
+    /**
+     * Asserts that {@link Document#fromCodePointOffset(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>codePointOffset</code> argument is greater than the number of code points.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void fromCodePointOffsetTooLarge() {
+        new Document(MIXED_CONTENTS).fromCodePointOffset(6);
+    }
+
+    /**
+     * Asserts that {@link Document#fromUtf8Offset(long)} returns the offset of the code point that contains each byte.
+     */
+    @Test
+    public void fromUtf8Offset() {
+        final Document document = new Document(MIXED_CONTENTS);
+        final int[] expected = { 0, 1, 1, 2, 2, 2, 3, 3, 3, 3, 5, 6 };
+        for (int utf8Offset = 0; utf8Offset < expected.length; utf8Offset++) {
+            assertThat(document.fromUtf8Offset(utf8Offset), is(expected[utf8Offset]));
+        }
+    }
+
+    /**
+     * Asserts that {@link Document#getCodePointCount()} counts a surrogate pair once, even when its surrogates are in different
+     * chunks, and counts an unpaired surrogate as a code point.
+     */
+    @Test
+    public void getCodePointCount() {
+        assertThat(EMPTY_DOCUMENT.getCodePointCount(), is(0));
+        assertThat(new Document(MIXED_CONTENTS).getCodePointCount(), is(5));
+        assertThat(new Document("\ud83d\ud83d\ude00\ude00").getCodePointCount(), is(3));
+
+        final String contents = stringOfChar('a', Document.CHUNK_SIZE - 1) + "\ud83d\ude00" + stringOfChar('b', Document.CHUNK_SIZE);
+        final Document document = new Document(contents);
+        assertThat(document.getCodePointCount(), is(contents.codePointCount(0, contents.length())));
+        assertThat(document.getUtf8Length(), is(contents.length() + 2L));
+        assertThat(document.toCodePointOffset(Document.CHUNK_SIZE), is(Document.CHUNK_SIZE - 1));
+        assertThat(document.toUtf8Offset(Document.CHUNK_SIZE + 1), is(Document.CHUNK_SIZE + 3L));
+        assertThat(document.fromCodePointOffset(Document.CHUNK_SIZE), is(Document.CHUNK_SIZE + 1));
+        assertThat(document.fromUtf8Offset(Document.CHUNK_SIZE + 1L), is(Document.CHUNK_SIZE - 1));
+    }
+
+    /**
+     * Asserts that {@link Document#getLine(int)} returns the text of each line without its line terminator.
+     */
+    @Test
+    public void getLine() {
+        final Document document = new Document("foo\nbar\r\nbaz\rquux\n");
+        assertThat(document.getLine(0).toString(), is("foo"));
+        assertThat(document.getLine(1).toString(), is("bar"));
+        assertThat(document.getLine(2).toString(), is("baz"));
+        assertThat(document.getLine(3).toString(), is("quux"));
+        assertThat(document.getLine(4).toString(), is(""));
+    }
+
+    /**
+     * Asserts that {@link Document#getLine(int)} throws an {@link IndexOutOfBoundsException} when the <code>line</code> argument is
+     * equal to the number of lines.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getLineTooLarge() {
+        SMALL_DOCUMENT.getLine(1);
+    }
+
+    /**
+     * Asserts that {@link Document#getLineCount()} counts LF, CR and CR LF line terminators.
+     */
+    @Test
+    public void getLineCount() {
+        assertThat(EMPTY_DOCUMENT.getLineCount(), is(1));
+        assertThat(SMALL_DOCUMENT.getLineCount(), is(1));
+        assertThat(new Document("a\nb\r\nc\rd").getLineCount(), is(4));
+        assertThat(new Document("\r\r\n\n\n\r").getLineCount(), is(6));
+    }
+
+    /**
+     * Asserts that {@link Document#getLineCount()} counts a CR LF pair once when the CR and the LF are in different chunks, even
+     * after replacements that rebuild the chunks around the pair.
+     */
+    @Test
+    public void getLineCountCarriageReturnLineFeedAcrossChunks() {
+        final String contents = stringOfChar('a', Document.CHUNK_SIZE - 1) + "\r\n" + stringOfChar('b', Document.CHUNK_SIZE);
+        final Document document = new Document(contents);
+        assertThat(document.getLineCount(), is(2));
+        assertThat(document.getLineStartOffset(1), is(Document.CHUNK_SIZE + 1));
+        assertThat(document.getLineOfOffset(Document.CHUNK_SIZE), is(0));
+        assertThat(document.getLineOfOffset(Document.CHUNK_SIZE + 1), is(1));
+        assertThat(document.getLine(0).length(), is(Document.CHUNK_SIZE - 1));
+
+        final Document modified = document.replace(Document.CHUNK_SIZE + 1, 1, "\r\n");
+        assertThat(modified.getLineCount(), is(3));
+        assertThat(modified.getLineStartOffset(2), is(Document.CHUNK_SIZE + 3));
+    }
+
+    /**
+     * Asserts that {@link Document#getLineOfOffset(int)} returns the line that contains each offset, including the offset between
+     * the CR and the LF of a CR LF pair and the offset at the end of the document.
+     */
+    @Test
+    public void getLineOfOffset() {
+        final Document document = new Document("ab\r\ncd\ne");
+        final int[] expected = { 0, 0, 0, 0, 1, 1, 1, 2, 2 };
+        for (int offset = 0; offset < expected.length; offset++) {
+            assertThat(document.getLineOfOffset(offset), is(expected[offset]));
+        }
+    }
+
+    /**
+     * Asserts that {@link Document#getLineOfOffset(int)} throws an {@link IndexOutOfBoundsException} when the <code>offset</code>
+     * argument is greater than the document's length.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getLineOfOffsetTooLarge() {
+        SMALL_DOCUMENT.getLineOfOffset(SMALL_DOCUMENT_CONTENTS.length() + 1);
+    }
+
+    /**
+     * Asserts that {@link Document#getLineStartOffset(int)} returns the offset that follows each line terminator.
+     */
+    @Test
+    public void getLineStartOffset() {
+        final Document document = new Document("ab\r\ncd\ne\r");
+        assertThat(document.getLineStartOffset(0), is(0));
+        assertThat(document.getLineStartOffset(1), is(4));
+        assertThat(document.getLineStartOffset(2), is(7));
+        assertThat(document.getLineStartOffset(3), is(9));
+    }
+
+    /**
+     * Asserts that {@link Document#getLineStartOffset(int)} throws an {@link IndexOutOfBoundsException} when the <code>line</code>
+     * argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getLineStartOffsetNegative() {
+        SMALL_DOCUMENT.getLineStartOffset(-1);
+    }
+
+    /**
+     * Asserts that {@link Document#getMemoryStats(java.util.Collection)} counts the chunks that several documents share once.
+     */
+    @Test
+    public void getMemoryStats() {
+        final MemoryStats stats = Document.getMemoryStats(Collections.singletonList(HUGE_DOCUMENT));
+        assertThat(stats.getElementCount(), is(3));
+        assertThat(stats.getElementBytes(), is((16L + Document.CHUNK_SIZE * 2) * 2 + 48));
+
+        final Document modified = HUGE_DOCUMENT.replace(Document.CHUNK_SIZE * 2, 1, QUUX);
+        final MemoryStats both = Document.getMemoryStats(Arrays.asList(HUGE_DOCUMENT, modified));
+        assertThat(both.getElementCount(), is(4));
+        assertThat(both.getElementBytes(), is(stats.getElementBytes() + 56));
+    }
+
+    /**
+     * Asserts that {@link Document#getRetainedMemoryStats(java.util.Collection)} counts only the chunks that the other documents
+     * don't share.
+     */
+    @Test
+    public void getRetainedMemoryStats() {
+        final Document modified = HUGE_DOCUMENT.replace(Document.CHUNK_SIZE * 2, 1, QUUX);
+        final MemoryStats retained = modified.getRetainedMemoryStats(Collections.singletonList(HUGE_DOCUMENT));
+        assertThat(retained.getElementCount(), is(1));
+        assertThat(retained.getElementBytes(), is(56L));
+        assertThat(HUGE_DOCUMENT.getRetainedMemoryStats(Collections.singletonList(HUGE_DOCUMENT)).getTotalBytes(), is(0L));
+    }
+
+    /**
+     * Asserts that {@link Document#getUtf8Length()} returns the length of the document in UTF-8.
+     */
+    @Test
+    public void getUtf8Length() {
+        assertThat(EMPTY_DOCUMENT.getUtf8Length(), is(0L));
+        assertThat(new Document(MIXED_CONTENTS).getUtf8Length(), is(11L));
+        assertThat(new Document("\ud800").getUtf8Length(), is(3L));
+    }
+
     /**
      * Asserts that {@link Document#length()} returns the document's length for a document that is composed of two chunks.
      */
@@ -152,6 +398,82 @@ public class DocumentTest {
         assertThat(SMALL_DOCUMENT.length(), is(SMALL_DOCUMENT_CONTENTS.length()));
     }
 
+    /**
+     * Asserts that {@link Document#read(ReadableByteChannel, Charset)} decodes bytes whose text spans several chunks and several
+     * reads of the channel.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void readChannel() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        while (sb.length() < Document.CHUNK_SIZE * 2) {
+            sb.append(MIXED_CONTENTS);
+        }
+
+        final String contents = sb.toString();
+        final Document document = Document.read(
+                Channels.newChannel(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8))), StandardCharsets.UTF_8);
+        assertThat(document.toString(), is(contents));
+        assertThat(document.getCodePointCount(), is(contents.codePointCount(0, contents.length())));
+    }
+
+    /**
+     * Asserts that {@link Document#read(ReadableByteChannel, Charset)} decodes a surrogate pair that would straddle the boundary
+     * between two chunks without leaving an unused character in the first chunk.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void readChannelSurrogatePairAtChunkBoundary() throws IOException {
+        final String contents = new String(new char[Document.CHUNK_SIZE - 1]).replace('\0', 'a') + "\ud83d\ude00b";
+        final Document document = Document.read(
+                Channels.newChannel(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8))), StandardCharsets.UTF_8);
+        assertThat(document.toString(), is(contents));
+        assertThat(document.length(), is(contents.length()));
+    }
+
+    /**
+     * Asserts that {@link Document#read(Reader)} reads text that spans several chunks.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void readReader() throws IOException {
+        final Document document = Document.read(new StringReader(HUGE_DOCUMENT_CONTENTS));
+        assertThat(document.toString(), is(HUGE_DOCUMENT_CONTENTS));
+        assertThat(document.getTextChunks().size(), is(3));
+    }
+
+    /**
+     * Asserts that {@link Document#read(Reader)} reads a surrogate pair that straddles the boundary between two chunks.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void readReaderSurrogatePairAtChunkBoundary() throws IOException {
+        final String contents = new String(new char[Document.CHUNK_SIZE - 1]).replace('\0', 'a') + "\ud83d\ude00b";
+        final Document document = Document.read(new StringReader(contents));
+        assertThat(document.toString(), is(contents));
+        assertThat(document.length(), is(contents.length()));
+        assertThat(document.getCodePointCount(), is(contents.codePointCount(0, contents.length())));
+    }
+
+    /**
+     * Asserts that {@link Document#read(Reader)} returns the empty document for a reader that has no characters.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void readReaderEmpty() throws IOException {
+        assertThat(Document.read(new StringReader("")), is(sameInstance(Document.EMPTY)));
+    }
+
     /**
      * Asserts that {@link Document#replace(int, int, String)} returns a new document with the correct contents when replacing text
      * across two chunks in the document.
@@ -164,6 +486,18 @@ public class DocumentTest {
         assertThat(newDocument.toString(), is(expected));
     }
 
+    /**
+     * Asserts that {@link Document#replace(int, int, String)} does not modify the document on which it is called.
+     */
+    @Test
+    public void replaceDoesNotModifyDocument() {
+        final Document document = new Document(HUGE_DOCUMENT_CONTENTS);
+        final DocumentImmutableTreeList textChunks = document.getTextChunks();
+        document.replace(Document.CHUNK_SIZE - 8, 16, QUUX);
+        assertThat(document.getTextChunks(), is(sameInstance(textChunks)));
+        assertThat(document.toString(), is(HUGE_DOCUMENT_CONTENTS));
+    }
+
     /**
      * Asserts that {@link Document#replace(int, int, String)} returns the original document when there is nothing to remove and
      * nothing to insert.
@@ -173,6 +507,20 @@ public class DocumentTest {
         assertThat(SMALL_DOCUMENT.replace(0, 0, ""), is(sameInstance(SMALL_DOCUMENT)));
     }
 
+    /**
+     * Asserts that {@link Document#replace(int, int, String)} splits a chunk that would become larger than
+     * {@link Document#CHUNK_SIZE} characters.
+     */
+    @Test
+    public void replaceGrowingChunk() {
+        final String bs = "bbbbbbbbbbbbbbbb";
+        final Document newDocument = LARGE_DOCUMENT.replace(8, 0, bs);
+        assertThat(newDocument.toString(), is("aaaaaaaa" + bs + LARGE_DOCUMENT_CONTENTS.substring(8)));
+        for (char[] chunk : newDocument.getTextChunks()) {
+            assertThat(chunk.length <= Document.CHUNK_SIZE, is(true));
+        }
+    }
+
     /**
      * Asserts that {@link Document#replace(int, int, String)} returns the original document when the text to insert is identical to
      * the text to remove.
@@ -279,6 +627,19 @@ public class DocumentTest {
         assertThat(newDocument.toString(), is("foob"));
     }
 
+    /**
+     * Asserts that {@link Document#replace(int, int, String)} returns a new document with the correct contents when removing a whole
+     * chunk and inserting nothing.
+     */
+    @Test
+    public void replaceRemoveWholeChunk() {
+        final Document newDocument = HUGE_DOCUMENT.replace(Document.CHUNK_SIZE, Document.CHUNK_SIZE, null);
+        assertThat(newDocument.toString(), is(stringOfChar('a', Document.CHUNK_SIZE + 16)));
+        assertThat(newDocument.getTextChunks().size(), is(2));
+        assertThat(newDocument.getTextChunks().get(0), is(sameInstance(HUGE_DOCUMENT.getTextChunks().get(0))));
+        assertThat(newDocument.getTextChunks().get(1), is(sameInstance(HUGE_DOCUMENT.getTextChunks().get(2))));
+    }
+
     /**
      * Asserts that {@link Document#replace(int, int, String)} returns a new document with the correct contents when replacing text
      * at the beginning of the document.
@@ -309,6 +670,20 @@ public class DocumentTest {
         assertThat(newDocument.toString(), is("foobquux"));
     }
 
+    /**
+     * Asserts that {@link Document#replace(int, int, String)} returns a new document that shares the chunks that are not affected by
+     * the replacement with the original document.
+     */
+    @Test
+    public void replaceSharesUntouchedChunks() {
+        final Document newDocument = HUGE_DOCUMENT.replace(Document.CHUNK_SIZE + 8, 4, QUUX);
+        assertThat(newDocument.toString(), is(HUGE_DOCUMENT_CONTENTS.substring(0, Document.CHUNK_SIZE + 8) + QUUX
+                + HUGE_DOCUMENT_CONTENTS.substring(Document.CHUNK_SIZE + 12)));
+        assertThat(newDocument.getTextChunks().size(), is(3));
+        assertThat(newDocument.getTextChunks().get(0), is(sameInstance(HUGE_DOCUMENT.getTextChunks().get(0))));
+        assertThat(newDocument.getTextChunks().get(2), is(sameInstance(HUGE_DOCUMENT.getTextChunks().get(2))));
+    }
+
     /**
      * Asserts that {@link Document#replace(int, int, String)} returns a new document with the correct contents when the removal
      * covers the whole document.
@@ -400,6 +775,28 @@ public class DocumentTest {
         assertThat(SMALL_DOCUMENT.substring(1, SMALL_DOCUMENT_CONTENTS.length() - 1), is("ooba"));
     }
 
+    /**
+     * Asserts that {@link Document#toCodePointOffset(int)} returns the number of code points before each offset, and that the
+     * offset between the surrogates of a surrogate pair is converted to the offset of the pair.
+     */
+    @Test
+    public void toCodePointOffset() {
+        final Document document = new Document(MIXED_CONTENTS);
+        final int[] expected = { 0, 1, 2, 3, 3, 4, 5 };
+        for (int offset = 0; offset < expected.length; offset++) {
+            assertThat(document.toCodePointOffset(offset), is(expected[offset]));
+        }
+    }
+
+    /**
+     * Asserts that {@link Document#toCodePointOffset(int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>offset</code> argument is negative.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void toCodePointOffsetNegative() {
+        SMALL_DOCUMENT.toCodePointOffset(-1);
+    }
+
     /**
      * Asserts that {@link Document#toString()} returns an empty string for an empty document.
      */
@@ -451,4 +848,115 @@ public class DocumentTest {
         assertThat(SMALL_DOCUMENT.toString(), is(SMALL_DOCUMENT_CONTENTS));
     }
 
+    /**
+     * Asserts that {@link Document#toUtf8Offset(int)} returns the number of UTF-8 bytes before each offset.
+     */
+    @Test
+    public void toUtf8Offset() {
+        final Document document = new Document(MIXED_CONTENTS);
+        final long[] expected = { 0, 1, 3, 6, 6, 10, 11 };
+        for (int offset = 0; offset < expected.length; offset++) {
+            assertThat(document.toUtf8Offset(offset), is(expected[offset]));
+        }
+    }
+
+    /**
+     * Asserts that documents written with {@link Document#writeSnapshot(TreeSnapshotWriter)} are read back by
+     * {@link Document#readSnapshot(ByteBuffer)} and still share their unmodified chunks.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void writeSnapshot() throws IOException {
+        final Document modified = HUGE_DOCUMENT.replace(5, 3, QUUX);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final TreeSnapshotWriter<char[]> writer = new TreeSnapshotWriter<>(Channels.newChannel(output), SnapshotCodec.CHAR_ARRAY);
+        assertThat(HUGE_DOCUMENT.writeSnapshot(writer), is(0));
+        assertThat(modified.writeSnapshot(writer), is(1));
+        assertThat(EMPTY_DOCUMENT.writeSnapshot(writer), is(2));
+        writer.flush();
+
+        // The modified document only adds the two chunks that replace the first chunk.
+        assertThat(output.size() < (HUGE_DOCUMENT_CONTENTS.length() + Document.CHUNK_SIZE + 100) * 2, is(true));
+
+        final List<Document> documents = Document.readSnapshot(ByteBuffer.wrap(output.toByteArray()));
+        assertThat(documents.size(), is(3));
+        assertThat(documents.get(0).toString(), is(HUGE_DOCUMENT_CONTENTS));
+        assertThat(documents.get(1).toString(), is(modified.toString()));
+        assertThat(documents.get(2), is(sameInstance(Document.EMPTY)));
+        assertThat(documents.get(1).getTextChunks().get(3), is(sameInstance(documents.get(0).getTextChunks().get(2))));
+    }
+
+    /**
+     * Asserts that {@link Document#writeTo(WritableByteChannel, Charset)} writes the same bytes as {@link String#getBytes(Charset)}
+     * when a surrogate pair is split between two chunks.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void writeToChannel() throws IOException {
+        final String contents = stringOfChar('a', Document.CHUNK_SIZE - 1) + "\ud83d\ude00" + MIXED_CONTENTS;
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new Document(contents).writeTo(Channels.newChannel(output), StandardCharsets.UTF_8);
+        assertThat(output.toByteArray(), is(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Asserts that {@link Document#writeTo(WritableByteChannel, Charset, int, int)} writes the encoding of a range that spans
+     * several chunks.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void writeToChannelRange() throws IOException {
+        final Document document = new Document(HUGE_DOCUMENT_CONTENTS).replace(Document.CHUNK_SIZE, 0, MIXED_CONTENTS);
+        final String contents = document.toString();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        document.writeTo(Channels.newChannel(output), StandardCharsets.UTF_16LE, 10, contents.length() - 10);
+        assertThat(output.toByteArray(), is(contents.substring(10, contents.length() - 10).getBytes(StandardCharsets.UTF_16LE)));
+    }
+
+    /**
+     * Asserts that {@link Document#writeTo(Writer)} writes the contents of a document that is composed of several chunks.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void writeToWriter() throws IOException {
+        final StringWriter writer = new StringWriter();
+        HUGE_DOCUMENT.writeTo(writer);
+        assertThat(writer.toString(), is(HUGE_DOCUMENT_CONTENTS));
+    }
+
+    /**
+     * Asserts that {@link Document#writeTo(Writer, int, int)} writes a range that starts and ends inside chunks.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test
+    public void writeToWriterRange() throws IOException {
+        final Document document = HUGE_DOCUMENT.replace(Document.CHUNK_SIZE - 2, 4, QUUX);
+        final StringWriter writer = new StringWriter();
+        document.writeTo(writer, Document.CHUNK_SIZE - 4, Document.CHUNK_SIZE + 4);
+        assertThat(writer.toString(), is("aaquuxaa"));
+    }
+
+    /**
+     * Asserts that {@link Document#writeTo(Writer, int, int)} throws an {@link IndexOutOfBoundsException} when the
+     * <code>start</code> argument is greater than the <code>end</code> argument.
+     *
+     * @throws IOException
+     *             an I/O error occurred
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void writeToWriterStartAfterEnd() throws IOException {
+        SMALL_DOCUMENT.writeTo(new StringWriter(), 4, 2);
+    }
+
 }